@@ -51,6 +51,7 @@ public abstract class AbstractScannable<T> implements IScannable<T>, IScanAttrib
 	private boolean             activated;
 	private MonitorRole         monitorRole=MonitorRole.PER_POINT;
 	private long                timeout=-1;
+	private boolean             drifting;
 	
 	/**
 	 * Model is used for some scannables for instance those writing NeXus 
@@ -281,5 +282,12 @@ public abstract class AbstractScannable<T> implements IScannable<T>, IScanAttrib
 		this.tolerance = tolerance;
 		return orig;
 	}
+	@Override
+	public boolean isDrifting() {
+		return drifting;
+	}
+	public void setDrifting(boolean drifting) {
+		this.drifting = drifting;
+	}
 
 }
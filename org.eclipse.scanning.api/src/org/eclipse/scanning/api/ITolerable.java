@@ -32,4 +32,17 @@ public interface ITolerable<T> {
 		throw new IllegalArgumentException("Tolerance is not implemented for "+getClass().getSimpleName());
 	}
 
+	/**
+	 * A device which drifts may move away from its position
+	 * between points, for instance a temperature. During a scan the
+	 * tolerance of a device which does not drift is checked against the
+	 * position it last reached rather than by reading its position again.
+	 * A drifting device is always read.
+	 * 
+	 * @return true if the device may move without being told to.
+	 */
+	default boolean isDrifting() {
+		return false;
+	}
+
 }
@@ -11,7 +11,10 @@
  *******************************************************************************/
 package org.eclipse.scanning.api.device;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.stream.Collectors;
 
 import org.eclipse.scanning.api.INameable;
 import org.eclipse.scanning.api.IScannable;
@@ -26,6 +29,8 @@ import org.eclipse.scanning.api.event.core.IResponseProcess;
 import org.eclipse.scanning.api.event.scan.DeviceAction;
 import org.eclipse.scanning.api.event.scan.DeviceInformation;
 import org.eclipse.scanning.api.event.scan.DeviceRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * TODO FIXME Is the idea of having request/response calls correct for exposing
@@ -45,6 +50,8 @@ import org.eclipse.scanning.api.event.scan.DeviceRequest;
  */
 public class DeviceResponse implements IResponseProcess<DeviceRequest> {
 		
+	private static final Logger logger = LoggerFactory.getLogger(DeviceResponse.class);
+
 	private IRunnableDeviceService    dservice;
 	private DeviceRequest             bean;
 	private IPublisher<DeviceRequest> publisher;
@@ -97,7 +104,7 @@ public class DeviceResponse implements IResponseProcess<DeviceRequest> {
 		}
 	}
 	
-	private static void processScannables(DeviceRequest request, IScannableDeviceService cservice) throws Exception {
+	private void processScannables(DeviceRequest request, IScannableDeviceService cservice) throws Exception {
 		
 		if (request.getDeviceName()!=null) { // Named device required
             
@@ -136,7 +143,9 @@ public class DeviceResponse implements IResponseProcess<DeviceRequest> {
 			request.addDeviceInformation(info);
 			
 		} else {
-			final Collection<String> names = cservice.getScannableNames();
+			final Collection<String> names = request.getDeviceNames()!=null
+					                       ? request.getDeviceNames()
+					                       : cservice.getScannableNames();
 			for (String name : names) {
 	
 				if (name==null) continue;
@@ -147,11 +156,36 @@ public class DeviceResponse implements IResponseProcess<DeviceRequest> {
 	
 				DeviceInformation<?> info = new DeviceInformation<Object>(name);
 				merge(info, device);
-				request.addDeviceInformation(info);
+				if (request.isIncludeValues()) {
+					try {
+						info.setValue(device.getPosition());
+					} catch (Exception ne) { // One device which cannot be read must not stop the others being listed.
+						logger.warn("Cannot read the value of '"+name+"', it is sent without one", ne);
+					}
+				}
+				add(request, info);
 			}
 		}
 	}
 
+	/**
+	 * Adds the information to the request, if the request is sent back in
+	 * parts and a part is full, it is sent and the request starts the next.
+	 * @param request
+	 * @param info
+	 * @throws EventException
+	 */
+	private void add(DeviceRequest request, DeviceInformation<?> info) throws EventException {
+		request.addDeviceInformation(info);
+		if (publisher==null || request.getPartSize()<1 || request.size()<request.getPartSize()) return;
+		
+		DeviceRequest part = new DeviceRequest();
+		part.merge(request);
+		part.setPartial(true);
+		publisher.broadcast(part);
+		request.setDevices(null);
+	}
+
 
 	private static void merge(DeviceInformation<?> info, IScannable<?> device) throws Exception {
 		info.setLevel(device.getLevel());
@@ -163,7 +197,7 @@ public class DeviceResponse implements IResponseProcess<DeviceRequest> {
         info.setMonitorRole(device.getMonitorRole());
  	}
 
-	private static void processRunnables(DeviceRequest request, IRunnableDeviceService dservice) throws Exception {
+	private void processRunnables(DeviceRequest request, IRunnableDeviceService dservice) throws Exception {
 		
 		if (request.getDeviceName()!=null) { // Named device required
 			IRunnableDevice<Object> device = dservice.getRunnableDevice(request.getDeviceName());
@@ -211,6 +245,20 @@ public class DeviceResponse implements IResponseProcess<DeviceRequest> {
 			DeviceInformation<?> info = ((AbstractRunnableDevice<?>)device).getDeviceInformation();
 			request.addDeviceInformation(info);
 			
+		} else if (request.getPartSize()>0 && !request.isIncludeNonAlive()) { // Device list sent as it is read.
+			
+			final Collection<String> names = request.getDeviceNames()!=null ? new HashSet<>(request.getDeviceNames()) : null;
+			final Collection<EventException> errors = new ArrayList<>(1);
+			dservice.forEachDeviceInformation(info -> {
+				if (names!=null && !names.contains(info.getName())) return;
+				try {
+					add(request, info);
+				} catch (EventException ne) {
+					errors.add(ne);
+				}
+			});
+			if (!errors.isEmpty()) throw errors.iterator().next();
+			
 		} else {  // Device list needed.
 			
 			Collection<DeviceInformation<?>> info;
@@ -219,6 +267,10 @@ public class DeviceResponse implements IResponseProcess<DeviceRequest> {
 			} else {
 				info = dservice.getDeviceInformation();
 			}
+			if (request.getDeviceNames()!=null) {
+				final Collection<String> names = new HashSet<>(request.getDeviceNames());
+				info = info.stream().filter(i -> names.contains(i.getName())).collect(Collectors.toList());
+			}
 			request.setDevices(info);
 		}
 	}
@@ -12,6 +12,7 @@
 package org.eclipse.scanning.api.device;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 import org.eclipse.scanning.api.device.models.DeviceRole;
 import org.eclipse.scanning.api.event.core.IPublisher;
@@ -205,6 +206,16 @@ public interface IRunnableDeviceService extends IPositionerService {
      */
 	Collection<DeviceInformation<?>> getDeviceInformationIncludingNonAlive() throws ScanningException;
 
+    /**
+     * Passes the information of each runnable device to the consumer as soon as it is available,
+     * so that a device which is slow to answer does not hold up the others.
+     * Will not get device information that is potentially held on the device if the device is not alive.
+     * @param consumer
+     */
+	default void forEachDeviceInformation(Consumer<DeviceInformation<?>> consumer) throws ScanningException {
+		getDeviceInformation().forEach(consumer);
+	}
+
     /**
      * This is a convenience method for getting the currently active scanner. 
      * It is useful if the scan is paused and it is required to seek the scan
@@ -38,6 +38,10 @@ public class ClusterProcessingModel implements INameable, IReflectedModel {
 	@FieldDescriptor(visible=false)
 	private boolean monitorForOverwrite = false;
 	
+	@FieldDescriptor(hint="If set, the frames written are published as the scan runs\n"
+			             + "so that the processing can follow the scan.")
+	private boolean live = false;
+	
 	
 	public ClusterProcessingModel() {
 		
@@ -101,6 +105,14 @@ public class ClusterProcessingModel implements INameable, IReflectedModel {
 		this.monitorForOverwrite = monitorForOverwrite;
 	}
 	
+	public boolean isLive() {
+		return live;
+	}
+	
+	public void setLive(boolean live) {
+		this.live = live;
+	}
+	
 	@Override
 	public String toString() {
 		return "ClusterProcessingModel [name=" + name + ", detectorName=" + detectorName + ", processingFilePath="
@@ -112,6 +124,7 @@ public class ClusterProcessingModel implements INameable, IReflectedModel {
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + ((detectorName == null) ? 0 : detectorName.hashCode());
+		result = prime * result + (live ? 1231 : 1237);
 		result = prime * result + (monitorForOverwrite ? 1231 : 1237);
 		result = prime * result + ((name == null) ? 0 : name.hashCode());
 		result = prime * result + numberOfCores;
@@ -135,6 +148,8 @@ public class ClusterProcessingModel implements INameable, IReflectedModel {
 				return false;
 		} else if (!detectorName.equals(other.detectorName))
 			return false;
+		if (live != other.live)
+			return false;
 		if (monitorForOverwrite != other.monitorForOverwrite)
 			return false;
 		if (name == null) {
@@ -126,6 +126,9 @@ public class DeviceWatchdogModel {
 	// The name of the mode pv, if any. 
 	private String modeName;            // If this is set the PV will be checked to ensure that the topup mode is as expected.
 	
+	// If true, points which would not finish before the cooloff are held at the start rather than paused and rewound.
+	private boolean predictive = false;
+	
 	public String getCountdownName() {
 		return countdownName;
 	}
@@ -215,5 +218,11 @@ public class DeviceWatchdogModel {
 	public void setModeName(String modeName) {
 		this.modeName = modeName;
 	}
+	public boolean isPredictive() {
+		return predictive;
+	}
+	public void setPredictive(boolean predictive) {
+		this.predictive = predictive;
+	}
 	
 }
@@ -17,6 +17,12 @@ public class JythonModel extends SlicingModel {
 	 */
 	private int    outputRank=1;
 
+	/**
+	 * Number of consecutive frames given to the script together
+	 * as one stacked dataset. Frames are processed one at a time if 1.
+	 */
+	private int    batchSize=1;
+
 	public String getModuleName() {
 		return moduleName;
 	}
@@ -41,10 +47,19 @@ public class JythonModel extends SlicingModel {
 		this.outputRank = dataShape;
 	}
 
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
+		result = prime * result + batchSize;
 		result = prime * result + ((className == null) ? 0 : className.hashCode());
 		result = prime * result + outputRank;
 		result = prime * result + ((moduleName == null) ? 0 : moduleName.hashCode());
@@ -60,6 +75,8 @@ public class JythonModel extends SlicingModel {
 		if (getClass() != obj.getClass())
 			return false;
 		JythonModel other = (JythonModel) obj;
+		if (batchSize != other.batchSize)
+			return false;
 		if (className == null) {
 			if (other.className != null)
 				return false;
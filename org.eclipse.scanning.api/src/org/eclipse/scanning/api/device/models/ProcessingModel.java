@@ -29,6 +29,10 @@ public class ProcessingModel extends SlicingModel {
 	@FieldDescriptor(visible=false)
 	private Object operation;
 
+	@FieldDescriptor(hint="The number of frames which may be processed at the same time.\n"
+			             + "Each one runs its own copy of the pipeline.", minimum=1)
+	private int parallelism = 1;
+
 	
 	public ProcessingModel() {
 		
@@ -55,12 +59,21 @@ public class ProcessingModel extends SlicingModel {
 		this.operation = operation;
 	}
 
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((operation == null) ? 0 : operation.hashCode());
 		result = prime * result + ((operationsFile == null) ? 0 : operationsFile.hashCode());
+		result = prime * result + parallelism;
 		return result;
 	}
 
@@ -83,6 +96,8 @@ public class ProcessingModel extends SlicingModel {
 				return false;
 		} else if (!operationsFile.equals(other.operationsFile))
 			return false;
+		if (parallelism != other.parallelism)
+			return false;
 		return true;
 	}
 }
@@ -0,0 +1,114 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.device.models;
+
+import java.util.Arrays;
+
+import org.eclipse.scanning.api.annotation.ui.FieldDescriptor;
+
+/**
+ *
+ * Model for a device which reduces each frame of a detector to
+ * one or more numbers as the scan runs, for instance the mean
+ * and the maximum of each image.
+ */
+public class ReductionModel extends SlicingModel {
+
+	public enum Reduction {
+		MEAN, SUM, MIN, MAX, VARIANCE, ROI_SUM;
+	}
+
+	@FieldDescriptor(hint="The statistics calculated for each frame, each one is written to its own field.")
+	private Reduction[] reductions = new Reduction[]{Reduction.MEAN};
+
+	@FieldDescriptor(hint="The start of the region summed by ROI_SUM, in the data dimensions.")
+	private int[] roiStart;
+
+	@FieldDescriptor(hint="The shape of the region summed by ROI_SUM, in the data dimensions.")
+	private int[] roiShape;
+
+	@FieldDescriptor(hint="If set, the mean and variance of each pixel over the whole scan are also written.")
+	private boolean runningVariance;
+
+	public ReductionModel() {
+
+	}
+
+	public ReductionModel(String detectorName, String dataFile, long timeout, Reduction... reductions) {
+		super(detectorName, dataFile, timeout);
+		this.reductions = reductions;
+	}
+
+	public Reduction[] getReductions() {
+		return reductions;
+	}
+
+	public void setReductions(Reduction... reductions) {
+		this.reductions = reductions;
+	}
+
+	public int[] getRoiStart() {
+		return roiStart;
+	}
+
+	public void setRoiStart(int... roiStart) {
+		this.roiStart = roiStart;
+	}
+
+	public int[] getRoiShape() {
+		return roiShape;
+	}
+
+	public void setRoiShape(int... roiShape) {
+		this.roiShape = roiShape;
+	}
+
+	public boolean isRunningVariance() {
+		return runningVariance;
+	}
+
+	public void setRunningVariance(boolean runningVariance) {
+		this.runningVariance = runningVariance;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + Arrays.hashCode(reductions);
+		result = prime * result + Arrays.hashCode(roiShape);
+		result = prime * result + Arrays.hashCode(roiStart);
+		result = prime * result + (runningVariance ? 1231 : 1237);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!super.equals(obj))
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ReductionModel other = (ReductionModel) obj;
+		if (!Arrays.equals(reductions, other.reductions))
+			return false;
+		if (!Arrays.equals(roiShape, other.roiShape))
+			return false;
+		if (!Arrays.equals(roiStart, other.roiStart))
+			return false;
+		if (runningVariance != other.runningVariance)
+			return false;
+		return true;
+	}
+
+}
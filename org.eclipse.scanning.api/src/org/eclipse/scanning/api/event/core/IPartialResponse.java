@@ -0,0 +1,26 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.event.core;
+
+/**
+ * A response which may be sent in several parts, for instance the information
+ * of many devices sent as they are read. The requester merges each part into
+ * the request and returns when the last part arrives.
+ */
+public interface IPartialResponse {
+
+	/**
+	 * 
+	 * @return true if more parts of the response will follow this one.
+	 */
+	boolean isPartial();
+}
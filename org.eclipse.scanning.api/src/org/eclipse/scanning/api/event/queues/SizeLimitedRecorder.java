@@ -11,9 +11,9 @@
  *******************************************************************************/
 package org.eclipse.scanning.api.event.queues;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * An object composed of a list which may only contain a fixed number of items
@@ -22,6 +22,11 @@ import java.util.NoSuchElementException;
  * and thus has the idea of oldest and latest objects. It can act as a 
  * chronological store.
  * 
+ * The elements are held in a ring buffer which is read without locking. One
+ * thread, for instance that of a heartbeat subscriber, should add elements,
+ * any thread may read them. A reader checks after reading that the writer
+ * has not started to overwrite what it read.
+ * 
  * @author Michael Wharmby
  *
  * @param <T> type of object recorded in the internal list.
@@ -29,8 +34,34 @@ import java.util.NoSuchElementException;
 @Deprecated
 public class SizeLimitedRecorder<T extends Object> {
 	
-	private final LinkedList<T> record;
-	private int capacity;
+	/**
+	 * The slots of the buffer, the element added as number n is in slot n%capacity.
+	 */
+	private static final class Ring<T> {
+		private final AtomicReferenceArray<T> slots;
+		private final int                     capacity;
+		private volatile long                 next;  // The number of the next element added
+		private volatile long                 claimed; // The number after the element being added
+		private volatile long                 first; // The number of the first element not cleared
+		Ring(int capacity) {
+			this.capacity = capacity;
+			this.slots    = new AtomicReferenceArray<>(Math.max(1, capacity));
+		}
+		long start(long next) {
+			return Math.max(first, next-capacity);
+		}
+		T get(long n) {
+			return slots.get((int)(n%slots.length()));
+		}
+		/**
+		 * Elements numbered below this may have been overwritten, read after the elements.
+		 */
+		long valid() {
+			return claimed-capacity;
+		}
+	}
+	
+	private volatile Ring<T> ring;
 	
 	/**
 	 * Create a new recorder, with a maximum number of capacity elements in it's List 
@@ -38,9 +69,7 @@ public class SizeLimitedRecorder<T extends Object> {
 	 * @param capacity
 	 */
 	public SizeLimitedRecorder(int capacity) {
-		this.capacity = capacity;
-		
-		record = new LinkedList<T>();
+		this.ring = new Ring<>(capacity);
 	}
 
 	/**
@@ -49,7 +78,7 @@ public class SizeLimitedRecorder<T extends Object> {
 	 * @return int capacity of recorder
 	 */
 	public int getCapacity() {
-		return capacity;
+		return ring.capacity;
 	}
 
 	/**
@@ -59,8 +88,15 @@ public class SizeLimitedRecorder<T extends Object> {
 	 * @param capacity
 	 */
 	public void setCapacity(int capacity) {
-		this.capacity = capacity;
-		adaptSize();
+		final Ring<T> old = ring;
+		final Ring<T> ret = new Ring<>(capacity);
+		final long next = old.next;
+		for (long n = Math.max(old.start(next), next-capacity); n < next; n++) {
+			ret.slots.set((int)(ret.next%ret.slots.length()), old.get(n));
+			ret.next++;
+		}
+		ret.claimed = ret.next;
+		ring = ret;
 	}
 
 	/**
@@ -69,7 +105,14 @@ public class SizeLimitedRecorder<T extends Object> {
 	 * @return List containing the recorded elements.
 	 */
 	public List<T> getRecording() {
-		return record;
+		final Ring<T> r     = ring;
+		final long    next  = r.next;
+		final long    start = r.start(next);
+		final List<T> ret   = new ArrayList<>((int)(next-start));
+		for (long n = start; n < next; n++) ret.add(r.get(n));
+		final long valid = r.valid();
+		if (valid>start) ret.subList(0, (int)Math.min(ret.size(), valid-start)).clear(); // Overwritten while copying
+		return ret;
 	}
 	
 	/**
@@ -79,8 +122,12 @@ public class SizeLimitedRecorder<T extends Object> {
 	 * @param element to be added to the record
 	 */
 	public void add(T element) {
-		record.add(element);
-		adaptSize();
+		final Ring<T> r = ring;
+		if (r.capacity<1) return;
+		final long n = r.next;
+		r.claimed = n+1; // The element n-capacity is no longer valid
+		r.slots.set((int)(n%r.slots.length()), element);
+		r.next = n+1; // Only now may it be read
 	}
 	
 	/**
@@ -89,11 +136,13 @@ public class SizeLimitedRecorder<T extends Object> {
 	 * @return The last element added to the record.
 	 */
 	public T latest() {
-		try {
-			return record.getLast();
-		} catch (NoSuchElementException nse) {
+		final Ring<T> r = ring;
+		while (true) {
+			final long next = r.next;
 			//In cases where we've not heard a beat.
-			return null;
+			if (next<=r.start(next)) return null;
+			final T latest = r.get(next-1);
+			if (next-1>=r.valid()) return latest;
 		}
 	}
 	
@@ -103,11 +152,14 @@ public class SizeLimitedRecorder<T extends Object> {
 	 * @return The oldest element in the list.
 	 */
 	public T oldest() {
-		try {
-			return record.getFirst();
-		} catch (NoSuchElementException nse) {
+		final Ring<T> r = ring;
+		while (true) {
+			final long next  = r.next;
+			final long start = r.start(next);
 			//In cases where we've not heard a beat.
-			return null;
+			if (next<=start) return null;
+			final T oldest = r.get(start);
+			if (start>=r.valid()) return oldest;
 		}
 	}
 	
@@ -118,7 +170,14 @@ public class SizeLimitedRecorder<T extends Object> {
 	 * @return The element at the requested position in the list
 	 */
 	public T get(int i) {
-		return record.get(i);
+		final Ring<T> r = ring;
+		while (true) {
+			final long next  = r.next;
+			final long start = r.start(next);
+			if (i<0 || start+i>=next) throw new IndexOutOfBoundsException("Index: "+i+", Size: "+(next-start));
+			final T element = r.get(start+i);
+			if (start+i>=r.valid()) return element;
+		}
 	}
 	
 	/**
@@ -127,7 +186,7 @@ public class SizeLimitedRecorder<T extends Object> {
 	 * @return true if this collection contains no elements
 	 */
 	public boolean isEmpty() {
-		return record.isEmpty();
+		return size()==0;
 	}
 	
 	/**
@@ -135,33 +194,25 @@ public class SizeLimitedRecorder<T extends Object> {
 	 * @return the number of elements in this list
 	 */
 	public int size() {
-		return record.size();
+		final Ring<T> r = ring;
+		final long next = r.next;
+		return (int)(next-r.start(next));
 	}
 	
 	/**
 	 * Removes all elements from this recording.
 	 */
 	public void clear() {
-		record.clear();
-	}
-	
-	/**
-	 * When the capacity of the recorder is updated, it may be necessary to 
-	 * remove older records.
-	 */
-	private void adaptSize() {
-		while (true) {
-			if (this.capacity >= record.size()) break;
-			record.pop();
-		}
+		final Ring<T> r = ring;
+		r.first = r.next;
 	}
 
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + capacity;
-		result = prime * result + ((record == null) ? 0 : record.hashCode());
+		result = prime * result + getCapacity();
+		result = prime * result + getRecording().hashCode();
 		return result;
 	}
 
@@ -174,12 +225,9 @@ public class SizeLimitedRecorder<T extends Object> {
 		if (getClass() != obj.getClass())
 			return false;
 		SizeLimitedRecorder<?> other = (SizeLimitedRecorder<?>) obj;
-		if (capacity != other.capacity)
+		if (getCapacity() != other.getCapacity())
 			return false;
-		if (record == null) {
-			if (other.record != null)
-				return false;
-		} else if (!record.equals(other.record))
+		if (!getRecording().equals(other.getRecording()))
 			return false;
 		return true;
 	}
@@ -100,6 +100,12 @@ public class DeviceInformation<T> implements IModelProvider<T> {
 	 */
 	private Object[] permittedValues;
 
+	/**
+	 * The value of the device when the information was read, for
+	 * instance the position of a scannable. Only read if requested.
+	 */
+	private Object value;
+
 	/**
 	 * Holds activated state of device, if any.
 	 * Activated devices are used when a scan is constructed
@@ -390,6 +396,14 @@ public class DeviceInformation<T> implements IModelProvider<T> {
 	public void setPermittedValues(Object[] permittedValues) {
 		this.permittedValues = permittedValues;
 	}
+
+	public Object getValue() {
+		return value;
+	}
+
+	public void setValue(Object value) {
+		this.value = value;
+	}
 	
 	public boolean isActivated() {
 		return activated;
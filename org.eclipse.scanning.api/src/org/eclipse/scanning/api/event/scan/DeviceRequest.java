@@ -13,12 +13,14 @@ package org.eclipse.scanning.api.event.scan;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
 
 import org.eclipse.scanning.api.ModelValidationException;
 import org.eclipse.scanning.api.ValidationException;
 import org.eclipse.scanning.api.annotation.ui.DeviceType;
 import org.eclipse.scanning.api.event.EventException;
 import org.eclipse.scanning.api.event.IdBean;
+import org.eclipse.scanning.api.event.core.IPartialResponse;
 import org.eclipse.scanning.api.points.IPosition;
 
 /**
@@ -37,6 +39,9 @@ import org.eclipse.scanning.api.points.IPosition;
  * 3. Set name and model, named device is retrieved and configured.        
  * 4. Set the device model and the configure boolean, get a new device created.  IRunnableDeviceService.createRunnableDevice()
  * 5. Set the device action and the device name to call specific methods.
+ * 6. Set the device names, post returns the devices with these names. Set includeValues
+ *    to have the value of each read with its information and partSize to have the
+ *    devices sent back in parts as they are read. This is one round trip for many devices.
  * 
  * </pre>
  * 
@@ -51,7 +56,7 @@ import org.eclipse.scanning.api.points.IPosition;
  * @author Matthew Gerring
  *
  */
-public class DeviceRequest extends IdBean {
+public class DeviceRequest extends IdBean implements IPartialResponse {
 	
 	/**
 	 * 
@@ -111,11 +116,45 @@ public class DeviceRequest extends IdBean {
 	 */
 	private boolean includeNonAlive = false;
 	
+	/**
+	 * The names of the devices required when several are wanted in
+	 * one request, or null for all of them.
+	 */
+	private List<String> deviceNames;
+	
+	/**
+	 * Set whether the value of each device, for instance the position
+	 * of a scannable, is read into its information.
+	 */
+	private boolean includeValues = false;
+	
+	/**
+	 * If greater than zero the devices are sent back in parts of up
+	 * to this many as they are read, rather than all in one response.
+	 */
+	private int partSize = 0;
+	
+	/**
+	 * True on a response which holds some of the devices, more will follow.
+	 */
+	private boolean partial = false;
+	
 	@Override
 	public <A extends IdBean> void merge(A with) {
 		super.merge(with);
 		DeviceRequest dr = (DeviceRequest)with;
-		devices          = dr.devices;
+		if (partial || dr.partial) { // The devices come in parts
+			if (dr.devices!=null) {
+				if (devices==null) devices = new LinkedHashSet<DeviceInformation<?>>(dr.devices.size());
+				devices.addAll(dr.devices);
+			}
+		} else {
+			devices      = dr.devices;
+		}
+		partial          = dr.partial;
+		deviceNames      = dr.deviceNames;
+		includeValues    = dr.includeValues;
+		partSize         = dr.partSize;
 		deviceName       = dr.deviceName;
 		deviceModel      = dr.deviceModel;
 		deviceType       = dr.deviceType;
@@ -189,6 +228,16 @@ public class DeviceRequest extends IdBean {
 	}
 
 
+	/**
+	 * For the information of many devices in one request.
+	 * @param names
+	 * @param type
+	 */
+	public DeviceRequest(List<String> names, DeviceType type) {
+		this.deviceNames = names;
+		this.deviceType  = type;
+	}
+
 	public DeviceRequest(String name, DeviceType type, DeviceAction action, boolean activated) {
 		this(name, type);
 		this.deviceAction = action;
@@ -218,6 +267,9 @@ public class DeviceRequest extends IdBean {
 		result = prime * result + ((deviceAction == null) ? 0 : deviceAction.hashCode());
 		result = prime * result + ((deviceModel == null) ? 0 : deviceModel.hashCode());
 		result = prime * result + ((deviceName == null) ? 0 : deviceName.hashCode());
+		result = prime * result + ((deviceNames == null) ? 0 : deviceNames.hashCode());
+		result = prime * result + (includeValues ? 1231 : 1237);
+		result = prime * result + partSize;
 		result = prime * result + ((deviceType == null) ? 0 : deviceType.hashCode());
 		result = prime * result + ((deviceValue == null) ? 0 : deviceValue.hashCode());
 		result = prime * result + ((devices == null) ? 0 : devices.hashCode());
@@ -251,6 +303,15 @@ public class DeviceRequest extends IdBean {
 				return false;
 		} else if (!deviceName.equals(other.deviceName))
 			return false;
+		if (deviceNames == null) {
+			if (other.deviceNames != null)
+				return false;
+		} else if (!deviceNames.equals(other.deviceNames))
+			return false;
+		if (includeValues != other.includeValues)
+			return false;
+		if (partSize != other.partSize)
+			return false;
 		if (deviceType != other.deviceType)
 			return false;
 		if (deviceValue == null) {
@@ -387,6 +448,39 @@ public class DeviceRequest extends IdBean {
 		this.includeNonAlive = includeNonAlive;
 	}
 
+	public List<String> getDeviceNames() {
+		return deviceNames;
+	}
+
+	public void setDeviceNames(List<String> deviceNames) {
+		this.deviceNames = deviceNames;
+	}
+
+	public boolean isIncludeValues() {
+		return includeValues;
+	}
+
+	public void setIncludeValues(boolean includeValues) {
+		this.includeValues = includeValues;
+	}
+
+	public int getPartSize() {
+		return partSize;
+	}
+
+	public void setPartSize(int partSize) {
+		this.partSize = partSize;
+	}
+
+	@Override
+	public boolean isPartial() {
+		return partial;
+	}
+
+	public void setPartial(boolean partial) {
+		this.partial = partial;
+	}
+
 	/**
 	 * Checks if this request contains an error message and throws an exception if it does,
 	 * does nothing otherwise
@@ -11,20 +11,50 @@
  *******************************************************************************/
 package org.eclipse.scanning.api.malcolm;
 
-import java.util.ArrayList;
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Class representing a table in Malcolm Format (List of columns with data).
  * Instances of this class are NOT thread safe.
+ * <p>
+ * Each column is held as an array of the primitive type of the column, for instance
+ * a column of type {@link Double} is a double[] and one of type {@link Boolean} a boolean[].
+ * Columns of a type which is not a boxed primitive or {@link String} are held as Object[].
+ * The arrays always hold exactly the rows of the table and may be read without copying
+ * with {@link #getDoubleColumn(String)} and the like. Adding a row copies each column,
+ * so large tables are better made from their columns, for instance with
+ * {@link #fromArrays(Map, Map)}.
+ * <p>
+ * A row is a {@link Row}, a live read-only view of the table at that index rather than a copy of its values.
  */
 public class MalcolmTable implements Iterable<Map<String, Object>> {
 	
-	private Map<String, List<Object>> tableData;
+	private static final Map<Class<?>, Class<?>> PRIMITIVES;
+	static {
+		PRIMITIVES = new HashMap<>(8);
+		PRIMITIVES.put(Double.class,  double.class);
+		PRIMITIVES.put(Float.class,   float.class);
+		PRIMITIVES.put(Long.class,    long.class);
+		PRIMITIVES.put(Integer.class, int.class);
+		PRIMITIVES.put(Short.class,   short.class);
+		PRIMITIVES.put(Byte.class,    byte.class);
+		PRIMITIVES.put(Boolean.class, boolean.class);
+		PRIMITIVES.put(String.class,  String.class);
+	}
+
+	private Map<String, Object> columns; // heading to the array of the column, of length numRows
 	private Map<String, Class<?>> tableDataTypes;
 	private List<String> headings;
 	private int numRows;
@@ -47,12 +77,11 @@ public class MalcolmTable implements Iterable<Map<String, Object>> {
 			throw new IllegalArgumentException("The given arguments are not of the same size");
 		}
 		
-		tableData = tableAsMap;
-		
-		numRows = tableData.isEmpty() ? 0 : tableData.values().iterator().next().size();
+		numRows = tableAsMap.isEmpty() ? 0 : tableAsMap.values().iterator().next().size();
 		tableDataTypes = dataTypes;
 		headings = new LinkedList<String>(tableAsMap.keySet());
 		
+		columns = new LinkedHashMap<>(headings.size());
 		for (String heading : headings) {
 			if (!dataTypes.containsKey(heading)) {
 				throw new IllegalArgumentException("The types map has no entry for column " + heading);
@@ -62,6 +91,7 @@ public class MalcolmTable implements Iterable<Map<String, Object>> {
 				throw new IllegalArgumentException(String.format("The column %s has size %d, should be %d",
 						heading, tableAsMap.get(heading).size(), numRows));
 			}
+			columns.put(heading, toArray(tableAsMap.get(heading), dataTypes.get(heading)));
 		}
 	}
 	
@@ -73,44 +103,194 @@ public class MalcolmTable implements Iterable<Map<String, Object>> {
 		tableDataTypes = dataTypes;
 		headings = new LinkedList<String>(tableDataTypes.keySet());
 		
-		tableData = new LinkedHashMap<>(headings.size());
+		columns = new LinkedHashMap<>(headings.size());
 		for (String heading : headings) {
-			tableData.put(heading, new ArrayList<>());
+			columns.put(heading, Array.newInstance(getComponentType(dataTypes.get(heading)), 0));
 		}
 		numRows = 0;
 	}
 	
-	public List<Object> getColumn(String columnName) {
-		List<Object> column = tableData.get(columnName);
-		if (column != null) {
-			return tableData.get(columnName);
+	/**
+	 * Creates a table from arrays which it keeps rather than copies, used by
+	 * connectors which read whole columns at a time.
+	 *
+	 * @param arrays the array of each column in order, for instance a double[] for a column of type {@link Double}
+	 * @param dataTypes map from column name to data type for that column
+	 * @return the table
+	 */
+	public static MalcolmTable fromArrays(Map<String, Object> arrays, Map<String, Class<?>> dataTypes) {
+
+		final MalcolmTable table = new MalcolmTable();
+		table.tableDataTypes = dataTypes;
+		table.headings       = new LinkedList<String>(arrays.keySet());
+		table.columns        = new LinkedHashMap<>(arrays.size());
+		table.numRows        = arrays.isEmpty() ? 0 : Array.getLength(arrays.values().iterator().next());
+		for (String heading : table.headings) {
+			final Object array = arrays.get(heading);
+			if (!dataTypes.containsKey(heading)) {
+				throw new IllegalArgumentException("The types map has no entry for column " + heading);
+			}
+			if (array.getClass().getComponentType()!=getComponentType(dataTypes.get(heading))) {
+				throw new IllegalArgumentException("The column " + heading + " is not an array of " + getComponentType(dataTypes.get(heading)));
+			}
+			if (Array.getLength(array) != table.numRows) {
+				throw new IllegalArgumentException(String.format("The column %s has size %d, should be %d",
+						heading, Array.getLength(array), table.numRows));
+			}
+			table.columns.put(heading, array);
 		}
-		throw new RuntimeException("Unknown column: " + columnName);
+		return table;
+	}
+
+	/**
+	 *
+	 * @param type the data type of a column
+	 * @return the type of the elements of the array which holds a column of that type
+	 */
+	private static Class<?> getComponentType(Class<?> type) {
+		final Class<?> ctype = type!=null ? PRIMITIVES.get(type) : null;
+		return ctype!=null ? ctype : Object.class;
+	}
+
+	private static Object toArray(List<?> values, Class<?> type) {
+		final Class<?> ctype = getComponentType(type);
+		final Object   array = Array.newInstance(ctype, values.size());
+		for (int i = 0; i < values.size(); i++) set(array, i, values.get(i));
+		return array;
+	}
+
+	/**
+	 * Sets a value in the array of a column, converting numbers to the type of the array.
+	 * @throws IllegalArgumentException if the value is null and the column is primitive,
+	 *         which cannot hold a null.
+	 */
+	private static void set(Object array, int index, Object value) {
+		final Class<?> ctype = array.getClass().getComponentType();
+		if (ctype.isPrimitive() && value == null) {
+			throw new IllegalArgumentException("A column of " + ctype + " cannot hold a null, at row " + index);
+		} else if (ctype.isPrimitive() && value instanceof Number) {
+			final Number number = (Number)value;
+			if (ctype==double.class)     Array.setDouble(array, index, number.doubleValue());
+			else if (ctype==float.class) Array.setFloat(array, index, number.floatValue());
+			else if (ctype==long.class)  Array.setLong(array, index, number.longValue());
+			else if (ctype==int.class)   Array.setInt(array, index, number.intValue());
+			else if (ctype==short.class) Array.setShort(array, index, number.shortValue());
+			else if (ctype==byte.class)  Array.setByte(array, index, number.byteValue());
+			else Array.set(array, index, value);
+		} else {
+			Array.set(array, index, value);
+		}
+	}
+
+	private Object getArray(String columnName) {
+		final Object array = columns.get(columnName);
+		if (array == null) throw new RuntimeException("Unknown column: " + columnName);
+		return array;
+	}
+
+	/**
+	 * The array of a column. This is the array held by the table, not a copy,
+	 * so changing it changes the table.
+	 */
+	private <A> A getArray(String columnName, Class<A> arrayType) {
+		final Object array = getArray(columnName);
+		if (array.getClass()!=arrayType) {
+			throw new IllegalArgumentException("The column " + columnName + " is a " + array.getClass().getSimpleName() + " not a " + arrayType.getSimpleName());
+		}
+		return arrayType.cast(array);
+	}
+
+	/**
+	 * @return a copy of the array of a column with the given length, padded with zeros or nulls
+	 */
+	private static Object resize(Object array, int length) {
+		final Object resized = Array.newInstance(array.getClass().getComponentType(), length);
+		System.arraycopy(array, 0, resized, 0, Math.min(length, Array.getLength(array)));
+		return resized;
+	}
+
+	/**
+	 * @param columnName
+	 * @return a list view of the column, which boxes each value read. The view is of a fixed
+	 *    size, values may be set but not added or removed, use {@link #addRow(Map)} instead.
+	 *    Setting a null in a column of a primitive type throws an IllegalArgumentException.
+	 */
+	public List<Object> getColumn(String columnName) {
+		getArray(columnName);
+		return new AbstractList<Object>() {
+			@Override
+			public Object get(int index) {
+				return getCellValue(columnName, index);
+			}
+			@Override
+			public Object set(int index, Object value) {
+				final Object previous = get(index);
+				MalcolmTable.set(getArray(columnName), index, value);
+				return previous;
+			}
+			@Override
+			public int size() {
+				return numRows;
+			}
+		};
+	}
+
+	/**
+	 * @param columnName
+	 * @return the array of the column, for instance a double[] for a column of type {@link Double}.
+	 *    This is the array held by the table, not a copy.
+	 */
+	public Object getColumnArray(String columnName) {
+		return getArray(columnName);
+	}
+
+	public double[] getDoubleColumn(String columnName) {
+		return getArray(columnName, double[].class);
+	}
+
+	public float[] getFloatColumn(String columnName) {
+		return getArray(columnName, float[].class);
+	}
+
+	public long[] getLongColumn(String columnName) {
+		return getArray(columnName, long[].class);
+	}
+
+	public int[] getIntColumn(String columnName) {
+		return getArray(columnName, int[].class);
+	}
+
+	public boolean[] getBooleanColumn(String columnName) {
+		return getArray(columnName, boolean[].class);
+	}
+
+	public String[] getStringColumn(String columnName) {
+		return getArray(columnName, String[].class);
 	}
 	
 	public Class<?> getColumnClass(String columnName) {
-		List<Object> column = tableData.get(columnName);
-		if (column != null) {
-			return tableDataTypes.get(columnName);
-		}
-		throw new RuntimeException("Unknown column: " + columnName);
+		getArray(columnName);
+		return tableDataTypes.get(columnName);
 	}
 	
-	public Map<String, Object> getRow(int rowIndex) {
+	/**
+	 * @param rowIndex
+	 * @return a live view of the row, which reads the table each time it is used so it
+	 *    sees later changes to the table. The view cannot be changed, copy it into another
+	 *    map to keep the values.
+	 */
+	public Row getRow(int rowIndex) {
 		if (rowIndex >= numRows) {
 			throw new IndexOutOfBoundsException("No such row " + rowIndex + ", number of rows = " + numRows);
 		}
-		
-		Map<String, Object> row = new LinkedHashMap<>(headings.size());
-		for (String heading : headings) {
-			row.put(heading, getCellValue(heading, rowIndex));
-		}
-		
-		return row;
+		return new Row(rowIndex);
 	}
 	
 	public Object getCellValue(String columnName, int rowIndex) {
-		return getColumn(columnName).get(rowIndex);
+		if (rowIndex >= numRows) {
+			throw new IndexOutOfBoundsException("No such row " + rowIndex + ", number of rows = " + numRows);
+		}
+		return Array.get(getArray(columnName), rowIndex);
 	}
 	
 	public List<String> getHeadings() {
@@ -125,9 +305,17 @@ public class MalcolmTable implements Iterable<Map<String, Object>> {
 			if (!newRow.containsKey(heading)) {
 				throw new IllegalArgumentException("This row map does not have an entry for the column with the heading " + heading);
 			}
-			List<Object> columnValues = tableData.get(heading);
-			columnValues.add(newRow.get(heading));
+			if (newRow.get(heading) == null && columns.get(heading).getClass().getComponentType().isPrimitive()) {
+				throw new IllegalArgumentException("The column with the heading " + heading + " cannot hold a null");
+			}
 		}
+		final Map<String, Object> grown = new LinkedHashMap<>(columns.size());
+		for (String heading : headings) {
+			final Object array = resize(columns.get(heading), numRows + 1);
+			set(array, numRows, newRow.get(heading));
+			grown.put(heading, array);
+		}
+		columns.putAll(grown); // Once every value has been set, so a bad row leaves the table as it was
 		numRows++;
 	}
 
@@ -145,6 +333,9 @@ public class MalcolmTable implements Iterable<Map<String, Object>> {
 			return rowNum < numRows;
 		}
 
+		/**
+		 * @return a live read-only view of the next row, see {@link MalcolmTable#getRow(int)}
+		 */
 		@Override
 		public Map<String, Object> next() {
 			return getRow(rowNum++);
@@ -152,17 +343,107 @@ public class MalcolmTable implements Iterable<Map<String, Object>> {
 		
 	}
 
+	/**
+	 * A row of the table. This holds only the index of the row and reads
+	 * the arrays of the table when it is used, so it is cheap to make one
+	 * for each row of a large table. It is read-only, {@link #put(Object, Object)}
+	 * throws an UnsupportedOperationException.
+	 */
+	public class Row extends AbstractMap<String, Object> {
+
+		private final int index;
+
+		Row(int index) {
+			this.index = index;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		@Override
+		public Object get(Object heading) {
+			return columns.containsKey(heading) ? getCellValue((String)heading, index) : null;
+		}
+
+		@Override
+		public boolean containsKey(Object heading) {
+			return columns.containsKey(heading);
+		}
+
+		@Override
+		public int size() {
+			return headings.size();
+		}
+
+		public double getDouble(String heading) {
+			return Array.getDouble(getArray(heading), index);
+		}
+
+		public long getLong(String heading) {
+			return Array.getLong(getArray(heading), index);
+		}
+
+		public int getInt(String heading) {
+			return Array.getInt(getArray(heading), index);
+		}
+
+		public boolean getBoolean(String heading) {
+			return Array.getBoolean(getArray(heading), index);
+		}
+
+		public String getString(String heading) {
+			return (String)get(heading);
+		}
+
+		@Override
+		public Set<Map.Entry<String, Object>> entrySet() {
+			return new AbstractSet<Map.Entry<String, Object>>() {
+				@Override
+				public Iterator<Map.Entry<String, Object>> iterator() {
+					final Iterator<String> it = headings.iterator();
+					return new Iterator<Map.Entry<String, Object>>() {
+						@Override
+						public boolean hasNext() {
+							return it.hasNext();
+						}
+						@Override
+						public Map.Entry<String, Object> next() {
+							final String heading = it.next();
+							return new AbstractMap.SimpleImmutableEntry<>(heading, getCellValue(heading, index));
+						}
+					};
+				}
+				@Override
+				public int size() {
+					return headings.size();
+				}
+			};
+		}
+	}
+
+	/**
+	 * @return a view of the columns as lists, used when the table is serialized. The
+	 * typed column methods, for instance {@link #getDoubleColumn(String)}, do not box each value.
+	 */
 	public Map<String, List<Object>> getTableData() {
+		if (columns == null) return null;
+		final Map<String, List<Object>> tableData = new LinkedHashMap<>(columns.size());
+		for (String heading : columns.keySet()) tableData.put(heading, getColumn(heading));
 		return tableData;
 	}
 
 	public void setTableData(Map<String, List<Object>> tableData) {
-		this.tableData = tableData;
 		// also sets the number of rows.
-		int numRows = tableData.values().iterator().next().size();
+		int numRows = tableData.isEmpty() ? 0 : tableData.values().iterator().next().size();
 		if (tableData.values().stream().anyMatch(column -> column.size() != numRows)) {
 			throw new IllegalArgumentException("All columns must have the same size");
 		}
+		this.columns = new LinkedHashMap<>(tableData.size());
+		for (Map.Entry<String, List<Object>> entry : tableData.entrySet()) {
+			final Class<?> type = tableDataTypes!=null ? tableDataTypes.get(entry.getKey()) : null;
+			columns.put(entry.getKey(), toArray(entry.getValue(), type));
+		}
 		this.numRows = numRows;
 	}
 
@@ -172,14 +453,33 @@ public class MalcolmTable implements Iterable<Map<String, Object>> {
 
 	public void setTableDataTypes(Map<String, Class<?>> tableDataTypes) {
 		this.tableDataTypes = tableDataTypes;
+		// Columns set before their types are held as objects until now
+		if (columns != null && tableDataTypes != null) {
+			for (Map.Entry<String, Object> entry : columns.entrySet()) {
+				final Object array = entry.getValue();
+				if (array.getClass().getComponentType()!=getComponentType(tableDataTypes.get(entry.getKey()))) {
+					final Object[] values = new Object[Array.getLength(array)];
+					for (int i = 0; i < values.length; i++) values[i] = Array.get(array, i);
+					entry.setValue(toArray(Arrays.asList(values), tableDataTypes.get(entry.getKey())));
+				}
+			}
+		}
 	}
 
 	public int getNumRows() {
 		return numRows;
 	}
 
+	/**
+	 * Sets the number of rows, any columns are cut or padded with zeros or nulls to this length.
+	 * @param numRows
+	 */
 	public void setNumRows(int numRows) {
 		this.numRows = numRows;
+		if (columns == null) return;
+		for (Map.Entry<String, Object> entry : columns.entrySet()) {
+			if (Array.getLength(entry.getValue()) != numRows) entry.setValue(resize(entry.getValue(), numRows));
+		}
 	}
 
 	public void setHeadings(List<String> headings) {
@@ -192,7 +492,8 @@ public class MalcolmTable implements Iterable<Map<String, Object>> {
 		int result = 1;
 		result = prime * result + ((headings == null) ? 0 : headings.hashCode());
 		result = prime * result + numRows;
-		result = prime * result + ((tableData == null) ? 0 : tableData.hashCode());
+		result = prime * result + ((columns == null) ? 0 : columns.keySet().hashCode());
+		result = prime * result + ((columns == null) ? 0 : Arrays.deepHashCode(columns.values().toArray()));
 		result = prime * result + ((tableDataTypes == null) ? 0 : tableDataTypes.hashCode());
 		return result;
 	}
@@ -213,11 +514,15 @@ public class MalcolmTable implements Iterable<Map<String, Object>> {
 			return false;
 		if (numRows != other.numRows)
 			return false;
-		if (tableData == null) {
-			if (other.tableData != null)
+		if (columns == null) {
+			if (other.columns != null)
 				return false;
-		} else if (!tableData.equals(other.tableData))
+		} else if (other.columns == null || !columns.keySet().equals(other.columns.keySet()))
 			return false;
+		else for (String heading : columns.keySet()) {
+			if (!Objects.deepEquals(columns.get(heading), other.columns.get(heading)))
+				return false;
+		}
 		if (tableDataTypes == null) {
 			if (other.tableDataTypes != null)
 				return false;
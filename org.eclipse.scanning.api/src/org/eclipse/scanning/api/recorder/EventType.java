@@ -0,0 +1,53 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.recorder;
+
+/**
+ * The types of event recorded by the {@link FlightRecorder}.
+ */
+public enum EventType {
+
+	CONFIGURE("Scan Configure",     "Configuring a scan"),
+	RUN("Scan Run",                 "Running a scan"),
+	POINT("Scan Point",             "Moving to and acquiring one point of a scan"),
+	LEVEL("Scan Level",             "Running the devices of one level"),
+	WRITE("Scan Write",             "Writing one detector for one point"),
+	PAUSE("Scan Pause",             "Pausing a scan"),
+	RESUME("Scan Resume",           "Resuming a scan"),
+	BEAN("Bean Execution",          "Starting the process of a bean taken from a queue"),
+	BROADCAST("Broadcast",          "Publishing a bean to a topic"),
+	MALCOLM_SEND("Malcolm Send",    "Sending a message to Malcolm and waiting for the reply"),
+	MALCOLM_MONITOR("Malcolm Monitor", "Handling an update from a Malcolm subscription");
+	
+	private final String label;
+	private final String description;
+
+	private EventType(String label, String description) {
+		this.label       = label;
+		this.description = description;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * @return the name of the event in the recording, for instance org.eclipse.scanning.ScanPoint
+	 */
+	public String getEventName() {
+		return "org.eclipse.scanning."+label.replace(" ", "");
+	}
+}
@@ -0,0 +1,89 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.recorder;
+
+/**
+ * An event of the flight recorder which times part of a scan, for
+ * instance a point or sending a message to Malcolm. Begun by
+ * {@link FlightRecorder#begin(EventType)} and committed when the
+ * part of the scan finishes, for instance:
+ * 
+ * <pre>
+ * FlightEvent event = FlightRecorder.begin(EventType.POINT).name(getName()).index(step);
+ * try {
+ *     ...
+ * } finally {
+ *     event.commit();
+ * }
+ * </pre>
+ * 
+ * If the JVM has no flight recorder or is not recording the event does nothing.
+ */
+public class FlightEvent implements AutoCloseable {
+	
+	/**
+	 * The event used when nothing is being recorded.
+	 */
+	static final FlightEvent NONE = new FlightEvent();
+	
+	FlightEvent() {
+		
+	}
+
+	/**
+	 * 
+	 * @return true if the event will be recorded, use to avoid making
+	 * details which are expensive to create.
+	 */
+	public boolean isEnabled() {
+		return false;
+	}
+
+	/**
+	 * 
+	 * @param name of the device, consumer, topic or endpoint
+	 * @return this
+	 */
+	public FlightEvent name(String name) {
+		return this;
+	}
+
+	/**
+	 * 
+	 * @param detail more about the event, for instance the level's devices
+	 * @return this
+	 */
+	public FlightEvent detail(String detail) {
+		return this;
+	}
+
+	/**
+	 * 
+	 * @param index for instance the step index of the point
+	 * @return this
+	 */
+	public FlightEvent index(long index) {
+		return this;
+	}
+
+	/**
+	 * Ends the event and records it.
+	 */
+	public void commit() {
+		
+	}
+
+	@Override
+	public void close() {
+		commit();
+	}
+}
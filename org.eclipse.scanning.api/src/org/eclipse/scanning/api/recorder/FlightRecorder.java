@@ -0,0 +1,215 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.recorder;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <pre>
+ * Records the lifecycle of scans with the JDK Flight Recorder so that
+ * a continuous recording may be used to match scan stalls with garbage
+ * collection, I/O and broker latency after the fact.
+ * 
+ * The scanning bundles run on Java 8 so the events are made at runtime
+ * with jdk.jfr.EventFactory, which is in Java 11 and the Java 8 updates
+ * which have the flight recorder. If the JVM has no flight recorder or
+ * the system property "org.eclipse.scanning.jfr" is false, the events
+ * do nothing. The events are in the category "Scanning" and have a name,
+ * detail and index field.
+ * 
+ * Usage:
+ * FlightEvent event = FlightRecorder.begin(EventType.BROADCAST).name(topic);
+ * ...
+ * event.commit();
+ * </pre>
+ */
+public final class FlightRecorder {
+	
+	private static final Logger logger = LoggerFactory.getLogger(FlightRecorder.class);
+
+	/**
+	 * Set to false to stop scanning events being made, default true.
+	 */
+	public static final String ENABLED_PROPERTY = "org.eclipse.scanning.jfr";
+	
+	private static volatile boolean available;
+	private static Object[]         factories;  // One jdk.jfr.EventFactory per type
+	private static Object[]         types;      // The jdk.jfr.EventType of each factory
+	private static MethodHandle     newEvent, isEnabled, begin, end, shouldCommit, commit, set;
+	
+	static {
+		available = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY, "true"));
+		if (available) {
+			try {
+				createFactories();
+			} catch (ClassNotFoundException ne) {
+				available = false;
+				logger.debug("There is no flight recorder in this JVM, scanning events will not be recorded.");
+			} catch (Throwable ne) {
+				available = false;
+				logger.warn("Cannot create the flight recorder events, scanning events will not be recorded.", ne);
+			}
+		}
+	}
+
+	private FlightRecorder() {
+		
+	}
+	
+	/**
+	 * @return true if the events may be recorded.
+	 */
+	public static boolean isAvailable() {
+		return available;
+	}
+
+	/**
+	 * Begin timing an event. If no recording is running which records the type
+	 * this returns the shared event which does nothing, without making a jdk.jfr.Event.
+	 * 
+	 * @param type
+	 * @return the event, never null.
+	 */
+	public static FlightEvent begin(EventType type) {
+		if (!available) return FlightEvent.NONE;
+		try {
+			if (!(boolean)isEnabled.invoke(types[type.ordinal()])) return FlightEvent.NONE;
+			final Object event = newEvent.invoke(factories[type.ordinal()]);
+			begin.invoke(event);
+			return new JfrEvent(event);
+		} catch (Throwable ne) {
+			disable(ne);
+			return FlightEvent.NONE;
+		}
+	}
+
+	private static void disable(Throwable ne) {
+		if (!available) return;
+		available = false;
+		logger.warn("Cannot record a flight recorder event, scanning events will no longer be recorded.", ne);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void createFactories() throws Throwable {
+
+		final ClassLoader loader        = ClassLoader.getSystemClassLoader(); // jdk.jfr is not exported to bundles
+		final Class<?> factoryClass     = Class.forName("jdk.jfr.EventFactory",      true, loader);
+		final Class<?> eventClass       = Class.forName("jdk.jfr.Event",             true, loader);
+		final Class<?> annotationClass  = Class.forName("jdk.jfr.AnnotationElement", true, loader);
+		final Class<?> descriptorClass  = Class.forName("jdk.jfr.ValueDescriptor",   true, loader);
+		final Class<?> typeClass        = Class.forName("jdk.jfr.EventType",         true, loader);
+		final Class<? extends Annotation> name        = (Class<? extends Annotation>)Class.forName("jdk.jfr.Name",        true, loader);
+		final Class<? extends Annotation> label       = (Class<? extends Annotation>)Class.forName("jdk.jfr.Label",       true, loader);
+		final Class<? extends Annotation> description = (Class<? extends Annotation>)Class.forName("jdk.jfr.Description", true, loader);
+		final Class<? extends Annotation> category    = (Class<? extends Annotation>)Class.forName("jdk.jfr.Category",    true, loader);
+		final Class<? extends Annotation> stackTrace  = (Class<? extends Annotation>)Class.forName("jdk.jfr.StackTrace",  true, loader);
+
+		final Constructor<?> annotation = annotationClass.getConstructor(Class.class, Object.class);
+		final Constructor<?> descriptor = descriptorClass.getConstructor(Class.class, String.class, List.class);
+		final Method         create     = factoryClass.getMethod("create", List.class, List.class);
+		final Method         eventType  = factoryClass.getMethod("getEventType");
+		
+		final List<Object> fields = Arrays.asList(
+				descriptor.newInstance(String.class, "name",   Collections.singletonList(annotation.newInstance(label, "Name"))),
+				descriptor.newInstance(String.class, "detail", Collections.singletonList(annotation.newInstance(label, "Detail"))),
+				descriptor.newInstance(long.class,   "index",  Collections.singletonList(annotation.newInstance(label, "Index"))));
+
+		final Object[] created = new Object[EventType.values().length];
+		final Object[] jfrTypes = new Object[created.length];
+		for (EventType type : EventType.values()) {
+			final List<Object> annotations = Arrays.asList(
+					annotation.newInstance(name,        type.getEventName()),
+					annotation.newInstance(label,       type.getLabel()),
+					annotation.newInstance(description, type.getDescription()),
+					annotation.newInstance(category,    new String[]{"Scanning"}),
+					annotation.newInstance(stackTrace,  false)); // Keeps the events cheap
+			created[type.ordinal()]  = create.invoke(null, annotations, fields);
+			jfrTypes[type.ordinal()] = eventType.invoke(created[type.ordinal()]);
+		}
+		
+		final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		newEvent     = lookup.findVirtual(factoryClass, "newEvent",     MethodType.methodType(eventClass));
+		isEnabled    = lookup.findVirtual(typeClass,    "isEnabled",    MethodType.methodType(boolean.class)); // True if a recording is running which records the type
+		begin        = lookup.findVirtual(eventClass,   "begin",        MethodType.methodType(void.class));
+		end          = lookup.findVirtual(eventClass,   "end",          MethodType.methodType(void.class));
+		shouldCommit = lookup.findVirtual(eventClass,   "shouldCommit", MethodType.methodType(boolean.class));
+		commit       = lookup.findVirtual(eventClass,   "commit",       MethodType.methodType(void.class));
+		set          = lookup.findVirtual(eventClass,   "set",          MethodType.methodType(void.class, int.class, Object.class));
+		types        = jfrTypes;
+		factories    = created;
+	}
+	
+	/**
+	 * An event which is being recorded.
+	 */
+	private static final class JfrEvent extends FlightEvent {
+		
+		private final Object event; // jdk.jfr.Event
+		private boolean      committed;
+		
+		JfrEvent(Object event) {
+			this.event = event;
+		}
+		
+		@Override
+		public boolean isEnabled() {
+			return true;
+		}
+		
+		@Override
+		public FlightEvent name(String name) {
+			return set(0, name);
+		}
+
+		@Override
+		public FlightEvent detail(String detail) {
+			return set(1, detail);
+		}
+
+		@Override
+		public FlightEvent index(long index) {
+			return set(2, index);
+		}
+		
+		private FlightEvent set(int index, Object value) {
+			try {
+				set.invoke(event, index, value);
+			} catch (Throwable ne) {
+				disable(ne);
+			}
+			return this;
+		}
+		
+		@Override
+		public void commit() {
+			if (committed) return;
+			committed = true;
+			try {
+				end.invoke(event);
+				if ((boolean)shouldCommit.invoke(event)) commit.invoke(event);
+			} catch (Throwable ne) {
+				disable(ne);
+			}
+		}
+	}
+}
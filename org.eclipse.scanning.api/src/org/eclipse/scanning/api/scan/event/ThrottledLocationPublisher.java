@@ -0,0 +1,246 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.scan.event;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.scanning.api.event.EventException;
+import org.eclipse.scanning.api.event.IEventConnectorService;
+import org.eclipse.scanning.api.event.core.IConsumer;
+import org.eclipse.scanning.api.event.core.IPublisher;
+import org.eclipse.scanning.api.scan.event.Location.LocationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <pre>
+ * A publisher of locations which sends them on a shared background thread, so that the
+ * thread moving a scannable never waits for the broker.
+ *
+ * Each scannable has a policy:
+ * 1. maxRate, the most positionChanged locations per second which are sent. Those coming
+ *    faster are conflated, only the latest waiting is sent.
+ * 2. deadband, a positionChanged whose value is within this of the last value is not sent.
+ * 3. The other locations, for instance positionPerformed with the final value, are always sent
+ *    and a positionChanged waiting before them is dropped.
+ *
+ * The default policy is from org.eclipse.scanning.api.location.maxRate (Hz, default 0 which is
+ * no limit) and org.eclipse.scanning.api.location.deadband (default 0).
+ * Locations for the same scannable are sent in the order that they were broadcast.
+ * </pre>
+ */
+public class ThrottledLocationPublisher implements IPublisher<Location> {
+
+	private static final Logger logger = LoggerFactory.getLogger(ThrottledLocationPublisher.class);
+
+	private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "Location publisher");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private static final class Policy {
+		private final long   interval; // ms
+		private final double deadband;
+		Policy(double maxRate, double deadband) {
+			this.interval = maxRate>0 ? Math.round(1000d/maxRate) : 0;
+			this.deadband = deadband;
+		}
+	}
+
+	/**
+	 * The locations of one scannable waiting to be sent, guarded by itself.
+	 */
+	private final class Pending {
+		private final Deque<Location> locations = new ArrayDeque<>(2);
+		private Policy  policy;
+		private Object  lastValue;
+		private long    lastTime;
+		private boolean scheduled;
+
+		Pending(Policy policy) {
+			this.policy = policy;
+		}
+
+		synchronized void add(Location location) {
+
+			final Object value = value(location);
+			if (location.getType()==LocationType.positionChanged) {
+				if (withinDeadband(value)) return;
+				lastValue = value;
+				if (!locations.isEmpty() && locations.peekLast().getType()==LocationType.positionChanged) locations.pollLast(); // Conflate
+				locations.add(location);
+				if (!scheduled) {
+					scheduled = true;
+					executor.schedule(this::send, Math.max(0, lastTime+policy.interval-System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+				}
+			} else {
+				if (value!=null) lastValue = value;
+				locations.removeIf(l -> l.getType()==LocationType.positionChanged);
+				locations.add(location);
+				executor.execute(this::send);
+			}
+		}
+
+		private boolean withinDeadband(Object value) {
+			if (policy.deadband<=0) return false;
+			if (!(value instanceof Number) || !(lastValue instanceof Number)) return false;
+			return Math.abs(((Number)value).doubleValue()-((Number)lastValue).doubleValue()) < policy.deadband;
+		}
+
+		/**
+		 * Called on the publisher thread only.
+		 */
+		void send() {
+			final List<Location> toSend;
+			synchronized (this) {
+				scheduled = false;
+				if (locations.isEmpty()) return;
+				toSend = new ArrayList<>(locations);
+				locations.clear();
+				lastTime = System.currentTimeMillis();
+			}
+			for (Location location : toSend) {
+				try {
+					publisher.broadcast(location);
+				} catch (EventException e) {
+					logger.error("Cannot publish location "+location, e);
+				}
+			}
+		}
+	}
+
+	private final IPublisher<Location> publisher;
+	private final Map<String, Pending> pending;
+	private final Map<String, Policy>  policies;
+	private final Policy               defaultPolicy;
+
+	public ThrottledLocationPublisher(IPublisher<Location> publisher) {
+		this.publisher     = publisher;
+		this.pending       = new ConcurrentHashMap<>();
+		this.policies      = new ConcurrentHashMap<>();
+		this.defaultPolicy = new Policy(Double.parseDouble(System.getProperty("org.eclipse.scanning.api.location.maxRate", "0")),
+				                        Double.parseDouble(System.getProperty("org.eclipse.scanning.api.location.deadband", "0")));
+	}
+
+	/**
+	 * Sets the policy for locations of a given scannable.
+	 * @param name of the scannable
+	 * @param maxRate most positionChanged per second, 0 for no limit
+	 * @param deadband change of value below which positionChanged is not sent, 0 for none
+	 */
+	public void setPolicy(String name, double maxRate, double deadband) {
+		final Policy policy = new Policy(maxRate, deadband);
+		policies.put(name, policy);
+		Pending pend = pending.get(name);
+		if (pend!=null) synchronized (pend) { pend.policy = policy; }
+	}
+
+	@Override
+	public void broadcast(Location location) throws EventException {
+		final String name = location.getName()!=null ? location.getName() : "";
+		pending.computeIfAbsent(name, n -> new Pending(policies.getOrDefault(n, defaultPolicy))).add(location);
+	}
+
+	private static Object value(Location location) {
+		if (location.getPosition()==null || location.getName()==null) return null;
+		return location.getPosition().get(location.getName());
+	}
+
+	/**
+	 * Sends what is waiting then disconnects the publisher.
+	 */
+	@Override
+	public void disconnect() throws EventException {
+		try {
+			executor.submit(() -> pending.values().forEach(Pending::send)).get(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException | TimeoutException e) {
+			logger.error("Cannot send the last locations", e);
+		}
+		publisher.disconnect();
+	}
+
+	@Override
+	public boolean isDisconnected() {
+		return publisher.isDisconnected();
+	}
+
+	@Override
+	public String getTopicName() {
+		return publisher.getTopicName();
+	}
+
+	@Override
+	public void setTopicName(String topic) throws EventException {
+		publisher.setTopicName(topic);
+	}
+
+	@Override
+	public URI getUri() {
+		return publisher.getUri();
+	}
+
+	@Override
+	public IEventConnectorService getConnectorService() {
+		return publisher.getConnectorService();
+	}
+
+	@Override
+	public void setAlive(boolean alive) throws EventException {
+		publisher.setAlive(alive);
+	}
+
+	@Override
+	public boolean isAlive() {
+		return publisher.isAlive();
+	}
+
+	@Override
+	public String getStatusSetName() {
+		return publisher.getStatusSetName();
+	}
+
+	@Override
+	public void setStatusSetName(String queueName) {
+		publisher.setStatusSetName(queueName);
+	}
+
+	@Override
+	public void setStatusSetAddRequired(boolean isRequired) {
+		publisher.setStatusSetAddRequired(isRequired);
+	}
+
+	@Override
+	public void setLoggingStream(PrintStream stream) {
+		publisher.setLoggingStream(stream);
+	}
+
+	@Override
+	public void setConsumer(IConsumer<?> consumer) {
+		publisher.setConsumer(consumer);
+	}
+
+}
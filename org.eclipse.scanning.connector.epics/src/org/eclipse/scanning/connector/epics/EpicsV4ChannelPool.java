@@ -0,0 +1,208 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.connector.epics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.epics.pvaClient.PvaClient;
+import org.epics.pvaClient.PvaClientChannel;
+import org.epics.pvaClient.PvaClientChannelStateChangeRequester;
+import org.epics.pvaClient.PvaClientGet;
+import org.epics.pvaClient.PvaClientPut;
+import org.epics.pvaClient.PvaClientRPC;
+import org.epics.pvdata.pv.PVStructure;
+import org.epics.pvdata.pv.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a connected channel for each device and the get, put and RPC
+ * operations made on it by endpoint, so that a message to a device does
+ * not connect a new channel and operation each time.
+ * 
+ * If the channel disconnects the channel and its operations are dropped
+ * and the next message to the device connects again.
+ */
+class EpicsV4ChannelPool {
+	
+	private static final Logger logger = LoggerFactory.getLogger(EpicsV4ChannelPool.class);
+
+	private final PvaClient                 pvaClient;
+	private final Map<String, PooledChannel> channels;
+	
+	EpicsV4ChannelPool(PvaClient pvaClient) {
+		this.pvaClient = pvaClient;
+		this.channels  = new ConcurrentHashMap<>(7);
+	}
+
+	/**
+	 * 
+	 * @param deviceName
+	 * @param timeout in seconds to wait for a new channel to connect
+	 * @return a connected channel to the device
+	 * @throws Exception if the device cannot be connected to
+	 */
+	PooledChannel getChannel(String deviceName, double timeout) throws Exception {
+		
+		PooledChannel pooled = channels.get(deviceName);
+		if (pooled!=null && pooled.isConnected()) return pooled.reuse();
+		
+		synchronized (this) {
+			pooled = channels.get(deviceName);
+			if (pooled!=null && pooled.isConnected()) return pooled.reuse();
+			if (pooled!=null) invalidate(pooled);
+			
+			PvaClientChannel channel = pvaClient.createChannel(deviceName,"pva");
+			channel.issueConnect();
+	        Status status = channel.waitConnect(timeout);
+	        if(!status.isOK()) {
+	        	channel.destroy();
+	        	throw new Exception("Failed to connect to device '" + deviceName + "' (" + status.getType() + ": " + status.getMessage() + ")");
+	        }
+	        pooled = new PooledChannel(deviceName, channel);
+	        channel.setStateChangeRequester(pooled);
+	        channels.put(deviceName, pooled);
+	        return pooled;
+		}
+	}
+	
+	/**
+	 * Drops the channel, the next message to its device will connect again.
+	 * @param pooled
+	 */
+	void invalidate(PooledChannel pooled) {
+		channels.remove(pooled.getDeviceName(), pooled);
+		pooled.destroy();
+	}
+	
+	/**
+	 * 
+	 * @return the number of channels kept.
+	 */
+	int size() {
+		return channels.size();
+	}
+	
+	/**
+	 * Destroys all the channels.
+	 */
+	synchronized void close() {
+		for (PooledChannel pooled : channels.values()) pooled.destroy();
+		channels.clear();
+	}
+
+	/**
+	 * A channel to a device and its operations. The operations
+	 * are not thread safe, callers should synchronize on them.
+	 */
+	static final class PooledChannel implements PvaClientChannelStateChangeRequester {
+		
+		private final String                      deviceName;
+		private final PvaClientChannel            channel;
+		private final Map<String, PvaClientGet>   gets;
+		private final Map<String, PvaClientPut>   puts;
+		private final Map<String, PvaClientRPC>   rpcs;
+		private volatile boolean                  connected;
+		private volatile boolean                  reused;
+		
+		PooledChannel(String deviceName, PvaClientChannel channel) {
+			this.deviceName = deviceName;
+			this.channel    = channel;
+			this.gets       = new ConcurrentHashMap<>(7);
+			this.puts       = new ConcurrentHashMap<>(7);
+			this.rpcs       = new ConcurrentHashMap<>(7);
+			this.connected  = true;
+		}
+		
+		private PooledChannel reuse() {
+			reused = true;
+			return this;
+		}
+
+		String getDeviceName() {
+			return deviceName;
+		}
+
+		/**
+		 * @return true if the channel was connected before the current message.
+		 */
+		boolean isReused() {
+			return reused;
+		}
+
+		boolean isConnected() {
+			return connected && channel.getChannel().isConnected();
+		}
+
+		synchronized PvaClientGet getGet(String request) throws Exception {
+			PvaClientGet get = gets.get(request);
+			if (get==null) {
+				get = channel.createGet(request);
+		        get.issueConnect();
+		        Status status = get.waitConnect();
+		        if(!status.isOK()) {
+		        	throw new Exception("CreateGet failed for '" + request + "' (" + status.getType() + ": " + status.getMessage() + ")");
+		    	}
+		        gets.put(request, get);
+			}
+			return get;
+		}
+
+		synchronized PvaClientPut getPut(String request) throws Exception {
+			PvaClientPut put = puts.get(request);
+			if (put==null) {
+				put = channel.createPut(request);
+		        put.issueConnect();
+		        Status status = put.waitConnect();
+		        if(!status.isOK()) {
+		        	throw new Exception("CreatePut failed for '" + request + "' (" + status.getType() + ": " + status.getMessage() + ")");
+		    	}
+		        puts.put(request, put);
+			}
+			return put;
+		}
+
+		synchronized PvaClientRPC getRPC(String method, PVStructure methodStructure) throws Exception {
+			final String key = methodStructure.toString();
+			PvaClientRPC rpc = rpcs.get(key);
+			if (rpc==null) {
+				rpc = channel.createRPC(methodStructure);
+		        rpc.issueConnect();
+		        Status status = rpc.waitConnect();
+		        if(!status.isOK()) {
+		        	throw new Exception("CreateRPC failed for '" + method + "' (" + status.getType() + ": " + status.getMessage() + ")");
+		    	}
+		        rpcs.put(key, rpc);
+			}
+			return rpc;
+		}
+
+		@Override
+		public void channelStateChange(PvaClientChannel channel, boolean isConnected) {
+			this.connected = isConnected;
+			if (!isConnected) logger.debug("The channel to '"+deviceName+"' disconnected, it will be connected again when next used.");
+		}
+
+		synchronized void destroy() {
+			connected = false;
+			gets.clear();
+			puts.clear();
+			rpcs.clear();
+			try {
+				channel.destroy();
+			} catch (Exception ne) {
+				logger.debug("Cannot destroy the channel to "+deviceName, ne);
+			}
+		}
+	}
+}
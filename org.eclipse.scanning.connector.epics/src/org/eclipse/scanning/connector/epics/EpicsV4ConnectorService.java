@@ -27,6 +27,10 @@ import org.eclipse.scanning.api.malcolm.event.IMalcolmListener;
 import org.eclipse.scanning.api.malcolm.event.MalcolmEvent;
 import org.eclipse.scanning.api.malcolm.message.MalcolmMessage;
 import org.eclipse.scanning.api.malcolm.message.Type;
+import org.eclipse.scanning.api.recorder.EventType;
+import org.eclipse.scanning.api.recorder.FlightEvent;
+import org.eclipse.scanning.api.recorder.FlightRecorder;
+import org.eclipse.scanning.connector.epics.EpicsV4ChannelPool.PooledChannel;
 import org.epics.pvaClient.PvaClient;
 import org.epics.pvaClient.PvaClientChannel;
 import org.epics.pvaClient.PvaClientChannelStateChangeRequester;
@@ -52,6 +56,11 @@ import org.slf4j.LoggerFactory;
  * This class uses EpicsV4 class to connect to an Epics V4 endpoint.
  * It provides the ability to get a pv, set a pv, call a method, and subsribe and unsubscribe to a pv.
  * 
+ * Get, put and call messages use a pool of connected channels, one per device, and
+ * keep the operations made for each endpoint. If a kept channel has disconnected a get
+ * or put is sent again on a new channel. A call is only sent again if the channel had
+ * disconnected before the request was made, so that a method is not run twice.
+ * 
  * @author Matt Taylor
  *
  */
@@ -66,6 +75,8 @@ public class EpicsV4ConnectorService implements IMalcolmConnectorService<Malcolm
 	private EpicsV4MessageMapper mapper;
 	
 	private PvaClient pvaClient;
+	
+	private EpicsV4ChannelPool channelPool;
     
     private Map<Long, Collection<EpicsV4MonitorListener>> listeners;
     
@@ -73,6 +84,7 @@ public class EpicsV4ConnectorService implements IMalcolmConnectorService<Malcolm
 		mapper = new EpicsV4MessageMapper();
 		this.listeners = new Hashtable<Long, Collection<EpicsV4MonitorListener>>(7);
 		pvaClient = PvaClient.get("pva"); // Should this be "pva" or the no-argument one?
+		channelPool = new EpicsV4ChannelPool(pvaClient);
 	}
     
 	@Override
@@ -83,8 +95,54 @@ public class EpicsV4ConnectorService implements IMalcolmConnectorService<Malcolm
 	@Override
 	public void disconnect() throws MalcolmDeviceException {
         //pvaClient.destroy();
+		channelPool.close();
  	}
 	
+	/**
+	 * 
+	 * @return the number of connected channels kept for sending messages.
+	 */
+	public int getPooledChannelCount() {
+		return channelPool.size();
+	}
+	
+	@FunctionalInterface
+	private interface ChannelTask<T> {
+		T run(PooledChannel channel) throws Exception;
+	}
+	
+	/**
+	 * Thrown by a task which found its channel disconnected before it sent anything.
+	 */
+	private static final class NotSentException extends Exception {
+		private static final long serialVersionUID = 1L;
+		NotSentException(String message, Throwable cause) {
+			super(message, cause);
+		}
+	}
+	
+	/**
+	 * Runs the task on the pooled channel of the device. If the task fails because
+	 * a kept channel has disconnected, the channel is dropped and the task is run
+	 * once more on a new channel. Failures on a connected channel are not retried.
+	 * 
+	 * @param resend false if the task must not run again once it may have sent its request,
+	 *               it is then only run again if it threw a {@link NotSentException}.
+	 */
+	private <T> T runOnChannel(IMalcolmDevice<?> device, boolean resend, ChannelTask<T> task) throws Exception {
+		PooledChannel channel = channelPool.getChannel(device.getName(), REQUEST_TIMEOUT);
+		try {
+			return task.run(channel);
+		} catch (Exception ne) {
+			if (channel.isConnected()) throw ne;
+			channelPool.invalidate(channel);
+			if (!channel.isReused()) throw ne;
+			if (!resend && !(ne instanceof NotSentException)) throw ne;
+			logger.debug("The channel to '"+device.getName()+"' was lost, connecting again", ne);
+			return task.run(channelPool.getChannel(device.getName(), REQUEST_TIMEOUT));
+		}
+	}
+	
 	public PVStructure pvMarshal(Object anyObject) throws Exception {
 		return mapper.pvMarshal(anyObject);
 	}
@@ -97,6 +155,7 @@ public class EpicsV4ConnectorService implements IMalcolmConnectorService<Malcolm
 	public MalcolmMessage send(IMalcolmDevice<?> device, MalcolmMessage message) throws MalcolmDeviceException {
 		
 		MalcolmMessage result = new MalcolmMessage();
+		final FlightEvent event = FlightRecorder.begin(EventType.MALCOLM_SEND).name(device.getName()).detail(message.getType()+" "+message.getEndpoint());
 				
 		try {
 
@@ -121,6 +180,8 @@ public class EpicsV4ConnectorService implements IMalcolmConnectorService<Malcolm
 			result.setId(message.getId());
 			result.setMessage("Error sending message " + message.getEndpoint() + ": " + e.getMessage());
 			result.setType(Type.ERROR);
+		} finally {
+			event.commit();
 		}
 		return result;
 	}
@@ -227,40 +288,26 @@ public class EpicsV4ConnectorService implements IMalcolmConnectorService<Malcolm
 	protected MalcolmMessage sendGetMessage(IMalcolmDevice<?> device, MalcolmMessage message) throws Exception {
 
 		MalcolmMessage returnMessage = new MalcolmMessage();
-		PvaClientChannel pvaChannel = null;
 		try {
-			PVStructure pvResult = null;
-			pvaChannel = pvaClient.createChannel(device.getName(),"pva");
-	        pvaChannel.issueConnect();
-	        Status status = pvaChannel.waitConnect(REQUEST_TIMEOUT);
-	        if(!status.isOK()) {
-	        	String errMEssage = "Failed to connect to device '" + device.getName() + "' (" + status.getType() + ": " + status.getMessage() + ")";
-	        	throw new Exception(errMEssage);
-	        }
-			
 			String requestString = message.getEndpoint();
 			logger.debug("Get '" + requestString + "'");
-	        PvaClientGet pvaGet = pvaChannel.createGet(requestString);
-	        pvaGet.issueConnect();
-	        status = pvaGet.waitConnect();
-	        if(!status.isOK()) {
-	        	String errMEssage = "CreateGet failed for '" + requestString + "' (" + status.getType() + ": " + status.getMessage() + ")";
-	        	throw new Exception(errMEssage);
-	    	}
-	        PvaClientGetData pvaData = pvaGet.getData();
-			pvResult = pvaData.getPVStructure();
-			logger.debug("Get response = \n" + pvResult + "\nEND");
-	        returnMessage = mapper.convertGetPVStructureToMalcolmMessage(pvResult, message);
+			returnMessage = runOnChannel(device, true, pvaChannel -> {
+		        PvaClientGet pvaGet = pvaChannel.getGet(requestString);
+		        PVStructure pvResult;
+		        synchronized (pvaGet) {
+		        	pvaGet.get();
+			        PvaClientGetData pvaData = pvaGet.getData();
+					pvResult = pvaData.getPVStructure();
+					logger.debug("Get response = \n" + pvResult + "\nEND");
+			        return mapper.convertGetPVStructureToMalcolmMessage(pvResult, message);
+		        }
+			});
 		} catch (Exception ex) {
 			logger.error(ex.getMessage());
 			returnMessage.setType(Type.ERROR);
 			returnMessage.setMessage(ex.getMessage());
 		}
 		
-		if (pvaChannel != null) {
-			pvaChannel.destroy();
-		}
-		
         return returnMessage;
 	}
 	
@@ -275,31 +322,21 @@ public class EpicsV4ConnectorService implements IMalcolmConnectorService<Malcolm
 			returnMessage.setMessage("Unable to set field value to null: " + message.getEndpoint());
         }
 
-		PvaClientChannel pvaChannel = null;
-		
 		try {
 			String requestString = message.getEndpoint();
 			
-			pvaChannel = pvaClient.createChannel(device.getName(),"pva");
-			pvaChannel.issueConnect();
-	        Status status = pvaChannel.waitConnect(REQUEST_TIMEOUT);
-	        if(!status.isOK()) {
-	        	String errMEssage = "Failed to connect to device '" + device.getName() + "' (" + status.getType() + ": " + status.getMessage() + ")";
-	        	throw new Exception(errMEssage);
-	        }
-	        PvaClientPut pvaPut = pvaChannel.createPut(requestString);
-	        pvaPut.issueConnect();
-	        status = pvaPut.waitConnect();
-	        if(!status.isOK()) {
-	        	String errMEssage = "CreatePut failed for '" + requestString + "' (" + status.getType() + ": " + status.getMessage() + ")";
-	        	throw new Exception(errMEssage);
-	    	}
-	        PvaClientPutData putData = pvaPut.getData();
-	        PVStructure pvStructure = putData.getPVStructure();
-	        
-	        mapper.populatePutPVStructure(pvStructure, message);
-	        
-	        pvaPut.put();
+			runOnChannel(device, true, pvaChannel -> {
+		        PvaClientPut pvaPut = pvaChannel.getPut(requestString);
+		        synchronized (pvaPut) {
+			        PvaClientPutData putData = pvaPut.getData();
+			        PVStructure pvStructure = putData.getPVStructure();
+			        
+			        mapper.populatePutPVStructure(pvStructure, message);
+			        
+			        pvaPut.put();
+		        }
+		        return null;
+			});
         
 		} catch (Exception ex) {
 			logger.error(ex.getMessage());
@@ -307,10 +344,6 @@ public class EpicsV4ConnectorService implements IMalcolmConnectorService<Malcolm
 			returnMessage.setType(Type.ERROR);
 			returnMessage.setMessage("Error putting value into field " + message.getEndpoint() + ": " + ex.getMessage());
 		}
-		
-		if (pvaChannel != null) {
-			pvaChannel.destroy();
-		}
         
         return returnMessage;
 	}
@@ -318,36 +351,32 @@ public class EpicsV4ConnectorService implements IMalcolmConnectorService<Malcolm
 	private MalcolmMessage sendCallMessage(IMalcolmDevice<?> device, MalcolmMessage message) {
 		
 		MalcolmMessage returnMessage = new MalcolmMessage();
-		PvaClientChannel pvaChannel = null;
 		
 		try {
-			PVStructure pvResult = null;
 			PVStructure pvRequest = mapper.convertMalcolmMessageToPVStructure(message);
 
 			// Mapper outputs two nested structures, one for the method, one for the parameters 
 			PVStructure methodStructure = pvRequest.getStructureField("method");
 			PVStructure parametersStructure = pvRequest.getStructureField("parameters");
 			
-			pvaChannel = pvaClient.createChannel(device.getName(),"pva");
-			pvaChannel.issueConnect();
-	        Status status = pvaChannel.waitConnect(REQUEST_TIMEOUT);
-	        if(!status.isOK()) {
-	        	String errMEssage = "Failed to connect to device '" + device.getName() + "' (" + status.getType() + ": " + status.getMessage() + ")";
-	        	throw new Exception(errMEssage);
-	        }
-
 			logger.debug("Call method = \n" + methodStructure + "\nEND");
-	        PvaClientRPC rpc = pvaChannel.createRPC(methodStructure);
-	        rpc.issueConnect();
-	        status = rpc.waitConnect();
-	        if(!status.isOK()) {
-	        	String errMEssage = "CreateRPC failed for '" + message.getMethod() + "' (" + status.getType() + ": " + status.getMessage() + ")";
-	        	throw new Exception(errMEssage);
-	    	}
-			logger.debug("Call param = \n" + parametersStructure + "\nEND");
-	        pvResult = rpc.request(parametersStructure);
-			logger.debug("Call response = \n" + pvResult + "\nEND");
-			returnMessage = mapper.convertCallPVStructureToMalcolmMessage(pvResult, message);
+			returnMessage = runOnChannel(device, false, pvaChannel -> {
+				// A call is not idempotent, it may only be sent again if it was never sent.
+		        PvaClientRPC rpc;
+		        try {
+		        	rpc = pvaChannel.getRPC(message.getMethod(), methodStructure);
+		        } catch (Exception ne) {
+		        	throw new NotSentException("Cannot create the call of '"+message.getMethod()+"'", ne);
+		        }
+		        PVStructure pvResult;
+		        synchronized (rpc) {
+		        	if (!pvaChannel.isConnected()) throw new NotSentException("The channel to '"+device.getName()+"' is not connected", null);
+					logger.debug("Call param = \n" + parametersStructure + "\nEND");
+			        pvResult = rpc.request(parametersStructure);
+		        }
+				logger.debug("Call response = \n" + pvResult + "\nEND");
+				return mapper.convertCallPVStructureToMalcolmMessage(pvResult, message);
+			});
 		} catch (Exception ex) {
 			logger.error(ex.getMessage());
 			ex.printStackTrace();
@@ -355,10 +384,6 @@ public class EpicsV4ConnectorService implements IMalcolmConnectorService<Malcolm
 			returnMessage.setMessage(ex.getMessage());
 		}
 		
-		if (pvaChannel != null) {
-			pvaChannel.destroy();
-		}
-		
         return returnMessage;		
 	}
 	
@@ -384,17 +409,21 @@ public class EpicsV4ConnectorService implements IMalcolmConnectorService<Malcolm
 		public void event(PvaClientMonitor monitor) {
 			while (monitor.poll()) {
 				PvaClientMonitorData monitorData = monitor.getData();
-				
-				MalcolmMessage message = new MalcolmMessage();
+				final FlightEvent event = FlightRecorder.begin(EventType.MALCOLM_MONITOR).name(subscribeMessage.getEndpoint());
 				try {
-					message = mapper.convertSubscribeUpdatePVStructureToMalcolmMessage(monitorData.getPVStructure(), subscribeMessage);
-				} catch (Exception ex) {
-					logger.error(ex.getMessage());
-					message.setType(Type.ERROR);
-					message.setMessage("Error converting subscription update: " + ex.getMessage());
+					MalcolmMessage message = new MalcolmMessage();
+					try {
+						message = mapper.convertSubscribeUpdatePVStructureToMalcolmMessage(monitorData.getPVStructure(), subscribeMessage);
+					} catch (Exception ex) {
+						logger.error(ex.getMessage());
+						message.setType(Type.ERROR);
+						message.setMessage("Error converting subscription update: " + ex.getMessage());
+					}
+					listener.eventPerformed(new MalcolmEvent<MalcolmMessage>(message));
+					monitor.releaseEvent();
+				} finally {
+					event.commit();
 				}
-				listener.eventPerformed(new MalcolmEvent<MalcolmMessage>(message));
-				monitor.releaseEvent();
 			}
 		}
 
@@ -28,6 +28,7 @@ import org.eclipse.dawnsci.analysis.dataset.roi.SectorROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.XAxisBoxROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.YAxisBoxROI;
 import org.eclipse.scanning.api.device.models.MalcolmModel;
+import org.eclipse.scanning.api.malcolm.MalcolmTable;
 import org.eclipse.scanning.api.malcolm.message.MalcolmMessage;
 import org.eclipse.scanning.api.malcolm.message.Type;
 import org.eclipse.scanning.api.points.IPointGenerator;
@@ -41,6 +42,7 @@ import org.eclipse.scanning.connector.epics.custommarshallers.CircularROIDeseria
 import org.eclipse.scanning.connector.epics.custommarshallers.CircularROISerialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.EllipticalROIDeserialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.EllipticalROISerialiser;
+import org.eclipse.scanning.connector.epics.custommarshallers.EpicsMalcolmModelSerialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.FreeDrawROIDeserialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.FreeDrawROISerialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.GridModelDeserialiser;
@@ -53,6 +55,7 @@ import org.eclipse.scanning.connector.epics.custommarshallers.LinearROIDeseriali
 import org.eclipse.scanning.connector.epics.custommarshallers.LinearROISerialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.MalcolmMessageSerialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.MalcolmPointGeneratorDeserialiser;
+import org.eclipse.scanning.connector.epics.custommarshallers.MalcolmTableSerialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.NTScalarArrayDeserialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.NTScalarDeserialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.NTTableDeserialiser;
@@ -81,6 +84,7 @@ import org.eclipse.scanning.connector.epics.custommarshallers.XAxisBoxROIDeseria
 import org.eclipse.scanning.connector.epics.custommarshallers.XAxisBoxROISerialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.YAxisBoxROIDeserialiser;
 import org.eclipse.scanning.connector.epics.custommarshallers.YAxisBoxROISerialiser;
+import org.eclipse.scanning.malcolm.core.MalcolmDevice.EpicsMalcolmModel;
 import org.epics.pvdata.pv.PVField;
 import org.epics.pvdata.pv.PVString;
 import org.epics.pvdata.pv.PVStructure;
@@ -91,6 +95,7 @@ import org.python.core.PyDictionary;
 public class EpicsV4MessageMapper {
 	
 	private PVMarshaller marshaller;
+	private IPointGeneratorSerialiser generatorSerialiser;
 	
 	private static String ERROR_TYPE = "malcolm:core/Error:";
 	
@@ -99,9 +104,11 @@ public class EpicsV4MessageMapper {
 	public EpicsV4MessageMapper() {
 		marshaller = new PVMarshaller();
 		marshaller.registerMapTypeIdKey(TYPE_ID_KEY);
-		marshaller.registerSerialiser(IPointGenerator.class, new IPointGeneratorSerialiser());
+		generatorSerialiser = new IPointGeneratorSerialiser();
+		marshaller.registerSerialiser(IPointGenerator.class, generatorSerialiser);
 		marshaller.registerSerialiser(PyDictionary.class, new PyDictionarySerialiser());
 		marshaller.registerSerialiser(MalcolmMessage.class, new MalcolmMessageSerialiser());
+		marshaller.registerSerialiser(EpicsMalcolmModel.class, new EpicsMalcolmModelSerialiser());
 		
 		marshaller.registerSerialiser(SpiralModel.class, new SpiralModelSerialiser());
 		marshaller.registerDeserialiser("SpiralModel", new SpiralModelDeserialiser());
@@ -148,14 +155,17 @@ public class EpicsV4MessageMapper {
 		marshaller.registerDeserialiser("epics:nt/NTScalar:1.0", new NTScalarDeserialiser());
 		marshaller.registerDeserialiser("epics:nt/NTScalarArray:1.0", new NTScalarArrayDeserialiser());
 		marshaller.registerDeserialiser("epics:nt/NTTable:1.0", new NTTableDeserialiser());
+		marshaller.registerSerialiser(MalcolmTable.class, new MalcolmTableSerialiser());
 		marshaller.registerDeserialiser("malcolm:core/PointGenerator:1.0", new MalcolmPointGeneratorDeserialiser());
 	}
 	
 	public PVStructure convertMalcolmMessageToPVStructure(MalcolmMessage malcolmMessage) throws Exception {
 				
-		PVStructure pvRequest = marshaller.toPVStructure(malcolmMessage);
-				
-		return pvRequest;
+		try {
+			return marshaller.toPVStructure(malcolmMessage);
+		} finally {
+			generatorSerialiser.clear();
+		}
 	}
 	
 	public MalcolmMessage convertCallPVStructureToMalcolmMessage(PVStructure structure, MalcolmMessage message) throws Exception {
@@ -219,18 +229,26 @@ public class EpicsV4MessageMapper {
 	
 	public void populatePutPVStructure(PVStructure pvStructure, MalcolmMessage message) throws Exception {
 		PVField endPointField = pvStructure.getSubField(message.getEndpoint());
-		if (endPointField.getField().getType().equals(org.epics.pvdata.pv.Type.union)) {
-			// Create from scratch for union
-			PVUnion unionField = (PVUnion)endPointField;
-			PVStructure newStructure = marshaller.toPVStructure(message.getValue());
-			unionField.set(newStructure);
-		} else {
-			marshaller.setFieldWithValue(pvStructure, message.getEndpoint(), message.getValue());
+		try {
+			if (endPointField.getField().getType().equals(org.epics.pvdata.pv.Type.union)) {
+				// Create from scratch for union
+				PVUnion unionField = (PVUnion)endPointField;
+				PVStructure newStructure = marshaller.toPVStructure(message.getValue());
+				unionField.set(newStructure);
+			} else {
+				marshaller.setFieldWithValue(pvStructure, message.getEndpoint(), message.getValue());
+			}
+		} finally {
+			generatorSerialiser.clear();
 		}
 	}
 	
 	public PVStructure pvMarshal(Object anyObject) throws Exception {
-		return marshaller.toPVStructure(anyObject);
+		try {
+			return marshaller.toPVStructure(anyObject);
+		} finally {
+			generatorSerialiser.clear();
+		}
 	}
 
 	public <U> U pvUnmarshal(PVStructure anyObject, Class<U> beanClass) throws Exception {
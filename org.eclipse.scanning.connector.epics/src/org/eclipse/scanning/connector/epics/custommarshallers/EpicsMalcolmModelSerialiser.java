@@ -0,0 +1,68 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.connector.epics.custommarshallers;
+
+import java.util.List;
+
+import org.eclipse.scanning.malcolm.core.MalcolmDevice.EpicsMalcolmModel;
+import org.epics.pvdata.factory.FieldFactory;
+import org.epics.pvdata.pv.FieldBuilder;
+import org.epics.pvdata.pv.PVString;
+import org.epics.pvdata.pv.PVStringArray;
+import org.epics.pvdata.pv.PVStructure;
+import org.epics.pvdata.pv.ScalarType;
+import org.epics.pvdata.pv.Structure;
+import org.epics.pvmarshaller.marshaller.api.IPVStructureSerialiser;
+import org.epics.pvmarshaller.marshaller.serialisers.Serialiser;
+
+/**
+ * Custom serialiser for the parameters of configure and validate, the
+ * fields are written directly rather than found by reflection for each
+ * message. The generator is written by the serialiser registered for it.
+ *
+ * Fields which are null are left out, the same as for a bean.
+ *
+ * Only the types sent with every configure have serialisers of their own,
+ * other beans are still introspected by PVMarshaller for each message as
+ * its reflection cannot be cached from outside it.
+ */
+public class EpicsMalcolmModelSerialiser implements IPVStructureSerialiser<EpicsMalcolmModel> {
+
+	@Override
+	public Structure buildStructure(Serialiser serialiser, EpicsMalcolmModel model) throws Exception {
+		FieldBuilder builder = FieldFactory.getFieldCreate().createFieldBuilder();
+		if (model.getGenerator()!=null)    builder.add("generator", serialiser.buildStructure(model.getGenerator()));
+		if (model.getAxesToMove()!=null)   builder.addArray("axesToMove", ScalarType.pvString);
+		if (model.getFileDir()!=null)      builder.add("fileDir", ScalarType.pvString);
+		if (model.getFileTemplate()!=null) builder.add("fileTemplate", ScalarType.pvString);
+		return builder.createStructure();
+	}
+
+	@Override
+	public void populatePVStructure(Serialiser serialiser, EpicsMalcolmModel model, PVStructure pvStructure) throws Exception {
+		if (model.getGenerator()!=null) {
+			serialiser.setValues(model.getGenerator(), pvStructure.getStructureField("generator"));
+		}
+		if (model.getAxesToMove()!=null) {
+			List<String> axes  = model.getAxesToMove();
+			String[]     names = axes.toArray(new String[axes.size()]);
+			pvStructure.getSubField(PVStringArray.class, "axesToMove").put(0, names.length, names, 0);
+		}
+		if (model.getFileDir()!=null) {
+			pvStructure.getSubField(PVString.class, "fileDir").put(model.getFileDir());
+		}
+		if (model.getFileTemplate()!=null) {
+			pvStructure.getSubField(PVString.class, "fileTemplate").put(model.getFileTemplate());
+		}
+	}
+
+}
@@ -11,42 +11,74 @@
  *******************************************************************************/
 package org.eclipse.scanning.connector.epics.custommarshallers;
 
+import java.util.Map;
+
 import org.eclipse.scanning.api.points.IPointGenerator;
 import org.eclipse.scanning.points.PySerializable;
 import org.epics.pvdata.pv.PVStructure;
 import org.epics.pvdata.pv.Structure;
 import org.epics.pvmarshaller.marshaller.api.IPVStructureSerialiser;
 import org.epics.pvmarshaller.marshaller.serialisers.Serialiser;
-import org.python.core.PyDictionary;
 
 /**
  * Custom serialiser for IPointGenerator.
- * TODO - make this non 'test' and finalise custom serialisation strategy for IPointGenerator 
+ *
+ * The generator is converted to a dictionary once per marshal, the
+ * dictionary made to build the structure is kept on the thread and used
+ * again to populate it, rather than calling the python generator twice.
+ * Whoever marshals with this serialiser must call {@link #clear()} in a
+ * finally block once the marshal has finished, so that a marshal which
+ * fails between building and populating does not leave the dictionary
+ * on the thread.
+ *
+ * TODO - make this non 'test' and finalise custom serialisation strategy for IPointGenerator
  * @author Matt Taylor
  *
  */
 public class IPointGeneratorSerialiser implements IPVStructureSerialiser<IPointGenerator> {
 
+	private static final class Conversion {
+		private final IPointGenerator<?>  generator;
+		private final Map<String, Object> map;
+		Conversion(IPointGenerator<?> generator, Map<String, Object> map) {
+			this.generator = generator;
+			this.map       = map;
+		}
+	}
+
+	private final ThreadLocal<Conversion> lastConversion = new ThreadLocal<>();
+
 	@Override
 	public Structure buildStructure(Serialiser serialiser, IPointGenerator generator) throws Exception {
-		if (generator instanceof PySerializable) {
-			PySerializable pySerializableGenerator = (PySerializable)generator;
-			PyDictionary generatorAsMap = pySerializableGenerator.toDict();
-			return serialiser.buildStructure(generatorAsMap);
-		} else {
-			throw new Exception("IPointGenerator wasn't PySerializable. Unable to serialise");
-		}
+		Map<String, Object> generatorAsMap = convert(generator);
+		lastConversion.set(new Conversion(generator, generatorAsMap));
+		return serialiser.getMapSerialiser().buildStructureFromMap(generatorAsMap);
 	}
 
 	@Override
 	public void populatePVStructure(Serialiser serialiser, IPointGenerator generator, PVStructure pvStructure) throws Exception {
+		Conversion conversion = lastConversion.get();
+		lastConversion.remove();
+		Map<String, Object> generatorAsMap = conversion!=null && conversion.generator==generator
+				                           ? conversion.map
+				                           : convert(generator);
+		serialiser.getMapSerialiser().setMapValues(pvStructure, generatorAsMap);
+	}
+
+	/**
+	 * Forgets the dictionary kept on this thread, if any.
+	 */
+	public void clear() {
+		lastConversion.remove();
+	}
+
+	private static Map<String, Object> convert(IPointGenerator<?> generator) throws Exception {
 		if (generator instanceof PySerializable) {
 			PySerializable pySerializableGenerator = (PySerializable)generator;
-			PyDictionary generatorAsMap = pySerializableGenerator.toDict();
-			serialiser.setValues(generatorAsMap, pvStructure);
+			return PyDictionarySerialiser.convertMap(pySerializableGenerator.toDict());
 		} else {
 			throw new Exception("IPointGenerator wasn't PySerializable. Unable to serialise");
 		}
 	}
-	
+
 }
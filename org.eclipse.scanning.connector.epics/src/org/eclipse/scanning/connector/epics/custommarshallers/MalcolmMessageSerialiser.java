@@ -30,13 +30,33 @@ import org.epics.pvmarshaller.marshaller.serialisers.Serialiser;
 /**
  * Custom serialiser for the MalcolmMessage class
  * 
+ * The structures which do not depend on the message are built once.
+ * 
  * @author Matt Taylor
  *
  */
 public class MalcolmMessageSerialiser implements IPVStructureSerialiser<MalcolmMessage> {
 
+	private static final FieldCreate fieldCreate = FieldFactory.getFieldCreate();
+
+	private static final Structure METHOD_STRUCTURE = fieldCreate.createFieldBuilder().
+			add("method", ScalarType.pvString).
+			createStructure();
+
+	private static final Structure EMPTY_STRUCTURE = fieldCreate.createFieldBuilder().
+			createStructure();
+
+	private static final Structure GET_STRUCTURE = fieldCreate.createFieldBuilder().
+			add("type", ScalarType.pvString).
+			add("id", ScalarType.pvLong).
+			addArray("endpoint", ScalarType.pvString).
+			createStructure();
+
+	private static final Structure PUT_STRUCTURE = fieldCreate.createFieldBuilder().
+			add("value", fieldCreate.createVariantUnion()).
+			createStructure();
+
 	private Convert convert = ConvertFactory.getConvert();
-	private FieldCreate fieldCreate = FieldFactory.getFieldCreate();
 	
 	@Override
 	public Structure buildStructure(Serialiser serialiser, MalcolmMessage msg) throws Exception {
@@ -45,10 +65,6 @@ public class MalcolmMessageSerialiser implements IPVStructureSerialiser<MalcolmM
 		switch (msg.getType()) {
 		case CALL:
 
-			Structure methodStructure = fieldCreate.createFieldBuilder().
-				add("method", ScalarType.pvString).
-				createStructure();
-
 			Field field = null;
 			
 			if (msg.getArguments() != null) {
@@ -62,25 +78,18 @@ public class MalcolmMessageSerialiser implements IPVStructureSerialiser<MalcolmM
 				}
 				
 			} else {
-				field = fieldCreate.createFieldBuilder().
-						createStructure();
+				field = EMPTY_STRUCTURE;
 			}
 			structure = fieldCreate.createFieldBuilder().
-				add("method", methodStructure).
+				add("method", METHOD_STRUCTURE).
 				add("parameters", field).
 				createStructure();
 			break;
 		case GET:
-			structure = fieldCreate.createFieldBuilder().
-				add("type", ScalarType.pvString).
-				add("id", ScalarType.pvLong).
-				addArray("endpoint", ScalarType.pvString).
-				createStructure();
+			structure = GET_STRUCTURE;
 			break;
 		case PUT:
-			structure = fieldCreate.createFieldBuilder().
-				add("value", fieldCreate.createVariantUnion()).
-				createStructure();
+			structure = PUT_STRUCTURE;
 			break;
 		default:
 			throw new Exception("Unexpected MalcolmMessage type");
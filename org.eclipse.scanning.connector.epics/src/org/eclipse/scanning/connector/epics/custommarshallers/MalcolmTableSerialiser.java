@@ -0,0 +1,47 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.connector.epics.custommarshallers;
+
+import org.eclipse.scanning.api.malcolm.MalcolmTable;
+import org.epics.pvdata.factory.FieldFactory;
+import org.epics.pvdata.pv.FieldBuilder;
+import org.epics.pvdata.pv.PVScalarArray;
+import org.epics.pvdata.pv.PVStructure;
+import org.epics.pvdata.pv.Structure;
+import org.epics.pvmarshaller.marshaller.api.IPVStructureSerialiser;
+import org.epics.pvmarshaller.marshaller.serialisers.Serialiser;
+
+/**
+ * Custom serialiser for Malcolm Table, each column becomes a scalar
+ * array which is copied from the array of the column in one go. The
+ * structure is the same as the value of an NTTable.
+ */
+public class MalcolmTableSerialiser implements IPVStructureSerialiser<MalcolmTable> {
+
+	@Override
+	public Structure buildStructure(Serialiser serialiser, MalcolmTable table) throws Exception {
+		FieldBuilder builder = FieldFactory.getFieldCreate().createFieldBuilder();
+		for (String heading : table.getHeadings()) {
+			builder.addArray(heading, ScalarArrays.getScalarType(table.getColumnArray(heading)));
+		}
+		return builder.createStructure();
+	}
+
+	@Override
+	public void populatePVStructure(Serialiser serialiser, MalcolmTable table, PVStructure pvStructure) throws Exception {
+		for (String heading : table.getHeadings()) {
+			PVScalarArray column = pvStructure.getSubField(PVScalarArray.class, heading);
+			ScalarArrays.put(column, table.getColumnArray(heading), table.getNumRows());
+		}
+	}
+
+}
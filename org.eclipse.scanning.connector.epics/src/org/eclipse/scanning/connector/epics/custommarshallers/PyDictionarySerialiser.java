@@ -11,8 +11,9 @@
  *******************************************************************************/
 package org.eclipse.scanning.connector.epics.custommarshallers;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 import org.epics.pvdata.pv.PVStructure;
@@ -50,8 +51,13 @@ public class PyDictionarySerialiser implements IPVStructureSerialiser<PyDictiona
 		serialiser.getMapSerialiser().setMapValues(pvStructure, dictionaryAsMap);
 	}
 	
-	private LinkedHashMap<String, Object> convertMap(Map<Object, Object> maptoCopy) {
-		LinkedHashMap<String, Object> newObject = new LinkedHashMap<String, Object>();
+	/**
+	 * Converts a python dictionary into a map of the raw java equivalents
+	 * @param maptoCopy The python dictionary to convert
+	 * @return a map which the map serialiser can marshal
+	 */
+	static LinkedHashMap<String, Object> convertMap(Map<Object, Object> maptoCopy) {
+		LinkedHashMap<String, Object> newObject = new LinkedHashMap<String, Object>(maptoCopy.size());
 		for (Object key : maptoCopy.keySet()) {
 			String keyString = key.toString();
 			newObject.put(keyString, convertPyObject(maptoCopy.get(key)));
@@ -64,7 +70,7 @@ public class PyDictionarySerialiser implements IPVStructureSerialiser<PyDictiona
 	 * @param pyObj THe python object to convert
 	 * @return the raw java equivalent of the python object
 	 */
-	private Object convertPyObject(Object pyObj) {
+	private static Object convertPyObject(Object pyObj) {
 		if (pyObj == null) {
 			return null;
 		}
@@ -78,7 +84,7 @@ public class PyDictionarySerialiser implements IPVStructureSerialiser<PyDictiona
 				}
 			} 
 			Object[] array = pyList.toArray();
-			LinkedList<Object> newList = new LinkedList<>();
+			List<Object> newList = new ArrayList<>(array.length);
 			for (Object listElement : array) {
 				newList.add(convertPyObject(listElement));
 			}
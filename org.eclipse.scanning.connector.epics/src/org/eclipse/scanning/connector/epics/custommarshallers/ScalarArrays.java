@@ -0,0 +1,151 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.connector.epics.custommarshallers;
+
+import java.util.Arrays;
+
+import org.epics.pvdata.pv.BooleanArrayData;
+import org.epics.pvdata.pv.ByteArrayData;
+import org.epics.pvdata.pv.DoubleArrayData;
+import org.epics.pvdata.pv.FloatArrayData;
+import org.epics.pvdata.pv.IntArrayData;
+import org.epics.pvdata.pv.LongArrayData;
+import org.epics.pvdata.pv.PVBooleanArray;
+import org.epics.pvdata.pv.PVByteArray;
+import org.epics.pvdata.pv.PVDoubleArray;
+import org.epics.pvdata.pv.PVFloatArray;
+import org.epics.pvdata.pv.PVIntArray;
+import org.epics.pvdata.pv.PVLongArray;
+import org.epics.pvdata.pv.PVScalarArray;
+import org.epics.pvdata.pv.PVShortArray;
+import org.epics.pvdata.pv.PVStringArray;
+import org.epics.pvdata.pv.ScalarType;
+import org.epics.pvdata.pv.ShortArrayData;
+import org.epics.pvdata.pv.StringArrayData;
+
+/**
+ * Copies whole PV scalar arrays to and from java arrays, rather
+ * than an element at a time, for the columns of tables.
+ */
+class ScalarArrays {
+
+	private ScalarArrays() {
+		// Static methods only
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return the boxed java type of the elements of a PV array of the type
+	 * @throws Exception if the type is not supported
+	 */
+	static Class<?> getJavaType(ScalarType type) throws Exception {
+		switch (type) {
+			case pvDouble:  return Double.class;
+			case pvFloat:   return Float.class;
+			case pvLong:    return Long.class;
+			case pvInt:     return Integer.class;
+			case pvShort:   return Short.class;
+			case pvByte:    return Byte.class;
+			case pvBoolean: return Boolean.class;
+			case pvString:  return String.class;
+			default: throw new Exception("Unsupported data type: " + type);
+		}
+	}
+
+	/**
+	 *
+	 * @param array a primitive or String array
+	 * @return the type of PV array for it
+	 * @throws Exception if the type is not supported
+	 */
+	static ScalarType getScalarType(Object array) throws Exception {
+		if (array instanceof double[])  return ScalarType.pvDouble;
+		if (array instanceof float[])   return ScalarType.pvFloat;
+		if (array instanceof long[])    return ScalarType.pvLong;
+		if (array instanceof int[])     return ScalarType.pvInt;
+		if (array instanceof short[])   return ScalarType.pvShort;
+		if (array instanceof byte[])    return ScalarType.pvByte;
+		if (array instanceof boolean[]) return ScalarType.pvBoolean;
+		if (array instanceof String[])  return ScalarType.pvString;
+		throw new Exception("Unsupported array type: " + array.getClass().getSimpleName());
+	}
+
+	/**
+	 * Copies a PV array.
+	 * @param pvArray
+	 * @return a new java array of the primitive type of the PV array, or a String[]
+	 * @throws Exception if the type is not supported
+	 */
+	static Object toArray(PVScalarArray pvArray) throws Exception {
+
+		final int length = pvArray.getLength();
+		switch (pvArray.getScalarArray().getElementType()) {
+			case pvDouble:
+				DoubleArrayData doubles = new DoubleArrayData();
+				((PVDoubleArray)pvArray).get(0, length, doubles);
+				return Arrays.copyOfRange(doubles.data, doubles.offset, doubles.offset+length);
+			case pvFloat:
+				FloatArrayData floats = new FloatArrayData();
+				((PVFloatArray)pvArray).get(0, length, floats);
+				return Arrays.copyOfRange(floats.data, floats.offset, floats.offset+length);
+			case pvLong:
+				LongArrayData longs = new LongArrayData();
+				((PVLongArray)pvArray).get(0, length, longs);
+				return Arrays.copyOfRange(longs.data, longs.offset, longs.offset+length);
+			case pvInt:
+				IntArrayData ints = new IntArrayData();
+				((PVIntArray)pvArray).get(0, length, ints);
+				return Arrays.copyOfRange(ints.data, ints.offset, ints.offset+length);
+			case pvShort:
+				ShortArrayData shorts = new ShortArrayData();
+				((PVShortArray)pvArray).get(0, length, shorts);
+				return Arrays.copyOfRange(shorts.data, shorts.offset, shorts.offset+length);
+			case pvByte:
+				ByteArrayData bytes = new ByteArrayData();
+				((PVByteArray)pvArray).get(0, length, bytes);
+				return Arrays.copyOfRange(bytes.data, bytes.offset, bytes.offset+length);
+			case pvBoolean:
+				BooleanArrayData booleans = new BooleanArrayData();
+				((PVBooleanArray)pvArray).get(0, length, booleans);
+				return Arrays.copyOfRange(booleans.data, booleans.offset, booleans.offset+length);
+			case pvString:
+				StringArrayData strings = new StringArrayData();
+				((PVStringArray)pvArray).get(0, length, strings);
+				return Arrays.copyOfRange(strings.data, strings.offset, strings.offset+length);
+			default:
+				throw new Exception("Unsupported data type: " + pvArray.getScalarArray().getElementType());
+		}
+	}
+
+	/**
+	 * Copies a java array into a PV array of the same type.
+	 * @param pvArray
+	 * @param array a primitive or String array
+	 * @param length the number of elements to copy
+	 * @throws Exception if the type is not supported
+	 */
+	static void put(PVScalarArray pvArray, Object array, int length) throws Exception {
+
+		switch (getScalarType(array)) {
+			case pvDouble:  ((PVDoubleArray)pvArray).put(0, length, (double[])array, 0);   break;
+			case pvFloat:   ((PVFloatArray)pvArray).put(0, length, (float[])array, 0);     break;
+			case pvLong:    ((PVLongArray)pvArray).put(0, length, (long[])array, 0);       break;
+			case pvInt:     ((PVIntArray)pvArray).put(0, length, (int[])array, 0);         break;
+			case pvShort:   ((PVShortArray)pvArray).put(0, length, (short[])array, 0);     break;
+			case pvByte:    ((PVByteArray)pvArray).put(0, length, (byte[])array, 0);       break;
+			case pvBoolean: ((PVBooleanArray)pvArray).put(0, length, (boolean[])array, 0); break;
+			case pvString:  ((PVStringArray)pvArray).put(0, length, (String[])array, 0);   break;
+			default: throw new Exception("Unsupported array type: " + array.getClass().getSimpleName());
+		}
+	}
+}
@@ -12,11 +12,13 @@
 package org.eclipse.scanning.event.queues;
 
 import java.net.URI;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.scanning.api.event.EventException;
-import org.eclipse.scanning.api.event.IEventService;
 import org.eclipse.scanning.api.event.alive.HeartbeatBean;
 import org.eclipse.scanning.api.event.alive.HeartbeatEvent;
 import org.eclipse.scanning.api.event.alive.IHeartbeatListener;
@@ -30,7 +32,32 @@ import org.eclipse.scanning.api.event.queues.beans.Queueable;
 @Deprecated
 public class HeartbeatMonitor implements IHeartbeatMonitor {
 
-	private ISubscriber<IHeartbeatListener> monitor;
+	/**
+	 * The monitors in the VM which listen to the same broker and topic, for instance
+	 * to the queues of a QueueService, share a subscriber rather than each having
+	 * a connection and thread of its own.
+	 */
+	private static final Map<String, SharedSubscriber> subscribers = new HashMap<>(7);
+
+	private static class SharedSubscriber implements IHeartbeatListener {
+
+		private final String                          key;
+		private final ISubscriber<IHeartbeatListener> subscriber;
+		private final List<HeartbeatMonitor>          monitors = new CopyOnWriteArrayList<>();
+
+		SharedSubscriber(String key, URI uri, String heartbeatTopic) throws EventException {
+			this.key        = key;
+			this.subscriber = ServicesHolder.getEventService().createSubscriber(uri, heartbeatTopic);
+			subscriber.addListener(this);
+		}
+
+		@Override
+		public void heartbeatPerformed(HeartbeatEvent evt) {
+			for (HeartbeatMonitor monitor : monitors) monitor.heartbeatPerformed(evt.getBean());
+		}
+	}
+
+	private SharedSubscriber monitor;
 	private SizeLimitedRecorder<HeartbeatBean> heartbeatRecord;
 	
 	private URI uri;
@@ -155,18 +182,22 @@ public class HeartbeatMonitor implements IHeartbeatMonitor {
 		}
 		heartbeatRecord = new SizeLimitedRecorder<>(100);
 		
-		IEventService evServ = ServicesHolder.getEventService();
-		monitor = evServ.createSubscriber(uri, heartbeatTopic);
-		monitor.addListener(new IHeartbeatListener() {
-			@Override
-			public void heartbeatPerformed(HeartbeatEvent evt) {
-				HeartbeatBean beat = evt.getBean();
-				if (beat.getConsumerId().equals(monitoredConsumerID)) {
-					//Only add beans if they are from this consumer!!
-					heartbeatRecord.add(beat);
-				}
+		synchronized (subscribers) {
+			final String key = uri+" "+heartbeatTopic;
+			monitor = subscribers.get(key);
+			if (monitor==null) {
+				monitor = new SharedSubscriber(key, uri, heartbeatTopic);
+				subscribers.put(key, monitor);
 			}
-		});
+			monitor.monitors.add(this);
+		}
+	}
+
+	private void heartbeatPerformed(HeartbeatBean beat) {
+		if (beat.getConsumerId().equals(monitoredConsumerID)) {
+			//Only add beans if they are from this consumer!!
+			heartbeatRecord.add(beat);
+		}
 	}
 	
 	@Override
@@ -236,7 +267,11 @@ public class HeartbeatMonitor implements IHeartbeatMonitor {
 
 	@Override
 	public void disconnect() throws EventException {
-		monitor.disconnect();
+		synchronized (subscribers) {
+			if (!monitor.monitors.remove(this) || !monitor.monitors.isEmpty()) return;
+			subscribers.remove(monitor.key);
+		}
+		monitor.subscriber.disconnect();
 	}
 
 }
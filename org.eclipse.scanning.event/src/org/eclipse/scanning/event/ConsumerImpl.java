@@ -54,6 +54,9 @@ import org.eclipse.scanning.api.event.core.ISubmitter;
 import org.eclipse.scanning.api.event.core.ISubscriber;
 import org.eclipse.scanning.api.event.status.Status;
 import org.eclipse.scanning.api.event.status.StatusBean;
+import org.eclipse.scanning.api.recorder.EventType;
+import org.eclipse.scanning.api.recorder.FlightEvent;
+import org.eclipse.scanning.api.recorder.FlightRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -701,10 +704,15 @@ final class ConsumerImpl<U extends StatusBean> extends AbstractQueueConnection<U
 		
 		if (bean.getStatus().isFinal()) return; // This is not the bean you are looking for.
 
-		IConsumerProcess<U> process = runner.createProcess(bean, status);
-		processes.put(bean.getUniqueId(), new WeakReference<IConsumerProcess<U>>(process));
-		
-		process.start(); // Depending on the process may run in a separate thread (default is not to)
+		final FlightEvent event = FlightRecorder.begin(EventType.BEAN).name(getName()).detail(bean.getName());
+		try {
+			IConsumerProcess<U> process = runner.createProcess(bean, status);
+			processes.put(bean.getUniqueId(), new WeakReference<IConsumerProcess<U>>(process));
+			
+			process.start(); // Depending on the process may run in a separate thread (default is not to)
+		} finally {
+			event.commit();
+		}
 	}
 
 	protected void checkTime(long waitTime) {
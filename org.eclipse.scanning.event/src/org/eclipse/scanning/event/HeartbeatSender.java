@@ -0,0 +1,194 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.event;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import javax.jms.DeliveryMode;
+import javax.jms.JMSException;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
+import org.eclipse.scanning.api.event.EventException;
+import org.eclipse.scanning.api.event.IEventConnectorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the heartbeats of all the publishers in the VM which beat on the same
+ * broker and topic, for instance all the queues of a QueueService. They share
+ * one connection and producer, which are only used by the thread of the sender,
+ * so that a broker which does not answer holds up the beats to that broker
+ * and no others, and never the threads which schedule the beats.
+ */
+class HeartbeatSender extends AbstractConnection {
+
+	private static final Logger logger = LoggerFactory.getLogger(HeartbeatSender.class);
+
+	/**
+	 * How long in ms to wait for the sender to connect or to send the last beat.
+	 * If the broker does not answer in this time it carries on in the background.
+	 */
+	private static final long WAIT_TIME = 5000;
+
+	private static final Map<String, HeartbeatSender> senders = new HashMap<>(7);
+
+	/**
+	 * @param uri
+	 * @param topic
+	 * @param service
+	 * @return the sender of the heartbeats to this broker and topic, which must be released when finished with.
+	 */
+	static HeartbeatSender acquire(URI uri, String topic, IEventConnectorService service) {
+		synchronized (senders) {
+			final String key = uri+" "+topic;
+			HeartbeatSender sender = senders.get(key);
+			if (sender==null) {
+				sender = new HeartbeatSender(key, uri, topic, service);
+				senders.put(key, sender);
+			}
+			sender.count++;
+			return sender;
+		}
+	}
+
+	private final String          key;
+	private final ExecutorService thread;
+	private MessageProducer       producer; // Only used by the thread
+	private int                   count;    // Guarded by senders
+
+	private HeartbeatSender(String key, URI uri, String topic, IEventConnectorService service) {
+		super(uri, topic, service);
+		this.key    = key;
+		this.thread = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Heartbeat Sender "+topic);
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+	}
+
+	/**
+	 * Disconnects the sender when the last publisher using it has released it.
+	 */
+	void release() {
+		synchronized (senders) {
+			if (--count>0) return;
+			senders.remove(key);
+		}
+		thread.execute(() -> {
+			try {
+				if (producer!=null) producer.close();
+				disconnect();
+			} catch (Exception ne) {
+				logger.error("Cannot disconnect the heartbeats to "+key, ne);
+			} finally {
+				producer = null;
+			}
+		});
+		thread.shutdown();
+	}
+
+	/**
+	 * Runs a beat on the thread of the sender.
+	 * @param beat
+	 */
+	void execute(Runnable beat) {
+		thread.execute(beat);
+	}
+
+	/**
+	 * Connects on the thread of the sender, waiting a while to find out if the broker is there.
+	 * @throws EventException if the broker cannot be connected to.
+	 */
+	void connect() throws EventException {
+		waitFor(() -> {
+			try {
+				getProducer();
+			} catch (JMSException ne) {
+				throw new EventException("Unable to start the heartbeat producer using uri "+uri+" and topic "+getTopicName(), ne);
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Makes and sends a message on the thread of the sender, after the beats which
+	 * are already waiting to be sent, waiting a while for it to be sent.
+	 * @param message
+	 * @param lifetime
+	 * @throws EventException if the message cannot be sent.
+	 */
+	void sendAndWait(Supplier<?> message, long lifetime) throws EventException {
+		waitFor(() -> send(message.get(), lifetime));
+	}
+
+	private void waitFor(Callable<?> task) throws EventException {
+		final Future<?> future = thread.submit(task);
+		try {
+			future.get(WAIT_TIME, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException ne) {
+			logger.warn("The broker at {} has not answered in {}ms, carrying on in the background", uri, WAIT_TIME);
+		} catch (ExecutionException ne) {
+			if (ne.getCause() instanceof EventException) throw (EventException)ne.getCause();
+			throw new EventException(ne.getCause());
+		} catch (InterruptedException ne) {
+			Thread.currentThread().interrupt();
+			throw new EventException(ne);
+		}
+	}
+
+	/**
+	 * Sends a message, must be called on the thread of the sender.
+	 * The connection is made again next time if the message cannot be sent.
+	 *
+	 * @param message
+	 * @param lifetime
+	 * @return the JSON which was sent
+	 * @throws Exception
+	 */
+	String send(Object message, long lifetime) throws Exception {
+		try {
+			final String json = service.marshal(message);
+			final TextMessage msg = getSession().createTextMessage(json);
+			getProducer().send(msg, DeliveryMode.NON_PERSISTENT, 4, lifetime);
+			return json;
+		} catch (Exception ne) {
+			producer   = null;
+			connection = null;
+			session    = null;
+			throw ne;
+		}
+	}
+
+	private MessageProducer getProducer() throws JMSException {
+		if (producer==null) producer = getSession().createProducer(createTopic(getTopicName()));
+		return producer;
+	}
+
+	private Session getSession() throws JMSException {
+		if (connection==null) createConnection();
+		if (session == null)  createSession();
+		return session;
+	}
+}
@@ -14,7 +14,12 @@ package org.eclipse.scanning.event;
 import java.io.PrintStream;
 import java.net.InetAddress;
 import java.net.URI;
+import java.net.UnknownHostException;
 import java.util.Enumeration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.jms.DeliveryMode;
 import javax.jms.JMSException;
@@ -34,6 +39,9 @@ import org.eclipse.scanning.api.event.alive.HeartbeatBean;
 import org.eclipse.scanning.api.event.alive.PauseBean;
 import org.eclipse.scanning.api.event.core.IConsumer;
 import org.eclipse.scanning.api.event.core.IPublisher;
+import org.eclipse.scanning.api.recorder.EventType;
+import org.eclipse.scanning.api.recorder.FlightEvent;
+import org.eclipse.scanning.api.recorder.FlightRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,8 +51,8 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 	
 	// JMS things, these are null when not running and 
 	// are cleaned up at the end of a run.
-	private MessageProducer scanProducer, heartbeatProducer;
-	private boolean         alive;
+	private MessageProducer scanProducer;
+	private volatile boolean alive;
 	private String          queueName;
 	
 	private IConsumer<?> consumer;
@@ -58,6 +66,8 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 	@Override
 	public synchronized void broadcast(T bean) throws EventException {
 		
+		final FlightEvent event = FlightRecorder.begin(EventType.BROADCAST).name(getTopicName());
+		if (event.isEnabled() && bean!=null) event.detail(bean.getClass().getSimpleName());
 		try {
 		    if (getTopicName()!=null) {
 		    	if (scanProducer==null) {
@@ -81,6 +91,8 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 			
 		} catch (Exception neOther) {
 			throw new EventException("Unable to prepare and send the event "+bean, neOther);
+		} finally {
+			event.commit();
 		}
 	}
 	
@@ -125,84 +137,145 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 		this.alive = alive;
 		
 		if (alive) {
-			try {
-				if (heartbeatProducer==null) heartbeatProducer = createProducer(getTopicName());
-			} catch (JMSException ne) {
-				throw new EventException("Unable to start the heartbeat producer using uri "+uri+" and topic "+getTopicName());
+			if (!wasAlive) {
+				final HeartbeatSender started;
+				synchronized (beatLock) {
+					if (sender==null) sender = HeartbeatSender.acquire(uri, getTopicName(), service);
+					started = sender;
+				}
+				started.connect(); // Not under the lock, a beat of the last heartbeat may be waiting for it.
+				synchronized (beatLock) { // A beat of the last heartbeat may still be running, it stops itself.
+					if (heartbeat!=null) heartbeat.cancel(false);
+					current = new Heartbeat();
+					current.schedule();
+				}
 			}
 			
-			Thread aliveThread = new Thread(new Runnable() {
-				public void run() {
-
-					long waitTime = 0;
-					
-					HeartbeatBean beat = new HeartbeatBean();
-					beat.setConceptionTime(System.currentTimeMillis());
-					
-					// Here we are sending the message out to the topic
-					while(isAlive()) {
-						try {
-							
-							// Sleep for a bit
-							Thread.sleep(Constants.getNotificationFrequency());		
-
-			                // The producer might need to be reconnected.
-							if (heartbeatProducer==null) heartbeatProducer = createProducer(getTopicName());
-							beat.setPublishTime(System.currentTimeMillis());
-							if (consumer!=null) {
-								beat.setConsumerId(consumer.getConsumerId());
-								beat.setConsumerName(consumer.getName());
-								beat.setConsumerStatus(consumer.getConsumerStatus());
-							}
-							beat.setBeamline(System.getenv("BEAMLINE"));
-							beat.setHostName(InetAddress.getLocalHost().getHostName());
-
-							send(heartbeatProducer, beat, Math.round(Constants.getNotificationFrequency()*2.5));
-							lastBeat = beat;
-							
-							waitTime = 0; // We sent something		
-
-						} catch (Exception ne) {
-								
-							heartbeatProducer = null;
-							connection = null;
-							session    = null;
-							
-							waitTime+=Constants.getNotificationFrequency();
-							if (waitTime>Constants.getTimeout()) {
-								logger.error("Connection to URI "+uri+" is non-viable, no hearbeats will be sent.");
-							    PublisherImpl.this.alive = false;
-								return;
-							}
-							
-			        		logger.warn("Event publisher heartbeat connection to "+uri+" lost.");
-			        		logger.warn("We will check every 2 seconds for 24 hours, until it comes back.");
-			        		
-							continue;							
-						} 
+		} else {
+			if (wasAlive) { // Might never have been a heartbeat publisher.
+				final HeartbeatSender stopped;
+				synchronized (beatLock) { // Make sure dead
+					current = null;
+					if (heartbeat!=null) heartbeat.cancel(false);
+					stopped = sender;
+				}
+				// Not sent under the lock, a beat which is running finishes first on the thread of the sender.
+				final HeartbeatBean last = lastBeat;
+				if (last!=null && stopped!=null) {
+					try {
+						stopped.sendAndWait(() -> {
+							last.setConsumerStatus(ConsumerStatus.STOPPED);
+							return last;
+						}, Math.round(Constants.getNotificationFrequency()*2.5));
+					} catch (EventException ne) {
+						throw new EventException("Cannot send termination message!", ne);
 					}
 				}
-			});
-			aliveThread.setName("Alive Notification "+getTopicName()+" ");
-			aliveThread.setDaemon(true);
-			aliveThread.setPriority(Thread.MIN_PRIORITY);
-			aliveThread.start();
+			}
+		}
+
+	}
+
+	/**
+	 * The heartbeats of all the publishers in the VM are scheduled by a few shared threads,
+	 * rather than a sleeping thread for each. Set org.eclipse.scanning.event.heartbeat.threads
+	 * to change the number of threads, default 2. The beats are sent by a {@link HeartbeatSender}
+	 * so that these threads never wait for a broker.
+	 */
+	private static final ScheduledExecutorService heartbeats = Executors.newScheduledThreadPool(Integer.getInteger("org.eclipse.scanning.event.heartbeat.threads", 2), runnable -> {
+		Thread thread = new Thread(runnable, "Alive Notification");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		return thread;
+	});
+
+	private final Object                beatLock = new Object();
+	private volatile ScheduledFuture<?> heartbeat;
+	private volatile Heartbeat          current; // Only this heartbeat may send and schedule beats
+	private HeartbeatSender             sender;  // Guarded by beatLock
+
+	/**
+	 * Sends a beat then schedules the next, so that a change to the notification
+	 * frequency is used from the next beat.
+	 */
+	private class Heartbeat implements Runnable {
+
+		private final HeartbeatBean beat;
+		private long                waitTime = 0;
+		
+		Heartbeat() {
+			beat = new HeartbeatBean();
+			beat.setConceptionTime(System.currentTimeMillis());
+		}
+		
+		void schedule() {
+			synchronized (beatLock) {
+				if (current!=this) return; // Stopped or replaced by a newer heartbeat
+				heartbeat = heartbeats.schedule(this, Constants.getNotificationFrequency(), TimeUnit.MILLISECONDS);
+			}
+		}
+
+		/**
+		 * Hands the beat to the sender, on a thread of the scheduler.
+		 */
+		@Override
+		public void run() {
+			synchronized (beatLock) {
+				if (!isAlive() || current!=this || sender==null) return;
+				sender.execute(this::beat);
+			}
+		}
+
+		/**
+		 * Sends the beat, on the thread of the sender.
+		 */
+		private void beat() {
 			
-		} else {
-			if (wasAlive) { // Might never have been a heartbeat publisher.
+			final HeartbeatSender sender;
+			synchronized (beatLock) {
+				if (!isAlive() || current!=this) return;
+				sender = PublisherImpl.this.sender;
 				try {
-					Thread.sleep(Constants.getNotificationFrequency()+100); // Make sure dead			
-					if (lastBeat!=null) {
-						lastBeat.setConsumerStatus(ConsumerStatus.STOPPED);
-					    send(heartbeatProducer, lastBeat, Math.round(Constants.getNotificationFrequency()*2.5));
+					beat.setPublishTime(System.currentTimeMillis());
+					if (consumer!=null) {
+						beat.setConsumerId(consumer.getConsumerId());
+						beat.setConsumerName(consumer.getName());
+						beat.setConsumerStatus(consumer.getConsumerStatus());
 					}
-					
-				} catch (Exception ne) {
-					throw new EventException("Cannot send termination message!", ne);
+					beat.setBeamline(System.getenv("BEAMLINE"));
+					beat.setHostName(getHostName());
+				} catch (UnknownHostException ne) {
+					logger.error("Cannot find the host name for the heartbeat", ne);
 				}
 			}
+			try {
+				final String json = sender.send(beat, Math.round(Constants.getNotificationFrequency()*2.5));
+				if (out!=null) out.println(json);
+				lastBeat = beat;
+				
+				waitTime = 0; // We sent something		
+
+			} catch (Exception ne) {
+				
+				waitTime+=Constants.getNotificationFrequency();
+				if (waitTime>Constants.getTimeout()) {
+					logger.error("Connection to URI "+uri+" is non-viable, no hearbeats will be sent.");
+				    PublisherImpl.this.alive = false;
+					return;
+				}
+				
+        		logger.warn("Event publisher heartbeat connection to "+uri+" lost.");
+        		logger.warn("We will check every 2 seconds for 24 hours, until it comes back.");
+			} 
+			schedule();
 		}
+	}
 
+	private static volatile String hostName;
+	
+	private static String getHostName() throws UnknownHostException {
+		if (hostName==null) hostName = InetAddress.getLocalHost().getHostName();
+		return hostName;
 	}
 
 	private MessageProducer createProducer(String topicName) throws JMSException {
@@ -214,8 +287,13 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 	public void disconnect() throws EventException {
 		try {
 			alive = false;
-			if (scanProducer!=null)      scanProducer.close();
-			if (heartbeatProducer!=null) heartbeatProducer.close();
+			synchronized (beatLock) {
+				current = null;
+				if (heartbeat!=null) heartbeat.cancel(false);
+				if (sender!=null)    sender.release();
+				sender = null;
+			}
+			if (scanProducer!=null) scanProducer.close();
 			consumer = null;
 			
 			super.disconnect();
@@ -225,7 +303,6 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 		
 		} finally {
 			scanProducer = null;
-			heartbeatProducer = null;
 		}
 	}
 
@@ -19,6 +19,7 @@ import org.eclipse.scanning.api.event.IEventService;
 import org.eclipse.scanning.api.event.IdBean;
 import org.eclipse.scanning.api.event.bean.BeanEvent;
 import org.eclipse.scanning.api.event.bean.IBeanListener;
+import org.eclipse.scanning.api.event.core.IPartialResponse;
 import org.eclipse.scanning.api.event.core.IRequester;
 import org.eclipse.scanning.api.event.core.IPublisher;
 import org.eclipse.scanning.api.event.core.ISubscriber;
@@ -63,6 +64,7 @@ class RequesterImpl<T extends IdBean> extends AbstractRequestResponseConnection
 				public void beanChangePerformed(BeanEvent<T> evt) {
 					T response = evt.getBean();
 					request.merge(response);  // The bean must implement merge, for instance DeviceRequest.
+					if (response instanceof IPartialResponse && ((IPartialResponse)response).isPartial()) return; // More to come
 					responseConfiguration.countDown();
 				}
 			});
@@ -50,6 +50,17 @@ abstract class _AbstractRemoteDevice<M> extends AbstractRemoteService {
 	    requester.setTimeout(timeoutMs, TimeUnit.MILLISECONDS); // Useful for debugging testing 
 	    connect(req);
 	}
+
+	/**
+	 * Makes the device from information already read, for instance in a batch
+	 * of devices, without a round trip to the server.
+	 */
+	_AbstractRemoteDevice(DeviceInformation<M> info, long timeoutMs, URI uri, IEventService eservice) throws EventException {
+		this(uri, eservice);
+	    requester.setTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+		this.info = info;
+		this.name = info.getName();
+	}
 	
 	private void connect(DeviceRequest req) throws EventException, InterruptedException, ValidationException {
 		req = requester.post(req);
@@ -47,6 +47,21 @@ class _Scannable<T> extends _AbstractRemoteDevice<T> implements IScannable<T>, I
 
 	private final ISubscriber<ILocationListener> subscriber;
 	
+	/**
+	 * The last value of the scannable, kept up to date by the position topic
+	 * once the proxy is listening to it.
+	 */
+	private static final class CachedValue {
+		private final Object value;
+		private final long   time;
+		CachedValue(Object value) {
+			this.value = value;
+			this.time  = System.currentTimeMillis();
+		}
+	}
+	private volatile CachedValue cachedValue;
+	private volatile long        pushes;
+
 	_Scannable(DeviceRequest req, URI uri, ISubscriber<ILocationListener> positionListener, IEventService eservice) throws EventException, InterruptedException {
 		super(req, 
 			  Long.getLong("org.eclipse.scanning.event.remote.scannableTimeout", 250),
@@ -55,12 +70,40 @@ class _Scannable<T> extends _AbstractRemoteDevice<T> implements IScannable<T>, I
 		this.subscriber = positionListener;
 	}
 
+	_Scannable(DeviceInformation<T> info, URI uri, ISubscriber<ILocationListener> positionListener, IEventService eservice) throws EventException {
+		super(info, 
+			  Long.getLong("org.eclipse.scanning.event.remote.scannableTimeout", 250),
+			  uri,
+			  eservice);
+		this.subscriber = positionListener;
+		if (info.getValue()!=null) cachedValue = new CachedValue(info.getValue());
+	}
+
+	/**
+	 * If org.eclipse.scanning.event.remote.positionMaxAge is set, the value is read locally
+	 * if it was read or sent to us on the position topic within that many ms, otherwise it is
+	 * read from the server. Reading then listens to the position topic, so a scannable which
+	 * is moving keeps its value fresh without further requests. 
+	 * 
+	 * It is not set by default because a value pushed on the topic arrives a little after the
+	 * move, a client which sets a position and reads it straight back should ask the server.
+	 */
 	@SuppressWarnings("unchecked")
 	@Override
 	public T getPosition() throws Exception {
+		
+		final long maxAge = Long.getLong("org.eclipse.scanning.event.remote.positionMaxAge", 0);
+		if (maxAge>0) {
+			addListener();
+			final CachedValue cached = cachedValue;
+			if (cached!=null && System.currentTimeMillis()-cached.time <= maxAge) return (T)cached.value;
+		}
+		
+		final long seen = pushes;
 		DeviceRequest req = update();
 		if (req==null) return null;
 		req.checkException();
+		if (pushes==seen) cachedValue = new CachedValue(req.getDeviceValue()); // Unless a newer value was pushed while we asked
 		return (T)req.getDeviceValue();
 	}
 
@@ -74,6 +117,7 @@ class _Scannable<T> extends _AbstractRemoteDevice<T> implements IScannable<T>, I
 		try {
 			// Will tell us that the value is changing by recording the time of the change 
 			addListener(); 
+			cachedValue = null;
 
 			DeviceRequest req = new DeviceRequest(info.getName(), DeviceType.SCANNABLE);
 			req.setDeviceAction(DeviceAction.SET);
@@ -101,6 +145,7 @@ class _Scannable<T> extends _AbstractRemoteDevice<T> implements IScannable<T>, I
 			DeviceRequest req = new DeviceRequest(info.getName(), DeviceType.SCANNABLE);
 			req.setDeviceAction(DeviceAction.as(pref));
 			req = srequestor.post(req);
+			cachedValue = null;
 			req.checkException();
 			if (req.getDeviceInformation()!=null) {
 				merge((DeviceInformation<T>)req.getDeviceInformation());
@@ -124,6 +169,10 @@ class _Scannable<T> extends _AbstractRemoteDevice<T> implements IScannable<T>, I
 		}
 	}
 
+	/*
+	 * The unit, limits and permitted values are read once with the information
+	 * and not again, only the value is kept fresh.
+	 */
 	public String getUnit() {
 		if (info==null) update();  // We assume that they do not change unit.
 		return info.getUnit();
@@ -180,7 +229,7 @@ class _Scannable<T> extends _AbstractRemoteDevice<T> implements IScannable<T>, I
 	 * timeouts for calls to set position, because it knows
 	 * that the link is not dead.
 	 */
-	private void addListener() {
+	private synchronized void addListener() {
 
 		if (this.listenerAdded) return;
 
@@ -197,12 +246,14 @@ class _Scannable<T> extends _AbstractRemoteDevice<T> implements IScannable<T>, I
 
 	@Override
 	public void locationPerformed(LocationEvent evt) {
-		if (listeners == null) return;
-		if (listeners.isEmpty()) return;
-
+		
 		lastActive = System.currentTimeMillis();
 		final Location      loc  = evt.getLocation();
 		if (loc.getType()==null) return;
+		cache(loc);
+		
+		if (listeners == null) return;
+		if (listeners.isEmpty()) return;
 		
 		final PositionEvent evnt = new PositionEvent(loc.getPosition(), _Scannable.this);
 		evnt.setLevel(loc.getLevel());
@@ -219,6 +270,19 @@ class _Scannable<T> extends _AbstractRemoteDevice<T> implements IScannable<T>, I
 
 	}
 
+	private void cache(Location loc) {
+		switch(loc.getType()) {
+		case positionChanged:
+		case positionPerformed:
+			if (loc.getPosition()==null || !loc.getPosition().getNames().contains(name)) return;
+			pushes++;
+			cachedValue = new CachedValue(loc.getPosition().get(name));
+			break;
+		default:
+			break; // Not a value the scannable has
+		}
+	}
+
 	private ResponseWaiter createResponseWaiter() {
 		return new ResponseWaiter() {
 			@Override
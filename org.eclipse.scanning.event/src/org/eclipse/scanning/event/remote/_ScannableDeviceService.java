@@ -13,9 +13,9 @@ package org.eclipse.scanning.event.remote;
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.scanning.api.IScannable;
@@ -43,7 +43,7 @@ class _ScannableDeviceService extends AbstractRemoteService implements IScannabl
 		long timeout = Long.getLong("org.eclipse.scanning.event.remote.scannableServiceTimeout", 100); 
 	    logger.debug("Setting timeout {} {}" , timeout , " ms");
 	    requester.setTimeout(timeout, TimeUnit.MILLISECONDS); 
-	    scannables = new HashMap<>();
+	    scannables = new ConcurrentHashMap<>();
 	    
 		subscriber = eservice.createSubscriber(uri, EventConstants.POSITION_TOPIC);
 	}
@@ -74,14 +74,44 @@ class _ScannableDeviceService extends AbstractRemoteService implements IScannabl
 		return Arrays.asList(getDevices());
 	}
 
+	/**
+	 * Gets all the scannables in one request, the server sends them back in parts as they
+	 * are read. We wait for up to org.eclipse.scanning.event.remote.scannableListTimeout ms
+	 * (default 5000) and for as long after as parts keep coming. Set
+	 * org.eclipse.scanning.event.remote.scannableValues to have the value of each read with it.
+	 * The scannables are kept so that getScannable(...) does not need another round trip.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private DeviceInformation<?>[] getDevices() throws ScanningException {
-	    DeviceRequest req;
+		
+		final DeviceRequest req = new DeviceRequest(DeviceType.SCANNABLE);
+		req.setIncludeValues(Boolean.getBoolean("org.eclipse.scanning.event.remote.scannableValues"));
+		req.setPartSize(Integer.getInteger("org.eclipse.scanning.event.remote.scannablePartSize", 20));
+		
+		final long   start   = System.currentTimeMillis();
+		final long   timeout = Long.getLong("org.eclipse.scanning.event.remote.scannableListTimeout", 5000);
+		final int[]  size    = new int[]{0};
 		try {
-			req = requester.post(new DeviceRequest(DeviceType.SCANNABLE));
+			requester.post(req, () -> {
+				if (System.currentTimeMillis()-start < timeout) return true; // The list has its own timeout
+				if (!req.isPartial() || req.size()==size[0]) return false;
+				size[0] = req.size();
+				return true; // A part came in, there are more
+			});
 		} catch (EventException | InterruptedException e) {
 			throw new ScanningException("Cannot get devices! Connection to broker may be lost or no server up!", e);
 		}
-	    return req.getDevices().toArray(new DeviceInformation<?>[req.size()]);
+		
+		final DeviceInformation<?>[] devices = req.getDevices().toArray(new DeviceInformation<?>[req.size()]);
+		for (DeviceInformation<?> info : devices) {
+			if (info.getName()==null || scannables.containsKey(info.getName())) continue;
+			try {
+				scannables.putIfAbsent(info.getName(), new _Scannable(info, uri, subscriber, eservice));
+			} catch (EventException e) {
+				logger.warn("Cannot make scannable "+info.getName(), e);
+			}
+		}
+	    return devices;
 	}
 
 	@Override
@@ -31,6 +31,7 @@ import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.rank.IScanRankService;
 import org.eclipse.scanning.api.scan.rank.IScanSlice;
 import org.eclipse.scanning.example.Services;
+import org.eclipse.scanning.sequencer.nexus.NexusWriteQueue;
 
 /**
  * This device mimicks telling EPICS to do a constant velcity scan down a line.
@@ -97,7 +98,7 @@ public class ConstantVelocityDevice extends AbstractRunnableDevice<ConstantVeloc
 			// and write a new record. Avoiding reading in the HDF5 being preferable.
 			final IScanSlice rslice = IScanRankService.getScanRankService().createScanSlice(pos, model.getLineSize(), model.getChannelCount(), model.getSpectraSize());
 			SliceND sliceND = new SliceND(context.getShape(), context.getMaxShape(), rslice.getStart(), rslice.getStop(), rslice.getStep());
-			context.setSlice(null, data, sliceND);
+			NexusWriteQueue.setSlice(context, data, sliceND);
 
 		} catch (Exception e) {
 			throw new ScanningException(e.getMessage(), e); 
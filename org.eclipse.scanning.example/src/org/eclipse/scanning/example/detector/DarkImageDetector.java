@@ -31,6 +31,7 @@ import org.eclipse.scanning.api.device.IWritableDetector;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.example.Services;
+import org.eclipse.scanning.sequencer.nexus.NexusWriteQueue;
 
 
 /**
@@ -107,7 +108,7 @@ public class DarkImageDetector extends AbstractRunnableDevice<DarkImageModel> im
 			final int[] start = {darkCount,   0, 0};
 			final int[] stop  = {darkCount+1, model.getRows(), model.getColumns()};			
 			SliceND slice = new SliceND(data.getShape(), data.getMaxShape(), start, stop, null);			
-			data.setSlice(null, image, slice);
+			NexusWriteQueue.setSlice(data, image, slice);
 			darkCount+=1;
 			
 		} catch (Exception e) {
@@ -36,6 +36,7 @@ import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.rank.IScanRankService;
 import org.eclipse.scanning.api.scan.rank.IScanSlice;
 import org.eclipse.scanning.example.Services;
+import org.eclipse.scanning.sequencer.nexus.NexusWriteQueue;
 
 /**
  * A dummy detector which must be set up with references to two Scannables representing X and Y positions. When used in a step scan, this detector generates a
@@ -207,19 +208,19 @@ public class MandelbrotDetector extends AbstractRunnableDevice<MandelbrotModel>
 			if (model.isSaveImage()) {
 				IScanSlice rslice = IScanRankService.getScanRankService().createScanSlice(pos, model.getRows(), model.getColumns());
 				SliceND sliceND = new SliceND(imageData.getShape(), imageData.getMaxShape(), rslice.getStart(), rslice.getStop(), rslice.getStep());
-				imageData.setSlice(null, image, sliceND);
+				NexusWriteQueue.setSlice(imageData, image, sliceND);
 			}
 
 			if (model.isSaveSpectrum()){
 				IScanSlice rslice = IScanRankService.getScanRankService().createScanSlice(pos, model.getPoints());
 				SliceND sliceND = new SliceND(spectrumData.getShape(), spectrumData.getMaxShape(), rslice.getStart(), rslice.getStop(), rslice.getStep());
-				spectrumData.setSlice(null, spectrum, sliceND);
+				NexusWriteQueue.setSlice(spectrumData, spectrum, sliceND);
 			}
 
 			if (model.isSaveValue()){
 				IScanSlice rslice = IScanRankService.getScanRankService().createScanSlice(pos);
 				SliceND sliceND = new SliceND(valueData.getShape(), valueData.getMaxShape(), rslice.getStart(), rslice.getStop(), rslice.getStep());
-				valueData.setSlice(null, DatasetFactory.createFromObject(value), sliceND);
+				NexusWriteQueue.setSlice(valueData, DatasetFactory.createFromObject(value), sliceND);
 			}
 
 		} catch (Exception e) {
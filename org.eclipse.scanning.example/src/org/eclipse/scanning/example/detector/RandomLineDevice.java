@@ -37,6 +37,7 @@ import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.rank.IScanRankService;
 import org.eclipse.scanning.api.scan.rank.IScanSlice;
 import org.eclipse.scanning.example.Services;
+import org.eclipse.scanning.sequencer.nexus.NexusWriteQueue;
 
 /**
  * This device mimicks telling EPICS to do a scan down a line.
@@ -120,7 +121,7 @@ public class RandomLineDevice extends AbstractRunnableDevice<RandomLineModel> im
 			// and write a new record. Avoiding reading in the HDF5 being preferable.
 			final IScanSlice rslice = IScanRankService.getScanRankService().createScanSlice(pos, model.getLineSize());
 			SliceND sliceND = new SliceND(context.getShape(), context.getMaxShape(), rslice.getStart(), rslice.getStop(), rslice.getStep());
-			context.setSlice(null, data, sliceND);
+			NexusWriteQueue.setSlice(context, data, sliceND);
 
 		} catch (Exception e) {
 			throw new ScanningException(e.getMessage(), e); 
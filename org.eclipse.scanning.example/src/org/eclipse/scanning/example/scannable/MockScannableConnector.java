@@ -34,6 +34,7 @@ import org.eclipse.scanning.api.event.core.IDisconnectable;
 import org.eclipse.scanning.api.event.core.IPublisher;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.event.Location;
+import org.eclipse.scanning.api.scan.event.ThrottledLocationPublisher;
 import org.eclipse.scanning.example.Services;
 
 public class MockScannableConnector implements IScannableDeviceService, IDisconnectable {
@@ -53,13 +54,13 @@ public class MockScannableConnector implements IScannableDeviceService, IDisconn
 	// Spring
 	public void connect() throws URISyntaxException {
 		IEventService eservice = Services.getEventService();
-		this.positionPublisher = eservice.createPublisher(new URI(broker), EventConstants.POSITION_TOPIC);
+		this.positionPublisher = new ThrottledLocationPublisher(eservice.createPublisher(new URI(broker), EventConstants.POSITION_TOPIC));
         createMockObjects();
 	}
 
 	// Test decks
 	public MockScannableConnector(IPublisher<Location> positionPublisher) {
-		this.positionPublisher = positionPublisher;
+		this.positionPublisher = positionPublisher!=null ? new ThrottledLocationPublisher(positionPublisher) : null;
         createMockObjects();
 	}
 	
@@ -0,0 +1,183 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.malcolm.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.scanning.api.malcolm.attributes.MalcolmAttribute;
+
+/**
+ * <pre>
+ * A copy of the attributes of a malcolm block held in memory so that reading
+ * the state, health or any other attribute does not go to the device each time.
+ *
+ * The mirror is kept current by a monitor of the whole block, each update of which
+ * replaces every attribute. Attributes read from the device when the mirror could
+ * not be used are also kept.
+ *
+ * An attribute is only returned if it is fresh:
+ * 1. It was updated after the last command was sent to the device, see {@link #invalidate()}
+ * 2. It was updated less than {@link #MAX_AGE_PROPERTY} ms ago, unless that is 0
+ *
+ * While the monitor is connected it sends any change of the block, so the age of
+ * an attribute is the time since the device last confirmed it. When the device
+ * disconnects the mirror is emptied until the monitor sends the block again.
+ * </pre>
+ */
+public class MalcolmAttributeMirror {
+
+	/**
+	 * Set to false to read every attribute from the device, default true.
+	 */
+	public static final String ENABLED_PROPERTY = "org.eclipse.scanning.malcolm.core.mirror";
+
+	/**
+	 * The longest time in ms since an attribute was updated that it may be used from
+	 * the mirror, default 10000. If 0 the attributes of a connected monitor never age.
+	 */
+	public static final String MAX_AGE_PROPERTY = "org.eclipse.scanning.malcolm.core.mirror.maxAge";
+
+	private static final class Entry {
+		private final Object attribute;
+		private final long   time;
+		Entry(Object attribute, long time) {
+			this.attribute = attribute;
+			this.time      = time;
+		}
+	}
+
+	private final Map<String, Entry> attributes;
+	private final AtomicLong         hits, misses;
+	private volatile boolean         live;      // The monitor has sent the whole block
+	private volatile long            validFrom; // Attributes updated before this are stale
+
+	public MalcolmAttributeMirror() {
+		this.attributes = new ConcurrentHashMap<>();
+		this.hits       = new AtomicLong();
+		this.misses     = new AtomicLong();
+		this.validFrom  = System.nanoTime();
+	}
+
+	public static boolean isEnabled() {
+		return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+	}
+
+	/**
+	 * Replaces the attributes with those of the whole block.
+	 * @param block the attributes of the block by name, anything which is not an attribute is ignored
+	 * @param monitored true if the block came from the monitor, false if it was read once
+	 */
+	void update(Map<String, ?> block, boolean monitored) {
+		final long now = System.nanoTime();
+		for (Map.Entry<String, ?> entry : block.entrySet()) {
+			if (entry.getValue() instanceof MalcolmAttribute) attributes.put(entry.getKey(), new Entry(entry.getValue(), now));
+		}
+		if (monitored) live = true;
+	}
+
+	/**
+	 * Keeps an attribute read from the device.
+	 * @param name
+	 * @param attribute ignored unless it is a {@link MalcolmAttribute}
+	 */
+	void put(String name, Object attribute) {
+		if (attribute instanceof MalcolmAttribute) attributes.put(name, new Entry(attribute, System.nanoTime()));
+	}
+
+	/**
+	 *
+	 * @param name
+	 * @return the attribute if it is fresh, otherwise null and it should be read from the device.
+	 */
+	Object get(String name) {
+		final Entry entry = attributes.get(name);
+		if (entry!=null && isFresh(entry, System.nanoTime())) {
+			hits.incrementAndGet();
+			return entry.attribute;
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 *
+	 * @return all the attributes of the block if the monitor has sent them and they are fresh, otherwise null.
+	 */
+	List<Object> getAll() {
+		if (live) {
+			final long now = System.nanoTime();
+			final List<Object> ret = new ArrayList<>(attributes.size());
+			for (Entry entry : attributes.values()) {
+				if (!isFresh(entry, now)) {
+					misses.incrementAndGet();
+					return null;
+				}
+				ret.add(entry.attribute);
+			}
+			if (!ret.isEmpty()) {
+				hits.incrementAndGet();
+				return ret;
+			}
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	private boolean isFresh(Entry entry, long now) {
+		if (entry.time<validFrom) return false;
+		final long maxAge = Long.getLong(MAX_AGE_PROPERTY, 10000);
+		return maxAge<=0 || now-entry.time <= TimeUnit.MILLISECONDS.toNanos(maxAge);
+	}
+
+	/**
+	 * Called when a command is sent which may change the attributes. Those in
+	 * the mirror are not used again until the monitor or a read updates them.
+	 */
+	void invalidate() {
+		validFrom = System.nanoTime();
+	}
+
+	/**
+	 * Called when the device disconnects or the monitor is stopped.
+	 */
+	void clear() {
+		live = false;
+		attributes.clear();
+		invalidate();
+	}
+
+	/**
+	 * @return true if the monitor has sent the block since it connected.
+	 */
+	public boolean isLive() {
+		return live;
+	}
+
+	/**
+	 * @return the number of reads served from the mirror.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of reads which had to go to the device.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+}
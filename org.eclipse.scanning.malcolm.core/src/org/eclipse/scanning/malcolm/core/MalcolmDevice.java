@@ -47,6 +47,7 @@ import org.eclipse.scanning.api.points.IMutator;
 import org.eclipse.scanning.api.points.IPointGenerator;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.points.CompoundSpgIterator;
 import org.eclipse.scanning.sequencer.SubscanModerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,17 +91,38 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 	// Subscriber messages
     private MalcolmMessage                      stateSubscriber;
     private MalcolmMessage                      scanSubscriber;
+    private MalcolmMessage                      blockSubscriber;
+
+    // The attributes of the block, kept current by blockSubscriber
+    private final MalcolmAttributeMirror          mirror = new MalcolmAttributeMirror();
+    private final IMalcolmListener<MalcolmMessage> mirrorUpdater = new IMalcolmListener<MalcolmMessage>() {
+    	
+		@SuppressWarnings("unchecked")
+		@Override
+		public void eventPerformed(MalcolmEvent<MalcolmMessage> e) {
+			final Object value = e.getBean().getValue();
+			if (value instanceof Map) mirror.update((Map<String, ?>)value, true);
+		}
+	};
 
     // Our connection to the outside.
 	private IPublisher<ScanBean>             publisher;
 	
 	// Data should be in model?
 	private MalcolmEventBean    meb;
-	private Iterator<IPosition> scanPositionIterator;
+	
+	// The positions of the inner scan, only walked by the progress thread
+	private volatile Iterable<IPosition> scanPositions;
+	private Iterable<IPosition>          cursorPositions;
+	private Iterator<IPosition>          scanPositionIterator;
+	private IPosition                    scanPosition;
+	private int                          scanPositionIndex;
+	
+	// Handles the monitor updates off the EPICS client thread
+	private MalcolmProgressDispatcher dispatcher;
 	
 	// Local data.
-	private long    lastBroadcastTime = System.currentTimeMillis();
-	private int     lastUpdateCount = 0;
+	private volatile int lastUpdateCount = 0;
 	private boolean succesfullyInitialised = false;	
 	private boolean subscribedToStateChange = false;
 	
@@ -134,16 +156,15 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 	    	final DeviceState currentState = getDeviceState();
 			logger.debug("Connecting to '"+getName()+"'. Current state: "+currentState);
 			
+			if (dispatcher==null) dispatcher = new MalcolmProgressDispatcher(getName(), POSITION_COMPLETE_FREQ, this::sendScanEvent, this::sendScanStateChange);
+			final MalcolmProgressDispatcher dispatcher = this.dispatcher; // Late updates after dispose() go to the closed one
+			
 			stateSubscriber = createSubscribeMessage(STATE_ENDPOINT);
 			subscribe(stateSubscriber, new IMalcolmListener<MalcolmMessage>() {
 				
 				@Override
 				public void eventPerformed(MalcolmEvent<MalcolmMessage> e) {				
-					try {
-						sendScanStateChange(e);										
-					} catch (Exception ne) {
-						logger.error("Problem dispatching message!", ne);
-					}
+					dispatcher.state(e);
 				}
 			});		
 			
@@ -152,13 +173,14 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 				
 				@Override
 				public void eventPerformed(MalcolmEvent<MalcolmMessage> e) {				
-					try {
-						sendScanEvent(e);										
-					} catch (Exception ne) {
-						logger.error("Problem dispatching message!", ne);
-					}
+					dispatcher.progress(e);
 				}
 			});		
+			
+			if (MalcolmAttributeMirror.isEnabled() && blockSubscriber==null) {
+				blockSubscriber = createSubscribeMessage("");
+				subscribe(blockSubscriber, mirrorUpdater);
+			}
 			succesfullyInitialised = true;
 			setAlive(true);
 		
@@ -194,10 +216,38 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 	 */
     @PointStart
     public void scanPoint(SubscanModerator moderator) {
-    	Iterable<IPosition> scanPositions = moderator.getInnerIterable();
-        scanPositionIterator = scanPositions.iterator();
+    	scanPositions = moderator.getInnerIterable();
     }
 
+	/**
+	 * Called on the progress thread to get a position of the inner scan. A compound
+	 * scan is read by index, using CompoundGenerator.get_point(n) in python. Other
+	 * iterators only go forward to the position needed and are only started again
+	 * if the scan goes back, for instance after a seek, or the positions change.
+	 * 
+	 * @param count the number of steps completed
+	 * @return the last position completed, or null if there is not one
+	 */
+	private IPosition getScanPosition(int count) {
+		final Iterable<IPosition> positions = scanPositions;
+		if (positions==null || count<1) return null;
+		if (positions!=cursorPositions || (count<scanPositionIndex && !(scanPositionIterator instanceof CompoundSpgIterator))) {
+			cursorPositions      = positions;
+			scanPositionIterator = positions.iterator();
+			scanPosition         = null;
+			scanPositionIndex    = 0;
+		}
+		if (scanPositionIterator instanceof CompoundSpgIterator) {
+			final CompoundSpgIterator compound = (CompoundSpgIterator)scanPositionIterator;
+			return count<=compound.size() ? compound.getPoint(count-1) : null;
+		}
+		while (scanPositionIndex<count && scanPositionIterator.hasNext()) {
+			scanPosition = scanPositionIterator.next();
+			scanPositionIndex++;
+		}
+		return scanPosition;
+	}
+
 	protected void sendScanEvent(MalcolmEvent<MalcolmMessage> e) throws Exception {
 		
 		MalcolmMessage msg      = e.getBean();
@@ -223,27 +273,14 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
             newPoint = true;
 		}
 		
-		// Fire a position complete only if it's past the timeout value
-		if (newPoint && scanPositionIterator != null) {
-			long currentTime = System.currentTimeMillis();
-			
-			int positionDiff = point - lastUpdateCount;
-			
-			IPosition scanPosition = null;
-			for (int i = 0; i < positionDiff; i++) {
-				if (scanPositionIterator.hasNext()) {
-					scanPosition = scanPositionIterator.next();
-				}
+		// The dispatcher calls this at most every POSITION_COMPLETE_FREQ with the latest progress
+		if (newPoint && point != lastUpdateCount) {
+			IPosition position = getScanPosition(point);
+			if (position != null) {
+				position.setStepIndex(point);
+            	firePositionComplete(position);
 			}
-			
 			lastUpdateCount = point;
-			
-			if (scanPosition != null && currentTime - lastBroadcastTime >= POSITION_COMPLETE_FREQ) {
-				scanPosition.setStepIndex(point);
-            	firePositionComplete(scanPosition);
-            	
-	            lastBroadcastTime = System.currentTimeMillis();
-			}
 		}
 		
 		if (publisher!=null) publisher.broadcast(bean);
@@ -302,6 +339,7 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 			        }
 			    });
 			} else {
+				mirror.clear();
 				logger.warn("Malcolm Device '" + getName() + "' connection state changed to not connected");
 			}
 		} catch (Exception ne) {
@@ -309,11 +347,70 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 		}
 	}
 
+	@Override
+	protected MalcolmMessage send(MalcolmMessage message, long timeout) throws MalcolmDeviceException, InterruptedException, ExecutionException, TimeoutException {
+		try {
+			return super.send(message, timeout);
+		} finally {
+			if (message.getType()!=Type.GET && message.getMethod()!=MalcolmMethod.VALIDATE) mirror.invalidate();
+		}
+	}
+
+	@Override
+	protected MalcolmMessage call(MalcolmMethod method, long timeout, DeviceState... states) throws MalcolmDeviceException, InterruptedException, ExecutionException, TimeoutException {
+		try {
+			return super.call(method, timeout, states);
+		} finally {
+			mirror.invalidate();
+		}
+	}
+
+	/**
+	 * Reads an endpoint from the attribute mirror if it is fresh, otherwise from the device.
+	 * 
+	 * @param endpoint
+	 * @param refresh true to always read from the device
+	 * @return the reply of the device or a reply made from the mirror
+	 */
+	private MalcolmMessage read(String endpoint, boolean refresh) throws MalcolmDeviceException, InterruptedException, ExecutionException, TimeoutException {
+		if (!refresh) {
+			final Object attribute = mirror.get(endpoint);
+			if (attribute!=null) {
+				final MalcolmMessage reply = new MalcolmMessage();
+				reply.setType(Type.RETURN);
+				reply.setEndpoint(endpoint);
+				reply.setValue(attribute);
+				return reply;
+			}
+		}
+		final MalcolmMessage message = createGetMessage(endpoint);
+		final MalcolmMessage reply   = send(message, getTimeout());
+		if (reply.getType()!=Type.ERROR) mirror.put(endpoint, reply.getValue());
+		return reply;
+	}
+
+	/**
+	 * The attributes of the block held in memory.
+	 * @return the mirror, which is empty if it is not enabled.
+	 */
+	public MalcolmAttributeMirror getAttributeMirror() {
+		return mirror;
+	}
+
 	@Override
 	public DeviceState getDeviceState() throws MalcolmDeviceException {
+		return getDeviceState(false);
+	}
+
+	/**
+	 * 
+	 * @param refresh true to read the state from the device rather than the attribute mirror
+	 * @return the state
+	 * @throws MalcolmDeviceException
+	 */
+	public DeviceState getDeviceState(boolean refresh) throws MalcolmDeviceException {
 		try {
-			final MalcolmMessage message = createGetMessage(STATE_ENDPOINT);
-			final MalcolmMessage reply   = send(message, getTimeout());
+			final MalcolmMessage reply   = read(STATE_ENDPOINT, refresh);
 			if (reply.getType()==Type.ERROR) {
 				throw new MalcolmDeviceException("Error from Malcolm Device Connection: " + reply.getMessage());
 			}
@@ -330,8 +427,7 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 	@Override
 	public String getDeviceHealth() throws MalcolmDeviceException {
 		try {
-			final MalcolmMessage message = createGetMessage(HEALTH_ENDPOINT);
-			final MalcolmMessage reply   = send(message, getTimeout());
+			final MalcolmMessage reply   = read(HEALTH_ENDPOINT, false);
 			if (reply.getType()==Type.ERROR) {
 				throw new MalcolmDeviceException("Error from Malcolm Device Connection: " + reply.getMessage());
 			}
@@ -403,7 +499,7 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 	 * Reset any variables used in counting progress
 	 */
 	private void resetProgressCounting() {
-		scanPositionIterator = null;
+		scanPositions = null;
 		lastUpdateCount = 0;
 	}
 
@@ -484,8 +580,20 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 
 	@Override
 	public void dispose() throws MalcolmDeviceException {
-		unsubscribe(stateSubscriber);
-		unsubscribe(scanSubscriber);
+		try {
+			if (blockSubscriber!=null) {
+				unsubscribe(blockSubscriber, mirrorUpdater);
+				blockSubscriber = null;
+			}
+			mirror.clear();
+			unsubscribe(stateSubscriber);
+			unsubscribe(scanSubscriber);
+		} finally {
+			if (dispatcher!=null) {
+				dispatcher.close(); // The last progress is handled, any later updates are dropped
+				dispatcher = null;  // initialize() makes a new one
+			}
+		}
 
 		setAlive(false);
 	}
@@ -567,8 +675,18 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 	}
 	
 	public <T> IDeviceAttribute<T> getAttribute(String attributeName) throws MalcolmDeviceException {
-		final MalcolmMessage message = createGetMessage(attributeName);
-		final MalcolmMessage reply   = wrap(()->send(message, getTimeout()));
+		return getAttribute(attributeName, false);
+	}
+	
+	/**
+	 * Gets an attribute of the device
+	 * @param attributeName
+	 * @param refresh true to read the attribute from the device rather than the attribute mirror
+	 * @return the attribute
+	 * @throws MalcolmDeviceException
+	 */
+	public <T> IDeviceAttribute<T> getAttribute(String attributeName, boolean refresh) throws MalcolmDeviceException {
+		final MalcolmMessage reply   = wrap(()->read(attributeName, refresh));
 		if (reply.getType()==Type.ERROR) {
 			throw new MalcolmDeviceException("Error from Malcolm Device Connection: " + reply.getMessage());
 		}
@@ -584,6 +702,22 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 	}
 	
 	public List<IDeviceAttribute<?>> getAllAttributes() throws MalcolmDeviceException {
+		return getAllAttributes(false);
+	}
+	
+	/**
+	 * Gets all the attributes of the device
+	 * @param refresh true to read the attributes from the device rather than the attribute mirror
+	 * @return the attributes
+	 * @throws MalcolmDeviceException
+	 */
+	public List<IDeviceAttribute<?>> getAllAttributes(boolean refresh) throws MalcolmDeviceException {
+		
+		if (!refresh) {
+			final List<Object> mirrored = mirror.getAll();
+			if (mirrored!=null) return mirrored.stream().map(IDeviceAttribute.class::cast).collect(Collectors.toList());
+		}
+		
 		final MalcolmMessage message = createGetMessage("");
 		final MalcolmMessage reply   = wrap(()->send(message, getTimeout()));
 		if (reply.getType()==Type.ERROR) {
@@ -593,6 +727,7 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 		
 		@SuppressWarnings("unchecked")
 		Map<String, Object> wholeBlockMap = (Map<String, Object>) reply.getValue();
+		mirror.update(wholeBlockMap, false);
 		return wholeBlockMap.values().stream().
 				filter(MalcolmAttribute.class::isInstance).map(IDeviceAttribute.class::cast).
 				collect(Collectors.toList());
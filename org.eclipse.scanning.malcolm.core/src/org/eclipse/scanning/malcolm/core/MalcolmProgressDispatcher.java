@@ -0,0 +1,170 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.malcolm.core;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.scanning.api.malcolm.event.MalcolmEvent;
+import org.eclipse.scanning.api.malcolm.message.MalcolmMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <pre>
+ * Handles the monitor updates of a malcolm device on a thread of its own so that
+ * no work is done on the thread of the EPICS client which delivers them.
+ *
+ * Progress updates are coalesced, only the latest is handled and at most one
+ * is handled per period. The last update is always handled, after the period if
+ * needed. State changes are handled straight away and in the order they arrive;
+ * any progress received before a state change is handled before it. When the
+ * dispatcher is closed the last progress received is handled straight away.
+ * </pre>
+ */
+public class MalcolmProgressDispatcher implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(MalcolmProgressDispatcher.class);
+
+	/**
+	 * Something which handles an update on the thread of the dispatcher.
+	 */
+	@FunctionalInterface
+	public interface Handler {
+		void handle(MalcolmEvent<MalcolmMessage> event) throws Exception;
+	}
+
+	/**
+	 * The longest time in ms that close() waits for the updates to be handled.
+	 */
+	private static final long CLOSE_TIMEOUT = 5000;
+
+	private final ScheduledThreadPoolExecutor                 executor;
+	private final long                                        period;
+	private final Handler                                     progressHandler, stateHandler;
+	private final AtomicReference<MalcolmEvent<MalcolmMessage>> latest;
+	private final AtomicBoolean                               scheduled;
+	private final AtomicLong                                  received, handled;
+	private volatile long                                     lastHandled;
+	private volatile Thread                                   thread;
+
+	/**
+	 *
+	 * @param name the name of the device, used to name the thread
+	 * @param period the shortest time in ms between handling progress updates
+	 * @param progressHandler
+	 * @param stateHandler
+	 */
+	public MalcolmProgressDispatcher(String name, long period, Handler progressHandler, Handler stateHandler) {
+		this.executor        = new ScheduledThreadPoolExecutor(1, r -> {
+			thread = new Thread(r, "Malcolm progress "+name);
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false); // close() handles the last progress itself
+		this.period          = period;
+		this.progressHandler = progressHandler;
+		this.stateHandler    = stateHandler;
+		this.latest          = new AtomicReference<>();
+		this.scheduled       = new AtomicBoolean();
+		this.received        = new AtomicLong();
+		this.handled         = new AtomicLong();
+	}
+
+	/**
+	 * Called by the monitor with a progress update, returns straight away.
+	 * @param event
+	 */
+	public void progress(MalcolmEvent<MalcolmMessage> event) {
+		received.incrementAndGet();
+		latest.set(event);
+		if (scheduled.compareAndSet(false, true)) {
+			final long delay = Math.max(0, lastHandled+period-System.currentTimeMillis());
+			submit(this::handleProgress, delay);
+		}
+	}
+
+	/**
+	 * Called by the monitor with a state change, returns straight away.
+	 * @param event
+	 */
+	public void state(MalcolmEvent<MalcolmMessage> event) {
+		submit(() -> {
+			handleProgress();
+			handle(stateHandler, event);
+		}, 0);
+	}
+
+	private void submit(Runnable task, long delay) {
+		if (executor.isShutdown()) return;
+		try {
+			executor.schedule(task, delay, TimeUnit.MILLISECONDS);
+		} catch (Exception ne) {
+			logger.debug("Cannot dispatch update, the dispatcher is closed", ne);
+		}
+	}
+
+	private void handleProgress() {
+		scheduled.set(false);
+		final MalcolmEvent<MalcolmMessage> event = latest.getAndSet(null);
+		if (event==null) return;
+		lastHandled = System.currentTimeMillis();
+		handled.incrementAndGet();
+		handle(progressHandler, event);
+	}
+
+	private void handle(Handler handler, MalcolmEvent<MalcolmMessage> event) {
+		try {
+			handler.handle(event);
+		} catch (Exception ne) {
+			logger.error("Problem dispatching message!", ne);
+		}
+	}
+
+	/**
+	 * @return the number of progress updates received.
+	 */
+	public long getReceived() {
+		return received.get();
+	}
+
+	/**
+	 * @return the number of progress updates handled, the others were coalesced.
+	 */
+	public long getHandled() {
+		return handled.get();
+	}
+
+	/**
+	 * Handles the last progress received, if it has not been, and the state changes
+	 * waiting then stops the thread. Updates received after this are dropped.
+	 */
+	@Override
+	public void close() {
+		if (executor.isShutdown()) return;
+		submit(this::handleProgress, 0);
+		executor.shutdown();
+		if (Thread.currentThread()==thread) return; // Closed by a handler, the rest are handled when it returns
+		try {
+			if (!executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				logger.warn("The malcolm updates were not handled within {} ms, they are dropped", CLOSE_TIMEOUT);
+				executor.shutdownNow();
+			}
+		} catch (InterruptedException ne) {
+			Thread.currentThread().interrupt();
+			executor.shutdownNow();
+		}
+	}
+}
@@ -32,6 +32,7 @@ from scanpointgenerator import RectangularROI
 from scanpointgenerator import SectorROI
 from scanpointgenerator import Excluder
 from scanpointgenerator import ROIExcluder
+from scanpointgenerator.compat import np
 
 ## Logging
 import logging
@@ -289,42 +290,51 @@ class JCompoundGenerator(JavaIteratorWrapper):
     def _iterator(self):
         
         for point in self.generator.iterator():
+            yield self._to_java(point)
+
+    def getPoint(self, n):
+        """
+        The java point at index n, without iterating over the points before it
+        """
+        return self._to_java(self.generator.get_point(n))
+
+    def _to_java(self, point):
+        
+        if len(point.positions.keys()) == 1:
+            name = point.positions.keys()[0]
+            index = point.indexes[0]
+            position = point.positions[name]
+            java_point = Scalar(name, index, position)
             
-            if len(point.positions.keys()) == 1:
-                name = point.positions.keys()[0]
-                index = point.indexes[0]
-                position = point.positions[name]
-                java_point = Scalar(name, index, position)
-                
-            elif len(point.positions.keys()) == 2:
-                logging.debug([point.indexes, point.positions])
-                
-                names = []
-                indexes = []
-                values = []
-                for axis in self.axes_ordering:
-                    index = self.index_locations[axis]
-                    indexes.append(point.indexes[index])
-                    logging.debug([axis, index])
-                    values.append(point.positions[axis])
-                    names.append(axis)
-                    
-                java_point = Point(names[1], indexes[1], values[1], 
-                                   names[0], indexes[0], values[0])
-                java_point.setDimensionNames(self.dimension_names)
-            else:
-                java_point = MapPosition()
-                
-                for axis in self.axes_ordering:
-                    index = self.index_locations[axis]
-                    logging.debug([axis, index])
-                    value = point.positions[axis]
-                    java_point.put(axis, value)
-                    java_point.putIndex(axis, point.indexes[index])
-                
-                java_point.setDimensionNames(self.dimension_names)
+        elif len(point.positions.keys()) == 2:
+            logging.debug([point.indexes, point.positions])
+            
+            names = []
+            indexes = []
+            values = []
+            for axis in self.axes_ordering:
+                index = self.index_locations[axis]
+                indexes.append(point.indexes[index])
+                logging.debug([axis, index])
+                values.append(point.positions[axis])
+                names.append(axis)
                 
-            yield java_point
+            java_point = Point(names[1], indexes[1], values[1], 
+                               names[0], indexes[0], values[0])
+            java_point.setDimensionNames(self.dimension_names)
+        else:
+            java_point = MapPosition()
+            
+            for axis in self.axes_ordering:
+                index = self.index_locations[axis]
+                logging.debug([axis, index])
+                value = point.positions[axis]
+                java_point.put(axis, value)
+                java_point.putIndex(axis, point.indexes[index])
+            
+            java_point.setDimensionNames(self.dimension_names)
+            
+        return java_point
 
 
 class JRandomOffsetMutator(object):
@@ -335,10 +345,32 @@ class JRandomOffsetMutator(object):
         
 class JExcluder(object):
     
-    def __init__(self, rois, scannables):
+    def __init__(self, rois, scannables, region_index=None):
         py_rois = [roi.py_roi for roi in rois]
-        self.py_excluder = ROIExcluder(py_rois, scannables)
+        if region_index is None:
+            self.py_excluder = ROIExcluder(py_rois, scannables)
+        else:
+            self.py_excluder = JavaROIExcluder(py_rois, scannables, region_index)
         logging.debug(self.py_excluder.to_dict())
+
+
+class JavaROIExcluder(ROIExcluder):
+    """
+    A ROIExcluder which creates its mask using a Java RegionIndex
+    rather than asking each python ROI in turn. The python ROIs are
+    kept so that the excluder serialises as a normal ROIExcluder.
+    """
+
+    def __init__(self, rois, axes, region_index):
+        super(JavaROIExcluder, self).__init__(rois, axes)
+        self.region_index = region_index
+
+    def create_mask(self, x_points, y_points):
+        if len(x_points) != len(y_points):
+            raise ValueError("Points lengths must be equal")
+        x = np.asarray(x_points)._jdataset()
+        y = np.asarray(y_points)._jdataset()
+        return np.asarray(self.region_index.createMask(x, y), dtype=np.int8)
         
 class JCircularROI(object):
     
@@ -4,6 +4,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.Platform;
@@ -32,6 +34,11 @@ public class JythonInterpreterManager {
 	
 	private static volatile PySystemState configuredState;
 
+	/**
+	 * Directories added using addPath(...), these are also added to pooled interpreters.
+	 */
+	private static final Set<String> addedPaths = new CopyOnWriteArraySet<>();
+
 	/**
 	 * Call to ensure that an interpreter is set up and configured and
 	 * able to load the relevant bundles.
@@ -46,6 +53,7 @@ public class JythonInterpreterManager {
 		
     	PySystemState state = Py.getSystemState();
     	if (state==configuredState) return;
+    	if (state==JythonInterpreterPool.getLeased()) return; // Pooled interpreters are already configured
     	
     	if (loader==null) {
     		// Then someone else has changed the PySystemState
@@ -60,22 +68,55 @@ public class JythonInterpreterManager {
  
 	   	configuredState = state;
 	}
+
+	/**
+	 * Creates a new system state, with its own modules, configured in the same
+	 * way as the shared one. Used by the {@link JythonInterpreterPool}.
+	 *
+	 * @param bundleNames
+	 * @return the new state
+	 */
+	static PySystemState createSystemState(String... bundleNames) {
+
+		setupSystemState(); // Ensures that jython is initialized.
+
+		final PySystemState state = new PySystemState();
+		state.setClassLoader(configuredState.getClassLoader());
+		setJythonPaths(state);
+		setSpgGeneratorPaths(state, bundleNames);
+		updatePaths(state);
+		return state;
+	}
+
+	/**
+	 * Ensures that any directories added with addPath(...) are on the path of a state.
+	 * @param state
+	 */
+	static void updatePaths(PySystemState state) {
+		for (String directory : addedPaths) {
+			if (!state.path.contains(directory)) state.path.add(directory);
+		}
+	}
 	
 	public static synchronized void addPath(String directory) throws IOException {
 		
 		// Load one of the standard functions if the state has not been created yet.
 		if (configuredState==null) ScanPointGeneratorFactory.JLineGenerator1DFactory();
 
-		// Do nothing if the directory is on the path
-		if (configuredState.path.contains(directory)) return;
-		
-		// Check the directory
-		final File file = new File(directory);
-		if (!file.exists()) throw new IOException("The module directory '"+directory+"' does not exist!");
-		if (!file.isDirectory()) throw new IOException("The module directory path '"+directory+"' is not a folder!");
+		if (!configuredState.path.contains(directory)) {
+			// Check the directory
+			final File file = new File(directory);
+			if (!file.exists()) throw new IOException("The module directory '"+directory+"' does not exist!");
+			if (!file.isDirectory()) throw new IOException("The module directory path '"+directory+"' is not a folder!");
+			
+			// Add it to the path.
+			configuredState.path.add(directory);
+		}
 		
-		// Add it to the path.
-		configuredState.path.add(directory);
+		// Pooled interpreters are updated with the directory when they are next leased.
+		addedPaths.add(directory);
+		PySystemState leased = JythonInterpreterPool.getLeased();
+		if (leased!=null) updatePaths(leased);
 	}
 
 	private static final String SCRIPTS = "/scripts/";
@@ -0,0 +1,347 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.jython;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.python.core.Py;
+import org.python.core.PyObject;
+import org.python.core.PySystemState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ * A pool of isolated jython interpreters (system states) which have
+ * the scan point generator modules already imported. The validator,
+ * estimator, UI and the running scan may then create generators at the
+ * same time without queuing on one shared interpreter.
+ * <p>
+ * An interpreter is leased for the duration of {@link #execute(Supplier)}
+ * and is the system state of the calling thread while it is held. Leases
+ * are re-entrant for a thread so that all the jython objects making up one
+ * generator (lines, excluders, mutators and the compound) come from the
+ * same interpreter. Outside of a lease {@link JythonObjectFactory} uses the
+ * shared system state as before.
+ * <p>
+ * Iterators made while a lease is held are pinned to the interpreter they were
+ * made in, see {@link #call(PySystemState, Supplier)}. Generators of a user's
+ * module are made in the shared interpreter, see {@link #executeShared(Supplier)}.
+ * <p>
+ * The size of the pool is set using the system property
+ * <code>org.eclipse.scanning.jython.pool.size</code>.
+ */
+public class JythonInterpreterPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(JythonInterpreterPool.class);
+
+	/**
+	 * The modules imported into each interpreter when it is created.
+	 */
+	private static final String[] PRELOAD_MODULES = {"jython_spg_interface"};
+
+	/**
+	 * Waits longer than this are logged.
+	 */
+	private static final long SLOW_WAIT_MS = 1000;
+
+	private static JythonInterpreterPool instance;
+
+	private static final ThreadLocal<Lease> leases = new ThreadLocal<>();
+
+	private final int                                        size;
+	private final BlockingQueue<PySystemState>               available;
+	private final Map<PySystemState, Map<String, PyObject>>  classes;
+	private final AtomicInteger                              created;
+
+	// Statistics of how long requests wait for an interpreter
+	private final AtomicLong leaseCount;
+	private final AtomicLong totalWaitNanos;
+	private final AtomicLong maxWaitNanos;
+
+	private static final class Lease {
+		private final PySystemState state;
+		private final PySystemState previous;
+		private int depth;
+		Lease(PySystemState state, PySystemState previous) {
+			this.state    = state;
+			this.previous = previous;
+		}
+	}
+
+	JythonInterpreterPool(int size) {
+		if (size<1) throw new IllegalArgumentException("The pool must contain at least one interpreter!");
+		this.size           = size;
+		this.available      = new LinkedBlockingQueue<>();
+		this.classes        = new ConcurrentHashMap<>();
+		this.created        = new AtomicInteger(0);
+		this.leaseCount     = new AtomicLong(0);
+		this.totalWaitNanos = new AtomicLong(0);
+		this.maxWaitNanos   = new AtomicLong(0);
+	}
+
+	public static synchronized JythonInterpreterPool getInstance() {
+		if (instance==null) instance = new JythonInterpreterPool(Integer.getInteger("org.eclipse.scanning.jython.pool.size", getDefaultSize()));
+		return instance;
+	}
+
+	private static int getDefaultSize() {
+		return Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()/2));
+	}
+
+	/**
+	 * Runs the supplier with a pooled interpreter as the system state of the
+	 * calling thread. If the thread already holds an interpreter, it is used again.
+	 *
+	 * @param supplier
+	 * @return the value from the supplier
+	 */
+	public static <T> T execute(Supplier<T> supplier) {
+		final JythonInterpreterPool pool = getInstance();
+		try {
+			pool.lease();
+		} catch (InterruptedException ne) {
+			Thread.currentThread().interrupt();
+			logger.warn("Interrupted waiting for a jython interpreter, using the shared interpreter.");
+			return supplier.get();
+		}
+		try {
+			return supplier.get();
+		} finally {
+			pool.release();
+		}
+	}
+
+	/**
+	 * Runs the supplier with the shared interpreter as the system state of the calling
+	 * thread, even if the thread holds a pooled one, for instance for objects made from
+	 * a user's module which should only be imported once.
+	 *
+	 * @param supplier
+	 * @return the value from the supplier
+	 */
+	public static <T> T executeShared(Supplier<T> supplier) {
+		final Lease lease = leases.get();
+		if (lease==null) return supplier.get();
+		leases.remove();
+		Py.setSystemState(lease.previous);
+		try {
+			return supplier.get();
+		} finally {
+			Py.setSystemState(lease.state);
+			leases.set(lease);
+		}
+	}
+
+	/**
+	 * Runs the supplier with the interpreter as the system state of the calling thread.
+	 * Objects made in a pooled interpreter, like iterators, are pinned to it in this way
+	 * so that they keep using the interpreter they were made in after the lease is released.
+	 * The interpreter may then be used by more than one thread at once, as the shared
+	 * interpreter is.
+	 *
+	 * @param state the interpreter, may be null to use the thread's system state
+	 * @param supplier
+	 * @return the value from the supplier
+	 */
+	public static <T> T call(PySystemState state, Supplier<T> supplier) {
+		final PySystemState previous = Py.getSystemState();
+		if (state==null || state==previous) return supplier.get();
+		Py.setSystemState(state);
+		try {
+			return supplier.get();
+		} finally {
+			Py.setSystemState(previous);
+		}
+	}
+
+	/**
+	 *
+	 * @return the interpreter leased by the calling thread or null if it has none.
+	 */
+	public static PySystemState getLeased() {
+		Lease lease = leases.get();
+		return lease!=null ? lease.state : null;
+	}
+
+	/**
+	 * Leases an interpreter to the calling thread and makes it the thread's system state,
+	 * waiting for one to be returned if all the interpreters are in use.
+	 * Each call must be matched by a call to {@link #release()}.
+	 *
+	 * @return the interpreter leased
+	 * @throws InterruptedException
+	 */
+	public PySystemState lease() throws InterruptedException {
+
+		Lease lease = leases.get();
+		if (lease!=null) {
+			lease.depth++;
+			return lease.state;
+		}
+
+		final long start = System.nanoTime();
+		PySystemState state = available.poll();
+		if (state==null) state = createIfAllowed();
+		if (state==null) state = available.take();
+		recordWait(System.nanoTime()-start);
+
+		JythonInterpreterManager.updatePaths(state);
+		lease = new Lease(state, Py.getSystemState());
+		lease.depth = 1;
+		leases.set(lease);
+		Py.setSystemState(state);
+		return state;
+	}
+
+	/**
+	 * Returns the interpreter leased by the calling thread to the pool once
+	 * the outermost lease is released, restoring the previous system state.
+	 */
+	public void release() {
+		Lease lease = leases.get();
+		if (lease==null) throw new IllegalStateException("The thread '"+Thread.currentThread().getName()+"' has no jython interpreter to release!");
+		if (--lease.depth > 0) return;
+		leases.remove();
+		Py.setSystemState(lease.previous);
+		available.offer(lease.state);
+	}
+
+	/**
+	 * Creates interpreters up to the size of the pool so that the first
+	 * requests do not pay for the imports.
+	 */
+	public void warm() {
+		PySystemState state;
+		while((state = createIfAllowed())!=null) available.offer(state);
+	}
+
+	private PySystemState createIfAllowed() {
+
+		int count;
+		do {
+			count = created.get();
+			if (count>=size) return null;
+		} while (!created.compareAndSet(count, count+1));
+
+		try {
+			return createInterpreter();
+		} catch (RuntimeException ne) {
+			created.decrementAndGet();
+			throw ne;
+		}
+	}
+
+	private PySystemState createInterpreter() {
+
+		final long start = System.currentTimeMillis();
+		final PySystemState state    = JythonInterpreterManager.createSystemState();
+		final PySystemState previous = Py.getSystemState();
+		try {
+			Py.setSystemState(state);
+			final PyObject importer = state.getBuiltins().__getitem__(Py.newString("__import__"));
+			for (String module : PRELOAD_MODULES) importer.__call__(Py.newString(module));
+		} finally {
+			Py.setSystemState(previous);
+		}
+		classes.put(state, new ConcurrentHashMap<>());
+		logger.debug("Created jython interpreter {} of {} in {} ms", created.get(), size, System.currentTimeMillis()-start);
+		return state;
+	}
+
+	/**
+	 * Get a class from a module imported into a pooled interpreter. The
+	 * class is only looked up once for each interpreter.
+	 *
+	 * @param state a pooled interpreter, which must be the system state of the calling thread
+	 * @param moduleName
+	 * @param className
+	 * @return the python class
+	 */
+	PyObject getPyClass(PySystemState state, String moduleName, String className) {
+		final Map<String, PyObject> cache = classes.get(state);
+		if (cache==null) throw new IllegalArgumentException("The system state is not part of the pool!");
+		return cache.computeIfAbsent(moduleName+"."+className, key -> {
+			PyObject importer = state.getBuiltins().__getitem__(Py.newString("__import__"));
+			PyObject module   = importer.__call__(Py.newString(moduleName));
+			return module.__getattr__(className);
+		});
+	}
+
+	private void recordWait(long nanos) {
+		leaseCount.incrementAndGet();
+		totalWaitNanos.addAndGet(nanos);
+		long max;
+		do {
+			max = maxWaitNanos.get();
+			if (nanos<=max) break;
+		} while (!maxWaitNanos.compareAndSet(max, nanos));
+
+		long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+		if (ms>SLOW_WAIT_MS) logger.info("Waited {} ms for a jython interpreter, consider increasing the pool size of {}", ms, size);
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 *
+	 * @return the number of interpreters not currently leased.
+	 */
+	public int getAvailableCount() {
+		return available.size() + (size - created.get());
+	}
+
+	/**
+	 *
+	 * @return the number of leases made (not counting re-entrant ones).
+	 */
+	public long getLeaseCount() {
+		return leaseCount.get();
+	}
+
+	/**
+	 *
+	 * @param unit
+	 * @return the total time spent waiting for an interpreter.
+	 */
+	public long getTotalWaitTime(TimeUnit unit) {
+		return unit.convert(totalWaitNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 *
+	 * @param unit
+	 * @return the longest time a lease waited for an interpreter.
+	 */
+	public long getMaximumWaitTime(TimeUnit unit) {
+		return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 *
+	 * @return the mean time in ms that a lease waited for an interpreter.
+	 */
+	public double getAverageWaitTime() {
+		long count = leaseCount.get();
+		if (count==0) return 0;
+		return TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get()) / 1000d / count;
+	}
+}
@@ -12,12 +12,21 @@ public final class JythonObjectFactory<T> {
 	private final PyObject pyClass;
 
 	// This constructor passes through to the other constructor with the SystemState
+	// If the thread has leased an interpreter from the JythonInterpreterPool, the class is
+	// taken from that interpreter, otherwise from the shared system state.
 	public JythonObjectFactory(Class<T> javaClass, String moduleName, String className, String... bundleNames) {
 
+		this.javaClass = javaClass;
+
+		PySystemState leased = JythonInterpreterPool.getLeased();
+		if (leased!=null && (bundleNames==null || bundleNames.length<1)) {
+			pyClass = JythonInterpreterPool.getInstance().getPyClass(leased, moduleName, className);
+			return;
+		}
+
 		JythonInterpreterManager.setupSystemState(bundleNames);
 		PySystemState state = Py.getSystemState();
 
-		this.javaClass = javaClass;
 		PyObject importer = state.getBuiltins().__getitem__(Py.newString("__import__"));
 		PyObject module = importer.__call__(Py.newString(moduleName));
 		pyClass = module.__getattr__(className);
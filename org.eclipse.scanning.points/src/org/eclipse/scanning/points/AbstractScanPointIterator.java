@@ -17,23 +17,24 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.eclipse.dawnsci.analysis.api.roi.IROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.EllipticalROI;
-import org.eclipse.dawnsci.analysis.dataset.roi.LinearROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.PointROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.PolygonalROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.SectorROI;
 import org.eclipse.scanning.api.points.IPosition;
-import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 import org.eclipse.scanning.jython.JythonObjectFactory;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.python.core.PyDictionary;
 import org.python.core.PyList;
 import org.python.core.PyObject;
+import org.python.core.PySystemState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +46,22 @@ public abstract class AbstractScanPointIterator implements ScanPointIterator, Py
 
 	protected ScanPointIterator pyIterator;
 
+	/**
+	 * The pooled interpreter which the iterator was made in, null if it was made
+	 * in the shared one. The python iterator is always called in this interpreter,
+	 * also once the lease it was made in has been released.
+	 */
+	private final PySystemState state = JythonInterpreterPool.getLeased();
+
+	/**
+	 * Calls the python iterator in the interpreter which it was made in.
+	 * @param call
+	 * @return the value of the call
+	 */
+	protected <T> T pinned(Supplier<T> call) {
+		return JythonInterpreterPool.call(state, call);
+	}
+
 	public Iterator<IPosition> getPyIterator() {
 		return pyIterator;
 	}
@@ -57,12 +74,17 @@ public abstract class AbstractScanPointIterator implements ScanPointIterator, Py
 			String[] regionAxes, PyObject[] mutators) {
 		JythonObjectFactory<PyObject> excluderFactory = ScanPointGeneratorFactory.JExcluderFactory();
 		JythonObjectFactory<ScanPointIterator> cpgFactory = ScanPointGeneratorFactory.JCompoundGeneratorFactory();
-		List<PyObject> pyRegions = Arrays.asList(regions)
+		List<IROI> rois = Arrays.asList(regions)
 				.stream()
-				.map(r -> makePyRoi(r))
+				.map(r -> RegionIndex.getRoi(r))
 				.filter(r -> r != null)
 				.collect(Collectors.toList());
-		PyObject excluder = excluderFactory.createObject(pyRegions.toArray(), new PyList(Arrays.asList(regionAxes)));
+		List<PyObject> pyRegions = rois
+				.stream()
+				.map(r -> makePyRoi(r))
+				.collect(Collectors.toList());
+		PyObject excluder = excluderFactory.createObject(pyRegions.toArray(), new PyList(Arrays.asList(regionAxes)),
+				new RegionIndex(rois));
 		PyObject[] excluders = pyRegions.size() > 0 ? new PyObject[] {excluder} : new PyObject[] {};
 		ScanPointIterator cpgIterator = cpgFactory.createObject(iterators, excluders, mutators);
 		return cpgIterator;
@@ -73,7 +95,6 @@ public abstract class AbstractScanPointIterator implements ScanPointIterator, Py
 				((CircularROI) r).getCentre(), ((CircularROI) r).getRadius()));
 		roiDispatchMap.put(EllipticalROI.class, r -> ScanPointGeneratorFactory.JEllipticalROIFactory().createObject(
 				((EllipticalROI) r).getPoint(), ((EllipticalROI) r).getSemiAxes(), ((EllipticalROI) r).getAngle()));
-		roiDispatchMap.put(LinearROI.class, r -> null); // not supported
 		roiDispatchMap.put(PointROI.class, r -> ScanPointGeneratorFactory.JPointROIFactory().createObject(
 				((PointROI) r).getPoint()));
 		roiDispatchMap.put(PolygonalROI.class, r -> {
@@ -94,23 +115,18 @@ public abstract class AbstractScanPointIterator implements ScanPointIterator, Py
 				((SectorROI) r).getPoint(), ((SectorROI) r).getRadii(), ((SectorROI) r).getAngles()));
 	}
 
+	/**
+	 * Makes the python roi of a region, the regions supported are those of {@link RegionIndex#getRoi(Object)}.
+	 * @param region an IROI or ScanRegion
+	 * @return the python roi or null if the region is not supported
+	 */
 	protected static PyObject makePyRoi(Object region) {
-		IROI roi = null;
-		if (region instanceof ScanRegion<?>) {
-			region = ((ScanRegion<?>) region).getRoi();
-		}
-		if (region instanceof IROI) {
-			roi = (IROI) region;
-		} else {
-			logger.error("Unknown region type: " + region.getClass());
-			return null;
-		}
-		if (roiDispatchMap.containsKey(roi.getClass())) {
-			return roiDispatchMap.get(roi.getClass()).apply(roi);
-		} else {
-			logger.error("Unsupported region type: " + roi.getClass());
+		IROI roi = RegionIndex.getRoi(region);
+		if (roi == null) {
+			logger.error("Unsupported region type: " + region);
 			return null;
 		}
+		return roiDispatchMap.get(roi.getClass()).apply(roi);
 	}
 
 	public PyDictionary toDict() {
@@ -118,17 +134,17 @@ public abstract class AbstractScanPointIterator implements ScanPointIterator, Py
 	}
 	
 	public int size() {
-		return pyIterator.size();
+		return pinned(pyIterator::size);
 	}
 
 	@Override
 	public int[] getShape() {
-		return pyIterator.getShape();
+		return pinned(pyIterator::getShape);
 	}
 
 	@Override
 	public int getRank() {
-		return pyIterator.getRank();
+		return pinned(pyIterator::getRank);
 	}
 	
 	
@@ -17,6 +17,7 @@ import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.GeneratorException;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.ArrayModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 
 public class ArrayGenerator extends AbstractGenerator<ArrayModel> {
 	
@@ -43,7 +44,7 @@ public class ArrayGenerator extends AbstractGenerator<ArrayModel> {
 	
 	@Override
 	protected ScanPointIterator iteratorFromValidModel() {
-		return new ArrayIterator(this);
+		return JythonInterpreterPool.execute(() -> new ArrayIterator(this));
 	}
 
 	@Override
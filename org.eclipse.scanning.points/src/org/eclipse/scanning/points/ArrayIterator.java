@@ -35,12 +35,12 @@ class ArrayIterator extends AbstractScanPointIterator {
 
 	@Override
 	public boolean hasNext() {
-		return pyIterator.hasNext();
+		return pinned(pyIterator::hasNext);
 	}
 
 	@Override
 	public IPosition next() {
-		return pyIterator.next();
+		return pinned(pyIterator::next);
 	}
 
 	public void remove() {
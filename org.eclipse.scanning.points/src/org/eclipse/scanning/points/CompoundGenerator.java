@@ -26,6 +26,7 @@ import org.eclipse.scanning.api.points.IPointGenerator;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 import org.python.core.PyDictionary;
 
 /**
@@ -142,15 +143,18 @@ class CompoundGenerator extends AbstractGenerator<CompoundModel> implements PySe
 	
 	@Override
 	protected Iterator<IPosition> iteratorFromValidModel() {
-		try {
-			if (isScanPointGeneratorFactory()) {
-				return new CompoundSpgIterator(this);
-			} else {
-				return new CompoundIterator(this);
+		// The child generators must be made in the same interpreter as the compound.
+		return JythonInterpreterPool.execute(() -> {
+			try {
+				if (isScanPointGeneratorFactory()) {
+					return new CompoundSpgIterator(this);
+				} else {
+					return new CompoundIterator(this);
+				}
+			} catch (GeneratorException e) {
+				throw new IllegalArgumentException(e);
 			}
-		} catch (GeneratorException e) {
-			throw new IllegalArgumentException(e);
-		}
+		});
 	}
 
 	@Override
@@ -12,11 +12,12 @@
 package org.eclipse.scanning.points;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.scanning.api.points.AbstractPosition;
@@ -29,7 +30,9 @@ import org.eclipse.scanning.api.points.MapPosition;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.ScanRegion;
 import org.eclipse.scanning.jython.JythonObjectFactory;
+import org.python.core.Py;
 import org.python.core.PyDictionary;
+import org.python.core.PyProxy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -89,13 +92,13 @@ public class CompoundSpgIterator extends AbstractScanPointIterator {
 	@SuppressWarnings("unchecked")
 	@Override
     public PyDictionary toDict() {
-		return ((PySerializable) pyIterator).toDict();
+		return pinned(((PySerializable) pyIterator)::toDict);
     }
     
 	@Override
 	public boolean hasNext() {
-		if (pyIterator.hasNext()) {
-			currentPoint = pyIterator.next();
+		if (pinned(pyIterator::hasNext)) {
+			currentPoint = pinned(pyIterator::next);
 			index++;
 			currentPoint.setStepIndex(index);
 			return true;
@@ -116,6 +119,21 @@ public class CompoundSpgIterator extends AbstractScanPointIterator {
 		
 		return point;
 	}
+
+	/**
+	 * The point at an index of the scan, made by the python CompoundGenerator.get_point(n)
+	 * without iterating over the points before it. It does not change the iteration.
+	 * 
+	 * @param index from 0
+	 * @return the point, with its step index set
+	 * @throws IndexOutOfBoundsException if the scan has no point at the index
+	 */
+	public IPosition getPoint(int index) {
+		if (index<0 || index>=size()) throw new IndexOutOfBoundsException("The scan has no point "+index+", it has "+size()+" points");
+		final IPosition point = pinned(() -> (IPosition)((PyProxy)pyIterator)._getPyInstance().invoke("getPoint", Py.newInteger(index)).__tojava__(IPosition.class));
+		point.setStepIndex(index);
+		return point;
+	}
 	
 	public IPosition getNext() {
 		
@@ -174,22 +192,27 @@ public class CompoundSpgIterator extends AbstractScanPointIterator {
 		// regions are grouped into excluders by scan axes covered
 		// two regions are in the same excluder iff they have the same axes
 		LinkedHashMap<List<String>, List<Object>> excluders = new LinkedHashMap<List<String>, List<Object>>();
+		// the java regions of each excluder, used to mask points without calling each python roi
+		Map<List<String>, List<Object>> regionsByAxes = new HashMap<List<String>, List<Object>>();
 		JythonObjectFactory<?> excluderFactory = ScanPointGeneratorFactory.JExcluderFactory();
 		if (regions != null) {
 			for (Object region : regions) {
 				if (region instanceof ScanRegion) {
 					ScanRegion<?> sr = (ScanRegion<?>) region;
-					Optional<List<Object>> excluderOptional = excluders.entrySet().stream()
-							.filter(e -> sr.getScannables().containsAll(e.getKey()))
-							.map(e -> e.getValue())
-							.findFirst();
-					List<Object> rois = excluderOptional.orElse(new LinkedList<Object>());
-					if (!excluderOptional.isPresent()) {
-						excluders.put(sr.getScannables(), rois);
+					List<String> axes = excluders.keySet().stream()
+							.filter(k -> sr.getScannables().containsAll(k))
+							.findFirst()
+							.orElse(sr.getScannables());
+					if (!excluders.containsKey(axes)) {
+						excluders.put(axes, new LinkedList<Object>());
+						regionsByAxes.put(axes, new LinkedList<Object>());
 					}
 					try {
 						Object pyRoi = makePyRoi(region);
-						if (pyRoi != null) rois.add(pyRoi);
+						if (pyRoi != null) {
+							excluders.get(axes).add(pyRoi);
+							regionsByAxes.get(axes).add(sr.getRoi());
+						}
 					} catch (Exception e) {
 						logger.error("Could not convert ROI to PyRoi", e);
 					}
@@ -200,7 +223,8 @@ public class CompoundSpgIterator extends AbstractScanPointIterator {
 		}
 		List<Object> pyExcluders = excluders.entrySet().stream()
 				.filter(e -> e.getValue().size() > 0)
-				.map(e -> excluderFactory.createObject(e.getValue().toArray(), e.getKey()))
+				.map(e -> excluderFactory.createObject(e.getValue().toArray(), e.getKey(),
+						new RegionIndex(regionsByAxes.get(e.getKey()))))
 				.collect(Collectors.toList());
 		return pyExcluders.toArray();
 	}
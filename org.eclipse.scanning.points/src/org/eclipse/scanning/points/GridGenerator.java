@@ -16,6 +16,7 @@ import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.GeneratorException;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 
 class GridGenerator extends AbstractGenerator<GridModel> {
 	
@@ -36,7 +37,7 @@ class GridGenerator extends AbstractGenerator<GridModel> {
 
 	@Override
 	public ScanPointIterator iteratorFromValidModel() {
-		return new GridIterator(this);
+		return JythonInterpreterPool.execute(() -> new GridIterator(this));
 	}
 
 }
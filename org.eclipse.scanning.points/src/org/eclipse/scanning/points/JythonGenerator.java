@@ -9,6 +9,7 @@ import org.eclipse.scanning.api.ValidationException;
 import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.models.JythonGeneratorModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 
 public class JythonGenerator extends AbstractGenerator<JythonGeneratorModel> {
 
@@ -20,7 +21,8 @@ public class JythonGenerator extends AbstractGenerator<JythonGeneratorModel> {
 
 	@Override
 	protected Iterator<IPosition> iteratorFromValidModel() {
-		return new JythonIterator(getModel());
+		// The user's module is imported once, into the shared interpreter, not into each pooled one.
+		return JythonInterpreterPool.executeShared(() -> new JythonIterator(getModel()));
 	}
 
 	@Override
@@ -60,12 +60,12 @@ class JythonIterator extends AbstractScanPointIterator implements Iterator<IPosi
 
 	@Override
 	public boolean hasNext() {
-		return pyIterator.hasNext();
+		return pinned(pyIterator::hasNext);
 	}
 
 	@Override
 	public IPosition next() {
-		IPosition next = pyIterator.next();	
+		IPosition next = pinned(pyIterator::next);	
 		next.setStepIndex(index);
 		index++;
 		return next;
@@ -92,7 +92,7 @@ class LineIterator extends AbstractScanPointIterator {
 
 	@Override
 	public boolean hasNext() {
-		return pyIterator.hasNext();
+		return pinned(pyIterator::hasNext);
 	}
 
 	@Override
@@ -101,7 +101,7 @@ class LineIterator extends AbstractScanPointIterator {
 		IPosition next = null;
         if (model instanceof CollatedStepModel) { // For AnnotatedScanTest
 			@SuppressWarnings("unchecked")
-			Scalar<Double> point = (Scalar<Double>) pyIterator.next();
+			Scalar<Double> point = (Scalar<Double>) pinned(pyIterator::next);
 			value = point.getValue();
         	final MapPosition mp = new MapPosition();
         	for (String name : ((CollatedStepModel)model).getNames()) {
@@ -111,7 +111,7 @@ class LineIterator extends AbstractScanPointIterator {
         	next = mp;
         	
         } else {
-        	next = pyIterator.next();
+        	next = pinned(pyIterator::next);
         }
         if (next!=null && model!=null) {
 	        next.setExposureTime(model.getExposureTime()); // Usually 0
@@ -15,6 +15,7 @@ import org.eclipse.scanning.api.ModelValidationException;
 import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.LissajousModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 
 public class LissajousGenerator extends AbstractGenerator<LissajousModel> {
 
@@ -26,7 +27,7 @@ public class LissajousGenerator extends AbstractGenerator<LissajousModel> {
 
 	@Override
 	public ScanPointIterator iteratorFromValidModel() {
-		return new LissajousIterator(this);
+		return JythonInterpreterPool.execute(() -> new LissajousIterator(this));
 	}
 
 	@Override
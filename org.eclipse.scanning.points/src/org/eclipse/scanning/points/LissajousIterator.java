@@ -57,8 +57,8 @@ class LissajousIterator extends AbstractScanPointIterator {
 
 	@Override
 	public boolean hasNext() {
-		if (pyIterator.hasNext()) {
-			currentPoint = (Point) pyIterator.next();
+		if (pinned(pyIterator::hasNext)) {
+			currentPoint = (Point) pinned(pyIterator::next);
 			return true;
 		}
 		
@@ -18,6 +18,7 @@ import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.MultiStepModel;
 import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 
 /**
  * Point generator for {@link MultiStepModel}s.
@@ -37,7 +38,7 @@ class MultiStepGenerator extends AbstractGenerator<MultiStepModel> {
 
 	@Override
 	protected ScanPointIterator iteratorFromValidModel() {
-		return new MultiStepIterator(model);
+		return JythonInterpreterPool.execute(() -> new MultiStepIterator(model));
 	}
 
 	protected void validateModel() {
@@ -96,12 +96,12 @@ public class MultiStepIterator extends AbstractScanPointIterator {
 	
 	@Override
 	public boolean hasNext() {
-		return pyIterator.hasNext();
+		return pinned(pyIterator::hasNext);
 	}
 
 	@Override
 	public IPosition next() {
-		IPosition next = pyIterator.next();
+		IPosition next = pinned(pyIterator::next);
         next.setExposureTime(times[index]);
         next.setStepIndex(index);
         index++;
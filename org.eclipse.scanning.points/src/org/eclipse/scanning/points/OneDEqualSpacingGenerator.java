@@ -15,6 +15,7 @@ import org.eclipse.scanning.api.ModelValidationException;
 import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.OneDEqualSpacingModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 
 public class OneDEqualSpacingGenerator extends AbstractGenerator<OneDEqualSpacingModel> {
 
@@ -32,7 +33,7 @@ public class OneDEqualSpacingGenerator extends AbstractGenerator<OneDEqualSpacin
 
 	@Override
 	public ScanPointIterator iteratorFromValidModel() {
-		return new LineIterator(this);
+		return JythonInterpreterPool.execute(() -> new LineIterator(this));
 	}
 	
 	public int[] getShape() {
@@ -17,6 +17,7 @@ import org.eclipse.scanning.api.points.GeneratorException;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.BoundingLine;
 import org.eclipse.scanning.api.points.models.OneDStepModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 
 class OneDStepGenerator extends AbstractGenerator<OneDStepModel> {
 
@@ -33,7 +34,7 @@ class OneDStepGenerator extends AbstractGenerator<OneDStepModel> {
 
 	@Override
 	protected ScanPointIterator iteratorFromValidModel() {
-		return new LineIterator(this);
+		return JythonInterpreterPool.execute(() -> new LineIterator(this));
 	}
 
 	@Override
@@ -200,29 +200,39 @@ public class PointGeneratorService implements IPointGeneratorService {
 		
 		if (regions==null || regions.isEmpty()) return null;
 		
+		// The IROIs are indexed together so that each point is only
+		// tested against the regions near to it.
 		List<IPointContainer> ret = new ArrayList<>();
+		List<IROI>           rois = new ArrayList<>();
 		for (Object region : regions) {
-			IPointContainer container = null;
-			if (region instanceof IROI) {
-				final IROI roi = (IROI)region;
-				container = new IPointContainer() {
-					@Override
-					public boolean containsPoint(IPosition pos) {
-						// Important, this assumes that the IROI is in axis coordinates
-						String dim0Name = pos.getNames().get(0);
-						String dim1Name = pos.getNames().get(1);
-						double x = pos.getValue(dim1Name);
-						double y = pos.getValue(dim0Name);
-						return roi.containsPoint(x, y);
-					}
-				};
+			if (RegionIndex.getRoi(region)!=null) {
+				rois.add(RegionIndex.getRoi(region));
+			} else if (region instanceof IROI) {
+				ret.add(container((IROI)region));
 			} else if (region instanceof IPointContainer) {
-				container = (IPointContainer)region;
+				ret.add((IPointContainer)region);
 			}
-			if (container!=null) ret.add(container);
 		}
+		if (!rois.isEmpty()) ret.add(0, new RegionIndex(rois));
 		return ret;
 	}
+
+	/**
+	 * A container for an IROI which the RegionIndex does not support, for instance a LinearROI.
+	 */
+	private static IPointContainer container(final IROI roi) {
+		return new IPointContainer() {
+			@Override
+			public boolean containsPoint(IPosition pos) {
+				// Important, this assumes that the IROI is in axis coordinates
+				String dim0Name = pos.getNames().get(0);
+				String dim1Name = pos.getNames().get(1);
+				double x = pos.getValue(dim1Name);
+				double y = pos.getValue(dim0Name);
+				return roi.containsPoint(x, y);
+			}
+		};
+	}
 	
 	@Override
 	public IPointGenerator<?> createCompoundGenerator(IPointGenerator<?>... generators) throws GeneratorException {
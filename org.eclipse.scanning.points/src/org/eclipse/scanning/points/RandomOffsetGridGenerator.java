@@ -14,6 +14,7 @@ package org.eclipse.scanning.points;
 import org.eclipse.scanning.api.ModelValidationException;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.RandomOffsetGridModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 
 public class RandomOffsetGridGenerator extends GridGenerator {
 	
@@ -33,7 +34,7 @@ public class RandomOffsetGridGenerator extends GridGenerator {
 
 	@Override
 	public ScanPointIterator iteratorFromValidModel() {
-		return new GridIterator(this);
+		return JythonInterpreterPool.execute(() -> new GridIterator(this));
 	}
 
 }
\ No newline at end of file
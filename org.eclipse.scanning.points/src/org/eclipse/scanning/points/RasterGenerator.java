@@ -15,6 +15,7 @@ import org.eclipse.scanning.api.ModelValidationException;
 import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.RasterModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 
 class RasterGenerator extends AbstractGenerator<RasterModel> {
 	
@@ -41,7 +42,7 @@ class RasterGenerator extends AbstractGenerator<RasterModel> {
 	}
 
 	public ScanPointIterator iteratorFromValidModel() {
-		return new GridIterator(this);
+		return JythonInterpreterPool.execute(() -> new GridIterator(this));
 	}
 
 }
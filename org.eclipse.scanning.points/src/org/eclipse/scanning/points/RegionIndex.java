@@ -0,0 +1,478 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.EllipticalROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.PointROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.PolygonalROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.SectorROI;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.scanning.api.points.IPointContainer;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+
+/**
+ * A Java excluder for a set of regions which are combined as a union.
+ * <p>
+ * The bounding box of each region is computed once and the regions are
+ * bucketed into a regular grid covering their combined bounds. A containment
+ * test then only asks the regions in the bucket of the point (and whose bounding
+ * box contains the point) rather than every region in the scan. When masking
+ * whole arrays of points, consecutive points which share the same slow axis value
+ * (i.e. a row of a grid) are tested together against the regions crossing that row.
+ * <p>
+ * The regions are assumed to be in axis coordinates, x being the first axis of
+ * the excluder and y the second. Only the regions which the jython excluder
+ * supports are indexed, see {@link #getRoi(Object)}. A point is tested with
+ * the same arithmetic as the mask_points of the python roi made from the region,
+ * not IROI.containsPoint, so that excluding points in Java excludes exactly
+ * the points which the python excluder would. Where the two differ the python
+ * is followed, for instance a sector compares the square of the distance
+ * of a point from its centre with its radii and ignores its symmetry.
+ */
+public class RegionIndex implements IPointContainer {
+
+	/**
+	 * The maximum number of buckets along each axis.
+	 */
+	private static final int MAX_BUCKETS = 64;
+
+	/**
+	 * The types of region which may be excluded, the same as those
+	 * which AbstractScanPointIterator can make a python roi from.
+	 */
+	private static final Set<Class<?>> SUPPORTED = new HashSet<>(Arrays.asList(
+			CircularROI.class, EllipticalROI.class, PointROI.class,
+			PolygonalROI.class, RectangularROI.class, SectorROI.class));
+
+	private final Shape[]  shapes;
+	private final double[] minX, maxX, minY, maxY;
+
+	// The combined bounds of all regions
+	private final double   xStart, yStart, xEnd, yEnd;
+	private final int      xBuckets, yBuckets;
+	private final double   xBucketSize, yBucketSize;
+
+	// Indices of the regions overlapping each bucket, bucket (i,j) is at [j*xBuckets+i]
+	private final int[][]  buckets;
+
+	// Indices of the regions overlapping each row of buckets, sorted by their minimum x.
+	private final int[][]  bands;
+
+	/**
+	 * @param regions IROIs or ScanRegions, those which are not supported are ignored
+	 */
+	public RegionIndex(Collection<?> regions) {
+
+		final List<IROI> tmp = new ArrayList<>(regions.size());
+		for (Object region : regions) {
+			IROI roi = getRoi(region);
+			if (roi!=null) tmp.add(roi);
+		}
+		this.shapes = new Shape[tmp.size()];
+
+		this.minX = new double[shapes.length];
+		this.maxX = new double[shapes.length];
+		this.minY = new double[shapes.length];
+		this.maxY = new double[shapes.length];
+
+		double xs = Double.POSITIVE_INFINITY, ys = Double.POSITIVE_INFINITY;
+		double xe = Double.NEGATIVE_INFINITY, ye = Double.NEGATIVE_INFINITY;
+		final double[] bounds = new double[4];
+		for (int i = 0; i < shapes.length; i++) {
+			shapes[i] = createShape(tmp.get(i), bounds);
+			// A little larger than the shape so that rounding never leaves out a point on its edge.
+			final double pad = 1e-9 * Math.max(1, Math.max(bounds[1]-bounds[0], bounds[3]-bounds[2]));
+			minX[i] = bounds[0] - pad;
+			maxX[i] = bounds[1] + pad;
+			minY[i] = bounds[2] - pad;
+			maxY[i] = bounds[3] + pad;
+			xs = Math.min(xs, minX[i]);
+			ys = Math.min(ys, minY[i]);
+			xe = Math.max(xe, maxX[i]);
+			ye = Math.max(ye, maxY[i]);
+		}
+		this.xStart = xs;
+		this.yStart = ys;
+		this.xEnd   = xe;
+		this.yEnd   = ye;
+
+		// Roughly one region per bucket for evenly spread regions.
+		int size = (int)Math.ceil(Math.sqrt(shapes.length));
+		this.xBuckets = xe > xs ? Math.max(1, Math.min(MAX_BUCKETS, size)) : 1;
+		this.yBuckets = ye > ys ? Math.max(1, Math.min(MAX_BUCKETS, size)) : 1;
+		this.xBucketSize = xe > xs ? (xe - xs) / xBuckets : 1;
+		this.yBucketSize = ye > ys ? (ye - ys) / yBuckets : 1;
+
+		this.buckets = createBuckets();
+		this.bands   = createBands();
+	}
+
+	/**
+	 * The region which is excluded for an object in a list of regions. A ScanRegion
+	 * is unwrapped to its roi. Both the index and the python excluder use this so
+	 * that they exclude the same regions.
+	 *
+	 * @param region
+	 * @return the roi or null if the region is not one which may be excluded, for
+	 *         instance a LinearROI.
+	 */
+	public static IROI getRoi(Object region) {
+		if (region instanceof ScanRegion<?>) region = ((ScanRegion<?>)region).getRoi();
+		if (region==null || !SUPPORTED.contains(region.getClass())) return null;
+		return (IROI)region;
+	}
+
+	/**
+	 * Tests a point the same way as mask_points of a python roi.
+	 */
+	private interface Shape {
+		boolean contains(double x, double y);
+	}
+
+	/**
+	 * Makes the shape of a region with the arithmetic of the python roi which
+	 * makePyRoi of AbstractScanPointIterator makes from the same region.
+	 *
+	 * @param roi
+	 * @param bounds filled with minimum x, maximum x, minimum y, maximum y of the shape
+	 * @return shape
+	 */
+	private static Shape createShape(IROI roi, double[] bounds) {
+
+		if (roi instanceof CircularROI) {
+			final double[] c  = ((CircularROI)roi).getCentre();
+			final double   r  = ((CircularROI)roi).getRadius();
+			final double   r2 = r*r;
+			setBounds(bounds, c[0]-r, c[0]+r, c[1]-r, c[1]+r);
+			return (x, y) -> {
+				x -= c[0];
+				y -= c[1];
+				return x*x + y*y <= r2;
+			};
+
+		} else if (roi instanceof EllipticalROI) {
+			final double[] c     = ((EllipticalROI)roi).getPoint();
+			final double[] axes  = ((EllipticalROI)roi).getSemiAxes();
+			final double   angle = ((EllipticalROI)roi).getAngle();
+			final double   rx2   = axes[0]*axes[0], ry2 = axes[1]*axes[1];
+			final double   r     = Math.max(axes[0], axes[1]);
+			setBounds(bounds, c[0]-r, c[0]+r, c[1]-r, c[1]+r);
+			return (x, y) -> {
+				x -= c[0];
+				y -= c[1];
+				if (angle != 0) {
+					final double tx = rotateX(x, y, -angle);
+					y = rotateY(x, y, -angle);
+					x = tx;
+				}
+				return x*x/rx2 + y*y/ry2 <= 1;
+			};
+
+		} else if (roi instanceof PointROI) {
+			final double[] p = ((PointROI)roi).getPoint();
+			setBounds(bounds, p[0], p[0], p[1], p[1]);
+			return (x, y) -> {
+				x -= p[0];
+				y -= p[1];
+				return x*x + y*y <= 0;
+			};
+
+		} else if (roi instanceof PolygonalROI) {
+			final PolygonalROI poly = (PolygonalROI)roi;
+			final double[] px = new double[poly.getNumberOfPoints()];
+			final double[] py = new double[px.length];
+			setBounds(bounds, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+			for (int i = 0; i < px.length; i++) {
+				px[i] = poly.getPoint(i).getPointX();
+				py[i] = poly.getPoint(i).getPointY();
+				setBounds(bounds, Math.min(bounds[0], px[i]), Math.max(bounds[1], px[i]), Math.min(bounds[2], py[i]), Math.max(bounds[3], py[i]));
+			}
+			return (x, y) -> {
+				// Crossings of a ray, horizontal edges skipped
+				boolean inside = false;
+				double v1x = px[px.length-1], v1y = py[py.length-1];
+				for (int i = 0; i < px.length; i++) {
+					final double v2x = px[i], v2y = py[i];
+					if (v2y != v1y && ((y < v2y && y >= v1y) || (y < v1y && y >= v2y))) {
+						final double t = (y - v1y) / (v2y - v1y);
+						if (x < v1x + t * (v2x - v1x)) inside = !inside;
+					}
+					v1x = v2x;
+					v1y = v2y;
+				}
+				return inside;
+			};
+
+		} else if (roi instanceof RectangularROI) {
+			final double[] s      = ((RectangularROI)roi).getPoint();
+			final double   width  = ((RectangularROI)roi).getLength(0);
+			final double   height = ((RectangularROI)roi).getLength(1);
+			final double   angle  = ((RectangularROI)roi).getAngle();
+			setBounds(bounds, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+			for (double[] corner : new double[][]{{0,0}, {width,0}, {0,height}, {width,height}}) {
+				final double cx = s[0] + rotateX(corner[0], corner[1], angle);
+				final double cy = s[1] + rotateY(corner[0], corner[1], angle);
+				setBounds(bounds, Math.min(bounds[0], cx), Math.max(bounds[1], cx), Math.min(bounds[2], cy), Math.max(bounds[3], cy));
+			}
+			return (x, y) -> {
+				x -= s[0];
+				y -= s[1];
+				if (angle != 0) {
+					final double rx = rotateX(x, y, -angle);
+					y = rotateY(x, y, -angle);
+					x = rx;
+				}
+				return x >= 0 && x <= width && y >= 0 && y <= height;
+			};
+
+		} else if (roi instanceof SectorROI) {
+			final double[] c      = ((SectorROI)roi).getPoint();
+			final double[] radii  = ((SectorROI)roi).getRadii();
+			final double[] angles = constrainAngles(((SectorROI)roi).getAngles());
+			final double   sweep  = angles[1] - angles[0];
+			// The python compares the square of the distance with the radii
+			final double   r      = Math.sqrt(radii[1]);
+			setBounds(bounds, c[0]-r, c[0]+r, c[1]-r, c[1]+r);
+			return (x, y) -> {
+				x -= c[0];
+				y -= c[1];
+				final double r2 = x*x + y*y;
+				if (r2 > radii[1] || r2 < radii[0]) return false;
+				double phi = pyMod(2*Math.PI + Math.atan2(y, x), 2*Math.PI);
+				phi -= angles[0] + 2*Math.PI;
+				return pyMod(phi, 2*Math.PI) <= sweep;
+			};
+		}
+		throw new IllegalArgumentException("The region "+roi+" cannot be excluded");
+	}
+
+	private static void setBounds(double[] bounds, double xs, double xe, double ys, double ye) {
+		bounds[0] = xs;
+		bounds[1] = xe;
+		bounds[2] = ys;
+		bounds[3] = ye;
+	}
+
+	private static double rotateX(double x, double y, double phi) {
+		return x * Math.cos(phi) - y * Math.sin(phi);
+	}
+
+	private static double rotateY(double x, double y, double phi) {
+		return x * Math.sin(phi) + y * Math.cos(phi);
+	}
+
+	/**
+	 * The modulus of python, which has the sign of the divisor.
+	 */
+	private static double pyMod(double a, double b) {
+		final double mod = a % b;
+		return mod != 0 && (mod < 0) != (b < 0) ? mod + b : mod;
+	}
+
+	/**
+	 * The angles of a sector as constrain_angles of the python SectorROI makes them,
+	 * angles[0] in [0, 2pi) and angles[0] <= angles[1] <= angles[0] + 2pi
+	 */
+	private static double[] constrainAngles(double[] angles) {
+		double a1 = angles[0];
+		double a2 = angles[1];
+		if (a2 < a1) {
+			a2 += 2*Math.PI;
+			if (a2 < a1) return new double[]{0, 2*Math.PI}; // The full circle
+		}
+		final double diff = a2 - a1;
+		if (diff >= 2*Math.PI) return new double[]{0, 2*Math.PI};
+		a1 = pyMod(a1 + 2*Math.PI, 2*Math.PI);
+		return new double[]{a1, a1+diff};
+	}
+
+	private int[][] createBuckets() {
+
+		@SuppressWarnings("unchecked")
+		final List<Integer>[] tmp = new List[xBuckets*yBuckets];
+		for (int i = 0; i < shapes.length; i++) {
+			for (int yb = yBucket(minY[i]); yb <= yBucket(maxY[i]); yb++) {
+				for (int xb = xBucket(minX[i]); xb <= xBucket(maxX[i]); xb++) {
+					int b = yb*xBuckets+xb;
+					if (tmp[b]==null) tmp[b] = new ArrayList<>(4);
+					tmp[b].add(i);
+				}
+			}
+		}
+		final int[][] ret = new int[tmp.length][];
+		for (int b = 0; b < tmp.length; b++) ret[b] = toArray(tmp[b]);
+		return ret;
+	}
+
+	private int[][] createBands() {
+
+		final int[][] ret = new int[yBuckets][];
+		for (int yb = 0; yb < yBuckets; yb++) {
+			final List<Integer> tmp = new ArrayList<>();
+			for (int i = 0; i < shapes.length; i++) {
+				if (yBucket(minY[i]) <= yb && yb <= yBucket(maxY[i])) tmp.add(i);
+			}
+			tmp.sort(Comparator.comparingDouble(i -> minX[i]));
+			ret[yb] = toArray(tmp);
+		}
+		return ret;
+	}
+
+	private static int[] toArray(List<Integer> indices) {
+		if (indices==null) return new int[0];
+		return indices.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private int xBucket(double x) {
+		return Math.max(0, Math.min(xBuckets-1, (int)((x - xStart) / xBucketSize)));
+	}
+
+	private int yBucket(double y) {
+		return Math.max(0, Math.min(yBuckets-1, (int)((y - yStart) / yBucketSize)));
+	}
+
+	/**
+	 *
+	 * @return the number of regions in the index.
+	 */
+	public int size() {
+		return shapes.length;
+	}
+
+	/**
+	 * Important, this assumes that the IROI is in axis coordinates.
+	 * The second name of the position is the x axis, the first the y axis.
+	 */
+	@Override
+	public boolean containsPoint(IPosition pos) {
+		String dim0Name = pos.getNames().get(0);
+		String dim1Name = pos.getNames().get(1);
+		return containsPoint(pos.getValue(dim1Name), pos.getValue(dim0Name));
+	}
+
+	/**
+	 * Tests if a point is inside any of the regions.
+	 *
+	 * @param x
+	 * @param y
+	 * @return true if any region contains the point
+	 */
+	public boolean containsPoint(double x, double y) {
+		if (x < xStart || x > xEnd || y < yStart || y > yEnd) return false;
+		for (int i : buckets[yBucket(y)*xBuckets+xBucket(x)]) {
+			if (contains(i, x, y)) return true;
+		}
+		return false;
+	}
+
+	private boolean contains(int i, double x, double y) {
+		if (x < minX[i] || x > maxX[i] || y < minY[i] || y > maxY[i]) return false;
+		return shapes[i].contains(x, y);
+	}
+
+	/**
+	 * Masks one row of points which all have the same y value. The regions
+	 * crossing the row are found once, then each x is only tested against
+	 * those regions whose bounds contain it.
+	 *
+	 * @param y the value of the row
+	 * @param xs the x values of the points in the row
+	 * @param from the first index (inclusive) of xs to mask
+	 * @param to the last index (exclusive) of xs to mask
+	 * @param mask the mask to fill, indexed the same as xs
+	 */
+	public void maskRow(double y, double[] xs, int from, int to, boolean[] mask) {
+
+		if (y < yStart || y > yEnd) {
+			Arrays.fill(mask, from, to, false);
+			return;
+		}
+
+		// The regions crossing this row, still sorted by minimum x.
+		final int[] band = bands[yBucket(y)];
+		final int[] row  = new int[band.length];
+		int rowSize = 0;
+		for (int i : band) {
+			if (y >= minY[i] && y <= maxY[i]) row[rowSize++] = i;
+		}
+
+		POINTS: for (int p = from; p < to; p++) {
+			final double x = xs[p];
+			for (int r = 0; r < rowSize; r++) {
+				int i = row[r];
+				if (minX[i] > x) break; // Sorted, no later region can contain x
+				if (x <= maxX[i] && shapes[i].contains(x, y)) {
+					mask[p] = true;
+					continue POINTS;
+				}
+			}
+			mask[p] = false;
+		}
+	}
+
+	/**
+	 * Creates a mask for arrays of points. Runs of points with the same y
+	 * value (rows of a grid) are masked together.
+	 *
+	 * @param xs
+	 * @param ys
+	 * @return true for those points contained in any region.
+	 */
+	public boolean[] createMask(double[] xs, double[] ys) {
+		if (xs.length != ys.length) throw new IllegalArgumentException("Points lengths must be equal");
+		final boolean[] mask = new boolean[xs.length];
+		int from = 0;
+		while (from < xs.length) {
+			int to = from+1;
+			while (to < ys.length && ys[to] == ys[from]) to++;
+			maskRow(ys[from], xs, from, to, mask);
+			from = to;
+		}
+		return mask;
+	}
+
+	/**
+	 * Creates a mask for datasets of points. This is the form used by the
+	 * jython excluder, the returned dataset is of bytes, 1 meaning the point
+	 * is contained in a region.
+	 *
+	 * @param x
+	 * @param y
+	 * @return mask of int8
+	 */
+	public Dataset createMask(IDataset x, IDataset y) {
+		final boolean[] mask = createMask(toDoubles(x), toDoubles(y));
+		final byte[] ret = new byte[mask.length];
+		for (int i = 0; i < mask.length; i++) ret[i] = mask[i] ? (byte)1 : (byte)0;
+		return DatasetFactory.createFromObject(ret);
+	}
+
+	private static double[] toDoubles(IDataset data) {
+		final double[] ret = new double[data.getSize()];
+		for (int i = 0; i < ret.length; i++) ret[i] = data.getDouble(i);
+		return ret;
+	}
+}
@@ -13,6 +13,7 @@
 package org.eclipse.scanning.points;
 
 import org.eclipse.scanning.api.points.ScanPointIterator;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 import org.eclipse.scanning.jython.JythonObjectFactory;
 import org.python.core.PyObject;
 
@@ -28,7 +29,8 @@ public class ScanPointGeneratorFactory {
 	 * 
 	 * Call this method to load jython in a daemon thread such that
 	 * when it is first used, for instance in the UI, it will execute
-	 * fast because the interpreter has classloaded.
+	 * fast because the interpreter has classloaded. The pooled
+	 * interpreters are then created with the generator modules imported.
 	 */
 	public static void init() {
 		
@@ -36,6 +38,7 @@ public class ScanPointGeneratorFactory {
 			public void run() {
 				// Loading one causes Jython to class load.
 				ScanPointGeneratorFactory.JLineGenerator1DFactory();
+				JythonInterpreterPool.getInstance().warm();
 			}
 		};
 		background.setDaemon(true);
@@ -15,6 +15,7 @@ import org.eclipse.scanning.api.ModelValidationException;
 import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.SpiralModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 
 class SpiralGenerator extends AbstractGenerator<SpiralModel> {
 
@@ -26,7 +27,7 @@ class SpiralGenerator extends AbstractGenerator<SpiralModel> {
 	
 	@Override
 	public ScanPointIterator iteratorFromValidModel() {
-		return new SpiralIterator(this);
+		return JythonInterpreterPool.execute(() -> new SpiralIterator(this));
 	}
 
 	@Override
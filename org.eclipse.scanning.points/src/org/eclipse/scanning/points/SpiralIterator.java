@@ -61,8 +61,8 @@ class SpiralIterator extends AbstractScanPointIterator {
 
 	@Override
 	public boolean hasNext() {
-		if (pyIterator.hasNext()) {
-			currentPoint = (Point) pyIterator.next();
+		if (pinned(pyIterator::hasNext)) {
+			currentPoint = (Point) pinned(pyIterator::next);
 			return true;
 		}
 		return false;
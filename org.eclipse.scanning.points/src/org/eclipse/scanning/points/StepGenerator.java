@@ -16,6 +16,7 @@ import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.GeneratorException;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
 
 class StepGenerator extends AbstractGenerator<StepModel> {
 	
@@ -41,7 +42,7 @@ class StepGenerator extends AbstractGenerator<StepModel> {
 	
 	@Override
 	public ScanPointIterator iteratorFromValidModel() {
-		return new LineIterator(this);
+		return JythonInterpreterPool.execute(() -> new LineIterator(this));
 	}
 
 	@Override
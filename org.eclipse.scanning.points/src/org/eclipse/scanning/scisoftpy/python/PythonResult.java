@@ -0,0 +1,54 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+
+package org.eclipse.scanning.scisoftpy.python;
+
+/**
+ * The result of one request to a {@link PythonWorker}
+ */
+public class PythonResult {
+
+	private final String   output;
+	private final String   error;
+	private final double[] result;
+
+	PythonResult(String output, String error, double[] result) {
+		this.output = output;
+		this.error  = error;
+		this.result = result;
+	}
+
+	/**
+	 * @return anything printed to standard output while the code ran
+	 */
+	public String getOutput() {
+		return output;
+	}
+
+	/**
+	 * @return the python traceback or null if the code ran without error
+	 */
+	public String getError() {
+		return error;
+	}
+
+	public boolean isError() {
+		return error != null;
+	}
+
+	/**
+	 * @return the value of the variable <code>result</code> after the code ran, or null if it was not set
+	 */
+	public double[] getResult() {
+		return result;
+	}
+}
@@ -21,11 +21,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
  * This creates and manages input and output to a Python subprocess
+ * <p>
+ * When created with a number of workers it runs in pooled mode instead: the code
+ * is sent to a {@link PythonWorkerPool} of long lived processes using a binary
+ * protocol, and {@link #submit(String, Map)} may pass arrays of doubles to it.
  */
 public class PythonSubProcess {
 	// arguments to create a python server which reads a line from standard input and exec() that line
@@ -45,6 +50,7 @@ public class PythonSubProcess {
 	private StreamHandler obr;
 	private StreamHandler ebr;
 	private OutputStreamWriter stdin;
+	private PythonWorkerPool pool;
 
 	private static final String READY = "READY";
 	private static final int TIMEOUT = 5;
@@ -91,6 +97,28 @@ public class PythonSubProcess {
 		}
 	}
 
+	/**
+	 * Pooled mode
+	 * @param exec path to Python executable
+	 * @param env
+	 * @param workers number of python processes
+	 * @param sharedSize size in bytes of each process' memory mapped file for arrays, 0 for none
+	 */
+	public PythonSubProcess(String exec, Map<String, String> env, int workers, int sharedSize) {
+		try {
+			pool = new PythonWorkerPool(workers, exec, env, sharedSize);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return true if the code is run by a pool of workers
+	 */
+	public boolean isPooled() {
+		return pool != null;
+	}
+
 	/**
 	 * Wrapper thread to asynchronously get lines from given stream
 	 */
@@ -169,6 +197,17 @@ public class PythonSubProcess {
 	 * @return output lines and error - each string is empty or concatenated lines or null when there is no error
 	 */
 	public String[] communicate(String text) {
+		if (pool != null) {
+			try {
+				PythonResult result = pool.run(text, null);
+				return new String[] {result.getOutput(), result.getError()};
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return new String[] {"", e.toString()};
+			} catch (IOException e) {
+				return new String[] {"", e.toString()};
+			}
+		}
 		send(text);
 		List<String> results = new ArrayList<String>();
 
@@ -205,6 +244,18 @@ public class PythonSubProcess {
 		return lines;
 	}
 
+	/**
+	 * Send code to run without waiting for the result, pooled mode only.
+	 * @param code
+	 * @param arrays named arrays available to the code in the dictionary <code>arrays</code>, may be null
+	 * @return the future result
+	 * @throws IOException if a worker could not be restarted
+	 */
+	public Future<PythonResult> submit(String code, Map<String, double[]> arrays) throws IOException {
+		if (pool == null) throw new IllegalStateException("Arrays may only be sent to a pooled python subprocess");
+		return pool.submit(code, arrays);
+	}
+
 	private void send(String text) {
 		try {
 			obr.clear();
@@ -219,6 +270,10 @@ public class PythonSubProcess {
 	 * Stop subprocess
 	 */
 	public void stop() {
+		if (pool != null) {
+			pool.stop();
+			return;
+		}
 		try {
 			stdin.close();
 		} catch (IOException e) {
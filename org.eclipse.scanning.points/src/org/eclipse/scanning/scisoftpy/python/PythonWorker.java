@@ -0,0 +1,427 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+
+package org.eclipse.scanning.scisoftpy.python;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long lived CPython process which runs code sent to it using a
+ * length prefixed binary protocol rather than the lines of text used
+ * by {@link PythonSubProcess}. Usually used through a {@link PythonWorkerPool}
+ * or a pooled {@link PythonSubProcess}.
+ * <p>
+ * Each request may carry named arrays of doubles which are available to the
+ * code in the dictionary <code>arrays</code> (as numpy arrays if numpy can
+ * be imported). Large arrays are passed through a memory mapped file shared
+ * with the process, small ones in the request itself. If the code sets the
+ * variable <code>result</code> to a sequence of numbers it is returned as a
+ * double array. The globals of the process are kept between requests so
+ * imports only happen once.
+ * <p>
+ * Requests are pipelined: {@link #submit(String, Map)} returns immediately
+ * and the responses are matched to requests by id on a reader thread.
+ * <p>
+ * The frames are big-endian, array values are in native byte order:
+ * <pre>
+ * request:  int id, byte kind, int narrays, {utf name, byte shared, int count, (long offset | double[count])}, utf code
+ * response: int id, utf output, utf error (empty if none), int count (-1 if none), double[count]
+ * </pre>
+ * where utf is an int length followed by the UTF-8 bytes.
+ */
+public class PythonWorker {
+
+	private static final Logger logger = LoggerFactory.getLogger(PythonWorker.class);
+
+	private static final String SCRIPT =
+		"import sys, struct, mmap, array, traceback\n" +
+		"try:\n" +
+		"  from StringIO import StringIO\n" +
+		"except ImportError:\n" +
+		"  from io import StringIO\n" +
+		"try:\n" +
+		"  import numpy\n" +
+		"except ImportError:\n" +
+		"  numpy = None\n" +
+		"inp = getattr(sys.stdin, 'buffer', sys.stdin)\n" +
+		"out = getattr(sys.stdout, 'buffer', sys.stdout)\n" +
+		"shared = None\n" +
+		"if len(sys.argv) > 2:\n" +
+		"  shared_file = open(sys.argv[1], 'r+b')\n" +
+		"  shared = mmap.mmap(shared_file.fileno(), int(sys.argv[2]))\n" +
+		"def read(n):\n" +
+		"  b = b''\n" +
+		"  while len(b) < n:\n" +
+		"    c = inp.read(n - len(b))\n" +
+		"    if not c:\n" +
+		"      sys.exit(0)\n" +
+		"    b += c\n" +
+		"  return b\n" +
+		"def num(fmt):\n" +
+		"  return struct.unpack(fmt, read(struct.calcsize(fmt)))[0]\n" +
+		"def utf(s):\n" +
+		"  b = s.encode('utf-8')\n" +
+		"  return struct.pack('>i', len(b)) + b\n" +
+		"def doubles(data, count, offset):\n" +
+		"  if numpy is not None:\n" +
+		"    return numpy.frombuffer(data, dtype=numpy.float64, count=count, offset=offset)\n" +
+		"  a = array.array('d')\n" +
+		"  b = bytes(data[offset:offset+8*count])\n" +
+		"  a.frombytes(b) if hasattr(a, 'frombytes') else a.fromstring(b)\n" +
+		"  return a\n" +
+		"g = {'__name__': '__worker__'}\n" +
+		"real_stdout = sys.stdout\n" +
+		"while True:\n" +
+		"  rid = num('>i')\n" +
+		"  kind = num('>b')\n" +
+		"  if kind == 0:\n" +
+		"    break\n" +
+		"  arrays = {}\n" +
+		"  for i in range(num('>i')):\n" +
+		"    name = read(num('>i')).decode('utf-8')\n" +
+		"    sh = num('>b')\n" +
+		"    count = num('>i')\n" +
+		"    if sh:\n" +
+		"      arrays[name] = doubles(shared, count, num('>q'))\n" +
+		"    else:\n" +
+		"      arrays[name] = doubles(read(8*count), count, 0)\n" +
+		"  code = read(num('>i')).decode('utf-8')\n" +
+		"  g['arrays'] = arrays\n" +
+		"  g['result'] = None\n" +
+		"  capture = StringIO()\n" +
+		"  error = ''\n" +
+		"  sys.stdout = capture\n" +
+		"  try:\n" +
+		"    exec(code, g)\n" +
+		"  except BaseException:\n" +
+		"    error = traceback.format_exc()\n" +
+		"  finally:\n" +
+		"    sys.stdout = real_stdout\n" +
+		"  res = g.get('result')\n" +
+		"  payload = struct.pack('>i', -1)\n" +
+		"  if res is not None:\n" +
+		"    try:\n" +
+		"      try:\n" +
+		"        res = array.array('d', [float(v) for v in res])\n" +
+		"      except TypeError:\n" +
+		"        res = array.array('d', [float(res)])\n" +
+		"      b = res.tobytes() if hasattr(res, 'tobytes') else res.tostring()\n" +
+		"      payload = struct.pack('>i', len(res)) + b\n" +
+		"    except Exception:\n" +
+		"      error += traceback.format_exc()\n" +
+		"  out.write(struct.pack('>i', rid) + utf(capture.getvalue()) + utf(error) + payload)\n" +
+		"  out.flush()\n";
+
+	private static final byte STOP = 0;
+	private static final byte EXEC = 1;
+
+	/**
+	 * Arrays smaller than this are sent in the request rather than the shared file.
+	 */
+	private static final int SHARED_THRESHOLD = 64*1024;
+
+	private final Process          process;
+	private final DataOutputStream stdin;
+	private final Thread           reader;
+	private final Thread           errors;
+
+	private final Map<Integer, CompletableFuture<PythonResult>> pending;
+	private final AtomicInteger    ids;
+	private volatile boolean       stopped; // The process will send no more responses
+	private boolean                closed;  // No more requests may be written, guarded by stdin
+
+	// Memory mapped file shared with the process, may be null.
+	private final File             sharedFile;
+	private final MappedByteBuffer shared;
+	private int                    sharedPosition;
+	private int                    sharedRequests;
+	private final Map<Integer, Boolean> usesShared;
+
+	/**
+	 * Starts a worker with no shared memory.
+	 */
+	public PythonWorker() throws IOException {
+		this(null, null, 0);
+	}
+
+	/**
+	 * @param exec path to Python executable
+	 * @param env
+	 * @param sharedSize size in bytes of the memory mapped file for arrays, 0 to send all arrays in the requests.
+	 * @throws IOException
+	 */
+	public PythonWorker(String exec, Map<String, String> env, int sharedSize) throws IOException {
+
+		if (exec == null) {
+			exec = "python";
+		}
+		this.pending    = new ConcurrentHashMap<>();
+		this.usesShared = new ConcurrentHashMap<>();
+		this.ids        = new AtomicInteger(0);
+
+		List<String> cmds = new ArrayList<String>();
+		cmds.add(exec);
+		cmds.add("-c");
+		cmds.add(SCRIPT);
+		if (sharedSize > 0) {
+			File shm = new File("/dev/shm");
+			this.sharedFile = File.createTempFile("python_worker", ".buf", shm.isDirectory() ? shm : null);
+			this.sharedFile.deleteOnExit();
+			try (RandomAccessFile file = new RandomAccessFile(sharedFile, "rw")) {
+				file.setLength(sharedSize);
+				this.shared = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, sharedSize);
+			}
+			this.shared.order(ByteOrder.nativeOrder());
+			cmds.add(sharedFile.getAbsolutePath());
+			cmds.add(String.valueOf(sharedSize));
+		} else {
+			this.sharedFile = null;
+			this.shared     = null;
+		}
+
+		ProcessBuilder pb = new ProcessBuilder(cmds);
+		if (env != null && env.size() > 0) {
+			pb.environment().putAll(env);
+		}
+		process = pb.start();
+		stdin   = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+
+		reader = new Thread(this::readResponses, "Python worker reader");
+		reader.setDaemon(true);
+		reader.start();
+
+		// Read the error stream so that the process does not block on it.
+		errors = new Thread(this::readErrors, "Python worker errors");
+		errors.setDaemon(true);
+		errors.start();
+	}
+
+	/**
+	 * Send code to run without waiting for the result.
+	 *
+	 * @param code python source to exec
+	 * @param arrays named arrays available to the code in the dictionary <code>arrays</code>, may be null
+	 * @return the future result
+	 */
+	public Future<PythonResult> submit(String code, Map<String, double[]> arrays) {
+
+		if (arrays == null) arrays = Collections.emptyMap();
+		final int id = ids.incrementAndGet();
+		final CompletableFuture<PythonResult> result = new CompletableFuture<>();
+		pending.put(id, result);
+		if (!isAlive()) { // After the put so that either this or the reader fails the request
+			fail(new IOException("The python worker has stopped"));
+			return result;
+		}
+
+		try {
+			synchronized (stdin) {
+				if (closed) throw new IOException("The python worker has stopped");
+				stdin.writeInt(id);
+				stdin.writeByte(EXEC);
+				stdin.writeInt(arrays.size());
+				for (Map.Entry<String, double[]> entry : arrays.entrySet()) {
+					writeString(entry.getKey());
+					writeArray(id, entry.getValue());
+				}
+				writeString(code);
+				stdin.flush();
+			}
+		} catch (IOException e) {
+			pending.remove(id);
+			releaseShared(id);
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
+	private void writeArray(int id, double[] values) throws IOException {
+
+		final int bytes  = values.length*8;
+		final int offset = bytes >= SHARED_THRESHOLD ? allocateShared(id, bytes) : -1;
+		if (offset >= 0) {
+			stdin.writeByte(1);
+			stdin.writeInt(values.length);
+			stdin.writeLong(offset);
+			synchronized (shared) {
+				ByteBuffer buf = shared.duplicate().order(ByteOrder.nativeOrder());
+				buf.position(offset);
+				buf.asDoubleBuffer().put(values);
+			}
+		} else {
+			stdin.writeByte(0);
+			stdin.writeInt(values.length);
+			ByteBuffer buf = ByteBuffer.allocate(bytes).order(ByteOrder.nativeOrder());
+			buf.asDoubleBuffer().put(values);
+			stdin.write(buf.array());
+		}
+	}
+
+	/**
+	 * Regions of the shared file are allocated in order and all of them are
+	 * freed once no request in flight uses the file.
+	 * @return offset of the region or -1 if there is not enough room.
+	 */
+	private synchronized int allocateShared(int id, int bytes) {
+		if (shared == null) return -1;
+		if (sharedPosition + bytes > shared.capacity()) return -1;
+		int offset = sharedPosition;
+		sharedPosition += bytes;
+		if (usesShared.put(id, Boolean.TRUE) == null) sharedRequests++;
+		return offset;
+	}
+
+	private synchronized void releaseShared(int id) {
+		if (usesShared.remove(id) == null) return;
+		if (--sharedRequests == 0) sharedPosition = 0;
+	}
+
+	private void writeString(String text) throws IOException {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		stdin.writeInt(bytes.length);
+		stdin.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private void readResponses() {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(process.getInputStream()))) {
+			while (true) {
+				final int    id     = in.readInt();
+				final String output = readString(in);
+				final String error  = readString(in);
+				final int    count  = in.readInt();
+				double[] values = null;
+				if (count >= 0) {
+					byte[] bytes = new byte[count*8];
+					in.readFully(bytes);
+					values = new double[count];
+					ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder()).asDoubleBuffer().get(values);
+				}
+				releaseShared(id);
+				CompletableFuture<PythonResult> result = pending.remove(id);
+				if (result != null) result.complete(new PythonResult(output, error.isEmpty() ? null : error, values));
+			}
+		} catch (EOFException ne) {
+			stopped = true;
+			fail(new IOException("The python worker has stopped"));
+		} catch (IOException ne) {
+			stopped = true;
+			fail(ne);
+		}
+	}
+
+	private void fail(IOException ne) {
+		for (Integer id : pending.keySet()) {
+			CompletableFuture<PythonResult> result = pending.remove(id);
+			if (result != null) result.completeExceptionally(ne);
+		}
+	}
+
+	private void readErrors() {
+		try (BufferedReader err = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
+			String line;
+			while ((line = err.readLine()) != null) {
+				logger.debug("Python worker: {}", line);
+			}
+		} catch (IOException ignored) {
+			// The process has ended.
+		}
+	}
+
+	/**
+	 * @return the number of requests sent for which there is no response yet.
+	 */
+	public int getPendingCount() {
+		return pending.size();
+	}
+
+	public boolean isAlive() {
+		return !stopped && process.isAlive();
+	}
+
+	/**
+	 * Stop the worker, requests in flight are completed first.
+	 * The shared file is deleted and unmapped, the process keeps
+	 * its own mapping until it exits.
+	 */
+	public void stop() {
+		synchronized (stdin) {
+			if (closed) return;
+			closed = true;
+			try {
+				stdin.writeInt(0);
+				stdin.writeByte(STOP);
+				stdin.close();
+			} catch (IOException e) {
+				process.destroy();
+			}
+			// Requests write to the shared buffer holding stdin so none is writing to it now.
+			if (shared != null) unmap(shared);
+		}
+		if (sharedFile != null) sharedFile.delete();
+	}
+
+	/**
+	 * Frees the mapping now rather than when the buffer is collected,
+	 * there is no public API for this in Java 8.
+	 */
+	private static void unmap(MappedByteBuffer buffer) {
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe", true, ClassLoader.getSystemClassLoader());
+			try {
+				final Method clean  = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class); // Java 9+
+				final Field  unsafe = unsafeClass.getDeclaredField("theUnsafe");
+				unsafe.setAccessible(true);
+				clean.invoke(unsafe.get(null), buffer);
+			} catch (NoSuchMethodException java8) {
+				final Method cleaner = buffer.getClass().getMethod("cleaner");
+				cleaner.setAccessible(true);
+				final Object clean = cleaner.invoke(buffer);
+				if (clean != null) clean.getClass().getMethod("clean").invoke(clean);
+			}
+		} catch (Throwable ne) {
+			logger.debug("Cannot unmap the shared file of the python worker, it is unmapped when collected.", ne);
+		}
+	}
+}
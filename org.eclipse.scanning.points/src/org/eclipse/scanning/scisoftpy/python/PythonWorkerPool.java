@@ -0,0 +1,120 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+
+package org.eclipse.scanning.scisoftpy.python;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * A pool of {@link PythonWorker}s. Requests go to the live worker with
+ * the fewest requests in flight, and workers which have died are replaced.
+ * <p>
+ * Code sent to the pool must not rely on state from earlier requests
+ * unless it is the same on every worker (for instance imports).
+ */
+public class PythonWorkerPool {
+
+	private final String              exec;
+	private final Map<String, String> env;
+	private final int                 sharedSize;
+	private final List<PythonWorker>  workers;
+
+	/**
+	 * @param size number of workers
+	 */
+	public PythonWorkerPool(int size) throws IOException {
+		this(size, null, null, 0);
+	}
+
+	/**
+	 * @param size number of workers
+	 * @param exec path to Python executable
+	 * @param env
+	 * @param sharedSize size in bytes of each worker's memory mapped file for arrays
+	 * @throws IOException
+	 */
+	public PythonWorkerPool(int size, String exec, Map<String, String> env, int sharedSize) throws IOException {
+		if (size < 1) throw new IllegalArgumentException("The pool must have at least one worker!");
+		this.exec       = exec;
+		this.env        = env;
+		this.sharedSize = sharedSize;
+		this.workers    = new ArrayList<>(size);
+		try {
+			for (int i = 0; i < size; i++) workers.add(new PythonWorker(exec, env, sharedSize));
+		} catch (IOException ne) {
+			stop();
+			throw ne;
+		}
+	}
+
+	/**
+	 * Send code to run on the least busy worker without waiting for the result.
+	 *
+	 * @param code
+	 * @param arrays
+	 * @return the future result
+	 * @throws IOException if a worker could not be restarted
+	 */
+	public Future<PythonResult> submit(String code, Map<String, double[]> arrays) throws IOException {
+		return getWorker().submit(code, arrays);
+	}
+
+	/**
+	 * Run code and wait for the result.
+	 *
+	 * @param code
+	 * @param arrays
+	 * @return the result
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public PythonResult run(String code, Map<String, double[]> arrays) throws IOException, InterruptedException {
+		try {
+			return submit(code, arrays).get();
+		} catch (ExecutionException ne) {
+			if (ne.getCause() instanceof IOException) throw (IOException)ne.getCause();
+			throw new IOException(ne.getCause());
+		}
+	}
+
+	private synchronized PythonWorker getWorker() throws IOException {
+		PythonWorker best = null;
+		for (int i = 0; i < workers.size(); i++) {
+			PythonWorker worker = workers.get(i);
+			if (!worker.isAlive()) {
+				worker.stop(); // Frees its shared file and mapping
+				worker = new PythonWorker(exec, env, sharedSize);
+				workers.set(i, worker);
+			}
+			if (best == null || worker.getPendingCount() < best.getPendingCount()) best = worker;
+		}
+		return best;
+	}
+
+	public synchronized List<PythonWorker> getWorkers() {
+		return Collections.unmodifiableList(new ArrayList<>(workers));
+	}
+
+	/**
+	 * Stop all the workers
+	 */
+	public synchronized void stop() {
+		for (PythonWorker worker : workers) worker.stop();
+		workers.clear();
+	}
+}
@@ -60,7 +60,11 @@ import org.eclipse.scanning.api.scan.ScanInformation;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.event.IPositionListener;
 import org.eclipse.scanning.api.scan.event.IPositioner;
+import org.eclipse.scanning.api.recorder.EventType;
+import org.eclipse.scanning.api.recorder.FlightEvent;
+import org.eclipse.scanning.api.recorder.FlightRecorder;
 import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.sequencer.PointTrace.Stage;
 import org.eclipse.scanning.sequencer.nexus.INexusScanFileManager;
 import org.eclipse.scanning.sequencer.nexus.NexusScanFileManagerFactory;
 import org.slf4j.Logger;
@@ -84,6 +88,7 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 	private LevelRunner<IRunnableDevice<?>>      writers;
 	private AnnotationManager                    annotationManager;
 	private ExposureTimeManager                  exposureManager;
+	private PointTrace                           trace;
 	
 	// the nexus file
 	private INexusScanFileManager nexusScanFileManager = null;
@@ -146,66 +151,77 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 	public void configure(ScanModel model) throws ScanningException {
 		
 		long before = System.currentTimeMillis();
+		final FlightEvent event = FlightRecorder.begin(EventType.CONFIGURE).name(getName()).detail(model.getFilePath());
+		try {
 		
-		setDeviceState(DeviceState.CONFIGURING);
-		setModel(model);
-		setBean(model.getBean()!=null?model.getBean():new ScanBean());
-		getBean().setPreviousStatus(getBean().getStatus());
-		getBean().setStatus(Status.QUEUED);
+			setDeviceState(DeviceState.CONFIGURING);
+			setModel(model);
+			setBean(model.getBean()!=null?model.getBean():new ScanBean());
+			getBean().setPreviousStatus(getBean().getStatus());
+			getBean().setStatus(Status.QUEUED);
 		
-		positioner = runnableDeviceService.createPositioner();
-		if (model.getDetectors()!=null) {
-			// Make sure all devices report the same scan id
-			for (IRunnableDevice<?> device : model.getDetectors()) {
-				if (device instanceof AbstractRunnableDevice<?>) {
-					// TODO the same bean should not be shared between detectors
-					AbstractRunnableDevice<?> adevice = (AbstractRunnableDevice<?>)device;
-					DeviceState deviceState = adevice.getDeviceState();
-					ScanBean bean = getBean();
-					bean.setDeviceState(deviceState);
-					adevice.setBean(bean);
-					adevice.setPrimaryScanDevice(false);
+			positioner = runnableDeviceService.createPositioner();
+			if (model.getDetectors()!=null) {
+				// Make sure all devices report the same scan id
+				for (IRunnableDevice<?> device : model.getDetectors()) {
+					if (device instanceof AbstractRunnableDevice<?>) {
+						// TODO the same bean should not be shared between detectors
+						AbstractRunnableDevice<?> adevice = (AbstractRunnableDevice<?>)device;
+						DeviceState deviceState = adevice.getDeviceState();
+						ScanBean bean = getBean();
+						bean.setDeviceState(deviceState);
+						adevice.setBean(bean);
+						adevice.setPrimaryScanDevice(false);
+					}
 				}
 			}
-		}
 		
-		// Create the manager and populate it
-		if (annotationManager!=null) annotationManager.dispose(); // It is allowed to configure more than once.
-		annotationManager = createAnnotationManager(model);
-
-		// create the location manager
-		location = new LocationManager(getBean(), model, annotationManager);
-		
-		// add the scan information to the context - it is created if not set on the scan model
-		annotationManager.addContext(getScanInformation(location.getTotalSize()));
-		annotationManager.addContext(getPublisher());
-		exposureManager = new ExposureTimeManager();
-		exposureManager.addDevices(model.getDetectors());
-		
-		// create the nexus file, if appropriate
-		nexusScanFileManager = NexusScanFileManagerFactory.createNexusScanFileManager(this);
-		nexusScanFileManager.configure(model);
-		nexusScanFileManager.createNexusFile(Boolean.getBoolean("org.eclipse.scanning.sequencer.nexus.async"));
-		
-		// create the runners and writers
-		if (model.getDetectors()!=null) {
-			runners = new DeviceRunner(model.getDetectors());
-			if (nexusScanFileManager.isNexusWritingEnabled()) {
-				writers = new DeviceWriter(model.getDetectors());
+			// Create the manager and populate it
+			if (annotationManager!=null) annotationManager.dispose(); // It is allowed to configure more than once.
+			annotationManager = createAnnotationManager(model);
+
+			// create the location manager
+			location = new LocationManager(getBean(), model, annotationManager);
+		
+			// add the scan information to the context - it is created if not set on the scan model
+			annotationManager.addContext(getScanInformation(location.getTotalSize()));
+			annotationManager.addContext(getPublisher());
+			exposureManager = new ExposureTimeManager();
+			exposureManager.addDevices(model.getDetectors());
+		
+			// time the stages of each point, if required. Participants may read the trace live.
+			trace = isRequireMetrics() || Boolean.getBoolean("org.eclipse.scanning.sequencer.trace") ? new PointTrace() : null;
+			if (trace!=null) annotationManager.addContext(trace);
+			if (positioner instanceof LevelRunner) ((LevelRunner<?>)positioner).setPointTrace(trace);
+		
+			// create the nexus file, if appropriate
+			nexusScanFileManager = NexusScanFileManagerFactory.createNexusScanFileManager(this);
+			nexusScanFileManager.configure(model);
+			nexusScanFileManager.setPointTrace(trace);
+			nexusScanFileManager.createNexusFile(Boolean.getBoolean("org.eclipse.scanning.sequencer.nexus.async"));
+		
+			// create the runners and writers
+			if (model.getDetectors()!=null) {
+				runners = new DeviceRunner(model.getDetectors());
+				if (nexusScanFileManager.isNexusWritingEnabled()) {
+					writers = new DeviceWriter(model.getDetectors(), nexusScanFileManager.getWriteQueue());
+				} else {
+					writers = LevelRunner.createEmptyRunner();
+				}
 			} else {
+				runners = LevelRunner.createEmptyRunner();
 				writers = LevelRunner.createEmptyRunner();
 			}
-		} else {
-			runners = LevelRunner.createEmptyRunner();
-			writers = LevelRunner.createEmptyRunner();
-		}
 		
-		// notify that the device is now armed
-		setDeviceState(DeviceState.ARMED); 
+			// notify that the device is now armed
+			setDeviceState(DeviceState.ARMED); 
 		
-		// record the time taken to configure the device
-		long after = System.currentTimeMillis();
-		setConfigureTime(after-before);
+			// record the time taken to configure the device
+			long after = System.currentTimeMillis();
+			setConfigureTime(after-before);
+		} finally {
+			event.commit();
+		}
 	}
 
 	private AnnotationManager createAnnotationManager(ScanModel model) throws ScanningException {
@@ -240,6 +256,7 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 	
 		boolean errorFound = false;
 		IPosition pos = null;
+		final FlightEvent event = FlightRecorder.begin(EventType.RUN).name(getName()).detail(model.getFilePath());
 		try {
 			this.positionIterator = location.createPositionIterator();
 
@@ -281,19 +298,37 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 	        	if (!continueRunning) return;  // finally block performed 
 
 	        	// Run to the position
-        		annotationManager.invoke(PointStart.class, pos);
-	        	positioner.setPosition(pos);          // moveTo in GDA8
-	        	exposureManager.setExposureTime(pos); // most of the time this does nothing.
+	        	final FlightEvent pevent = FlightRecorder.begin(EventType.POINT).name(getName()).index(pos.getStepIndex());
+	        	try {
+		        	if (trace!=null) trace.begin();
+	        		annotationManager.invoke(PointStart.class, pos);
+	        		if (trace!=null) trace.mark(Stage.POINT_START);
+		        	positioner.setPosition(pos);          // moveTo in GDA8
+		        	if (trace!=null) trace.mark(Stage.MOVE);
+		        	exposureManager.setExposureTime(pos); // most of the time this does nothing.
+		        	if (trace!=null) trace.mark(Stage.EXPOSURE);
 	        	
-	        	IPosition written = writers.await();  // Wait for the previous write out to return, if any
-	       		if (written!=null) annotationManager.invoke(WriteComplete.class, written);
+		        	IPosition written = writers.await();  // Wait for the previous write out to return, if any
+		        	if (trace!=null) trace.mark(Stage.WRITE_AWAIT);
+		       		if (written!=null) annotationManager.invoke(WriteComplete.class, written);
+		       		if (trace!=null) trace.mark(Stage.WRITE_COMPLETE);
 	        	
- 	        	runners.run(pos);                     // GDA8: collectData() / GDA9: run() for Malcolm
-	        	writers.run(pos, false);              // Do not block on the readout, move to the next position immediately.
+	 	        	runners.run(pos);                     // GDA8: collectData() / GDA9: run() for Malcolm
+	 	        	if (trace!=null) trace.mark(Stage.RUN);
+		        	writers.run(pos, false);              // Do not block on the readout, move to the next position immediately.
+		        	if (trace!=null) trace.mark(Stage.WRITE);
 	        	
-	        	// Send an event about where we are in the scan
-        		annotationManager.invoke(PointEnd.class, pos);
-	        	positionComplete(pos);
+		        	// Send an event about where we are in the scan
+	        		annotationManager.invoke(PointEnd.class, pos);
+	        		if (trace!=null) trace.mark(Stage.POINT_END);
+		        	positionComplete(pos);
+		        	if (trace!=null) {
+		        		trace.mark(Stage.PUBLISH);
+		        		trace.end(pos.getStepIndex());
+		        	}
+	        	} finally {
+	        		pevent.commit();
+	        	}
 	        	
 	        	logger.info("Scanning completed step "+location.getStepNumber()+". Position was "+pos);
 	        }
@@ -316,6 +351,8 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 		} finally {
 			close(errorFound, pos);
 			RunnableDeviceServiceImpl.setCurrentScanningDevice(null);
+			if (pos!=null) event.index(pos.getStepIndex());
+			event.commit();
 		}
 	}
 
@@ -382,6 +419,7 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 				positioner.close();
 				runners.close();
 				writers.close();
+				if (LatencyStatistics.isAdaptive()) LatencyStatistics.save(); // The next scan starts with what this one learned
 				
 				nexusScanFileManager.scanFinished(); // writes scanFinished and closes nexus file
 	        	
@@ -580,20 +618,25 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 	}
 	private void pauseInternal() throws ScanningException, InterruptedException {
 		
-		getBean().setPreviousStatus(getBean().getStatus());
-		getBean().setStatus(Status.PAUSED);
-		setDeviceState(DeviceState.SEEKING);
-		if (getModel().getDetectors()!=null) for (IRunnableDevice<?> device : getModel().getDetectors()) {
-			DeviceState currentState = device.getDeviceState();
-			if (currentState.isRunning()) {
-				if (device instanceof IPausableDevice) {
-					((IPausableDevice<?>)device).pause();
+		final FlightEvent event = FlightRecorder.begin(EventType.PAUSE).name(getName()).index(location.getStepNumber());
+		try {
+			getBean().setPreviousStatus(getBean().getStatus());
+			getBean().setStatus(Status.PAUSED);
+			setDeviceState(DeviceState.SEEKING);
+			if (getModel().getDetectors()!=null) for (IRunnableDevice<?> device : getModel().getDetectors()) {
+				DeviceState currentState = device.getDeviceState();
+				if (currentState.isRunning()) {
+					if (device instanceof IPausableDevice) {
+						((IPausableDevice<?>)device).pause();
+					}
+				} else {
+					logger.info("Device " + device.getName() + " wasn't running to pause. Was + " + currentState);
 				}
-			} else {
-				logger.info("Device " + device.getName() + " wasn't running to pause. Was + " + currentState);
 			}
+			setDeviceState(DeviceState.PAUSED);
+		} finally {
+			event.commit();
 		}
-		setDeviceState(DeviceState.PAUSED);
 	}
 	
 	@Override
@@ -609,6 +652,7 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 		if (stepNumber>location.getTotalSize())  throw new ScanningException("Seek position is invalid "+stepNumber);
 		this.positionIterator = location.createPositionIterator();
 		IPosition pos = location.seek(stepNumber, positionIterator);
+		if (positioner instanceof ScannablePositioner) ((ScannablePositioner)positioner).clearReached();
 		positioner.setPosition(pos);
 		if (getModel().getDetectors()!=null) for (IRunnableDevice<?> device : getModel().getDetectors()) {
 			if (device instanceof IPausableDevice) ((IPausableDevice<?>)device).seek(stepNumber);
@@ -621,19 +665,25 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 	}
 	private void resumeInternal() throws ScanningException, InterruptedException {
 
-		if (getModel().getDetectors()!=null) for (IRunnableDevice<?> device : getModel().getDetectors()) {
-			DeviceState currentState = device.getDeviceState();
-			if (currentState == DeviceState.PAUSED) {
-				if (device instanceof IPausableDevice) {
-					((IPausableDevice<?>)device).resume();
+		final FlightEvent event = FlightRecorder.begin(EventType.RESUME).name(getName()).index(location.getStepNumber());
+		try {
+			if (positioner instanceof ScannablePositioner) ((ScannablePositioner)positioner).clearReached(); // Things may have moved while paused
+			if (getModel().getDetectors()!=null) for (IRunnableDevice<?> device : getModel().getDetectors()) {
+				DeviceState currentState = device.getDeviceState();
+				if (currentState == DeviceState.PAUSED) {
+					if (device instanceof IPausableDevice) {
+						((IPausableDevice<?>)device).resume();
+					}
+				} else {
+					logger.info("Device " + device.getName() + " wasn't paused to resume. Was + " + currentState);
 				}
-			} else {
-				logger.info("Device " + device.getName() + " wasn't paused to resume. Was + " + currentState);
 			}
-		}
-		if (location.isInnerScan()) {
-			getBean().setStatus(Status.RESUMED);
-			setDeviceState(DeviceState.RUNNING);
+			if (location.isInnerScan()) {
+				getBean().setStatus(Status.RESUMED);
+				setDeviceState(DeviceState.RUNNING);
+			}
+		} finally {
+			event.commit();
 		}
 	}
 	
@@ -0,0 +1,236 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.scanning.api.device.AbstractRunnableDevice;
+import org.eclipse.scanning.api.event.scan.DeviceInformation;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.api.scan.event.IRunListener;
+import org.eclipse.scanning.api.scan.event.RunEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <pre>
+ * Collects the information of the runnable devices, each device on a thread of
+ * its own so that a device which has to make a round trip, for instance a malcolm
+ * device, does not hold up the others.
+ *
+ * 1. Information is kept and used again while it is younger than {@link #MAX_AGE_PROPERTY}
+ *    ms, the device and its model are the same and the device has not changed state.
+ * 2. Each device has {@link #TIMEOUT_PROPERTY} ms to give its information. One which does
+ *    not is given its last information if there is any, otherwise it is left out. The
+ *    read carries on and its result is kept for the next time.
+ * 3. Only one read of a device is made at a time, callers who want it at the same time
+ *    wait for the same read.
+ * 4. A device fills in the same information each time it is read, so all reads of a device,
+ *    including those of {@link #get(AbstractRunnableDevice)}, are made one after the other
+ *    and a copy of the information is kept and given out.
+ * </pre>
+ */
+final class DeviceInformationCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(DeviceInformationCache.class);
+
+	/**
+	 * The time in ms that each device has to give its information, default 5000.
+	 */
+	public static final String TIMEOUT_PROPERTY = "org.eclipse.scanning.sequencer.deviceInformation.timeout";
+
+	/**
+	 * The time in ms that the information of a device is used again, default 1000. If 0
+	 * the information is always read, a read in progress is still shared.
+	 */
+	public static final String MAX_AGE_PROPERTY = "org.eclipse.scanning.sequencer.deviceInformation.maxAge";
+
+	private static final class Entry {
+		private final AbstractRunnableDevice<?> device;
+		private final Object                    model;
+		private final DeviceInformation<?>      info;
+		private final long                      time;
+		Entry(AbstractRunnableDevice<?> device, DeviceInformation<?> info) {
+			this.device = device;
+			this.model  = device.getModel();
+			this.info   = info;
+			this.time   = System.currentTimeMillis();
+		}
+	}
+
+	private final Map<String, Entry>                                   entries;
+	private final Map<String, CompletableFuture<DeviceInformation<?>>> reads;
+	private final Map<String, Object>                                  locks;
+	private final ExecutorService                                      executor;
+	private final IRunListener                                         stateListener;
+
+	DeviceInformationCache() {
+		this.entries  = new ConcurrentHashMap<>();
+		this.reads    = new ConcurrentHashMap<>();
+		this.locks    = new ConcurrentHashMap<>();
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "Device information");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.stateListener = new IRunListener() {
+			@Override
+			public void stateChanged(RunEvent evt) throws ScanningException {
+				invalidate(evt.getDevice().getName());
+			}
+		};
+	}
+
+	/**
+	 * Gives the information of each device to the consumer as it arrives, on the thread
+	 * of the caller. Returns when all the devices have given it or have timed out.
+	 *
+	 * @param devices
+	 * @param includeNonAlive
+	 * @param consumer
+	 */
+	void collect(Collection<AbstractRunnableDevice<?>> devices, boolean includeNonAlive, Consumer<DeviceInformation<?>> consumer) {
+
+		final long start = System.currentTimeMillis();
+		final BlockingQueue<AbstractRunnableDevice<?>> done = new LinkedBlockingQueue<>();
+		final Map<AbstractRunnableDevice<?>, CompletableFuture<DeviceInformation<?>>> waiting = new ConcurrentHashMap<>();
+
+		for (AbstractRunnableDevice<?> device : devices) {
+			final DeviceInformation<?> info = getFresh(device, includeNonAlive);
+			if (info!=null) {
+				consumer.accept(info);
+				continue;
+			}
+			final CompletableFuture<DeviceInformation<?>> read = read(device, includeNonAlive);
+			waiting.put(device, read);
+			read.whenComplete((i, e) -> done.add(device));
+		}
+
+		final long timeout = Long.getLong(TIMEOUT_PROPERTY, 5000);
+		try {
+			while (!waiting.isEmpty()) {
+				final AbstractRunnableDevice<?> device = done.poll(Math.max(0, start+timeout-System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+				if (device==null) break;
+				accept(device, waiting.remove(device), consumer);
+			}
+		} catch (InterruptedException ne) {
+			Thread.currentThread().interrupt();
+		}
+
+		// Those still reading are given what they last had
+		for (AbstractRunnableDevice<?> device : waiting.keySet()) {
+			final CompletableFuture<DeviceInformation<?>> read = waiting.get(device);
+			if (read.isDone()) {
+				accept(device, read, consumer);
+				continue;
+			}
+			final Entry entry = entries.get(key(device.getName(), includeNonAlive));
+			if (entry!=null && entry.device==device) {
+				logger.warn("Device '{}' did not give its information within {}ms, its last information is used", device.getName(), timeout);
+				consumer.accept(entry.info);
+			} else {
+				logger.warn("Device '{}' did not give its information within {}ms", device.getName(), timeout);
+			}
+		}
+		logger.trace("Collected the information of {} devices in {}ms", devices.size(), System.currentTimeMillis()-start);
+	}
+
+	private void accept(AbstractRunnableDevice<?> device, CompletableFuture<DeviceInformation<?>> read, Consumer<DeviceInformation<?>> consumer) {
+		try {
+			consumer.accept(read.join());
+		} catch (CompletionException ex) {
+			logger.warn("Error getting device info for : " + device.getName(), ex.getCause());
+		}
+	}
+
+	/**
+	 *
+	 * @param device
+	 * @param includeNonAlive
+	 * @return the information of the device if it may be used again, otherwise null.
+	 */
+	private DeviceInformation<?> getFresh(AbstractRunnableDevice<?> device, boolean includeNonAlive) {
+		final Entry entry = entries.get(key(device.getName(), includeNonAlive));
+		if (entry==null || entry.device!=device || entry.model!=device.getModel()) return null;
+		if (System.currentTimeMillis()-entry.time > Long.getLong(MAX_AGE_PROPERTY, 1000)) return null;
+		return entry.info;
+	}
+
+	/**
+	 * Reads the information of one device now, after any other read of it.
+	 * This is not kept, the next call to collect reads the device again.
+	 *
+	 * @param device
+	 * @return a copy of the information of the device
+	 * @throws ScanningException
+	 */
+	DeviceInformation<?> get(AbstractRunnableDevice<?> device) throws ScanningException {
+		synchronized (lock(device.getName())) {
+			return copy(device.getDeviceInformation());
+		}
+	}
+
+	private Object lock(String name) {
+		return locks.computeIfAbsent(name, n -> new Object());
+	}
+
+	private CompletableFuture<DeviceInformation<?>> read(AbstractRunnableDevice<?> device, boolean includeNonAlive) {
+		final String key = key(device.getName(), includeNonAlive);
+		final CompletableFuture<DeviceInformation<?>> read = reads.computeIfAbsent(key, k -> {
+			device.addRunListener(stateListener); // The listeners are a set, it is only added once.
+			return CompletableFuture.supplyAsync(() -> {
+				try {
+					final DeviceInformation<?> info;
+					synchronized (lock(device.getName())) {
+						info = copy(device.getDeviceInformationIncludeNonAlive(includeNonAlive));
+					}
+					entries.put(key, new Entry(device, info));
+					return info;
+				} catch (ScanningException ne) {
+					throw new CompletionException(ne);
+				}
+			}, executor);
+		});
+		read.whenComplete((i, e) -> reads.remove(key, read)); // Not in computeIfAbsent, it may run straight away
+		return read;
+	}
+
+	private static <T> DeviceInformation<T> copy(DeviceInformation<T> info) {
+		final DeviceInformation<T> copy = new DeviceInformation<>();
+		copy.merge(info);
+		return copy;
+	}
+
+	private static String key(String name, boolean includeNonAlive) {
+		return includeNonAlive ? name+"/includeNonAlive" : name;
+	}
+
+	/**
+	 * Called when a device is made, registered or changes state.
+	 * @param name
+	 */
+	void invalidate(String name) {
+		if (name==null) return;
+		entries.remove(key(name, false));
+		entries.remove(key(name, true));
+	}
+}
@@ -18,8 +18,12 @@ import org.eclipse.scanning.api.device.IRunnableDevice;
 import org.eclipse.scanning.api.device.IRunnableEventDevice;
 import org.eclipse.scanning.api.device.IWritableDetector;
 import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.recorder.EventType;
+import org.eclipse.scanning.api.recorder.FlightEvent;
+import org.eclipse.scanning.api.recorder.FlightRecorder;
 import org.eclipse.scanning.api.scan.LevelRole;
 import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.sequencer.nexus.NexusWriteQueue;
 
 /**
  * 
@@ -30,11 +34,18 @@ import org.eclipse.scanning.api.scan.ScanningException;
  * The latch method waits for the pool to exit if the run method is
  * called in non-blocking mode.
  * 
+ * If the nexus file has a write queue, the slices which each detector
+ * writes with NexusWriteQueue.setSlice(...) are added to the queue so that
+ * only one thread writes to the file. The detector's write is still done
+ * in the task.
+ * 
  * @author Matthew Gerring
  *
  */
 final class DeviceWriter extends DeviceRunner {
 
+	private final NexusWriteQueue writeQueue;
+
 	/**
 	 * Checks each detector to find the maximum time
 	 * that the await call should block for before
@@ -43,7 +54,17 @@ final class DeviceWriter extends DeviceRunner {
 	 * @param detectors
 	 */
 	DeviceWriter(Collection<IRunnableDevice<?>> detectors) {	
+		this(detectors, null);
+	}
+
+	/**
+	 * 
+	 * @param detectors
+	 * @param writeQueue may be null to write the slices on the pool threads
+	 */
+	DeviceWriter(Collection<IRunnableDevice<?>> detectors, NexusWriteQueue writeQueue) {	
 		super(detectors);
+		this.writeQueue = writeQueue;
 	}
 
 	@Override
@@ -67,8 +88,9 @@ final class DeviceWriter extends DeviceRunner {
 			if (detector instanceof IRunnableEventDevice) {
 				((IRunnableEventDevice)detector).fireWriteWillPerform(position);
 			}
+			final FlightEvent event = FlightRecorder.begin(EventType.WRITE).name(detector.getName()).index(position.getStepIndex());
 			try {
-				boolean wrote = detector.write(position);
+				boolean wrote = writeQueue!=null ? writeQueue.callQueued(() -> detector.write(position)) : detector.write(position);
 				if (wrote) {
 					if (detector instanceof IRunnableEventDevice) {
 						((IRunnableEventDevice)detector).fireWritePerformed(position);
@@ -79,6 +101,8 @@ final class DeviceWriter extends DeviceRunner {
 			} catch (Exception ne) {
 				abort(detector, position, ne);
                 throw ne;
+			} finally {
+				event.commit();
 			}
 		}
 
@@ -0,0 +1,308 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.scanning.api.INameable;
+import org.eclipse.scanning.api.device.IRunnableDevice;
+import org.eclipse.scanning.api.device.models.IDetectorModel;
+import org.eclipse.scanning.api.scan.LevelRole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <pre>
+ * The time a device takes to move, run or write, measured each point.
+ * The statistics are an exponentially weighted mean and deviation, the
+ * longest time and the recent times from which high percentiles are read.
+ * 
+ * When the system property "org.eclipse.scanning.sequencer.timeout.adaptive"
+ * is set a LevelRunner uses them to decide how long to wait for a level,
+ * instead of the static default timeout. Once a device has enough times
+ * its timeout is the larger of the longest time and the mean plus four
+ * deviations, times a safety factor, but never less than a minimum and never
+ * more than the static timeout. Devices which implement ITimeoutable
+ * keep their own timeout. So a device which normally takes 50ms is
+ * found to have hung within seconds rather than minutes. A level which
+ * times out is recorded as having taken its timeout, so the next time
+ * the device is given longer.
+ * 
+ * A detector is learned separately for each exposure time, a scan with a
+ * 5s exposure does not use what was learned from a 0.1s one. The timeout
+ * of a detector is never less than its exposure plus the minimum.
+ * 
+ * A move is learned separately for each size of move, to within a power
+ * of two. So the fly-back at the end of each line of a raster, or a scan
+ * with larger steps than the last, does not use what was learned from
+ * small steps but the static timeout until enough of its own size are known.
+ * 
+ * The statistics are kept for the life of the server so that each scan
+ * starts with what the last learned. If "org.eclipse.scanning.sequencer.timeout.file"
+ * is set they are saved to that file at the end of each scan and read
+ * from it when the server starts.
+ * </pre>
+ */
+public class LatencyStatistics {
+	
+	private static final Logger logger = LoggerFactory.getLogger(LatencyStatistics.class);
+
+	/**
+	 * Set to use timeouts learned from the devices, default false.
+	 */
+	public static final String ADAPTIVE_PROPERTY = "org.eclipse.scanning.sequencer.timeout.adaptive";
+
+	/**
+	 * The times the expected latency that a device is allowed, default 10.
+	 */
+	public static final String FACTOR_PROPERTY   = "org.eclipse.scanning.sequencer.timeout.factor";
+
+	/**
+	 * The shortest timeout in seconds, default 2.
+	 */
+	public static final String MINIMUM_PROPERTY  = "org.eclipse.scanning.sequencer.timeout.minimum";
+
+	/**
+	 * The number of times needed before the timeout is learned, default 20.
+	 */
+	public static final String SAMPLES_PROPERTY  = "org.eclipse.scanning.sequencer.timeout.samples";
+
+	/**
+	 * The file which the statistics are saved to, default none.
+	 */
+	public static final String FILE_PROPERTY     = "org.eclipse.scanning.sequencer.timeout.file";
+	
+	private static final int    WINDOW = 128;  // Recent times kept for the percentiles
+	private static final double ALPHA  = 0.1;  // Weight of the latest time in the mean
+	
+	private static final Map<String, LatencyStatistics> statistics = new ConcurrentHashMap<>();
+	private static volatile boolean loaded;
+
+	private final long[] recent;    // ns
+	private long         count;
+	private double       mean;      // ns
+	private double       variance;  // ns^2
+	private long         max;       // ns
+	
+	LatencyStatistics() {
+		this.recent = new long[WINDOW];
+	}
+
+	/**
+	 * 
+	 * @return true if timeouts should be learned.
+	 */
+	public static boolean isAdaptive() {
+		return Boolean.getBoolean(ADAPTIVE_PROPERTY);
+	}
+
+	/**
+	 * 
+	 * @param role
+	 * @param name
+	 * @return the statistics of the device in this role, created if there are none.
+	 */
+	public static LatencyStatistics get(LevelRole role, String name) {
+		if (!loaded) load();
+		return statistics.computeIfAbsent(role+":"+name, key -> new LatencyStatistics());
+	}
+
+	/**
+	 * 
+	 * @param role
+	 * @param object
+	 * @return the statistics of the object in this role and, for a detector, at its current exposure.
+	 */
+	public static LatencyStatistics get(LevelRole role, INameable object) {
+		return get(role, object, Double.NaN);
+	}
+
+	/**
+	 * 
+	 * @param role
+	 * @param object
+	 * @param distance the size of the move, NaN if not known or not a move
+	 * @return the statistics of the object in this role, at its current exposure and for moves of about this size.
+	 */
+	public static LatencyStatistics get(LevelRole role, INameable object, double distance) {
+		final double exposure = getExposureTime(object);
+		String name = exposure>0 ? object.getName()+"@"+exposure+"s" : object.getName();
+		if (!Double.isNaN(distance) && !Double.isInfinite(distance) && distance!=0) name = name+"~2^"+Math.getExponent(Math.abs(distance));
+		return get(role, name);
+	}
+
+	/**
+	 * 
+	 * @param object
+	 * @return the exposure time in seconds of a detector's model, 0 if the object is not a detector.
+	 */
+	public static double getExposureTime(Object object) {
+		if (!(object instanceof IRunnableDevice)) return 0;
+		final Object model = ((IRunnableDevice<?>)object).getModel();
+		return model instanceof IDetectorModel ? Math.max(0, ((IDetectorModel)model).getExposureTime()) : 0;
+	}
+
+	/**
+	 * Add the time of one move, run or write.
+	 * @param nanos
+	 */
+	public synchronized void add(long nanos) {
+		recent[(int)(count % WINDOW)] = nanos;
+		if (count==0) {
+			mean = nanos;
+		} else {
+			final double diff = nanos-mean;
+			mean     += ALPHA*diff;
+			variance  = (1-ALPHA)*(variance+ALPHA*diff*diff);
+		}
+		max = Math.max(max, nanos);
+		count++;
+	}
+
+	public synchronized long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the weighted mean in ms
+	 */
+	public synchronized double getMean() {
+		return mean/1e6;
+	}
+
+	/**
+	 * @return the weighted standard deviation in ms
+	 */
+	public synchronized double getDeviation() {
+		return Math.sqrt(variance)/1e6;
+	}
+
+	/**
+	 * @return the longest time in ms
+	 */
+	public synchronized double getMax() {
+		return max/1e6;
+	}
+
+	/**
+	 * 
+	 * @param percent 0-100
+	 * @return the percentile of the recent times in ms
+	 */
+	public synchronized double getPercentile(double percent) {
+		final int size = (int)Math.min(count, WINDOW);
+		if (size<1) return Double.NaN;
+		final long[] times = Arrays.copyOf(recent, size);
+		Arrays.sort(times);
+		final int index = (int)Math.ceil(percent/100d*size)-1;
+		return times[Math.max(0, Math.min(size-1, index))]/1e6;
+	}
+
+	/**
+	 * 
+	 * @param staticTimeout the timeout in seconds used if too few times are known.
+	 * @return the learned timeout in seconds, never more than the static timeout.
+	 */
+	public long getTimeout(long staticTimeout) {
+		return getTimeout(staticTimeout, 0);
+	}
+
+	/**
+	 * 
+	 * @param staticTimeout the timeout in seconds used if too few times are known.
+	 * @param exposure the exposure time in seconds of a detector, 0 for other devices.
+	 * @return the learned timeout in seconds, never more than the static timeout 
+	 *         and, for a detector, never less than its exposure plus the minimum.
+	 */
+	public synchronized long getTimeout(long staticTimeout, double exposure) {
+		final long minimum = Long.getLong(MINIMUM_PROPERTY, 2);
+		final long floor   = exposure>0 ? (long)Math.ceil(exposure)+minimum : 0;
+		if (count < Integer.getInteger(SAMPLES_PROPERTY, 20)) return Math.max(staticTimeout, floor);
+		
+		final double expected = Math.max(getMax(), getMean()+4*getDeviation()); // ms
+		final double factor   = Double.parseDouble(System.getProperty(FACTOR_PROPERTY, "10"));
+		final long   timeout  = Math.max(minimum, (long)Math.ceil(factor*expected/1000d));
+		return Math.max(floor, Math.min(staticTimeout, timeout));
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("count=%d mean=%.3fms deviation=%.3fms p99=%.3fms max=%.3fms", count, getMean(), getDeviation(), getPercentile(99), getMax());
+	}
+	
+	private synchronized String write() {
+		final StringBuilder buf = new StringBuilder();
+		buf.append(count).append(' ').append(mean).append(' ').append(variance).append(' ').append(max);
+		final int size = (int)Math.min(count, WINDOW);
+		for (int i = 0; i < size; i++) buf.append(' ').append(recent[(int)((count-size+i) % WINDOW)]);
+		return buf.toString();
+	}
+
+	private synchronized void read(String value) {
+		final String[] values = value.trim().split(" ");
+		count    = Long.parseLong(values[0]);
+		mean     = Double.parseDouble(values[1]);
+		variance = Double.parseDouble(values[2]);
+		max      = Long.parseLong(values[3]);
+		final int size = values.length-4;
+		for (int i = 0; i < size; i++) recent[(int)((count-size+i) % WINDOW)] = Long.parseLong(values[4+i]);
+	}
+
+	/**
+	 * Saves the statistics to the file, if there is one.
+	 */
+	public static void save() {
+		final String path = System.getProperty(FILE_PROPERTY);
+		if (path==null || statistics.isEmpty()) return;
+		final Properties props = new Properties();
+		for (Map.Entry<String, LatencyStatistics> entry : statistics.entrySet()) props.setProperty(entry.getKey(), entry.getValue().write());
+		try (OutputStream out = new FileOutputStream(path)) {
+			props.store(out, "Device latency statistics");
+		} catch (Exception ne) {
+			logger.warn("Cannot save the device latency statistics to "+path, ne);
+		}
+	}
+
+	private static synchronized void load() {
+		if (loaded) return;
+		loaded = true;
+		final String path = System.getProperty(FILE_PROPERTY);
+		if (path==null || !new File(path).exists()) return;
+		final Properties props = new Properties();
+		try (InputStream in = new FileInputStream(path)) {
+			props.load(in);
+			for (String key : props.stringPropertyNames()) {
+				final LatencyStatistics stats = new LatencyStatistics();
+				stats.read(props.getProperty(key));
+				statistics.put(key, stats);
+			}
+		} catch (Exception ne) {
+			logger.warn("Cannot read the device latency statistics from "+path, ne);
+		}
+	}
+
+	/**
+	 * Forget the statistics, the file is read again when next used.
+	 */
+	public static void clear() {
+		statistics.clear();
+		loaded = false;
+	}
+}
@@ -25,14 +25,20 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.scanning.api.ILevel;
 import org.eclipse.scanning.api.INameable;
+import org.eclipse.scanning.api.ITimeoutable;
 import org.eclipse.scanning.api.annotation.scan.AnnotationManager;
 import org.eclipse.scanning.api.annotation.scan.LevelEnd;
 import org.eclipse.scanning.api.annotation.scan.LevelStart;
+import org.eclipse.scanning.api.device.IRunnableDevice;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.recorder.EventType;
+import org.eclipse.scanning.api.recorder.FlightEvent;
+import org.eclipse.scanning.api.recorder.FlightRecorder;
 import org.eclipse.scanning.api.scan.LevelInformation;
 import org.eclipse.scanning.api.scan.LevelRole;
 import org.eclipse.scanning.api.scan.ScanningException;
@@ -58,10 +64,15 @@ abstract class LevelRunner<L extends ILevel> {
 	private static Logger logger = LoggerFactory.getLogger(LevelRunner.class);
 
     protected IPosition                 position;
+    private IPosition                   previous; // The position run before this one, if any
     private volatile ForkJoinPool       eservice; // Different threads may nullify the service, better to make volatile.
 	private ScanningException           abortException;
 	private PositionDelegate            pDelegate;
 	private boolean                     levelCachingAllowed=true;
+	private PointTrace                  trace;
+	private List<L>                     awaitObjects; // The level which was run without blocking
+	private List<Future<IPosition>>     awaitFutures;
+	private List<TimedTask>             awaitTimed;
 	
 	protected LevelRunner() {
 		pDelegate = new PositionDelegate();
@@ -118,6 +129,7 @@ abstract class LevelRunner<L extends ILevel> {
 		 *  run position while returning the last-1 run position.
 		 *  Position is a best guess of what position happened.
 		 */
+		this.previous = position;
 		this.position = loc;
 		boolean ok = pDelegate.firePositionWillPerform(loc);
         if (!ok) return false;
@@ -130,6 +142,7 @@ abstract class LevelRunner<L extends ILevel> {
 			// of the largest level population? This would mean that you try to 
 			// start everything at the same time.
 			if (eservice==null) this.eservice = createService();
+			final boolean adaptive = LatencyStatistics.isAdaptive();
 
 			Integer finalLevel = 0;
 			for (Iterator<Integer> it = positionMap.keySet().iterator(); it.hasNext();) {
@@ -138,26 +151,45 @@ abstract class LevelRunner<L extends ILevel> {
 				
 				int level = it.next();
 				List<L> lobjects = positionMap.get(level);
-				Collection<Callable<IPosition>> tasks = new ArrayList<>(lobjects.size());
+				List<Callable<IPosition>> tasks = new ArrayList<>(lobjects.size());
+				List<TimedTask>           timed = adaptive ? new ArrayList<>(lobjects.size()) : null;
 				for (L lobject : lobjects) {
 					Callable<IPosition> c = create(lobject, loc);
 					if (c==null) continue; // legal to say that there is nothing to do for a given object.
+					if (adaptive) {
+						TimedTask t = new TimedTask(c, getStatistics(lobject));
+						timed.add(t);
+						c = t;
+					}
 					tasks.add(c);
 				}
 				
 				managerMap.get(level).invoke(LevelStart.class, loc, new LevelInformation(getLevelRole(), level, lobjects));
 				if (!it.hasNext() && !block) { 
 					// The last one and we are non-blocking
-					for (Callable<IPosition> callable : tasks) eservice.submit(callable);
+					awaitObjects    = lobjects;
+					awaitTimed      = timed;
+					awaitFutures    = new ArrayList<>(tasks.size());
+					for (Callable<IPosition> callable : tasks) awaitFutures.add(eservice.submit(callable));
 				} else {
 					// Normally we block until done.
 					// Blocks until level has run
-				    List<Future<IPosition>> pos = eservice.invokeAll(tasks, getTimeout(lobjects), TimeUnit.SECONDS);
+					long start = System.nanoTime();
+					FlightEvent event = FlightRecorder.begin(EventType.LEVEL).name(String.valueOf(getLevelRole())).index(level);
+					if (event.isEnabled()) event.detail(toString(lobjects));
+					long time = getLevelTimeout(lobjects);
+				    List<Future<IPosition>> pos;
+				    try {
+				    	pos = eservice.invokeAll(tasks, time, TimeUnit.SECONDS);
+				    } finally {
+				    	event.commit();
+				    }
+				    if (trace!=null) trace.level(level, System.nanoTime()-start);
 				    
-				    // If timed out, some isDone will be false.
-				    for (Future<IPosition> future : pos) {
-						if (!future.isDone()) throw new ScanningException("The timeout of "+timeout+"s has been reached waiting for level "+level+" objects "+toString(lobjects));
-					}
+				    // If timed out, some will be cancelled or not done.
+				    if (recordTimeouts(pos, timed, time)) {
+				    	throw new ScanningException("The timeout of "+time+"s has been reached waiting for level "+level+" objects "+toString(lobjects));
+				    }
 				    pDelegate.fireLevelPerformed(level, lobjects, getPosition(loc, pos));
 				}
 				managerMap.get(level).invoke(LevelEnd.class, loc, new LevelInformation(getLevelRole(), level, lobjects));
@@ -194,7 +226,7 @@ abstract class LevelRunner<L extends ILevel> {
 	/**
 	 * The timeout is overridden by some subclasses.
 	 */
-	private long timeout = Long.getLong(" org.eclipse.scanning.sequencer.default.timeout", 10);
+	private long timeout = Long.getLong("org.eclipse.scanning.sequencer.default.timeout", 10);
 
 	/** 
 	 * Blocks until all the tasks have complete. In order for this call to be worth
@@ -208,7 +240,8 @@ abstract class LevelRunner<L extends ILevel> {
 	 * @throws InterruptedException 
 	 */
 	protected IPosition await() throws InterruptedException, ScanningException {
-        return await(getTimeout(null));
+		final List<L> lobjects = awaitObjects;
+        return await(lobjects!=null ? getLevelTimeout(lobjects) : getTimeout(null));
 	}
 	
 	/** 
@@ -232,7 +265,8 @@ abstract class LevelRunner<L extends ILevel> {
 		}
 		boolean ok = eservice.awaitQuiescence(time, TimeUnit.SECONDS); 
 		if (!ok) { // Might have nullified service during wait.
-			throw new ScanningException("The timeout of "+timeout+"s has been reached, scan aborting. Please implement ITimeoutable to define how long your device needs to write.");
+			recordTimeouts(awaitFutures, awaitTimed, time);
+			throw new ScanningException("The timeout of "+time+"s has been reached, scan aborting. Please implement ITimeoutable to define how long your device needs to write.");
 		}
 		return position;
 	}
@@ -408,6 +442,107 @@ abstract class LevelRunner<L extends ILevel> {
 		return timeout;
 	}
 
+	/**
+	 * The timeout of a level in seconds. If timeouts are adaptive and none of the
+	 * objects define their own timeout, this is the longest timeout learned
+	 * from the objects' latencies, see {@link LatencyStatistics}. The first
+	 * point uses the static timeout because moving to the start of a scan
+	 * may take much longer than a step.
+	 * 
+	 * @param objects
+	 * @return time
+	 */
+	protected long getLevelTimeout(List<L> objects) {
+		final long staticTimeout = getTimeout(objects);
+		if (!LatencyStatistics.isAdaptive() || objects==null || objects.isEmpty()) return staticTimeout;
+		if (position==null || position.getStepIndex()<1) return staticTimeout;
+		
+		long time = Long.MIN_VALUE;
+		for (L object : objects) {
+			if (isTimeoutSet(object)) return staticTimeout;
+			time = Math.max(time, getStatistics(object).getTimeout(staticTimeout, LatencyStatistics.getExposureTime(object)));
+		}
+		return time;
+	}
+
+	/**
+	 * The statistics of an object, for a move those of moves of the size from the last position.
+	 */
+	private LatencyStatistics getStatistics(L object) {
+		return LatencyStatistics.get(getLevelRole(), object, getDistance(object));
+	}
+
+	/**
+	 * 
+	 * @param object
+	 * @return how far the value of the object changes from the last position to this one, NaN if it is not a number in both.
+	 */
+	private double getDistance(L object) {
+		if (previous==null || position==null) return Double.NaN;
+		final Object to   = position.get(object.getName());
+		final Object from = previous.get(object.getName());
+		if (!(to instanceof Number) || !(from instanceof Number)) return Double.NaN;
+		return Math.abs(((Number)to).doubleValue()-((Number)from).doubleValue());
+	}
+
+	/**
+	 * Records the timeout as the time of each task which did not finish within it.
+	 * 
+	 * @param futures
+	 * @param timed the timed tasks, may be null
+	 * @param time the timeout in s
+	 * @return true if any task did not finish
+	 */
+	private static boolean recordTimeouts(List<Future<IPosition>> futures, List<TimedTask> timed, long time) {
+		if (futures==null) return false;
+		boolean timedOut = false;
+		for (int i = 0; i < futures.size(); i++) {
+			final Future<IPosition> future = futures.get(i);
+			if (future.isDone() && !future.isCancelled()) continue; // invokeAll cancels those which time out
+			timedOut = true;
+			if (timed!=null) timed.get(i).timedOut(TimeUnit.SECONDS.toNanos(time));
+		}
+		return timedOut;
+	}
+
+	private static boolean isTimeoutSet(Object object) {
+		if (object instanceof ITimeoutable && ((ITimeoutable)object).getTimeout()>0) return true;
+		if (object instanceof IRunnableDevice) {
+			Object model = ((IRunnableDevice<?>)object).getModel();
+			return model instanceof ITimeoutable && ((ITimeoutable)model).getTimeout()>0;
+		}
+		return false;
+	}
+
+	/**
+	 * Records how long a task takes when it finishes normally, or
+	 * the timeout if the runner stopped waiting for it first.
+	 */
+	private static final class TimedTask implements Callable<IPosition> {
+		
+		private final Callable<IPosition> task;
+		private final LatencyStatistics   stats;
+		private final AtomicBoolean       recorded = new AtomicBoolean();
+
+		TimedTask(Callable<IPosition> task, LatencyStatistics stats) {
+			this.task  = task;
+			this.stats = stats;
+		}
+
+		@Override
+		public IPosition call() throws Exception {
+			final long start = System.nanoTime();
+			final IPosition ret = task.call();
+			final long time = System.nanoTime()-start;
+			if (recorded.compareAndSet(false, true)) stats.add(time);
+			return ret;
+		}
+
+		void timedOut(long nanos) {
+			if (recorded.compareAndSet(false, true)) stats.add(nanos);
+		}
+	}
+
 	/**
 	 * The await time in sceonds.
 	 * @return time
@@ -424,5 +559,13 @@ abstract class LevelRunner<L extends ILevel> {
 		this.levelCachingAllowed = levelCachingAllowed;
 	}
 
+	/**
+	 * 
+	 * @param trace to record the time taken by each blocking level, may be null.
+	 */
+	public void setPointTrace(PointTrace trace) {
+		this.trace = trace;
+	}
+
 	
 }
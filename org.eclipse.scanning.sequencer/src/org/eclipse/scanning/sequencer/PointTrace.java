@@ -0,0 +1,270 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <pre>
+ * The time taken by each stage of each point of a scan. The scan thread marks
+ * the end of each stage and when the point ends its times are added to:
+ *
+ * 1. A ring buffer of the most recent points which may be read at any time.
+ *    The scan thread writes a row and readers copy rows under a lock, which is
+ *    only held for the copy of one row or of the rows read.
+ * 2. A histogram for each stage with power of two buckets in microseconds, the count,
+ *    total and maximum of each stage. These cover every point of the scan.
+ *
+ * The time taken to move each level of the positioner is also kept.
+ *
+ * The trace is added as a context to the scan so that a scan participant may
+ * read the histograms live, for instance in a @PointEnd method with a
+ * PointTrace argument. Used when the system property "org.eclipse.scanning.sequencer.trace"
+ * is set or the scan requires metrics.
+ * </pre>
+ */
+public class PointTrace {
+
+	/**
+	 * The number of recent points kept, default 4096.
+	 */
+	public static final String CAPACITY_PROPERTY = "org.eclipse.scanning.sequencer.trace.capacity";
+
+	/**
+	 * The stages of a point in the order they happen.
+	 */
+	public enum Stage {
+		POINT_START,    // @PointStart annotations
+		MOVE,           // positioner.setPosition(...)
+		EXPOSURE,       // Setting the exposure time of the detectors
+		WRITE_AWAIT,    // Waiting for the previous point to write
+		WRITE_COMPLETE, // @WriteComplete annotations
+		RUN,            // Running the detectors
+		WRITE,          // Starting the detectors writing
+		POINT_END,      // @PointEnd annotations
+		PUBLISH;        // Publishing the position
+
+		public String getFieldName() {
+			return name().toLowerCase();
+		}
+	}
+
+	/**
+	 * The number of buckets in each histogram, the last
+	 * is for anything over 2^30 micro seconds.
+	 */
+	public static final int BUCKETS = 32;
+
+	private static final int STAGES = Stage.values().length;
+
+	private final int             capacity;
+	private final long[]          ring;     // capacity rows of step index then the time of each stage in ns, guarded by itself
+	private final AtomicLong      cursor;   // The number of points written to the ring
+	private final AtomicLongArray histograms, totals, maxima;
+	private final Map<Integer, AtomicLongArray> levels; // count, total, max per level
+
+	// Only used by the scan thread
+	private final long[] spans;
+	private long         mark;
+
+	public PointTrace() {
+		this(Integer.getInteger(CAPACITY_PROPERTY, 4096));
+	}
+
+	/**
+	 *
+	 * @param capacity the number of recent points kept
+	 */
+	public PointTrace(int capacity) {
+		if (capacity<1) throw new IllegalArgumentException("The capacity must be at least one!");
+		this.capacity   = capacity;
+		this.ring       = new long[capacity*(STAGES+1)];
+		this.cursor     = new AtomicLong();
+		this.histograms = new AtomicLongArray(STAGES*BUCKETS);
+		this.totals     = new AtomicLongArray(STAGES);
+		this.maxima     = new AtomicLongArray(STAGES);
+		this.levels     = new ConcurrentSkipListMap<>();
+		this.spans      = new long[STAGES];
+	}
+
+	/**
+	 * Start timing a point.
+	 */
+	public void begin() {
+		Arrays.fill(spans, 0);
+		mark = System.nanoTime();
+	}
+
+	/**
+	 * Mark the end of a stage of the point, the time since the last mark is added to the stage.
+	 * @param stage
+	 */
+	public void mark(Stage stage) {
+		final long now = System.nanoTime();
+		spans[stage.ordinal()] += now - mark;
+		mark = now;
+	}
+
+	/**
+	 * The point has finished, record its times.
+	 * @param stepIndex
+	 */
+	public void end(int stepIndex) {
+
+		synchronized (ring) {
+			final long seq  = cursor.get();
+			final int  base = (int)(seq % capacity)*(STAGES+1);
+			ring[base] = stepIndex;
+			System.arraycopy(spans, 0, ring, base+1, STAGES);
+			cursor.set(seq+1);
+		}
+
+		for (int i = 0; i < STAGES; i++) {
+			final long span = spans[i];
+			histograms.incrementAndGet(i*BUCKETS+getBucket(span));
+			totals.addAndGet(i, span);
+			if (span>maxima.get(i)) maxima.set(i, span);
+		}
+	}
+
+	/**
+	 * Record the time a level of the positioner took to move.
+	 * @param level
+	 * @param nanos
+	 */
+	public void level(int level, long nanos) {
+		AtomicLongArray stats = levels.computeIfAbsent(level, l -> new AtomicLongArray(3));
+		stats.incrementAndGet(0);
+		stats.addAndGet(1, nanos);
+		if (nanos>stats.get(2)) stats.set(2, nanos);
+	}
+
+	/**
+	 *
+	 * @param nanos
+	 * @return the histogram bucket of a time, bucket i holding times less than 2^i micro seconds.
+	 */
+	public static int getBucket(long nanos) {
+		final long micros = nanos/1000;
+		return Math.min(BUCKETS-1, 64-Long.numberOfLeadingZeros(micros));
+	}
+
+	/**
+	 *
+	 * @param bucket
+	 * @return the upper limit of the bucket in ms
+	 */
+	public static double getBucketLimit(int bucket) {
+		return (1L << bucket)/1000d;
+	}
+
+	/**
+	 * @return the number of points traced.
+	 */
+	public long getCount() {
+		return cursor.get();
+	}
+
+	/**
+	 *
+	 * @param stage
+	 * @return the number of points in each bucket, see {@link #getBucketLimit(int)}
+	 */
+	public long[] getHistogram(Stage stage) {
+		final long[] ret = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) ret[i] = histograms.get(stage.ordinal()*BUCKETS+i);
+		return ret;
+	}
+
+	/**
+	 * @param stage
+	 * @return the mean time of the stage in ms
+	 */
+	public double getMean(Stage stage) {
+		final long count = getCount();
+		return count>0 ? totals.get(stage.ordinal())/1e6/count : Double.NaN;
+	}
+
+	/**
+	 * @param stage
+	 * @return the longest time of the stage in ms
+	 */
+	public double getMax(Stage stage) {
+		return maxima.get(stage.ordinal())/1e6;
+	}
+
+	/**
+	 *
+	 * @param stage
+	 * @param percent 0-100
+	 * @return the percentile of the time of the stage in ms over the recent points.
+	 */
+	public double getPercentile(Stage stage, double percent) {
+		final List<long[]> recent = getRecent(capacity);
+		if (recent.isEmpty()) return Double.NaN;
+		final long[] times = new long[recent.size()];
+		for (int i = 0; i < times.length; i++) times[i] = recent.get(i)[stage.ordinal()+1];
+		Arrays.sort(times);
+		final int index = (int)Math.ceil(percent/100d*times.length)-1;
+		return times[Math.max(0, Math.min(times.length-1, index))]/1e6;
+	}
+
+	/**
+	 * Copies the most recent points from the ring buffer, the scan
+	 * thread waits to record a point while they are copied.
+	 *
+	 * @param size the most points to return
+	 * @return the most recent points, oldest first, each the step index then the time of each stage in ns.
+	 */
+	public List<long[]> getRecent(int size) {
+
+		synchronized (ring) {
+			final long end   = cursor.get();
+			final long start = Math.max(0, end-Math.min(size, capacity));
+			final List<long[]> ret = new ArrayList<>((int)(end-start));
+			for (long seq = start; seq < end; seq++) {
+				final int base = (int)(seq % capacity)*(STAGES+1);
+				ret.add(Arrays.copyOfRange(ring, base, base+STAGES+1));
+			}
+			return ret;
+		}
+	}
+
+	/**
+	 * @return for each level of the positioner the number of moves, the mean and maximum time in ms.
+	 */
+	public Map<Integer, double[]> getLevelTimes() {
+		final Map<Integer, double[]> ret = new ConcurrentSkipListMap<>();
+		for (Map.Entry<Integer, AtomicLongArray> entry : levels.entrySet()) {
+			final AtomicLongArray stats = entry.getValue();
+			final long count = stats.get(0);
+			ret.put(entry.getKey(), new double[]{count, count>0 ? stats.get(1)/1e6/count : Double.NaN, stats.get(2)/1e6});
+		}
+		return Collections.unmodifiableMap(ret);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder buf = new StringBuilder("Point trace of ").append(getCount()).append(" points [");
+		for (Stage stage : Stage.values()) {
+			buf.append(stage.getFieldName()).append(String.format(" mean=%.3fms max=%.3fms, ", getMean(stage), getMax(stage)));
+		}
+		return buf.append(']').toString();
+	}
+}
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.CoreException;
@@ -90,6 +91,11 @@ public final class RunnableDeviceServiceImpl implements IRunnableDeviceService,
 	// This field is used to provide the getActiveScanner() method on the service.
 	// It should not be accessed from elsewhere.
 	private static IRunnableDevice<?> currentScanningDevice;
+	
+	/**
+	 * The information of the named devices, read concurrently and kept for a short time.
+	 */
+	private final DeviceInformationCache informationCache = new DeviceInformationCache();
 
 	
 	// Use a factory pattern to register the types.
@@ -174,6 +180,7 @@ public final class RunnableDeviceServiceImpl implements IRunnableDeviceService,
 	@Override
 	public <T> void register(IRunnableDevice<T> device) {
 		registerDevice(device.getModel().getClass(), device);
+		informationCache.invalidate(device.getName());
 	}
 
 	private static void registerDevice(Class modelClass, IRunnableDevice device) {
@@ -248,6 +255,7 @@ public final class RunnableDeviceServiceImpl implements IRunnableDeviceService,
 			
 			if (!scanner.getRole().isVirtual()) {
 				namedDevices.put(scanner.getName(), scanner);
+				informationCache.invalidate(scanner.getName());
 			}
 			
 			return scanner;
@@ -353,6 +361,7 @@ public final class RunnableDeviceServiceImpl implements IRunnableDeviceService,
 	 */
 	public void _register(String name, IRunnableDevice<?> device) {
 		namedDevices.put(name, device);
+		informationCache.invalidate(name);
 	}
 
 	@Override
@@ -370,30 +379,35 @@ public final class RunnableDeviceServiceImpl implements IRunnableDeviceService,
 		return getDeviceInformation(true);
 	}
 
+	@Override
+	public void forEachDeviceInformation(Consumer<DeviceInformation<?>> consumer) throws ScanningException {
+		informationCache.collect(getInformationDevices(), false, consumer);
+	}
+
+	/**
+	 * The information of each device is read on a thread of its own, each within its own
+	 * timeout, and is used again for a short time unless the device changes.
+	 * @see DeviceInformationCache
+	 */
 	private Collection<DeviceInformation<?>> getDeviceInformation(boolean getNonAliveDeviceInformation) throws ScanningException {
 		
 		Collection<DeviceInformation<?>> ret = new ArrayList<>();
-		final Collection<String> names = getRunnableDeviceNames();
+		informationCache.collect(getInformationDevices(), getNonAliveDeviceInformation, ret::add);
+		return ret;
+	}
+
+	private Collection<AbstractRunnableDevice<?>> getInformationDevices() throws ScanningException {
+		
+		final Collection<String> names = new ArrayList<>(getRunnableDeviceNames()); // Devices may be added while we read
+		final Collection<AbstractRunnableDevice<?>> devices = new ArrayList<>(names.size());
 		for (String name : names) {
-			try {
-				if (name==null) continue;
-	
-				IRunnableDevice<Object> device = getRunnableDevice(name);
-				if (device==null)  continue;		
-				if (!(device instanceof AbstractRunnableDevice)) continue;
-				DeviceInformation<?> info;
-				if (getNonAliveDeviceInformation) {
-					info = ((AbstractRunnableDevice<?>)device).getDeviceInformationIncludeNonAlive(true);
-				} else {
-					info = ((AbstractRunnableDevice<?>)device).getDeviceInformation();
-				}
-				
-				ret.add(info);
-			} catch (Exception ex) {
-				logger.warn("Error getting device info for : " + name);
-			}
+			if (name==null) continue;
+			IRunnableDevice<Object> device = getRunnableDevice(name);
+			if (device==null)  continue;		
+			if (!(device instanceof AbstractRunnableDevice)) continue;
+			devices.add((AbstractRunnableDevice<?>)device);
 		}
-		return ret;
+		return devices;
 	}
 	
 	@Override
@@ -407,7 +421,7 @@ public final class RunnableDeviceServiceImpl implements IRunnableDeviceService,
 		IRunnableDevice<Object> device = getRunnableDevice(name);
 		if (device==null)  return null;		
 		if (!(device instanceof AbstractRunnableDevice)) return null;
-		return ((AbstractRunnableDevice<?>)device).getDeviceInformation();
+		return informationCache.get((AbstractRunnableDevice<?>)device);
 	}
 
 	private Collection<Object> participants;
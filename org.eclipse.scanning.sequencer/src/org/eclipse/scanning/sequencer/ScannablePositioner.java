@@ -15,7 +15,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.scanning.api.IScannable;
 import org.eclipse.scanning.api.device.IScannableDeviceService;
@@ -29,6 +32,13 @@ import org.eclipse.scanning.api.scan.event.IPositioner;
  * Positions several scannables by level, returning after all the blocking IScannable.setPosition(...)
  * methods have returned.
  * 
+ * The scannables are looked up once and, within a scan, the position each last reached
+ * is kept so that the tolerance of a scannable which does not drift is checked without
+ * reading its position again. If "org.eclipse.scanning.sequencer.positioner.skipUnchanged"
+ * is set, a scannable which is told to move to the position it was last told to move
+ * to and which does not drift is not moved at all, for instance the slow axis of a grid.
+ * This is not the default because some scannables record each point in setPosition(...).
+ * 
  * @author Matthew Gerring
  *
  */
@@ -36,11 +46,17 @@ final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IP
 		
 	private IScannableDeviceService     connectorService;
 	private List<IScannable<?>>         monitors;
+	
+	// Reset when the positioner is closed at the end of a scan
+	private final Map<String, IScannable<?>> scannables;
+	private final Map<String, Object[]>      reached; // name to {demand, achieved}
 
 	ScannablePositioner(IScannableDeviceService service) {	
 		
 		setLevelCachingAllowed(false);
 		this.connectorService = service;
+		this.scannables       = new ConcurrentHashMap<>();
+		this.reached          = new ConcurrentHashMap<>();
 		
 		// This is setting the default but the actual value of the timeout
 		// is set by implementing ITimeoutable in your IScannable. The devices
@@ -77,6 +93,7 @@ final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IP
 	
 	@Override
 	public boolean setPosition(IPosition position) throws ScanningException, InterruptedException {
+		if (position.getStepIndex()<1) clearReached(); // Not the next point of a scan, something else may have moved the scannables.
 		run(position);
 		return true;
 	}
@@ -87,7 +104,7 @@ final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IP
 		MapPosition ret = new MapPosition();
 		for (String name : position.getNames()) {
 			try {
-				IScannable<?> scannable = connectorService.getScannable(name);
+				IScannable<?> scannable = getScannable(name);
 			    ret.put(name, scannable.getPosition());
 			} catch (Exception ne) {
 				throw new ScanningException("Cannot read value of "+name, ne);
@@ -103,11 +120,35 @@ final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IP
 		Collection<String> names = position.getNames();
 		if (names==null) return null;
 		final List<IScannable<?>> ret = new ArrayList<>(names.size());
-		for (String name : position.getNames()) ret.add(connectorService.getScannable(name));
+		for (String name : position.getNames()) ret.add(getScannable(name));
 		if (monitors!=null) for(IScannable<?> mon : monitors) ret.add(mon);
 		return ret;
 	}
 
+	private IScannable<?> getScannable(String name) throws ScanningException {
+		IScannable<?> scannable = scannables.get(name);
+		if (scannable==null) {
+			scannable = connectorService.getScannable(name);
+			if (scannable!=null) scannables.put(name, scannable);
+		}
+		return scannable;
+	}
+
+	@Override
+	public void close() {
+		super.close();
+		scannables.clear();
+		clearReached();
+	}
+
+	/**
+	 * Forget the positions reached, for instance because the scan
+	 * was paused and the scannables may have been moved.
+	 */
+	void clearReached() {
+		reached.clear();
+	}
+
 	@Override
 	protected Callable<IPosition> create(IScannable<?> scannable, IPosition position) throws ScanningException {
 		return new MoveTask(scannable, position);
@@ -133,22 +174,30 @@ final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IP
 				achieved = setPosition(scannable, value, position);
 			    
 			} catch (Exception ne) {
+				reached.remove(scannable.getName());
 				abort(scannable, value, position, ne);
 				throw ne;
 			}
 			// achieved might not be equal to demand
 			if (achieved == null) achieved = scannable.getPosition();
+			if (value!=null && achieved!=null) reached.put(scannable.getName(), new Object[]{value, achieved});
 			return new MapPosition(scannable.getName(), position.getIndex(scannable.getName()), achieved); 
 		}
 
 		@SuppressWarnings({ "rawtypes", "unchecked" })
 		private Object setPosition(IScannable scannable, Object value, IPosition position) throws Exception {
 			
+			// The position last reached, if it can be trusted
+			final Object[] last = value!=null && !scannable.isDrifting() ? reached.get(scannable.getName()) : null;
+			if (last!=null && Boolean.getBoolean("org.eclipse.scanning.sequencer.positioner.skipUnchanged") && Objects.equals(value, last[0])) {
+				return last[1]; // Already there
+			}
+
 			Object tolerance = scannable.getTolerance();
 			if (tolerance==null || !(value instanceof Number) || !(tolerance instanceof Number)) {
 				return scannable.setPosition(value, position);
 			}
-			Object currentValue = scannable.getPosition();
+			Object currentValue = last!=null ? last[1] : scannable.getPosition();
 			if (!(currentValue instanceof Number)) return scannable.setPosition(value, position);
 			
 			// Check tolerance against number
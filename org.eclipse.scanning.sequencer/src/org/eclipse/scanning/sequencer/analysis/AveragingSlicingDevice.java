@@ -7,10 +7,8 @@ import org.eclipse.dawnsci.nexus.NexusNodeFactory;
 import org.eclipse.dawnsci.nexus.NexusScanInfo;
 import org.eclipse.dawnsci.nexus.builder.NexusObjectProvider;
 import org.eclipse.dawnsci.nexus.builder.NexusObjectWrapper;
-import org.eclipse.january.DatasetException;
-import org.eclipse.january.dataset.DatasetFactory;
 import org.eclipse.january.dataset.ILazyWriteableDataset;
-import org.eclipse.january.dataset.SliceND;
+import org.eclipse.scanning.api.annotation.scan.ScanFinally;
 import org.eclipse.scanning.api.device.models.SlicingModel;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.rank.IScanRankService;
@@ -38,33 +36,36 @@ public class AveragingSlicingDevice extends SlicingRunnableDevice<SlicingModel>
 	public static final String AVERAGE_QUALIFIER = "_average";
 	
 	private ILazyWriteableDataset averaged;
-	private NexusScanInfo         info;
+	private BufferedScanWriter    writer;
+	private final FrameStatistics statistics = new FrameStatistics();
 
 	@Override
 	public boolean process(SliceDeviceContext context) throws ScanningException {
 		
-		averaged.setChunking(info.createChunk(getDataShape(context.getData())));
-		 		
-		double mean = (Double)context.getSlice().squeeze().mean();
+		statistics.accept(context.getSlice());
 
-		IScanSlice sslice  = IScanRankService.getScanRankService().createScanSlice(context.getLocation());
-		SliceND    slicenD = new SliceND(averaged.getShape(), averaged.getMaxShape(), sslice.getStart(), sslice.getStop(), sslice.getStep());
-		try {
-			averaged.setSlice(null, DatasetFactory.createFromObject(mean), slicenD);
-		} catch (DatasetException e) {
-			throw new ScanningException(e);
-		}
+		IScanSlice sslice = IScanRankService.getScanRankService().createScanSlice(context.getLocation());
+		writer.write(sslice, statistics.getMean());
+		if (isLastPoint(context.getLocation())) writer.flush();
 	
 		return true;
 	}
 	
+	@ScanFinally
+	public void clear() {
+		if (writer!=null) writer.clear();
+	}
+	
 	@Override
 	public NexusObjectProvider<NXdetector> getNexusProvider(NexusScanInfo info) throws NexusException {
 		
 		final NXdetector detector = NexusNodeFactory.createNXdetector();
 		
 		this.averaged = detector.initializeLazyDataset(NXdetector.NX_DATA, info.getRank(), Double.class);
-		this.info     = info;		
+		
+		int[] chunk = info.createChunk(false, 8);
+		averaged.setChunking(chunk);
+		this.writer   = new BufferedScanWriter(averaged, chunk.length>0 ? chunk[chunk.length-1] : 1);
 		
 		Attributes.registerAttributes(detector, this);
 
@@ -0,0 +1,116 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer.analysis;
+
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.SliceND;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.api.scan.rank.IScanSlice;
+
+/**
+ *
+ * Writes one number per point of the scan to a dataset with the shape of the
+ * scan. Values for consecutive points in the innermost dimension are kept
+ * and written together, one chunk at a time, rather than one element per point.
+ * The buffer is written when it reaches the end of a chunk, when the next point
+ * is not the one after the last (for instance a new line) or on {@link #flush()},
+ * which must be called before the file is closed.
+ */
+public class BufferedScanWriter {
+
+	private final ILazyWriteableDataset dataset;
+	private final double[]              buffer;
+
+	private int[] start;
+	private int   count;
+
+	/**
+	 *
+	 * @param dataset with the rank of the scan.
+	 * @param size number of points written at once, normally the chunk size of the innermost dimension.
+	 */
+	public BufferedScanWriter(ILazyWriteableDataset dataset, int size) {
+		this.dataset = dataset;
+		this.buffer  = new double[Math.max(1, size)];
+	}
+
+	/**
+	 *
+	 * @param slice the position of the point in the scan, as made by IScanRankService without a data shape.
+	 * @param value
+	 * @throws ScanningException
+	 */
+	public void write(IScanSlice slice, double value) throws ScanningException {
+
+		final int[] pos = slice.getStart();
+		if (count>0 && !isNext(pos)) flush();
+		if (count==0) start = pos.clone();
+
+		buffer[count++] = value;
+
+		// Written when full or at the end of a chunk so that chunks are only written once.
+		final int inner = pos.length-1;
+		if (count==buffer.length || (inner>-1 && (pos[inner]+1)%buffer.length==0)) flush();
+	}
+
+	private boolean isNext(int[] pos) {
+		if (pos.length!=start.length) return false;
+		final int inner = pos.length-1;
+		if (inner<0) return false; // Scalar scan, nothing to buffer
+		for (int i = 0; i < inner; i++) {
+			if (pos[i]!=start[i]) return false;
+		}
+		return pos[inner]==start[inner]+count;
+	}
+
+	/**
+	 * Write any values waiting.
+	 * @throws ScanningException
+	 */
+	public void flush() throws ScanningException {
+
+		if (count==0) return;
+		try {
+			final int[] shape = new int[start.length];
+			final int[] stop  = new int[start.length];
+			for (int i = 0; i < start.length; i++) {
+				shape[i] = 1;
+				stop[i]  = start[i]+1;
+			}
+			if (start.length>0) {
+				shape[start.length-1] = count;
+				stop[start.length-1]  = start[start.length-1]+count;
+			}
+
+			final double[] values = new double[count];
+			System.arraycopy(buffer, 0, values, 0, count);
+			final Dataset data = DatasetFactory.createFromObject(values, shape);
+
+			dataset.setSlice(null, data, new SliceND(dataset.getShape(), dataset.getMaxShape(), start, stop, null));
+
+		} catch (DatasetException e) {
+			throw new ScanningException(e);
+		} finally {
+			count = 0;
+		}
+	}
+
+	/**
+	 * Values not yet written are thrown away.
+	 */
+	public void clear() {
+		count = 0;
+	}
+}
@@ -16,18 +16,24 @@ import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_
 import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.UUID;
 
 import org.eclipse.dawnsci.analysis.api.processing.IOperationBean;
 import org.eclipse.scanning.api.ModelValidationException;
 import org.eclipse.scanning.api.ValidationException;
+import org.eclipse.scanning.api.annotation.scan.ScanEnd;
+import org.eclipse.scanning.api.annotation.scan.ScanFinally;
 import org.eclipse.scanning.api.annotation.scan.ScanStart;
+import org.eclipse.scanning.api.annotation.scan.WriteComplete;
 import org.eclipse.scanning.api.device.AbstractRunnableDevice;
 import org.eclipse.scanning.api.device.IWritableDetector;
 import org.eclipse.scanning.api.device.models.ClusterProcessingModel;
 import org.eclipse.scanning.api.device.models.DeviceRole;
 import org.eclipse.scanning.api.device.models.ScanMode;
 import org.eclipse.scanning.api.event.IEventService;
+import org.eclipse.scanning.api.event.core.IPublisher;
 import org.eclipse.scanning.api.event.core.ISubmitter;
+import org.eclipse.scanning.api.event.status.Status;
 import org.eclipse.scanning.api.event.status.StatusBean;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.scan.IFilePathService;
@@ -38,6 +44,18 @@ import org.eclipse.scanning.sequencer.ServiceHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * 
+ * Submits the processing of a detector's data to the cluster at the start of the scan.
+ * 
+ * If the model is live, the progress of the scan is also published on {@link #PROCESSING_PROGRESS_TOPIC}
+ * as points are written. Each message has the unique id of the submitted bean and the highest unique key
+ * written to the (SWMR) scan file, so the processing can follow the scan rather than waiting for the end of it.
+ * Messages are sent at most every {@link #PROGRESS_PERIOD} ms and always at the end of the scan.
+ * 
+ * @author Matthew Gerring
+ *
+ */
 public class ClusterProcessingRunnableDevice extends AbstractRunnableDevice<ClusterProcessingModel>
 		implements IWritableDetector<ClusterProcessingModel> {
 
@@ -49,7 +67,32 @@ public class ClusterProcessingRunnableDevice extends AbstractRunnableDevice<Clus
 	
 	public static final String NEXUS_FILE_EXTENSION = ".nxs";
 	
+	public static final String PROCESSING_PROGRESS_TOPIC = "scisoft.operation.PROGRESS_TOPIC";
+	
+	/**
+	 * Properties of the progress messages
+	 */
+	public static final String PROPERTY_LIVE           = "live";
+	public static final String PROPERTY_PROGRESS_TOPIC = "progressTopic";
+	public static final String PROPERTY_UNIQUE_KEY     = "uniqueKey";
+	public static final String PROPERTY_FRAME_COUNT    = "frameCount";
+	public static final String PROPERTY_SCAN_FINISHED  = "scanFinished";
+	
+	/**
+	 * Minimum time in ms between progress messages
+	 */
+	public static final long PROGRESS_PERIOD = 250;
+	
 	private static ISubmitter<StatusBean> submitter = null;
+	private static IEventService          submitterService = null; // The event service which made the submitter
+	
+	// Used in live mode
+	private IPublisher<StatusBean> progressPublisher;
+	private StatusBean             progress;
+	private int                    scanSize;
+	private int                    frameCount;
+	private int                    lastUniqueKey;
+	private long                   lastPublished;
 	
 	public ClusterProcessingRunnableDevice() {
 		super(ServiceHolder.getRunnableDeviceService());
@@ -60,10 +103,90 @@ public class ClusterProcessingRunnableDevice extends AbstractRunnableDevice<Clus
 	@ScanStart
 	public void submitProcessingOperation(ScanInformation scanInfo) {
 		final IOperationBean operationBean = createOperationBean(scanInfo);
+		if (getModel().isLive()) {
+			try {
+				createProgress((StatusBean) operationBean, scanInfo);
+			} catch (Exception e) {
+				// The processing is still submitted, it is just not told about the progress of the scan.
+				this.progress = null;
+				logger.error("Could not publish progress for processing step " + getName() + ", the processing will not be live", e);
+			}
+		}
 		try {
 			getSubmitter().submit((StatusBean) operationBean);
 		} catch (Exception e) {
-			logger.error("Could not submit processing bean for processing step" + getName());
+			logger.error("Could not submit processing bean for processing step " + getName(), e);
+		}
+	}
+	
+	/**
+	 * Connects the progress publisher then marks the bean as live, so that
+	 * the bean is not marked if there will be no progress.
+	 */
+	private void createProgress(StatusBean operationBean, ScanInformation scanInfo) throws Exception {
+		
+		if (progressPublisher==null) {
+			URI uri = new URI(CommandConstants.getScanningBrokerUri());
+			this.progressPublisher = ServiceHolder.getEventService().createPublisher(uri, PROCESSING_PROGRESS_TOPIC);
+		}
+		
+		operationBean.setProperty(PROPERTY_LIVE, Boolean.TRUE.toString());
+		operationBean.setProperty(PROPERTY_PROGRESS_TOPIC, PROCESSING_PROGRESS_TOPIC);
+		if (operationBean.getUniqueId()==null) operationBean.setUniqueId(UUID.randomUUID().toString()); // So that progress can refer to it
+		
+		this.progress = new StatusBean(operationBean.getName());
+		progress.setUniqueId(operationBean.getUniqueId());
+		progress.setStatus(Status.RUNNING);
+		
+		this.scanSize      = scanInfo.getSize();
+		this.frameCount    = 0;
+		this.lastUniqueKey = 0;
+		this.lastPublished = 0;
+	}
+	
+	/**
+	 * Called when all the devices have written a point, publishes
+	 * the progress if it has not been published recently.
+	 * @param written
+	 */
+	@WriteComplete
+	public void writeComplete(IPosition written) {
+		if (progress==null || written==null) return;
+		frameCount++;
+		lastUniqueKey = Math.max(lastUniqueKey, written.getStepIndex()+1); // Matches the unique keys written by the SolsticeScanMonitor
+		if (System.currentTimeMillis()-lastPublished < PROGRESS_PERIOD) return;
+		publishProgress(false);
+	}
+	
+	@ScanEnd
+	public void scanEnd() {
+		if (progress==null) return;
+		publishProgress(true);
+	}
+	
+	@ScanFinally
+	public void scanFinally() {
+		this.progress = null;
+		if (progressPublisher!=null) {
+			try {
+				progressPublisher.disconnect();
+			} catch (Exception e) {
+				logger.error("Could not disconnect progress publisher for processing step " + getName(), e);
+			}
+			progressPublisher = null;
+		}
+	}
+
+	private void publishProgress(boolean finished) {
+		progress.setProperty(PROPERTY_UNIQUE_KEY,    String.valueOf(lastUniqueKey));
+		progress.setProperty(PROPERTY_FRAME_COUNT,   String.valueOf(frameCount));
+		progress.setProperty(PROPERTY_SCAN_FINISHED, String.valueOf(finished));
+		progress.setPercentComplete(finished ? 100 : scanSize>0 ? 100d*frameCount/scanSize : 0);
+		try {
+			progressPublisher.broadcast(progress);
+			lastPublished = System.currentTimeMillis();
+		} catch (Exception e) {
+			logger.error("Could not publish progress for processing step " + getName(), e);
 		}
 	}
 	
@@ -75,14 +198,15 @@ public class ClusterProcessingRunnableDevice extends AbstractRunnableDevice<Clus
         }
 	}
 	
-	private ISubmitter<StatusBean> getSubmitter() throws Exception {
-		if (submitter == null) {
+	private static synchronized ISubmitter<StatusBean> getSubmitter() throws Exception {
+		if (submitter == null || submitterService != ServiceHolder.getEventService()) {
 			submitter = createSubmitter();
+			submitterService = ServiceHolder.getEventService();
 		}
 		return submitter;
 	}
 	
-	private ISubmitter<StatusBean> createSubmitter() throws Exception {
+	private static ISubmitter<StatusBean> createSubmitter() throws Exception {
 		try {
 			URI uri = new URI(CommandConstants.getScanningBrokerUri());
 			IEventService eventService = ServiceHolder.getEventService();
@@ -0,0 +1,118 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer.analysis;
+
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.IndexIterator;
+import org.eclipse.january.dataset.SliceND;
+
+/**
+ *
+ * Statistics of one frame worked out in a single pass using
+ * primitives. One instance is reused for each frame of the scan
+ * so that nothing is allocated per point.
+ *
+ * The variance is the population variance, calculated using
+ * Welford's method which is stable for large frames.
+ */
+public class FrameStatistics {
+
+	private long   count;
+	private double sum;
+	private double mean;
+	private double m2;
+	private double min;
+	private double max;
+
+	/**
+	 * Reset and accumulate the values of a frame.
+	 * @param frame
+	 */
+	public void accept(IDataset frame) {
+
+		count = 0;
+		sum   = 0;
+		mean  = 0;
+		m2    = 0;
+		min   = Double.POSITIVE_INFINITY;
+		max   = Double.NEGATIVE_INFINITY;
+
+		final Dataset       data = DatasetUtils.convertToDataset(frame);
+		final IndexIterator it   = data.getIterator();
+		while(it.hasNext()) {
+			final double value = data.getElementDoubleAbs(it.index);
+			count++;
+			sum += value;
+			final double delta = value - mean;
+			mean += delta / count;
+			m2   += delta * (value - mean);
+			if (value < min) min = value;
+			if (value > max) max = value;
+		}
+	}
+
+	/**
+	 * Sum a region of a frame. The region is in the last dimensions of the frame,
+	 * so a frame which still has its scan dimensions (all of size 1) may be used.
+	 *
+	 * @param frame
+	 * @param start of the region in the data dimensions
+	 * @param shape of the region in the data dimensions
+	 * @return the sum of the region, clipped to the frame.
+	 */
+	public static double sum(IDataset frame, int[] start, int[] shape) {
+
+		final int[] fshape = frame.getShape();
+		final int   offset = fshape.length - start.length;
+		if (offset<0 || start.length!=shape.length) throw new IllegalArgumentException("The region must have the rank of the data or less!");
+
+		final int[] rstart = new int[fshape.length];
+		final int[] rstop  = fshape.clone();
+		for (int i = 0; i < start.length; i++) {
+			rstart[offset+i] = Math.min(Math.max(0, start[i]), fshape[offset+i]);
+			rstop[offset+i]  = Math.min(rstart[offset+i]+Math.max(0, shape[i]), fshape[offset+i]);
+			if (rstop[offset+i]<=rstart[offset+i]) return 0;
+		}
+
+		final Dataset       data = DatasetUtils.convertToDataset(frame).getSliceView(new SliceND(fshape, rstart, rstop, null));
+		final IndexIterator it   = data.getIterator();
+		double sum = 0;
+		while(it.hasNext()) sum += data.getElementDoubleAbs(it.index);
+		return sum;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getSum() {
+		return sum;
+	}
+
+	public double getMean() {
+		return count>0 ? mean : Double.NaN;
+	}
+
+	public double getVariance() {
+		return count>0 ? m2 / count : Double.NaN;
+	}
+
+	public double getMin() {
+		return count>0 ? min : Double.NaN;
+	}
+
+	public double getMax() {
+		return count>0 ? max : Double.NaN;
+	}
+}
@@ -1,6 +1,8 @@
 package org.eclipse.scanning.sequencer.analysis;
 
+import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.Slice;
 
 @FunctionalInterface
 public interface IJythonFunction {
@@ -11,4 +13,34 @@ public interface IJythonFunction {
 	 * @return
 	 */
 	public IDataset process(IDataset slice);
+
+	/**
+	 * Process several consecutive frames at once, used when the
+	 * batch size of the JythonModel is more than one. Override this
+	 * to avoid calling across into jython once per frame.
+	 * 
+	 * The default calls process(...) for each frame.
+	 * 
+	 * @param stack the frames stacked along the first dimension
+	 * @return the results stacked along the first dimension, one per frame.
+	 */
+	default IDataset processStack(IDataset stack) {
+		
+		final int[] shape      = stack.getShape();
+		final int[] frameShape = new int[shape.length-1];
+		System.arraycopy(shape, 1, frameShape, 0, frameShape.length);
+		
+		final IDataset[] results = new IDataset[shape[0]];
+		for (int i = 0; i < results.length; i++) {
+			IDataset frame = stack.getSlice(new Slice(i, i+1));
+			frame.setShape(frameShape);
+			IDataset result = process(frame).getSliceView(); // View so that the reshape does not change what the script returned
+			int[] rshape = new int[result.getRank()+1];
+			rshape[0] = 1;
+			System.arraycopy(result.getShape(), 0, rshape, 1, result.getRank());
+			result.setShape(rshape);
+			results[i] = result;
+		}
+		return DatasetUtils.concatenate(results, 0);
+	}
 }
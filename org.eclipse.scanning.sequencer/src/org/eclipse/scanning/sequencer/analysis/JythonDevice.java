@@ -1,5 +1,10 @@
 package org.eclipse.scanning.sequencer.analysis;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.eclipse.dawnsci.nexus.INexusDevice;
 import org.eclipse.dawnsci.nexus.NXdetector;
 import org.eclipse.dawnsci.nexus.NexusException;
@@ -8,25 +13,58 @@ import org.eclipse.dawnsci.nexus.NexusScanInfo;
 import org.eclipse.dawnsci.nexus.builder.NexusObjectProvider;
 import org.eclipse.dawnsci.nexus.builder.NexusObjectWrapper;
 import org.eclipse.january.DatasetException;
+import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.IDataset;
 import org.eclipse.january.dataset.ILazyWriteableDataset;
 import org.eclipse.january.dataset.SliceND;
+import org.eclipse.scanning.api.ModelValidationException;
+import org.eclipse.scanning.api.ValidationException;
+import org.eclipse.scanning.api.annotation.scan.ScanFinally;
+import org.eclipse.scanning.api.annotation.scan.ScanStart;
 import org.eclipse.scanning.api.device.models.JythonModel;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.rank.IScanRankService;
 import org.eclipse.scanning.api.scan.rank.IScanSlice;
 import org.eclipse.scanning.jython.JythonObjectFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * 
+ * Runs a jython function on each frame of the scan. If the batch size of 
+ * the model is more than one, consecutive frames are stacked and given
+ * to the function together using {@link IJythonFunction#processStack(IDataset)}
+ * and the results are written in one go. The lines of a snake scan which run
+ * backwards are batched too, their frames are stacked in the order of the file.
+ * 
+ * @author Matthew Gerring
+ *
+ */
 public class JythonDevice extends SlicingRunnableDevice<JythonModel>  implements INexusDevice<NXdetector> {
 	
+	private static final Logger logger = LoggerFactory.getLogger(JythonDevice.class);
+
 	private JythonObjectFactory<IJythonFunction> factory;
 	private ILazyWriteableDataset processed;
 	private NexusScanInfo info;
+	
+	/**
+	 * Frames waiting to be processed as one batch, all consecutive
+	 * in the innermost dimension of the scan in the same direction.
+	 */
+	private List<SliceDeviceContext> batch;
+
+	@Override
+	public void validate(JythonModel model) throws ValidationException {
+		super.validate(model);
+		if (model.getBatchSize()<1) throw new ModelValidationException("The batch size must be at least 1", model, "batchSize");
+	}
 
 	@Override
 	public void configure(JythonModel model) throws ScanningException {
 		super.configure(model);
 		this.factory = new JythonObjectFactory<>(IJythonFunction.class, model.getModuleName(), model.getClassName(), "org.eclipse.scanning.sequencer");
+		this.batch   = new ArrayList<>(Math.max(1, model.getBatchSize()));
 	}
 
 	@Override
@@ -34,18 +72,109 @@ public class JythonDevice extends SlicingRunnableDevice<JythonModel>  implements
 		
 		processed.setChunking(info.createChunk(getDataShape(context.getData())));
 
-		IJythonFunction jython = factory.createObject();
-		IDataset ret = jython.process(context.getSlice());
+		if (getModel().getBatchSize()<2) {
+			IJythonFunction jython = factory.createObject();
+			IDataset ret = jython.process(context.getSlice());
+			
+			IScanSlice sslice  = IScanRankService.getScanRankService().createScanSlice(context.getLocation(), ret.getShape());
+			SliceND    slicenD = new SliceND(processed.getShape(), processed.getMaxShape(), sslice.getStart(), sslice.getStop(), sslice.getStep());
+			write(ret, slicenD);
+			return true;
+		}
+		
+		if (!batch.isEmpty()) {
+			final int step = getStep(batch.get(batch.size()-1), context);
+			if (step==0 || (batch.size()>1 && step!=getStep(batch.get(0), batch.get(1)))) flush();
+		}
+		batch.add(new SliceDeviceContext(context.getLocation(), context.getScanSlice(), context.getData(), context.getSlice())); // The context is reused
+		
+		if (isLastPoint(context.getLocation()) || batch.size()>=getModel().getBatchSize()) flush();
+		return true;
+	}
+
+	@ScanStart
+	public void scanStart() {
+		if (batch!=null) batch.clear();
+	}
+
+	/**
+	 * Process the frames waiting in the current batch and write the results.
+	 * @throws ScanningException
+	 */
+	public void flush() throws ScanningException {
+		
+		if (batch==null || batch.isEmpty()) return;
+		try {
+			// A backwards line of a snake scan is stacked and written from its lowest index
+			if (batch.size()>1 && getStep(batch.get(0), batch.get(1))<0) Collections.reverse(batch);
+			
+			final int dataRank = getModel().getDataRank();
+			final IDataset[] frames = new IDataset[batch.size()];
+			for (int i = 0; i < frames.length; i++) {
+				IDataset slice = batch.get(i).getSlice();
+				int[] fshape = new int[dataRank+1];
+				fshape[0] = 1;
+				System.arraycopy(getDataShape(slice), 0, fshape, 1, dataRank);
+				slice.setShape(fshape);
+				frames[i] = slice;
+			}
+			IDataset stack = frames.length==1 ? frames[0] : DatasetUtils.concatenate(frames, 0);
+	
+			IJythonFunction jython = factory.createObject();
+			IDataset ret = jython.processStack(stack);
+			if (ret.getRank()<1 || ret.getShape()[0]!=frames.length) {
+				throw new ScanningException(this, "The function "+getModel().getClassName()+" returned "+Arrays.toString(ret.getShape())+" for "+frames.length+" frames!");
+			}
+			
+			// The results go in one hyperslab running along the innermost scan dimension
+			final int[] rshape = Arrays.copyOfRange(ret.getShape(), 1, ret.getRank());
+			IScanSlice first  = IScanRankService.getScanRankService().createScanSlice(batch.get(0).getLocation(), rshape);
+			int[] stop = first.getStop().clone();
+			stop[first.getStart().length-rshape.length-1] += frames.length-1;
+			SliceND slicenD = new SliceND(processed.getShape(), processed.getMaxShape(), first.getStart(), stop, first.getStep());
+			ret.setShape(slicenD.getShape());
+			write(ret, slicenD);
+			
+		} finally {
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Frames left over if the scan did not end normally are not written.
+	 */
+	@ScanFinally
+	public void clear() {
+		if (batch==null) return;
+		if (!batch.isEmpty()) logger.warn("{} frames were not processed by {} before the end of the scan", batch.size(), getName());
+		batch.clear();
+	}
+
+	/**
+	 * 
+	 * @param previous
+	 * @param next
+	 * @return 1 if next is the frame after previous in the innermost scan dimension, -1 if
+	 *         it is the frame before, as on the backwards line of a snake scan, otherwise 0.
+	 */
+	private int getStep(SliceDeviceContext previous, SliceDeviceContext next) {
 		
-		IScanSlice sslice  = IScanRankService.getScanRankService().createScanSlice(context.getLocation(), ret.getShape());
-		SliceND    slicenD = new SliceND(processed.getShape(), processed.getMaxShape(), sslice.getStart(), sslice.getStop(), sslice.getStep());
+		final int scanRank = previous.getScanSlice().getStart().length - getModel().getDataRank();
+		final int[] pstart = previous.getScanSlice().getStart();
+		final int[] nstart = next.getScanSlice().getStart();
+		for (int i = 0; i < scanRank-1; i++) {
+			if (pstart[i]!=nstart[i]) return 0;
+		}
+		final int step = nstart[scanRank-1]-pstart[scanRank-1];
+		return Math.abs(step)==1 ? step : 0;
+	}
+
+	private void write(IDataset ret, SliceND slicenD) throws ScanningException {
 		try {
 			processed.setSlice(null, ret, slicenD);
 		} catch (DatasetException e) {
 			throw new ScanningException(e);
 		}
-		
-		return true;
 	}
 	
 	@Override
@@ -11,6 +11,16 @@
  *******************************************************************************/
 package org.eclipse.scanning.sequencer.analysis;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.eclipse.dawnsci.analysis.api.persistence.IPersistenceService;
 import org.eclipse.dawnsci.analysis.api.persistence.IPersistentFile;
 import org.eclipse.dawnsci.analysis.api.processing.IExecutionVisitor;
@@ -37,6 +47,8 @@ import org.eclipse.scanning.api.device.models.ProcessingModel;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.rank.IScanSlice;
 import org.eclipse.scanning.sequencer.ServiceHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A runnable device that can be executed inline with the scan.
@@ -46,11 +58,21 @@ import org.eclipse.scanning.sequencer.ServiceHolder;
  * TODO This device is not finished and functional, it is not recommended to
  * expose to users unless more testing and improvements have occurred.
  * 
+ * If the parallelism of the model is more than one, frames are processed
+ * on a fork-join pool with one copy of the pipeline per thread. Each copy
+ * reads the operations file again or, if the model has an operation, is given
+ * a new operation from the operation service with the same model. The results 
+ * are written in scan order on the writing thread and the writing thread
+ * blocks if too many frames are waiting, which holds up the scan rather than
+ * queuing frames without limit.
+ * 
  * @author Matthew Gerring
  *
  */
 public class ProcessingRunnableDevice extends SlicingRunnableDevice<ProcessingModel> implements INexusDevice<NXdetector> {
 	
+	private static final Logger logger = LoggerFactory.getLogger(ProcessingRunnableDevice.class);
+
 	private ILazyWriteableDataset processed;
 	private NexusScanInfo         info;
 
@@ -59,6 +81,11 @@ public class ProcessingRunnableDevice extends SlicingRunnableDevice<ProcessingMo
 	
 	private IScanSlice   rslice;
 	private ILazyDataset data;
+	
+	// Used if frames are processed in parallel
+	private ForkJoinPool            pool;
+	private BlockingQueue<Pipeline> pipelines;
+	private Deque<PendingFrame>     pending;
 
 
 	public ProcessingRunnableDevice() {
@@ -95,11 +122,13 @@ public class ProcessingRunnableDevice extends SlicingRunnableDevice<ProcessingMo
 	public void validate(ProcessingModel model) throws ValidationException {
 		super.validate(model);
 		if (model.getOperationsFile()==null) throw new ModelValidationException("The operation file must be set!", model, "operationsFile");
+		if (model.getParallelism()<1) throw new ModelValidationException("The parallelism must be at least 1", model, "parallelism");
 	}
 	
 	@Override
 	public boolean process(SliceDeviceContext sdcontext) throws ScanningException {
 
+		if (getModel().getParallelism()>1) return processParallel(sdcontext);
 		try {
 
 			this.rslice = sdcontext.getScanSlice();
@@ -119,16 +148,116 @@ public class ProcessingRunnableDevice extends SlicingRunnableDevice<ProcessingMo
 		return true;
 	}
 	
+	private boolean processParallel(SliceDeviceContext sdcontext) throws ScanningException {
+		
+		this.data = sdcontext.getData();
+		if (pool==null) {
+			createPipelines(getModel().getParallelism());
+			processed.setChunking(info.createChunk(getDataShape(data)));
+		}
+		
+		final IDataset frame = sdcontext.getSlice();
+		final Future<IDataset> result = pool.submit(() -> {
+			Pipeline pipeline = pipelines.take();
+			try {
+				return pipeline.run(frame);
+			} finally {
+				pipelines.offer(pipeline);
+			}
+		});
+		pending.add(new PendingFrame(sdcontext.getScanSlice(), result));
+		
+		// Write anything finished, in order, without waiting.
+		while(!pending.isEmpty() && pending.peek().result.isDone()) writeNext();
+		
+		// If the pool is falling behind we block the writer and so the scan.
+		while(pending.size()>2*getModel().getParallelism()) writeNext();
+		
+		// The file is closed before the end of the scan is notified, so everything must be written now.
+		if (isLastPoint(sdcontext.getLocation())) {
+			while(!pending.isEmpty()) writeNext();
+		}
+		return true;
+	}
+	
+	private void writeNext() throws ScanningException {
+		
+		final PendingFrame next = pending.poll();
+		try {
+			IDataset result = getModel().getTimeout()>0 
+					        ? next.result.get(getModel().getTimeout(), TimeUnit.SECONDS)
+					        : next.result.get();
+			if (result==null) return; // Pipeline did not give a result for this frame
+			write(result, next.slice);
+			
+		} catch (InterruptedException ne) {
+			Thread.currentThread().interrupt();
+			throw new ScanningException(this, ne);
+		} catch (ExecutionException ne) {
+			throw new ScanningException("Cannot run processing from "+model.getOperationsFile(), ne.getCause());
+		} catch (TimeoutException ne) {
+			throw new ScanningException(this, "Processing of a frame took longer than "+getModel().getTimeout()+"s");
+		} catch (Exception ne) {
+			throw new ScanningException("Cannot write processing from "+model.getOperationsFile(), ne);
+		}
+	}
+
+	private void write(IDataset result, IScanSlice slice) throws Exception {
+		SliceND sliceND = new SliceND(processed.getShape(), processed.getMaxShape(), slice.getStart(), slice.getStop(), slice.getStep());
+		processed.setSlice(null, result, sliceND);
+	}
+	
 	@ScanFinally
 	public void clear() {
 		this.data = null;
+		if (pool!=null) {
+			if (!pending.isEmpty()) logger.warn("{} frames were not written by {} before the end of the scan", pending.size(), getName());
+			for (PendingFrame frame : pending) frame.result.cancel(true);
+			pool.shutdownNow();
+			this.pool      = null;
+			this.pipelines = null;
+			this.pending   = null;
+		}
+	}
+	
+	private void createPipelines(int parallelism) throws ScanningException {
+		
+		this.pipelines = new LinkedBlockingQueue<>(parallelism);
+		for (int i = 0; i < parallelism; i++) {
+			Pipeline pipeline = new Pipeline();
+			pipeline.context = createContext(pipeline, true); // Each one has its own operations so they are not shared.
+			pipelines.add(pipeline);
+		}
+		this.pending = new ArrayDeque<>(2*parallelism+1);
+		this.pool    = new ForkJoinPool(parallelism);
 	}
 
 	private void createOperationService() throws ScanningException {
 		
+		this.context = createContext(new IExecutionVisitor.Stub() {
+			@Override
+			public void executed(OperationData result, IMonitor monitor) throws Exception {
+				write(result.getData(), rslice);
+			}			
+		}, false);
+	}
+	
+	/**
+	 * 
+	 * @param visitor
+	 * @param copy if true the operation of the model is not used but a new one
+	 *        is created, so that each context may run on a thread of its own.
+	 * @return the context
+	 * @throws ScanningException
+	 */
+	private IOperationContext createContext(IExecutionVisitor visitor, boolean copy) throws ScanningException {
+		
 		try {
 			IOperation<?,?>[]         operations;
 			
+	        this.oservice = ServiceHolder.getOperationService();
+	        if (oservice == null) throw new ScanningException("Unable to use device '"+getName()+"' because no operations service is available.");
+			
 			// TODO Currently we assume that the templates for 
 			// the pipelines to run come from that saved by the UI which
 			// is the version in IPersistentFile.
@@ -145,29 +274,21 @@ public class ProcessingRunnableDevice extends SlicingRunnableDevice<ProcessingMo
 				operations = file.getOperations();
 				
 			} else if (getModel().getOperation()!=null) {
-				operations = new IOperation<?,?>[]{(IOperation<?,?>)getModel().getOperation()};
+				IOperation<?,?> operation = (IOperation<?,?>)getModel().getOperation();
+				if (copy) operation = copy(operation);
+				operations = new IOperation<?,?>[]{operation};
 			} else {
 				throw new ScanningException("No persisted operations file supplied!");
 			}
-			
-	        this.oservice = ServiceHolder.getOperationService();
-	        if (oservice == null) throw new ScanningException("Unable to use device '"+getName()+"' because no operations service is available.");
 	    
-	        this.context = oservice.createContext();
-	        context.setSeries(operations);
-			context.setVisitor(new IExecutionVisitor.Stub() {
-				@Override
-				public void executed(OperationData result, IMonitor monitor) throws Exception {
-					IDataset lastResult = result.getData();
-					SliceND slice = new SliceND(processed.getShape(), processed.getMaxShape(), rslice.getStart(), rslice.getStop(), rslice.getStep());
-					processed.setSlice(null, lastResult, slice);
-				}			
-			});
-
+	        IOperationContext ocontext = oservice.createContext();
+	        ocontext.setSeries(operations);
+			ocontext.setVisitor(visitor);
 	        
 	        // The data dimensions are the scan dimensions.
 			// TODO Hard coded to images
-	        context.setDataDimensions(new int[]{data.getRank()-2, data.getRank()-1});
+	        ocontext.setDataDimensions(new int[]{data.getRank()-2, data.getRank()-1});
+	        return ocontext;
         		
 		} catch (ScanningException known) {
 			throw known;
@@ -175,5 +296,46 @@ public class ProcessingRunnableDevice extends SlicingRunnableDevice<ProcessingMo
 			throw new ScanningException("Cannot run processing from "+model.getOperationsFile(), ne);
 		}
 	}
+	
+	/**
+	 * Creates the operation again with the operation service, the model is shared.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private IOperation<?,?> copy(IOperation<?,?> operation) throws Exception {
+		final IOperation copy = oservice.create(operation.getId());
+		if (copy==null) throw new ScanningException(this, "The operation '"+operation.getId()+"' cannot be created again for each thread, use an operations file or a parallelism of 1");
+		copy.setModel(operation.getModel());
+		return copy;
+	}
+	
+	/**
+	 * One copy of the operation series, used by one thread at a time.
+	 */
+	private class Pipeline extends IExecutionVisitor.Stub {
+		
+		private IOperationContext context;
+		private IDataset          result;
+		
+		@Override
+		public void executed(OperationData data, IMonitor monitor) throws Exception {
+			this.result = data.getData();
+		}
+		
+		IDataset run(IDataset frame) throws Exception {
+			result = null;
+			context.setData(frame); // Just this frame.
+			oservice.execute(context);
+			return result;
+		}
+	}
+	
+	private static class PendingFrame {
+		private final IScanSlice       slice;
+		private final Future<IDataset> result;
+		PendingFrame(IScanSlice slice, Future<IDataset> result) {
+			this.slice  = slice;
+			this.result = result;
+		}
+	}
 
 }
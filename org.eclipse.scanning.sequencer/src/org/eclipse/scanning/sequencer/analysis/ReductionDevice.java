@@ -0,0 +1,170 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer.analysis;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.dawnsci.nexus.INexusDevice;
+import org.eclipse.dawnsci.nexus.NXdetector;
+import org.eclipse.dawnsci.nexus.NexusException;
+import org.eclipse.dawnsci.nexus.NexusNodeFactory;
+import org.eclipse.dawnsci.nexus.NexusScanInfo;
+import org.eclipse.dawnsci.nexus.builder.NexusObjectProvider;
+import org.eclipse.dawnsci.nexus.builder.NexusObjectWrapper;
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.SliceND;
+import org.eclipse.scanning.api.ModelValidationException;
+import org.eclipse.scanning.api.ValidationException;
+import org.eclipse.scanning.api.annotation.scan.ScanFinally;
+import org.eclipse.scanning.api.device.models.ReductionModel;
+import org.eclipse.scanning.api.device.models.ReductionModel.Reduction;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.api.scan.rank.IScanRankService;
+import org.eclipse.scanning.api.scan.rank.IScanSlice;
+
+/**
+ * <pre>
+ * A device which reduces each frame of a detector to the numbers
+ * chosen in the model, for instance the mean, sum and maximum. Each
+ * frame is read once and all of the reductions are calculated in one
+ * pass so that several of them can be added for little more than the
+ * cost of one. Each reduction is written to a field named after it
+ * (e.g. "mean", "roi_sum") with the shape of the scan.
+ *
+ * If the model asks for it, the mean and variance of each pixel over
+ * the whole scan are also written to "running_mean" and "running_variance"
+ * at the end of the scan.
+ *
+ * NOTE Like {@link AveragingSlicingDevice}, this device reads back data written
+ * by a previous detector so needs the file to be flushed during the scan.
+ * </pre>
+ */
+public class ReductionDevice extends SlicingRunnableDevice<ReductionModel> implements INexusDevice<NXdetector> {
+
+	public static final String FIELD_NAME_RUNNING_MEAN     = "running_mean";
+	public static final String FIELD_NAME_RUNNING_VARIANCE = "running_variance";
+
+	private final FrameStatistics   statistics = new FrameStatistics();
+	private final RunningStatistics running    = new RunningStatistics();
+
+	private Map<Reduction, BufferedScanWriter> writers;
+	private ILazyWriteableDataset              runningMean, runningVariance;
+
+	/**
+	 *
+	 * @param reduction
+	 * @return the name of the field the reduction is written to.
+	 */
+	public static String getFieldName(Reduction reduction) {
+		return reduction.name().toLowerCase();
+	}
+
+	@Override
+	public void validate(ReductionModel model) throws ValidationException {
+		super.validate(model);
+		if (model.getReductions()==null || model.getReductions().length<1) throw new ModelValidationException("At least one reduction must be set!", model, "reductions");
+		if (Arrays.asList(model.getReductions()).contains(Reduction.ROI_SUM)) {
+			if (model.getRoiStart()==null || model.getRoiShape()==null) throw new ModelValidationException("The region must be set to sum a region!", model, "roiStart", "roiShape");
+			if (model.getRoiStart().length!=model.getRoiShape().length) throw new ModelValidationException("The region start and shape must have the same rank!", model, "roiStart", "roiShape");
+			if (model.getRoiStart().length>model.getDataRank()) throw new ModelValidationException("The region cannot have a greater rank than the data!", model, "roiStart", "roiShape");
+		}
+	}
+
+	@Override
+	boolean process(SliceDeviceContext context) throws ScanningException {
+
+		final IDataset frame = context.getSlice();
+		statistics.accept(frame);
+		if (getModel().isRunningVariance()) running.accept(frame);
+
+		final IScanSlice sslice = IScanRankService.getScanRankService().createScanSlice(context.getLocation());
+		for (Map.Entry<Reduction, BufferedScanWriter> entry : writers.entrySet()) {
+			entry.getValue().write(sslice, getValue(entry.getKey(), frame));
+		}
+
+		if (isLastPoint(context.getLocation())) {
+			for (BufferedScanWriter writer : writers.values()) writer.flush();
+			if (getModel().isRunningVariance()) writeRunning(getDataShape(context.getData()));
+		}
+		return true;
+	}
+
+	private double getValue(Reduction reduction, IDataset frame) {
+		switch(reduction) {
+		case MEAN:     return statistics.getMean();
+		case SUM:      return statistics.getSum();
+		case MIN:      return statistics.getMin();
+		case MAX:      return statistics.getMax();
+		case VARIANCE: return statistics.getVariance();
+		case ROI_SUM:  return FrameStatistics.sum(frame, getModel().getRoiStart(), getModel().getRoiShape());
+		default:       throw new IllegalArgumentException("Unknown reduction "+reduction);
+		}
+	}
+
+	private void writeRunning(int[] dataShape) throws ScanningException {
+		try {
+			IDataset mean     = running.getMean();
+			IDataset variance = running.getVariance();
+			mean.setShape(dataShape);
+			variance.setShape(dataShape);
+			runningMean.setSlice(null, mean, new SliceND(dataShape, runningMean.getMaxShape(), new int[dataShape.length], dataShape, null));
+			runningVariance.setSlice(null, variance, new SliceND(dataShape, runningVariance.getMaxShape(), new int[dataShape.length], dataShape, null));
+		} catch (DatasetException e) {
+			throw new ScanningException(e);
+		}
+	}
+
+	@ScanFinally
+	public void clear() {
+		if (writers!=null) for (BufferedScanWriter writer : writers.values()) writer.clear();
+		running.clear();
+	}
+
+	@Override
+	public NexusObjectProvider<NXdetector> getNexusProvider(NexusScanInfo info) throws NexusException {
+
+		final NXdetector detector = NexusNodeFactory.createNXdetector();
+
+		final int[] chunk = info.createChunk(false, 8);
+		final int   size  = chunk.length>0 ? chunk[chunk.length-1] : 1;
+
+		this.writers = new LinkedHashMap<>();
+		for (Reduction reduction : getModel().getReductions()) {
+			if (writers.containsKey(reduction)) continue;
+			ILazyWriteableDataset dataset = detector.initializeLazyDataset(getFieldName(reduction), info.getRank(), Double.class);
+			dataset.setChunking(chunk);
+			writers.put(reduction, new BufferedScanWriter(dataset, size));
+		}
+		if (getModel().isRunningVariance()) {
+			this.runningMean     = detector.initializeLazyDataset(FIELD_NAME_RUNNING_MEAN,     getModel().getDataRank(), Double.class);
+			this.runningVariance = detector.initializeLazyDataset(FIELD_NAME_RUNNING_VARIANCE, getModel().getDataRank(), Double.class);
+		}
+
+		Attributes.registerAttributes(detector, this);
+
+		NexusObjectWrapper<NXdetector> nexusProvider = new NexusObjectWrapper<NXdetector>(getModel().getDetectorName()+"_"+getModel().getName(), detector);
+
+		// Add all fields for any NXdata groups that this device creates
+		final String[] fields = writers.keySet().stream().map(ReductionDevice::getFieldName).toArray(String[]::new);
+		nexusProvider.setAxisDataFieldNames(fields);
+
+		// The first reduction is the primary data field (i.e. the 'signal' field of the default NXdata)
+		nexusProvider.setPrimaryDataFieldName(fields[0]);
+
+		return nexusProvider;
+	}
+
+}
@@ -0,0 +1,85 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer.analysis;
+
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.IndexIterator;
+
+/**
+ *
+ * The mean and variance of each pixel over all the frames of
+ * a scan, updated one frame at a time using Welford's method
+ * with primitive arrays.
+ */
+public class RunningStatistics {
+
+	private int[]    shape;
+	private double[] mean;
+	private double[] m2;
+	private long     count;
+
+	/**
+	 * Add a frame. All the frames must have the same size.
+	 * @param frame
+	 */
+	public void accept(IDataset frame) {
+
+		if (mean==null) {
+			shape = frame.getShape();
+			mean  = new double[frame.getSize()];
+			m2    = new double[frame.getSize()];
+		}
+		if (frame.getSize()!=mean.length) throw new IllegalArgumentException("The frame has size "+frame.getSize()+" but frames of size "+mean.length+" have been added!");
+
+		count++;
+		final Dataset       data = DatasetUtils.convertToDataset(frame);
+		final IndexIterator it   = data.getIterator();
+		for (int i = 0; it.hasNext(); i++) {
+			final double value = data.getElementDoubleAbs(it.index);
+			final double delta = value - mean[i];
+			mean[i] += delta / count;
+			m2[i]   += delta * (value - mean[i]);
+		}
+	}
+
+	public void clear() {
+		shape = null;
+		mean  = null;
+		m2    = null;
+		count = 0;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the mean of each pixel, with the shape of the frames, or null if no frames have been added.
+	 */
+	public Dataset getMean() {
+		if (mean==null) return null;
+		return DatasetFactory.createFromObject(mean.clone(), shape);
+	}
+
+	/**
+	 * @return the population variance of each pixel, with the shape of the frames, or null if no frames have been added.
+	 */
+	public Dataset getVariance() {
+		if (m2==null) return null;
+		final double[] variance = new double[m2.length];
+		for (int i = 0; i < variance.length; i++) variance[i] = m2[i] / count;
+		return DatasetFactory.createFromObject(variance, shape);
+	}
+}
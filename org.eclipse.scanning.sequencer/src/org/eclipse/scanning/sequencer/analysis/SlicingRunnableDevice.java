@@ -10,11 +10,13 @@ import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.january.dataset.SliceND;
 import org.eclipse.scanning.api.ModelValidationException;
 import org.eclipse.scanning.api.ValidationException;
+import org.eclipse.scanning.api.annotation.scan.ScanStart;
 import org.eclipse.scanning.api.device.AbstractRunnableDevice;
 import org.eclipse.scanning.api.device.IWritableDetector;
 import org.eclipse.scanning.api.device.models.DeviceRole;
 import org.eclipse.scanning.api.device.models.SlicingModel;
 import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.scan.ScanInformation;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.rank.IScanRankService;
 import org.eclipse.scanning.api.scan.rank.IScanSlice;
@@ -33,7 +35,13 @@ import org.eclipse.scanning.sequencer.ServiceHolder;
  */
 public abstract class SlicingRunnableDevice<T extends SlicingModel> extends AbstractRunnableDevice<T> implements IWritableDetector<T>{
 
-
+	/**
+	 * The same context is used for every point, devices
+	 * which keep a context after process(...) returns must copy it.
+	 */
+	private final SliceDeviceContext context = new SliceDeviceContext();
+	
+	private int scanSize;
 
 	public SlicingRunnableDevice() {
 		super(ServiceHolder.getRunnableDeviceService());
@@ -68,7 +76,11 @@ public abstract class SlicingRunnableDevice<T extends SlicingModel> extends Abst
 			SliceND sliceData = new SliceND(data.getShape(), rslice.getStart(), rslice.getStop(), rslice.getStep());
 			IDataset slice = data.getSlice(sliceData);
 	
-			return process(new SliceDeviceContext(loc, rslice, data, slice));
+			context.setLocation(loc);
+			context.setScanSlice(rslice);
+			context.setData(data);
+			context.setSlice(slice);
+			return process(context);
 			
 		} catch (ScanningException se) {
 			throw se;
@@ -77,6 +89,22 @@ public abstract class SlicingRunnableDevice<T extends SlicingModel> extends Abst
 		}
 	}
 
+	@ScanStart
+	public void recordScanSize(ScanInformation info) {
+		this.scanSize = info!=null ? info.getSize() : 0;
+	}
+	
+	/**
+	 * The file is closed before the end of the scan is notified, so devices
+	 * which keep data back must write it when this is true.
+	 * 
+	 * @param loc
+	 * @return true if loc is the last point of the scan.
+	 */
+	protected boolean isLastPoint(IPosition loc) {
+		return scanSize>0 && loc.getStepIndex()>=scanSize-1;
+	}
+
 	/**
 	 * This method is called with each slice of scan data read 
 	 * @param loc
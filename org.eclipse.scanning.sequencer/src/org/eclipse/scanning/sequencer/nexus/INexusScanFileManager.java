@@ -17,6 +17,7 @@ import org.eclipse.dawnsci.nexus.NexusScanInfo;
 import org.eclipse.scanning.api.IConfigurable;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.sequencer.PointTrace;
 
 /**
  * An interface defining a nexus scan file to managed.
@@ -62,4 +63,22 @@ public interface INexusScanFileManager extends IConfigurable<ScanModel> {
 	 * @return
 	 */
 	public Set<String> getExternalFilePaths();
+
+	/**
+	 * The queue which owns writing to the file, if the file was
+	 * created to be written asynchronously.
+	 * @return the queue or <code>null</code> if slices are written on the thread which makes them.
+	 */
+	default NexusWriteQueue getWriteQueue() {
+		return null;
+	}
+
+	/**
+	 * Set the timings of the points of the scan to be summarised in the file.
+	 * Must be called after configure and before the file is created.
+	 * @param trace
+	 */
+	default void setPointTrace(PointTrace trace) {
+		// Nothing to write to by default
+	}
 }
@@ -24,6 +24,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.eclipse.dawnsci.nexus.INexusDevice;
@@ -47,6 +54,7 @@ import org.eclipse.dawnsci.nexus.builder.data.PrimaryDataDevice;
 import org.eclipse.dawnsci.nexus.builder.impl.MapBasedMetadataProvider;
 import org.eclipse.scanning.api.INameable;
 import org.eclipse.scanning.api.IScannable;
+import org.eclipse.scanning.api.ITimeoutable;
 import org.eclipse.scanning.api.MonitorRole;
 import org.eclipse.scanning.api.device.AbstractRunnableDevice;
 import org.eclipse.scanning.api.device.IScannableDeviceService;
@@ -63,6 +71,7 @@ import org.eclipse.scanning.api.scan.models.ScanDeviceModel.ScanFieldModel;
 import org.eclipse.scanning.api.scan.models.ScanMetadata;
 import org.eclipse.scanning.api.scan.models.ScanMetadata.MetadataType;
 import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.sequencer.PointTrace;
 import org.eclipse.scanning.sequencer.ServiceHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,6 +83,18 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 	
 	private static final Logger logger = LoggerFactory.getLogger(NexusScanFileManager.class);
 
+	/**
+	 * The number of threads used to make the nexus objects of the devices
+	 * and to get the per-scan monitors, default 8. If 1 they are made in turn.
+	 */
+	public static final String THREADS_PROPERTY = "org.eclipse.scanning.sequencer.nexus.threads";
+
+	/**
+	 * The time in seconds to wait for a device which does not have a timeout
+	 * of its own to make its nexus object, default 60.
+	 */
+	public static final String TIMEOUT_PROPERTY = "org.eclipse.scanning.sequencer.nexus.timeout";
+
 	private final AbstractRunnableDevice<ScanModel> scanDevice;
 	private final IScannableDeviceService scannableDeviceService;
 	private ScanModel model;
@@ -81,6 +102,8 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 	private NexusFileBuilder fileBuilder;
 	private NexusScanFile nexusScanFile;
 	private SolsticeScanMonitor solsticeScanMonitor;
+	private NexusWriteQueue writeQueue;
+	private NexusScanTemplate template;
 	
 	// we need to cache various things as they are used more than once
 	/**
@@ -126,8 +149,9 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 		}
 		
 		this.model = model;
+		this.template = getTemplate(model);
 		
-		final List<String> scannableNames = getScannableNames(model.getPositionIterable());
+		final List<String> scannableNames = template.getScannableNames();
 		addLegacyPerScanMonitors(model, scannableNames);
 
 		this.scanInfo = createScanInfo(model, scannableNames);
@@ -167,6 +191,12 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 			// create the file from the builder and open it
 			nexusScanFile = fileBuilder.createFile(async);
 			nexusScanFile.openToWrite();
+			if (async) {
+				// One thread owns the file, devices queue their slices to it.
+				writeQueue = new NexusWriteQueue(this::flushFile);
+				writeQueue.start();
+				solsticeScanMonitor.setWriteQueue(writeQueue);
+			}
 			return model.getFilePath();
 		} catch (NexusException e) {
 			throw new ScanningException("Cannot create nexus file", e);
@@ -179,13 +209,26 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 	 */
 	public void flushNexusFile() throws ScanningException {
 		try {
-			int code = nexusScanFile.flush();
-			if (code < 0) {
-				logger.warn("Problem flushing during scan! Flush code is "+code);
+			if (writeQueue!=null) {
+				writeQueue.call(this::flushFile);
+			} else {
+				flushFile();
 			}
 		} catch (NexusException e) {
 			throw new ScanningException("Cannot create nexus file", e);
+		} catch (ScanningException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new ScanningException("Cannot flush nexus file", e);
+		}
+	}
+
+	private Void flushFile() throws NexusException {
+		int code = nexusScanFile.flush();
+		if (code < 0) {
+			logger.warn("Problem flushing during scan! Flush code is "+code);
 		}
+		return null;
 	}
 	
 	/**
@@ -193,14 +236,31 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 	 * @throws ScanningException
 	 */
 	public void scanFinished() throws ScanningException {
-		solsticeScanMonitor.scanFinished();
+		ScanningException queueError = null;
 		try {
-			nexusScanFile.close();
-		} catch (NexusException e) {
-			throw new ScanningException("Could not close nexus file", e);
+			// Everything queued must be written before the file is closed.
+			if (writeQueue!=null) writeQueue.close();
+		} catch (ScanningException ne) {
+			queueError = ne; // The file must still be closed
 		} finally {
-			scanDevice.removePositionListener(this);
+			solsticeScanMonitor.setWriteQueue(null);
 		}
+		try {
+			solsticeScanMonitor.scanFinished();
+		} catch (ScanningException ne) {
+			if (queueError!=null) ne.addSuppressed(queueError);
+			queueError = ne;
+		} finally {
+			try {
+				nexusScanFile.close();
+			} catch (NexusException e) {
+				if (queueError==null) throw new ScanningException("Could not close nexus file", e);
+				queueError.addSuppressed(e);
+			} finally {
+				scanDevice.removePositionListener(this);
+			}
+		}
+		if (queueError!=null) throw queueError;
 	}
 	
 	public boolean isNexusWritingEnabled() {
@@ -210,6 +270,16 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 	public NexusScanInfo getNexusScanInfo() {
 		return scanInfo;
 	}
+
+	@Override
+	public NexusWriteQueue getWriteQueue() {
+		return writeQueue;
+	}
+	
+	@Override
+	public void setPointTrace(PointTrace trace) {
+		solsticeScanMonitor.setPointTrace(trace);
+	}
 	
 	@Override
 	public void positionPerformed(PositionEvent evt) throws ScanningException {
@@ -223,8 +293,7 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 	}
 
 	protected Map<ScanRole, Collection<INexusDevice<?>>> extractNexusDevices(ScanModel model) throws ScanningException {
-		final IPosition firstPosition = model.getPositionIterable().iterator().next();
-		final Collection<String> scannableNames = firstPosition.getNames();
+		final Collection<String> scannableNames = template.getPositionNames();
 		
 		Map<ScanRole, Collection<INexusDevice<?>>> nexusDevices = new EnumMap<>(ScanRole.class);
 		nexusDevices.put(ScanRole.DETECTOR,  getNexusDevices(model.getDetectors()));
@@ -241,20 +310,40 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 		return nexusDevices;
 	}
 
+	/**
+	 * Makes the nexus objects of all the devices at once, for instance so that
+	 * many per-scan monitors reading their positions do not wait for each other.
+	 * The providers are put in the map in the order of the devices once they have
+	 * all returned.
+	 * 
+	 * @return
+	 * @throws ScanningException if a device cannot make its nexus object or does not do so in time.
+	 */
 	protected Map<ScanRole, List<NexusObjectProvider<?>>> extractNexusProviders() throws ScanningException {
+		
+		final List<DeviceTask<NexusObjectProvider<?>>> tasks = new ArrayList<>();
+		for (ScanRole deviceType: ScanRole.values()) {
+			for (INexusDevice<?> nexusDevice : nexusDevices.get(deviceType)) {
+				tasks.add(new DeviceTask<>(getName(nexusDevice), getTimeout(nexusDevice), () -> {
+					try {
+						return nexusDevice.getNexusProvider(scanInfo);
+					} catch (NexusException e) {
+						throw new ScanningException("Cannot create device: " + e.getMessage(), e);
+					}
+				}));
+			}
+		}
+		final Iterator<NexusObjectProvider<?>> results = invokeAll(tasks).iterator();
+		
 		Map<ScanRole, List<NexusObjectProvider<?>>> nexusObjectProviders = new EnumMap<>(ScanRole.class);
 		for (ScanRole deviceType: ScanRole.values()) {
 			final Collection<INexusDevice<?>> nexusDevicesForType = nexusDevices.get(deviceType);
 			final List<NexusObjectProvider<?>> nexusObjectProvidersForType =
 					new ArrayList<>(nexusDevicesForType.size());
-			for (INexusDevice<?> nexusDevice : nexusDevicesForType) {
-				try {
-					NexusObjectProvider<?> nexusProvider = nexusDevice.getNexusProvider(scanInfo);
-					if (nexusProvider != null) {
-						nexusObjectProvidersForType.add(nexusProvider);
-					}
-				} catch (NexusException e) {
-					throw new ScanningException("Cannot create device: " + e.getMessage(), e);
+			for (int i = 0; i < nexusDevicesForType.size(); i++) {
+				NexusObjectProvider<?> nexusProvider = results.next();
+				if (nexusProvider != null) {
+					nexusObjectProvidersForType.add(nexusProvider);
 				}
 			}
 			
@@ -264,6 +353,123 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 		return nexusObjectProviders;
 	}
 
+	/**
+	 * How often in ms the tasks which are running are checked against their timeouts.
+	 */
+	private static final long CHECK_PERIOD = 100;
+
+	/**
+	 * Runs the tasks on up to {@link #THREADS_PROPERTY} threads and waits for them
+	 * to finish, each within its own timeout from when it started. The time a task
+	 * waits for a thread is not counted.
+	 * 
+	 * @param tasks
+	 * @return the results in the order of the tasks
+	 * @throws ScanningException
+	 */
+	private <T> List<T> invokeAll(List<DeviceTask<T>> tasks) throws ScanningException {
+		
+		final List<T> results = new ArrayList<>(tasks.size());
+		final int threads = Math.min(tasks.size(), Integer.getInteger(THREADS_PROPERTY, 8));
+		if (threads < 2) {
+			for (DeviceTask<T> task : tasks) results.add(task.call());
+			return results;
+		}
+		
+		final ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "NeXus structure");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			final long start = System.currentTimeMillis();
+			final List<Future<T>> futures = new ArrayList<>(tasks.size());
+			for (DeviceTask<T> task : tasks) futures.add(pool.submit(task));
+			
+			for (int i = 0; i < tasks.size(); i++) {
+				try {
+					while(true) {
+						try {
+							results.add(futures.get(i).get(CHECK_PERIOD, TimeUnit.MILLISECONDS));
+							break;
+						} catch (TimeoutException e) {
+							for (DeviceTask<T> task : tasks) task.checkTimeout();
+						}
+					}
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof ScanningException) throw (ScanningException)e.getCause();
+					throw new ScanningException("Cannot create device: " + e.getCause().getMessage(), e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new ScanningException("Interrupted creating the nexus objects of the devices", e);
+				}
+			}
+			logger.debug("Made {} nexus objects on {} threads in {}ms", tasks.size(), threads, System.currentTimeMillis()-start);
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static String getName(Object device) {
+		return device instanceof INameable ? ((INameable)device).getName() : device.getClass().getSimpleName();
+	}
+
+	/**
+	 * The timeout of a device which implements ITimeoutable, for instance a scannable.
+	 * The timeout of a detector's model is how long it may take to run, not to make
+	 * its nexus object, so is not used.
+	 * 
+	 * @param device
+	 * @return the timeout of the device in seconds if it has one, otherwise {@link #TIMEOUT_PROPERTY}.
+	 */
+	private static long getTimeout(Object device) {
+		final long timeout = device instanceof ITimeoutable ? ((ITimeoutable)device).getTimeout() : -1;
+		return timeout > 0 ? timeout : Long.getLong(TIMEOUT_PROPERTY, 60);
+	}
+
+	/**
+	 * Something to do for a named device within its timeout, from when it starts.
+	 */
+	private static final class DeviceTask<T> implements Callable<T> {
+		
+		private final String      name;
+		private final long        timeout;
+		private final Callable<T> callable;
+		private volatile long     started, finished; // ns, 0 if not yet
+		
+		DeviceTask(String name, long timeout, Callable<T> callable) {
+			this.name     = name;
+			this.timeout  = timeout;
+			this.callable = callable;
+		}
+
+		/**
+		 * @throws ScanningException if the task has been running for longer than its timeout.
+		 */
+		void checkTimeout() throws ScanningException {
+			final long start = started;
+			if (start==0 || finished!=0) return;
+			if (System.nanoTime()-start > TimeUnit.SECONDS.toNanos(timeout)) {
+				throw new ScanningException("Device '"+name+"' did not make its nexus object within "+timeout+"s");
+			}
+		}
+
+		@Override
+		public T call() throws ScanningException {
+			started = System.nanoTime();
+			try {
+				return callable.call();
+			} catch (ScanningException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new ScanningException("Cannot create device '"+name+"': " + e.getMessage(), e);
+			} finally {
+				finished = System.nanoTime();
+			}
+		}
+	}
+
 	/**
 	 * Augments the set of monitors in the model with: <ul>
 	 * <li>any metadata scannables (called per-scan monitors in GDA9) from the legacy spring configuration;</li>
@@ -314,8 +520,10 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 		// setting them to be per scan monitors
 		if (!scannablesToAdd.isEmpty()) {
 			final List<IScannable<?>> monitors = new ArrayList<>(model.getMonitors());
-			monitors.addAll(perScanMonitorNames.stream()
-				.map(name -> getPerScanMonitor(name)).collect(Collectors.toList()));
+			// Getting a scannable may connect to it, so they are got at the same time.
+			monitors.addAll(invokeAll(perScanMonitorNames.stream()
+				.map(name -> new DeviceTask<IScannable<?>>(name, Long.getLong(TIMEOUT_PROPERTY, 60), () -> getPerScanMonitor(name)))
+				.collect(Collectors.toList())));
 
 			model.setMonitors(monitors);
 		}
@@ -340,21 +548,39 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 		return scannable;
 	}
 	
-	private List<String> getScannableNames(Iterable<IPosition> gen) {
-		List<String> names = null;
-		if (gen instanceof IDeviceDependentIterable) {
-			names = ((IDeviceDependentIterable)gen).getScannableNames();
-		}
-		if (names==null) {
-			names = model.getPositionIterable().iterator().next().getNames();
+	/**
+	 * Gets the structure of the scan path, which is only worked out by iterating
+	 * the path if a scan with the same path shape has not been run before.
+	 * 
+	 * @param model
+	 * @return
+	 * @throws ScanningException
+	 */
+	private NexusScanTemplate getTemplate(ScanModel model) throws ScanningException {
+		final String key = NexusScanTemplate.createKey(getClass(), model);
+		NexusScanTemplate template = NexusScanTemplate.get(key);
+		if (template == null) {
+			final Iterable<IPosition> gen = model.getPositionIterable();
+			final IPosition firstPosition = gen.iterator().next();
+			List<String> names = null;
+			if (gen instanceof IDeviceDependentIterable) {
+				names = ((IDeviceDependentIterable)gen).getScannableNames();
+			}
+			if (names==null) {
+				names = firstPosition.getNames();
+			}
+			final List<Collection<String>> dimensionNames = firstPosition instanceof AbstractPosition
+					? ((AbstractPosition)firstPosition).getDimensionNames() : null;
+			template = new NexusScanTemplate(names, firstPosition.getNames(), dimensionNames, getScanRank(model));
+			NexusScanTemplate.put(key, template);
 		}
-		return names;
+		return template;
 	}
 	
 	private NexusScanInfo createScanInfo(ScanModel scanModel, List<String> scannableNames) throws ScanningException {
 		final NexusScanInfo nexusScanInfo = new NexusScanInfo(scannableNames);
 
-		final int scanRank = getScanRank(scanModel);
+		final int scanRank = template.getScanRank();
 		nexusScanInfo.setRank(scanRank);
 		nexusScanInfo.setShape(scanModel.getScanInformation().getShape());
 		
@@ -637,9 +863,12 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 	private Map<String, Integer> createDefaultAxisMap(List<NexusObjectProvider<?>> scannables) {
 		final Map<String, Integer> defaultAxisIndexForScannableMap = new HashMap<>();
 		
-		AbstractPosition firstPosition = (AbstractPosition) model.getPositionIterable().iterator().next();
 		// A collection of dimension (scannable) names for each index of the scan
-		List<Collection<String>> dimensionNames = firstPosition.getDimensionNames();
+		List<Collection<String>> dimensionNames = template.getDimensionNames();
+		if (dimensionNames == null) {
+			AbstractPosition firstPosition = (AbstractPosition) model.getPositionIterable().iterator().next();
+			dimensionNames = firstPosition.getDimensionNames();
+		}
 		
 		// Convert the list into a map from scannable name to index in scan, only including
 		// scannable names which are the dimension name for exactly one index of the scan
@@ -0,0 +1,195 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer.nexus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.models.AbstractPointsModel;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.JythonGeneratorModel;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.api.scan.models.ScanModel;
+
+/**
+ * <pre>
+ * The structure of a scan which the nexus file is built from and which
+ * can only be found by iterating the scan path: the scannable names,
+ * the rank and the scannables of each dimension. Getting the first point
+ * of a compound path can be slow, so these are kept for scans which repeat
+ * the same path shape and used again rather than iterating each time.
+ *
+ * A template is keyed by the type of file manager, the shape of the scan
+ * and the types and scannables of the path models, including the type and
+ * values of any regions. Scans whose path is not an {@link IPointGenerator}
+ * are not kept, nor are those with a path model whose scannables are not
+ * all fields of the model, for instance a {@link JythonGeneratorModel}, whose
+ * scannables are given by its script, or a model contributed by another bundle.
+ * At most {@link #CACHE_SIZE_PROPERTY} templates are kept, the least
+ * recently used being dropped first.
+ * </pre>
+ */
+public class NexusScanTemplate {
+
+	/**
+	 * The number of templates kept, default 16. If 0 none are kept.
+	 */
+	public static final String CACHE_SIZE_PROPERTY = "org.eclipse.scanning.sequencer.nexus.templates";
+
+	private static final Map<String, NexusScanTemplate> templates = new LinkedHashMap<String, NexusScanTemplate>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, NexusScanTemplate> eldest) {
+			return size() > Integer.getInteger(CACHE_SIZE_PROPERTY, 16);
+		}
+	};
+
+	private static int hits, misses;
+
+	private final List<String>             scannableNames;
+	private final List<String>             positionNames;
+	private final List<Collection<String>> dimensionNames;
+	private final int                      scanRank;
+
+	/**
+	 *
+	 * @param scannableNames the names of the scannables of the scan
+	 * @param positionNames the names of the first position
+	 * @param dimensionNames the names of the scannables in each dimension of the first position, may be null
+	 * @param scanRank
+	 */
+	NexusScanTemplate(List<String> scannableNames, List<String> positionNames, List<Collection<String>> dimensionNames, int scanRank) {
+		this.scannableNames = Collections.unmodifiableList(new ArrayList<>(scannableNames));
+		this.positionNames  = Collections.unmodifiableList(new ArrayList<>(positionNames));
+		this.dimensionNames = dimensionNames!=null ? Collections.unmodifiableList(new ArrayList<>(dimensionNames)) : null;
+		this.scanRank       = scanRank;
+	}
+
+	public List<String> getScannableNames() {
+		return scannableNames;
+	}
+
+	public List<String> getPositionNames() {
+		return positionNames;
+	}
+
+	public List<Collection<String>> getDimensionNames() {
+		return dimensionNames;
+	}
+
+	public int getScanRank() {
+		return scanRank;
+	}
+
+	/**
+	 *
+	 * @param key may be null
+	 * @return the template for the key or null if there is not one.
+	 */
+	static synchronized NexusScanTemplate get(String key) {
+		if (key==null) return null;
+		final NexusScanTemplate template = templates.get(key);
+		if (template!=null) {
+			hits++;
+		} else {
+			misses++;
+		}
+		return template;
+	}
+
+	/**
+	 * Keep a template, does nothing if the key is null.
+	 * @param key
+	 * @param template
+	 */
+	static synchronized void put(String key, NexusScanTemplate template) {
+		if (key==null || Integer.getInteger(CACHE_SIZE_PROPERTY, 16)<1) return;
+		templates.put(key, template);
+	}
+
+	/**
+	 * Creates the key of the template for a scan.
+	 *
+	 * @param managerClass the class of the file manager, which may find the rank differently
+	 * @param model
+	 * @return the key, or null if the structure of the scan cannot be known without iterating it.
+	 */
+	static String createKey(Class<?> managerClass, ScanModel model) {
+
+		if (!(model.getPositionIterable() instanceof IPointGenerator<?>)) return null;
+		final IPointGenerator<?> gen = (IPointGenerator<?>)model.getPositionIterable();
+		final Object pmodel = gen.getModel();
+		if (pmodel==null || model.getScanInformation()==null) return null;
+
+		final StringBuilder buf = new StringBuilder(managerClass.getName());
+		buf.append(Arrays.toString(model.getScanInformation().getShape()));
+		if (!appendModel(buf, pmodel)) return null;
+		if (gen.getRegions()!=null) for (Object region : gen.getRegions()) appendRegion(buf, region);
+		return buf.toString();
+	}
+
+	/**
+	 * @return false if the structure of the path of the model is not known from what was appended
+	 */
+	private static boolean appendModel(StringBuilder buf, Object pmodel) {
+		if (pmodel instanceof JythonGeneratorModel) return false;
+		if (!CompoundModel.class.getPackage().getName().equals(pmodel.getClass().getPackage().getName())) return false;
+		buf.append(pmodel.getClass().getName());
+		if (pmodel instanceof CompoundModel) {
+			final CompoundModel<?> cmodel = (CompoundModel<?>)pmodel;
+			buf.append('(');
+			if (cmodel.getModels()!=null) for (Object child : cmodel.getModels()) {
+				if (!appendModel(buf, child)) return false;
+			}
+			buf.append(')');
+			if (cmodel.getRegions()!=null) for (ScanRegion<?> region : cmodel.getRegions()) appendRegion(buf, region);
+		} else {
+			buf.append(AbstractPointsModel.getScannableNames(pmodel));
+		}
+		return true;
+	}
+
+	private static void appendRegion(StringBuilder buf, Object region) {
+		buf.append("region");
+		if (region instanceof ScanRegion) {
+			buf.append(((ScanRegion<?>)region).getScannables());
+			region = ((ScanRegion<?>)region).getRoi();
+		}
+		buf.append(region!=null ? region.getClass().getName() : null).append(region);
+	}
+
+	/**
+	 * @return the number of times a template was found.
+	 */
+	public static synchronized int getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return the number of times a template was looked for and not found.
+	 */
+	public static synchronized int getMisses() {
+		return misses;
+	}
+
+	public static synchronized void clear() {
+		templates.clear();
+		hits   = 0;
+		misses = 0;
+	}
+}
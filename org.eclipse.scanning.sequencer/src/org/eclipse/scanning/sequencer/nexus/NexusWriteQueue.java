@@ -0,0 +1,525 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer.nexus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.SliceND;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <pre>
+ * A single thread which owns the writing of a NeXus file. Slices to write
+ * and tasks which must be done in order with them (for instance a flush)
+ * are added to a bounded queue and done in order on the writer thread. The data
+ * of a slice is copied when it is added, so the caller may change it after. When the
+ * queue is full the caller blocks until there is space, so a slow file slows
+ * the scan down rather than using up the memory.
+ *
+ * Slices of the same dataset which are next to each other in the queue and next
+ * to each other in the file (e.g. the unique keys of the points in a line) are
+ * joined and written with one call. The file is flushed on the writer thread
+ * every flush period while there is something new in it.
+ *
+ * The depth and throughput of the queue may be read at any time. The
+ * queue must be closed, which waits for everything in it to be written,
+ * before the file is closed. If the writer thread stops, for instance
+ * because it was interrupted, the tasks waiting are cancelled and
+ * callers waiting for them or for space in the queue are given an error.
+ *
+ * Used when the system property "org.eclipse.scanning.sequencer.nexus.async" is set.
+ * Detector writes are still run on the scan's threads, only the slices which they write
+ * with {@link #setSlice(ILazyWriteableDataset, IDataset, SliceND)} go through the queue,
+ * as do the unique keys. Devices which call setSlice on the dataset themselves, for
+ * instance scannables which write their positions in setPosition(...) like
+ * MockNeXusScannable, still write on their own thread.
+ * </pre>
+ */
+public class NexusWriteQueue {
+
+	private static final Logger logger = LoggerFactory.getLogger(NexusWriteQueue.class);
+
+	/**
+	 * The size of the queue, default 256.
+	 */
+	public static final String QUEUE_SIZE_PROPERTY   = "org.eclipse.scanning.sequencer.nexus.queueSize";
+
+	/**
+	 * The time in ms between flushes of the file, default 1000.
+	 */
+	public static final String FLUSH_PERIOD_PROPERTY = "org.eclipse.scanning.sequencer.nexus.flushPeriod";
+
+	/**
+	 * The time in ms between checks that the writer thread is still running,
+	 * while a caller waits for a task or for space in the queue.
+	 */
+	private static final long CHECK_PERIOD = 1000;
+
+	/**
+	 * The most records taken from the queue to be written together.
+	 */
+	private static final int BATCH_SIZE = 64;
+
+	/**
+	 * Something to do on the writer thread when the file should be flushed.
+	 */
+	@FunctionalInterface
+	public interface IFlusher {
+		void flush() throws Exception;
+	}
+
+	/**
+	 * The queue of the detector write being run on a thread, if any.
+	 */
+	private static final ThreadLocal<NexusWriteQueue> current = new ThreadLocal<>();
+
+	private final BlockingQueue<Record> queue;
+	private final IFlusher              flusher;
+	private final long                  flushPeriod;
+	private final Thread                writer;
+
+	private final AtomicLong enqueued = new AtomicLong();
+	private final AtomicLong written  = new AtomicLong();
+	private final AtomicLong merged   = new AtomicLong();
+	private final AtomicLong tasks    = new AtomicLong();
+	private final AtomicLong flushes  = new AtomicLong();
+
+	private volatile int       maxDepth;
+	private volatile long      startTime, stopTime;
+	private volatile boolean   closed;
+	private volatile Exception error;
+
+	private boolean dirty;
+	private long    lastFlush;
+
+	/**
+	 * A queue with the size and flush period set by system property.
+	 * @param flusher may be null for no scheduled flush.
+	 */
+	public NexusWriteQueue(IFlusher flusher) {
+		this(Integer.getInteger(QUEUE_SIZE_PROPERTY, 256), Long.getLong(FLUSH_PERIOD_PROPERTY, 1000), flusher);
+	}
+
+	/**
+	 *
+	 * @param size of the queue, when full callers block.
+	 * @param flushPeriod in ms, or zero for no scheduled flush.
+	 * @param flusher may be null for no scheduled flush.
+	 */
+	public NexusWriteQueue(int size, long flushPeriod, IFlusher flusher) {
+		if (size<1) throw new IllegalArgumentException("The size of the write queue must be at least 1!");
+		this.queue       = new ArrayBlockingQueue<>(size);
+		this.flusher     = flusher;
+		this.flushPeriod = flushPeriod;
+		this.writer      = new Thread(this::run, "NeXus writer");
+		writer.setDaemon(true);
+		writer.setPriority(Thread.NORM_PRIORITY+1);
+	}
+
+	/**
+	 * Start the writer thread.
+	 */
+	public void start() {
+		startTime = System.currentTimeMillis();
+		lastFlush = startTime;
+		writer.start();
+	}
+
+	/**
+	 * Add a slice to write. Blocks if the queue is full.
+	 *
+	 * @param dataset
+	 * @param data which is copied, so may be changed once this returns.
+	 * @param slice
+	 * @throws ScanningException if the queue is closed or the thread is interrupted.
+	 */
+	public void write(ILazyWriteableDataset dataset, IDataset data, SliceND slice) throws ScanningException {
+		if (Thread.currentThread()==writer) { // Already the writer, e.g. from a task
+			write(new Record(dataset, data, slice));
+			return;
+		}
+		put(new Record(dataset, DatasetUtils.convertToDataset(data).clone(), slice));
+	}
+
+	/**
+	 * Write a slice through the queue if called from within {@link #callQueued(Callable)}
+	 * on this thread, otherwise straight to the dataset. A detector should write its data
+	 * with this, rather than calling setSlice itself, so that only the writer thread
+	 * writes to the file when there is a queue.
+	 *
+	 * @param dataset
+	 * @param data
+	 * @param slice
+	 * @throws Exception if the slice cannot be written or queued.
+	 */
+	public static void setSlice(ILazyWriteableDataset dataset, IDataset data, SliceND slice) throws Exception {
+		final NexusWriteQueue queue = current.get();
+		if (queue!=null) {
+			queue.write(dataset, data, slice);
+		} else {
+			dataset.setSlice(null, data, slice);
+		}
+	}
+
+	/**
+	 * Call something, for instance a detector write, on this thread with the slices
+	 * it writes with {@link #setSlice(ILazyWriteableDataset, IDataset, SliceND)} added
+	 * to this queue. It does not wait for them to be written.
+	 *
+	 * @param task
+	 * @return the result of the task
+	 * @throws Exception thrown by the task
+	 */
+	public <T> T callQueued(Callable<T> task) throws Exception {
+		final NexusWriteQueue previous = current.get();
+		current.set(this);
+		try {
+			return task.call();
+		} finally {
+			if (previous==null) {
+				current.remove();
+			} else {
+				current.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Do something on the writer thread, in order with the slices added
+	 * before it, and wait for it to return. Blocks if the queue is full.
+	 *
+	 * @param task
+	 * @return the result of the task
+	 * @throws Exception thrown by the task or if the queue is closed.
+	 */
+	public <T> T call(Callable<T> task) throws Exception {
+		if (Thread.currentThread()==writer) return task.call();
+		final FutureTask<T> future = new FutureTask<>(task);
+		put(new Record(future));
+		while(true) {
+			try {
+				return future.get(CHECK_PERIOD, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException ne) {
+				if (!future.isDone()) checkWriter();
+				continue; // A slow write is allowed, a stopped writer is not.
+			} catch (CancellationException ne) {
+				throw new ScanningException("The NeXus writer stopped before the task was done", ne);
+			} catch (ExecutionException ne) {
+				if (ne.getCause() instanceof Exception) throw (Exception)ne.getCause();
+				throw ne;
+			}
+		}
+	}
+
+	private void put(Record record) throws ScanningException {
+		if (closed) throw new ScanningException("The NeXus write queue is closed!");
+		try {
+			while (!queue.offer(record, CHECK_PERIOD, TimeUnit.MILLISECONDS)) checkWriter();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ScanningException("Interrupted waiting for space in the NeXus write queue", e);
+		}
+		if (startTime>0 && !writer.isAlive()) cancelWaiting(); // It may have stopped as we added
+		enqueued.incrementAndGet();
+		final int depth = queue.size();
+		if (depth>maxDepth) maxDepth = depth;
+	}
+
+	private void checkWriter() throws ScanningException {
+		if (startTime>0 && !writer.isAlive()) throw new ScanningException("The NeXus writer has stopped!", error);
+	}
+
+	/**
+	 * Cancels the tasks which are waiting, they will never be done.
+	 */
+	private void cancelWaiting() {
+		final List<Record> left = new ArrayList<>();
+		queue.drainTo(left);
+		for (Record record : left) if (record.task!=null) record.task.cancel(false);
+	}
+
+	/**
+	 * Waits for everything in the queue to be written, flushes and stops the writer thread.
+	 * May be called more than once.
+	 *
+	 * @throws ScanningException if any of the slices could not be written.
+	 */
+	public void close() throws ScanningException {
+		if (!closed) {
+			closed = true;
+			if (writer.isAlive()) {
+				try {
+					while (writer.isAlive() && !queue.offer(Record.END, CHECK_PERIOD, TimeUnit.MILLISECONDS));
+					writer.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new ScanningException("Interrupted waiting for the NeXus write queue to finish", e);
+				}
+			}
+			stopTime = System.currentTimeMillis();
+			logger.debug("NeXus write queue closed: {} records, {} writes, {} merged, {} tasks, {} flushes, maximum depth {}, {} records/s",
+					 getEnqueued(), getWritten(), getMerged(), getTasks(), getFlushes(), getMaxDepth(), getThroughput());
+		}
+		if (error!=null) throw new ScanningException("Could not write to the NeXus file", error);
+	}
+
+	private void run() {
+		final List<Record> batch = new ArrayList<>(BATCH_SIZE);
+		try {
+			while(true) {
+				final long wait = flushPeriod>0 && dirty ? Math.max(1, lastFlush+flushPeriod-System.currentTimeMillis()) : Long.MAX_VALUE;
+				final Record first = queue.poll(wait, TimeUnit.MILLISECONDS);
+				if (first!=null) {
+					batch.add(first);
+					queue.drainTo(batch, BATCH_SIZE-1);
+					if (process(batch)) break;
+					batch.clear();
+				}
+				if (flushPeriod>0 && dirty && System.currentTimeMillis()-lastFlush>=flushPeriod) flush();
+			}
+		} catch (InterruptedException ne) {
+			logger.warn("The NeXus writer was interrupted, {} records are not written", queue.size());
+			if (error==null) error = ne;
+		} finally {
+			closed = true;
+			cancelWaiting();
+			if (dirty) flush();
+		}
+	}
+
+	/**
+	 * Write a batch, joining neighbouring slices.
+	 * @param batch
+	 * @return true if the end of the queue was reached.
+	 */
+	private boolean process(List<Record> batch) {
+		Record pending = null;
+		for (Record record : batch) {
+			if (record.isWrite()) {
+				if (pending!=null && pending.join(record)) {
+					merged.incrementAndGet();
+					continue;
+				}
+				if (pending!=null) write(pending);
+				pending = record;
+				continue;
+			}
+			// Tasks and the end keep their order with the writes.
+			if (pending!=null) write(pending);
+			pending = null;
+			if (record==Record.END) return true;
+			tasks.incrementAndGet();
+			record.task.run();
+			dirty = true;
+		}
+		if (pending!=null) write(pending);
+		return false;
+	}
+
+	private void write(Record record) {
+		try {
+			final ILazyWriteableDataset dataset = record.dataset;
+			final SliceND slice = new SliceND(dataset.getShape(), dataset.getMaxShape(), record.start, record.stop, record.step);
+			dataset.setSlice(null, record.getData(), slice);
+			written.incrementAndGet();
+			dirty = true;
+		} catch (Exception ne) {
+			logger.error("Cannot write slice to "+record.dataset.getName(), ne);
+			if (error==null) error = ne;
+		}
+	}
+
+	private void flush() {
+		dirty     = false;
+		lastFlush = System.currentTimeMillis();
+		if (flusher==null) return;
+		try {
+			flusher.flush();
+			flushes.incrementAndGet();
+		} catch (Exception ne) {
+			logger.warn("Problem flushing the NeXus file", ne);
+		}
+	}
+
+	/**
+	 * @return the number of records waiting to be written.
+	 */
+	public int getDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * @return the largest number of records which have been waiting at once.
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * @return the number of slices and tasks added.
+	 */
+	public long getEnqueued() {
+		return enqueued.get();
+	}
+
+	/**
+	 * @return the number of times a slice has been written, after joining.
+	 */
+	public long getWritten() {
+		return written.get();
+	}
+
+	/**
+	 * @return the number of slices which were joined to the one before rather than written alone.
+	 */
+	public long getMerged() {
+		return merged.get();
+	}
+
+	/**
+	 * @return the number of tasks done.
+	 */
+	public long getTasks() {
+		return tasks.get();
+	}
+
+	public long getFlushes() {
+		return flushes.get();
+	}
+
+	/**
+	 * @return the number of records done per second since the queue started.
+	 */
+	public double getThroughput() {
+		if (startTime==0) return 0;
+		final long end  = stopTime>0 ? stopTime : System.currentTimeMillis();
+		final long done = written.get()+merged.get()+tasks.get();
+		return done/(Math.max(1, end-startTime)/1000d);
+	}
+
+	/**
+	 * A slice to write, a task or the end of the queue.
+	 */
+	private static final class Record {
+
+		static final Record END = new Record((FutureTask<?>)null);
+
+		final ILazyWriteableDataset dataset;
+		final FutureTask<?>         task;
+		final int[]                 start, stop, step;
+
+		private List<IDataset> data;
+		private int            axis = -1;
+
+		Record(ILazyWriteableDataset dataset, IDataset data, SliceND slice) {
+			this.dataset = dataset;
+			this.task    = null;
+			this.data    = new ArrayList<>(1);
+			this.data.add(data);
+			this.start   = slice.getStart().clone();
+			this.stop    = slice.getStop().clone();
+			this.step    = slice.getStep().clone();
+		}
+
+		Record(FutureTask<?> task) {
+			this.dataset = null;
+			this.task    = task;
+			this.start   = null;
+			this.stop    = null;
+			this.step    = null;
+		}
+
+		boolean isWrite() {
+			return dataset!=null;
+		}
+
+		/**
+		 * Join the next slice to this one if it is of the same dataset and
+		 * follows on from this one in one dimension, the same as any joined before.
+		 * @param next
+		 * @return true if joined
+		 */
+		boolean join(Record next) {
+			if (next.dataset!=dataset || next.start.length!=start.length) return false;
+			int along = -1;
+			for (int i = 0; i < start.length; i++) {
+				if (step[i]!=1 || next.step[i]!=1) return false;
+				if (next.start[i]==start[i] && next.stop[i]==stop[i]) continue;
+				if (along>-1 || next.start[i]!=stop[i]) return false;
+				along = i;
+			}
+			if (along<0 || (axis>-1 && along!=axis)) return false;
+
+			// The data must have the shape of the slice to be joined, e.g. not a scalar written to [1,1]
+			if (!hasShape(next.data.get(0), next.start, next.stop)) return false;
+			if (axis<0 && !hasShape(data.get(0), start, stop)) return false;
+
+			axis = along;
+			stop[along] = next.stop[along];
+			data.add(next.data.get(0));
+			return true;
+		}
+
+		private static boolean hasShape(IDataset data, int[] start, int[] stop) {
+			final int[] shape = new int[start.length];
+			for (int i = 0; i < shape.length; i++) shape[i] = stop[i]-start[i];
+			if (Arrays.equals(shape, data.getShape())) return true;
+			// A slice of the right size may be reshaped, e.g. a scalar unique key to [1,1]
+			return data.getSize()==product(shape) && data.getRank()<=shape.length;
+		}
+
+		private static int product(int[] shape) {
+			int size = 1;
+			for (int i : shape) size*=i;
+			return size;
+		}
+
+		IDataset getData() {
+			if (data.size()==1) return data.get(0);
+			final IDataset[] parts = new IDataset[data.size()];
+			for (int i = 0; i < parts.length; i++) {
+				final Dataset part = DatasetUtils.convertToDataset(data.get(i)).getView(true);
+				final int[] shape = new int[start.length];
+				for (int j = 0; j < shape.length; j++) shape[j] = j==axis ? part.getSize()/otherSize(j) : stop[j]-start[j];
+				part.setShape(shape);
+				parts[i] = part;
+			}
+			return DatasetUtils.concatenate(parts, axis);
+		}
+
+		/**
+		 * @return the size of one slice excluding the axis they are joined along.
+		 */
+		private int otherSize(int except) {
+			int size = 1;
+			for (int i = 0; i < start.length; i++) if (i!=except) size*=stop[i]-start[i];
+			return size;
+		}
+	}
+}
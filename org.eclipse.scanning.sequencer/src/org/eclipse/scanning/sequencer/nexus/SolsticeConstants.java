@@ -27,6 +27,23 @@ public final class SolsticeConstants {
 	public static final String FIELD_NAME_SCAN_DEAD_TIME_PERCENT = "scan_dead_time_percent";
 	public static final String FIELD_NAME_SCAN_SHAPE    = "scan_shape";
 	
+	/**
+	 * The collection of point timings, written if the scan is traced.
+	 */
+	public static final String GROUP_NAME_DIAGNOSTICS   = "diagnostics";
+	public static final String FIELD_NAME_STAGES        = "stages";
+	public static final String FIELD_NAME_POINT_COUNT   = "point_count";
+	public static final String FIELD_NAME_MEAN_TIME     = "mean_time";
+	public static final String FIELD_NAME_MAX_TIME      = "max_time";
+	public static final String FIELD_NAME_P50_TIME      = "p50_time";
+	public static final String FIELD_NAME_P95_TIME      = "p95_time";
+	public static final String FIELD_NAME_P99_TIME      = "p99_time";
+	public static final String FIELD_NAME_HISTOGRAM     = "histogram";
+	public static final String FIELD_NAME_HISTOGRAM_LIMITS = "histogram_limits";
+	public static final String FIELD_NAME_LEVELS        = "levels";
+	public static final String FIELD_NAME_LEVEL_MEAN_TIME = "level_mean_time";
+	public static final String FIELD_NAME_LEVEL_MAX_TIME  = "level_max_time";
+	
 	/**
 	 * Property name for the path within an external (linked) nexus file to the unique keys dataset. 
 	 */
@@ -11,6 +11,17 @@
  *******************************************************************************/
 package org.eclipse.scanning.sequencer.nexus;
 
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_HISTOGRAM;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_HISTOGRAM_LIMITS;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_LEVELS;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_LEVEL_MAX_TIME;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_LEVEL_MEAN_TIME;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_MAX_TIME;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_MEAN_TIME;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_P50_TIME;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_P95_TIME;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_P99_TIME;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_POINT_COUNT;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_CMD;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_DEAD_TIME;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_DEAD_TIME_PERCENT;
@@ -20,7 +31,9 @@ import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_MODELS;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_RANK;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_SHAPE;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGES;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_UNIQUE_KEYS;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_DIAGNOSTICS;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_KEYS;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_SOLSTICE_SCAN;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.PROPERTY_NAME_UNIQUE_KEYS_PATH;
@@ -36,6 +49,7 @@ import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -62,6 +76,8 @@ import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.models.ScanModel;
 import org.eclipse.scanning.api.scan.rank.IScanRankService;
 import org.eclipse.scanning.api.scan.rank.IScanSlice;
+import org.eclipse.scanning.sequencer.PointTrace;
+import org.eclipse.scanning.sequencer.PointTrace.Stage;
 import org.eclipse.scanning.sequencer.ServiceHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -103,6 +119,9 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 	private final ScanModel model;
 	private Instant scanStartTime = null;
 	private int[] scanShape = null;
+	private NexusWriteQueue writeQueue = null;
+	private PointTrace trace = null;
+	private Map<String, ILazyWriteableDataset> diagnosticsDatasets = null;
 
 	
 	public SolsticeScanMonitor(ScanModel model) {
@@ -124,6 +143,23 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 		this.nexusObjectProviders = nexusObjectProviders;
 	}
 	
+	/**
+	 * Set the queue to write unique keys through, if the file is written asynchronously.
+	 * @param writeQueue or <code>null</code> to write on the calling thread.
+	 */
+	public void setWriteQueue(NexusWriteQueue writeQueue) {
+		this.writeQueue = writeQueue;
+	}
+
+	/**
+	 * Set the timings of the points, which are summarised in a diagnostics
+	 * collection at the end of the scan. Must be set before the nexus object is created.
+	 * @param trace or <code>null</code> for no diagnostics.
+	 */
+	public void setPointTrace(PointTrace trace) {
+		this.trace = trace;
+	}
+
 	public void setMalcolmScan(boolean malcolmScan) {
 		this.malcolmScan = malcolmScan;
 	}
@@ -218,9 +254,108 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 		// add external links to the unique key datasets for each external HD5 file
 		addLinksToExternalFiles(keysCollection);
 		
+		// create a sub-collection for the point timings, written at the end of the scan
+		if (trace != null) {
+			scanPointsCollection.addGroupNode(GROUP_NAME_DIAGNOSTICS, createDiagnostics());
+		}
+		
 		return scanPointsCollection;
 	}
 	
+	private NXcollection createDiagnostics() {
+		final NXcollection diagnostics = NexusNodeFactory.createNXcollection();
+		final int stages = Stage.values().length;
+		
+		final String[] names = new String[stages];
+		for (Stage stage : Stage.values()) names[stage.ordinal()] = stage.getFieldName();
+		diagnostics.setDataset(FIELD_NAME_STAGES, DatasetFactory.createFromObject(names));
+		
+		final double[] limits = new double[PointTrace.BUCKETS];
+		for (int i = 0; i < limits.length; i++) limits[i] = PointTrace.getBucketLimit(i);
+		diagnostics.setDataset(FIELD_NAME_HISTOGRAM_LIMITS, DatasetFactory.createFromObject(limits));
+		
+		// times are in ms
+		diagnosticsDatasets = new HashMap<>();
+		createDiagnosticsDataset(diagnostics, FIELD_NAME_POINT_COUNT, Long.class, 1);
+		createDiagnosticsDataset(diagnostics, FIELD_NAME_MEAN_TIME, Double.class, stages);
+		createDiagnosticsDataset(diagnostics, FIELD_NAME_MAX_TIME, Double.class, stages);
+		createDiagnosticsDataset(diagnostics, FIELD_NAME_P50_TIME, Double.class, stages);
+		createDiagnosticsDataset(diagnostics, FIELD_NAME_P95_TIME, Double.class, stages);
+		createDiagnosticsDataset(diagnostics, FIELD_NAME_P99_TIME, Double.class, stages);
+		createDiagnosticsDataset(diagnostics, FIELD_NAME_HISTOGRAM, Long.class, stages, PointTrace.BUCKETS);
+		
+		// the levels are not known until the end, they start empty and stay so if none were recorded
+		createDiagnosticsDataset(diagnostics, FIELD_NAME_LEVELS, Integer.class, new int[] { 0 }, new int[] { 8 });
+		createDiagnosticsDataset(diagnostics, FIELD_NAME_LEVEL_MEAN_TIME, Double.class, new int[] { 0 }, new int[] { 8 });
+		createDiagnosticsDataset(diagnostics, FIELD_NAME_LEVEL_MAX_TIME, Double.class, new int[] { 0 }, new int[] { 8 });
+		return diagnostics;
+	}
+	
+	private void createDiagnosticsDataset(NXcollection diagnostics, String name, Class<?> clazz, int... shape) {
+		createDiagnosticsDataset(diagnostics, name, clazz, shape, shape);
+	}
+	
+	private void createDiagnosticsDataset(NXcollection diagnostics, String name, Class<?> clazz, int[] shape, int[] chunks) {
+		final int[] maxShape = new int[shape.length];
+		Arrays.fill(maxShape, -1);
+		final ILazyWriteableDataset dataset = new LazyWriteableDataset(name, clazz, shape, maxShape, chunks, null);
+		diagnostics.createDataNode(name, dataset);
+		diagnosticsDatasets.put(name, dataset);
+	}
+	
+	/**
+	 * Write the summary of the point timings to the diagnostics collection.
+	 */
+	private void writeDiagnostics() throws Exception {
+		final Stage[] stages = Stage.values();
+		final double[] mean = new double[stages.length];
+		final double[] max  = new double[stages.length];
+		final double[] p50  = new double[stages.length];
+		final double[] p95  = new double[stages.length];
+		final double[] p99  = new double[stages.length];
+		final long[][] histogram = new long[stages.length][];
+		for (Stage stage : stages) {
+			int i = stage.ordinal();
+			mean[i] = trace.getMean(stage);
+			max[i]  = trace.getMax(stage);
+			p50[i]  = trace.getPercentile(stage, 50);
+			p95[i]  = trace.getPercentile(stage, 95);
+			p99[i]  = trace.getPercentile(stage, 99);
+			histogram[i] = trace.getHistogram(stage);
+		}
+		writeDiagnostic(FIELD_NAME_POINT_COUNT, DatasetFactory.createFromObject(new long[] { trace.getCount() }));
+		writeDiagnostic(FIELD_NAME_MEAN_TIME, DatasetFactory.createFromObject(mean));
+		writeDiagnostic(FIELD_NAME_MAX_TIME,  DatasetFactory.createFromObject(max));
+		writeDiagnostic(FIELD_NAME_P50_TIME,  DatasetFactory.createFromObject(p50));
+		writeDiagnostic(FIELD_NAME_P95_TIME,  DatasetFactory.createFromObject(p95));
+		writeDiagnostic(FIELD_NAME_P99_TIME,  DatasetFactory.createFromObject(p99));
+		writeDiagnostic(FIELD_NAME_HISTOGRAM, DatasetFactory.createFromObject(histogram));
+		
+		final Map<Integer, double[]> levelTimes = trace.getLevelTimes();
+		if (!levelTimes.isEmpty()) {
+			final int[]    levels = new int[levelTimes.size()];
+			final double[] lmean  = new double[levels.length];
+			final double[] lmax   = new double[levels.length];
+			int i = 0;
+			for (Map.Entry<Integer, double[]> entry : levelTimes.entrySet()) {
+				levels[i] = entry.getKey();
+				lmean[i]  = entry.getValue()[1];
+				lmax[i]   = entry.getValue()[2];
+				i++;
+			}
+			writeDiagnostic(FIELD_NAME_LEVELS, DatasetFactory.createFromObject(levels));
+			writeDiagnostic(FIELD_NAME_LEVEL_MEAN_TIME, DatasetFactory.createFromObject(lmean));
+			writeDiagnostic(FIELD_NAME_LEVEL_MAX_TIME,  DatasetFactory.createFromObject(lmax));
+		}
+		logger.debug(trace.toString());
+	}
+	
+	private void writeDiagnostic(String name, Dataset data) throws DatasetException {
+		final ILazyWriteableDataset dataset = diagnosticsDatasets.get(name);
+		final int[] shape = data.getShape();
+		dataset.setSlice(null, data, new SliceND(dataset.getShape(), dataset.getMaxShape(), new int[shape.length], shape, null));
+	}
+	
 	private static String durationInMillisToString(Duration duration) {
 		long days = duration.toDays(); // chop off any days as formatter can't handle them
 		duration = duration.minusDays(days);
@@ -284,6 +419,14 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 			throw new ScanningException("Could not write scan dead time percent to NeXus file", e);
 		}
 		
+		if (diagnosticsDatasets != null) {
+			try {
+				writeDiagnostics();
+			} catch (Exception e) {
+				logger.warn("Could not write the point timings to the NeXus file", e);
+			}
+		}
+		
 		final ScanInformation scanInfo = model.getScanInformation();
 		final String filePath = scanInfo.getFilePath();
 		final String shapeStr = Arrays.toString(scanShape);
@@ -356,8 +499,12 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 			final int uniqueKey = position.getStepIndex() + 1;
 			final Dataset newActualPosition = DatasetFactory.createFromObject(uniqueKey);
 			try {
-				uniqueKeysDataset.setSlice(null, newActualPosition, sliceND);
-			} catch (DatasetException e) {
+				if (writeQueue!=null) {
+					writeQueue.write(uniqueKeysDataset, newActualPosition, sliceND);
+				} else {
+					uniqueKeysDataset.setSlice(null, newActualPosition, sliceND);
+				}
+			} catch (DatasetException | ScanningException e) {
 				logger.error("Could not write unique key");
 			}
 			return newActualPosition;
@@ -13,12 +13,15 @@ package org.eclipse.scanning.sequencer.watchdog;
 
 import org.eclipse.scanning.api.IScannable;
 import org.eclipse.scanning.api.annotation.scan.PointEnd;
+import org.eclipse.scanning.api.annotation.scan.PointStart;
 import org.eclipse.scanning.api.annotation.scan.ScanFinally;
 import org.eclipse.scanning.api.annotation.scan.ScanStart;
 import org.eclipse.scanning.api.device.models.DeviceWatchdogModel;
+import org.eclipse.scanning.api.event.scan.DeviceState;
 import org.eclipse.scanning.api.event.scan.ScanBean;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.scan.PositionEvent;
+import org.eclipse.scanning.api.scan.ScanInformation;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.event.IPositionListenable;
 import org.eclipse.scanning.api.scan.event.IPositionListener;
@@ -128,6 +131,13 @@ In brief though, the only one you need to care about is state 8 = VMX. This is "
 
 If this PV = 8, then we're in normal mode. If this PV is anything else, then we're in some other state.
 
+<h3>Predictive mode</h3>
+
+If the model is predictive, the time taken by each point is measured (starting from the 
+scan estimate) and a point is held at PointStart if it would not finish before the cooloff 
+starts. It is released when the next point can finish, normally after topup and warmup.
+Fewer points are then caught by topup, paused and rewound. Pausing as above 
+still happens if a point takes longer than expected.
     
  * @author Matthew Gerring
  *
@@ -141,6 +151,19 @@ public class TopupWatchdog extends AbstractWatchdog implements IPositionListener
 	
 	private volatile boolean busy   = false;
 	private volatile boolean rewind = false;
+	private volatile boolean paused = false;
+	
+	// Used to predict if a point will finish before topup
+	private volatile long countdown     = -1; // ms, last value of countdown
+	private volatile long countdownTime = -1; // ms, time that the countdown was read
+	private volatile long pointTime     = -1; // ms, expected time of the next point
+	private volatile long pointStart    = -1; // ns, start of current point
+	private final Object  hold          = new Object();
+	
+	/**
+	 * Weight of the most recent point in the expected time of a point.
+	 */
+	private static final double POINT_WEIGHT = 0.3;
 
 	public TopupWatchdog() {
 		super();
@@ -188,6 +211,12 @@ public class TopupWatchdog extends AbstractWatchdog implements IPositionListener
 	 */
 	private void processPosition(long t) throws Exception {
 		
+		countdown     = t;
+		countdownTime = System.currentTimeMillis();
+		if (model.isPredictive()) synchronized (hold) {
+			hold.notifyAll();
+		}
+
 		// It's 10Hz, we can ignore events if we are doing something.
 		// We ignore events while processing an event. 
 		// Events are frequent and blocking is bad.
@@ -202,6 +231,7 @@ public class TopupWatchdog extends AbstractWatchdog implements IPositionListener
 			busy = true;
 			if (!isPositionValid(t)) {
 				rewind = t<0; // We did not detect it before loosing beam
+				paused = true;
 				controller.pause(getId(), getModel());
 		
 			} else { // We are a valid place in the topup, see if we can resume
@@ -212,6 +242,7 @@ public class TopupWatchdog extends AbstractWatchdog implements IPositionListener
 					rewind = false;
 				}
 				controller.resume(getId());
+				paused = false;
 				
 			}
 		} finally {
@@ -261,9 +292,66 @@ public class TopupWatchdog extends AbstractWatchdog implements IPositionListener
 		}
 	} 
 	
+	@ScanStart
+	public void estimate(ScanInformation info) {
+		// Until points have been timed we use the estimate
+		pointTime  = info!=null && info.getSize()>0 ? info.getEstimatedScanTime()/info.getSize() : -1;
+		pointStart = -1;
+	}
+	
+	/**
+	 * In predictive mode, holds the point if it would not finish
+	 * before the cooloff, until the point is able to finish.
+	 * 
+	 * @param pos
+	 * @throws InterruptedException
+	 * @throws ScanningException
+	 */
+	@PointStart
+	public void pointStart(IPosition pos) throws InterruptedException, ScanningException {
+		
+		if (model.isPredictive() && pointTime>0 && countdownTime>0) {
+			
+			// The point cannot be done between topups, so no point holding it.
+			long window = model.getPeriod()-model.getTopupTime()-model.getWarmup()-model.getCooloff();
+			if (pointTime>=window) {
+				logger.debug("Point time of "+pointTime+" ms is too long for "+getClass().getSimpleName()+" to predict topup.");
+				
+			} else if (!canComplete(pointTime)) {
+				long start = System.currentTimeMillis();
+				synchronized (hold) {
+					while(!canComplete(pointTime) && isScanning()) hold.wait(100);
+				}
+				logger.info("Held point "+pos.getStepIndex()+" for "+(System.currentTimeMillis()-start)+" ms for topup");
+			}
+		}
+		pointStart = System.nanoTime();
+	}
+	
+	/**
+	 * 
+	 * @param time ms
+	 * @return true if a point taking time will end before cooloff starts.
+	 */
+	private boolean canComplete(long time) {
+		if (paused) return false;
+		long t = countdown-(System.currentTimeMillis()-countdownTime);
+		return isPositionValid(t) && t-time > model.getCooloff();
+	}
+	
+	private boolean isScanning() throws ScanningException {
+		DeviceState state = controller.getDevice().getDeviceState();
+		return state!=null && state.isRunning();
+	}
+	
 	@PointEnd
 	public void pointEnd(IPosition done) {
 		this.lastCompletedPoint = done;
+		if (pointStart>0) {
+			// Recent points count the most but a slow point is never ignored.
+			long time = Math.round((System.nanoTime()-pointStart)/1e6);
+			pointTime = pointTime>0 ? Math.max(time, Math.round(POINT_WEIGHT*time + (1-POINT_WEIGHT)*pointTime)) : time;
+		}
 	}
 	
 	@ScanFinally
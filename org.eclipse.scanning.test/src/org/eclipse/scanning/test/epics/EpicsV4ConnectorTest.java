@@ -47,13 +47,15 @@ import org.junit.Test;
 public class EpicsV4ConnectorTest {
 
 	private IMalcolmService      service;
+	private EpicsV4ConnectorService connectorService;
 	private IEPICSv4Device epicsv4Device;
 	
 	@Before
 	public void before() throws Exception {
 		// The real service, get it from OSGi outside this test!
 		// Not required in OSGi mode (do not add this to your real code GET THE SERVICE FROM OSGi!)
-		this.service = new MalcolmService(new EpicsV4ConnectorService(), null);
+		this.connectorService = new EpicsV4ConnectorService();
+		this.service = new MalcolmService(connectorService, null);
 	}
 	
 	@After
@@ -94,6 +96,44 @@ public class EpicsV4ConnectorTest {
 
 	}
 	
+	/**
+	 * Reading the device many times should use one channel.
+	 * @throws Exception
+	 */
+	@Test
+	public void channelIsReused() throws Exception {
+
+		DeviceRunner runner = new DeviceRunner();
+		epicsv4Device = runner.start();
+
+		IMalcolmDevice<EPICSv4ExampleModel> modelledDevice = service.getDevice(epicsv4Device.getRecordName());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(DeviceState.READY, modelledDevice.getDeviceState());
+		}
+		assertEquals(1, connectorService.getPooledChannelCount());
+	}
+
+	/**
+	 * If the device is restarted the kept channel is lost and
+	 * the next message should connect again.
+	 * @throws Exception
+	 */
+	@Test
+	public void channelReconnectsWhenDeviceRestarts() throws Exception {
+
+		DeviceRunner runner = new DeviceRunner();
+		epicsv4Device = runner.start();
+
+		IMalcolmDevice<EPICSv4ExampleModel> modelledDevice = service.getDevice(epicsv4Device.getRecordName());
+		assertEquals(DeviceState.READY, modelledDevice.getDeviceState());
+		
+		epicsv4Device.stop();
+		epicsv4Device = runner.start();
+		
+		assertEquals(DeviceState.READY, modelledDevice.getDeviceState());
+		assertEquals(1, connectorService.getPooledChannelCount());
+	}
+	
 	@Test(expected=MalcolmDeviceException.class)
 	public void connectToEvilDevice() throws Exception {
 
@@ -11,6 +11,7 @@
  *******************************************************************************/
 package org.eclipse.scanning.test.epics;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import java.util.Arrays;
@@ -28,6 +29,8 @@ import org.eclipse.dawnsci.analysis.dataset.roi.PointROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.PolygonalROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.SectorROI;
+import org.eclipse.scanning.api.malcolm.MalcolmTable;
+import org.eclipse.scanning.api.malcolm.attributes.TableAttribute;
 import org.eclipse.scanning.api.points.IMutator;
 import org.eclipse.scanning.api.points.IPointGenerator;
 import org.eclipse.scanning.api.points.IPointGeneratorService;
@@ -39,16 +42,19 @@ import org.eclipse.scanning.api.points.models.LissajousModel;
 import org.eclipse.scanning.api.points.models.SpiralModel;
 import org.eclipse.scanning.api.points.models.StepModel;
 import org.eclipse.scanning.connector.epics.EpicsV4ConnectorService;
+import org.eclipse.scanning.malcolm.core.MalcolmDevice.EpicsMalcolmModel;
 import org.eclipse.scanning.points.PointGeneratorService;
 import org.eclipse.scanning.points.mutators.RandomOffsetMutator;
 import org.epics.pvdata.factory.FieldFactory;
 import org.epics.pvdata.factory.PVDataFactory;
 import org.epics.pvdata.pv.FieldCreate;
 import org.epics.pvdata.pv.PVBoolean;
+import org.epics.pvdata.pv.PVBooleanArray;
 import org.epics.pvdata.pv.PVDataCreate;
 import org.epics.pvdata.pv.PVDouble;
 import org.epics.pvdata.pv.PVDoubleArray;
 import org.epics.pvdata.pv.PVInt;
+import org.epics.pvdata.pv.PVIntArray;
 import org.epics.pvdata.pv.PVString;
 import org.epics.pvdata.pv.PVStringArray;
 import org.epics.pvdata.pv.PVStructure;
@@ -1280,5 +1286,125 @@ public class PVDataSerializationTest {
 		assertEquals(expectedCompGenPVStructure, pvStructure);
 	}
 
-}
+	@Test
+	public void testEpicsMalcolmModel() throws Exception {
+
+		IPointGeneratorService pgService = new PointGeneratorService();
+		IPointGenerator<StepModel> temp = pgService.createGenerator(new StepModel("x", 3, 4, 0.25));
+		IPointGenerator<?> scan = pgService.createCompoundGenerator(temp);
+
+		EpicsMalcolmModel model = new EpicsMalcolmModel("/path/to/ixx-1234", null, Arrays.asList("x", "y"), scan);
+
+		FieldCreate fieldCreate = FieldFactory.getFieldCreate();
+		Structure expectedStructure = fieldCreate.createFieldBuilder().
+				add("generator", connectorService.pvMarshal(scan).getStructure()).
+				addArray("axesToMove", ScalarType.pvString).
+				add("fileDir", ScalarType.pvString).
+				createStructure();
+
+		// Marshal and check against expected, the null template is left out
+		PVStructure pvStructure = connectorService.pvMarshal(model);
+
+		assertEquals(expectedStructure, pvStructure.getStructure());
+		assertEquals(connectorService.pvMarshal(scan), pvStructure.getStructureField("generator"));
+		PVStringArray expectedAxes = PVDataFactory.getPVDataCreate().createPVStructure(expectedStructure).getSubField(PVStringArray.class, "axesToMove");
+		String[] axes = new String[] {"x", "y"};
+		expectedAxes.put(0, axes.length, axes, 0);
+		assertEquals(expectedAxes, pvStructure.getSubField(PVStringArray.class, "axesToMove"));
+		assertEquals("/path/to/ixx-1234", pvStructure.getSubField(PVString.class, "fileDir").get());
+	}
+
+	@Test
+	public void TestMalcolmTable() throws Exception {
+
+		// Create test table
+		Map<String, Class<?>> types = new LinkedHashMap<>();
+		types.put("name", String.class);
+		types.put("x", Double.class);
+		types.put("rank", Integer.class);
+		types.put("visible", Boolean.class);
+		Map<String, Object> columns = new LinkedHashMap<>();
+		columns.put("name", new String[] {"BRICK", "MIC"});
+		columns.put("x", new double[] {1.5, -2.5});
+		columns.put("rank", new int[] {2, 4});
+		columns.put("visible", new boolean[] {true, false});
+		MalcolmTable table = MalcolmTable.fromArrays(columns, types);
+
+		// Create the expected PVStructure
+		FieldCreate fieldCreate = FieldFactory.getFieldCreate();
+		PVDataCreate pvDataCreate = PVDataFactory.getPVDataCreate();
+
+		Structure expectedStructure = fieldCreate.createFieldBuilder().
+			addArray("name", ScalarType.pvString).
+			addArray("x", ScalarType.pvDouble).
+			addArray("rank", ScalarType.pvInt).
+			addArray("visible", ScalarType.pvBoolean).
+			createStructure();
+
+		PVStructure expectedPVStructure = pvDataCreate.createPVStructure(expectedStructure);
+		expectedPVStructure.getSubField(PVStringArray.class, "name").put(0, 2, new String[] {"BRICK", "MIC"}, 0);
+		expectedPVStructure.getSubField(PVDoubleArray.class, "x").put(0, 2, new double[] {1.5, -2.5}, 0);
+		expectedPVStructure.getSubField(PVIntArray.class, "rank").put(0, 2, new int[] {2, 4}, 0);
+		expectedPVStructure.getSubField(PVBooleanArray.class, "visible").put(0, 2, new boolean[] {true, false}, 0);
+
+		// Marshal and check against expected
+		PVStructure pvStructure = connectorService.pvMarshal(table);
+
+		assertEquals(expectedStructure, pvStructure.getStructure());
+		assertEquals(expectedPVStructure, pvStructure);
+	}
 
+	@Test
+	public void TestNTTableToMalcolmTable() throws Exception {
+
+		FieldCreate fieldCreate = FieldFactory.getFieldCreate();
+		PVDataCreate pvDataCreate = PVDataFactory.getPVDataCreate();
+
+		Structure metaStructure = fieldCreate.createFieldBuilder().
+			add("description", ScalarType.pvString).
+			addArray("tags", ScalarType.pvString).
+			add("writeable", ScalarType.pvBoolean).
+			add("label", ScalarType.pvString).
+			createStructure();
+
+		Structure valueStructure = fieldCreate.createFieldBuilder().
+			addArray("x", ScalarType.pvDouble).
+			addArray("rank", ScalarType.pvInt).
+			createStructure();
+
+		Structure tableStructure = fieldCreate.createFieldBuilder().
+			add("meta", metaStructure).
+			addArray("labels", ScalarType.pvString).
+			add("value", valueStructure).
+			setId("epics:nt/NTTable:1.0").
+			createStructure();
+
+		final int size = 10000;
+		double[] x    = new double[size];
+		int[]    rank = new int[size];
+		for (int i = 0; i < size; i++) {
+			x[i]    = i*0.5;
+			rank[i] = i;
+		}
+
+		PVStructure pvTable = pvDataCreate.createPVStructure(tableStructure);
+		pvTable.getSubField(PVString.class, "meta.description").put("A sequencer table");
+		pvTable.getSubField(PVString.class, "meta.label").put("table");
+		pvTable.getSubField(PVStringArray.class, "labels").put(0, 2, new String[] {"x", "rank"}, 0);
+		pvTable.getSubField(PVDoubleArray.class, "value.x").put(0, size, x, 0);
+		pvTable.getSubField(PVIntArray.class, "value.rank").put(0, size, rank, 0);
+
+		TableAttribute attribute = (TableAttribute)connectorService.pvUnmarshal(pvTable, Object.class);
+		MalcolmTable table = attribute.getValue();
+
+		assertEquals(size, table.getNumRows());
+		assertEquals(Arrays.asList("x", "rank"), table.getHeadings());
+		assertEquals(Double.class, table.getColumnClass("x"));
+		assertEquals(Integer.class, table.getColumnClass("rank"));
+		assertArrayEquals(x, table.getDoubleColumn("x"), 0);
+		assertArrayEquals(rank, table.getIntColumn("rank"));
+		assertEquals(4.5, table.getRow(9).get("x"));
+		assertEquals(9, table.getRow(9).getInt("rank"));
+	}
+
+}
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.dawnsci.json.MarshallerService;
 import org.eclipse.scanning.api.event.EventException;
@@ -117,6 +118,59 @@ public class HeartbeatTest extends BrokerTest {
 		System.out.println("Encountered "+gotBack.size()+" beats");
 	}
 	
+	@Test
+	public void restartedHeartbeatTest() throws Exception {
+
+		// Stopping and starting while a beat may be running must not leave two heartbeats.
+		for (int i = 0; i < 20; i++) {
+			publisher.setAlive(true);
+			Thread.sleep(i%10);
+			publisher.setAlive(false);
+		}
+		publisher.setAlive(true);
+		Thread.sleep(500);
+		
+		final List<HeartbeatBean> gotBack = new CopyOnWriteArrayList<>();
+		subscriber.addListener(new IHeartbeatListener() {
+			@Override
+			public void heartbeatPerformed(HeartbeatEvent evt) {
+				gotBack.add(evt.getBean());
+			}
+		});
+
+		Thread.sleep(2000);
+		publisher.disconnect();
+
+		if (gotBack.size()<10) throw new Exception("Not enough heartbeats were detected!");
+		if (gotBack.size()>30) throw new Exception("There are "+gotBack.size()+" heartbeats in 2s, more than one heartbeat is running!");
+	}
+	
+	@Test
+	public void sharedSenderHeartbeatTest() throws Exception {
+
+		// Publishers on the same broker and topic send on one thread and producer.
+		final IPublisher<HeartbeatBean> other = eservice.createPublisher(uri, IEventService.HEARTBEAT_TOPIC);
+		try {
+			publisher.setAlive(true);
+			other.setAlive(true);
+			
+			final List<HeartbeatBean> gotBack = new CopyOnWriteArrayList<>();
+			subscriber.addListener(new IHeartbeatListener() {
+				@Override
+				public void heartbeatPerformed(HeartbeatEvent evt) {
+					gotBack.add(evt.getBean());
+				}
+			});
+			Thread.sleep(1000);
+
+			long senders = Thread.getAllStackTraces().keySet().stream().filter(t -> t.getName().equals("Heartbeat Sender "+IEventService.HEARTBEAT_TOPIC)).count();
+			if (senders!=1) throw new Exception("There are "+senders+" heartbeat senders for one topic!");
+			if (gotBack.size()<10) throw new Exception("Not enough heartbeats were detected from two publishers!");
+		} finally {
+			other.disconnect();
+		}
+	}
+	
 	@Test
 	public void timeoutHeartbeatTest() throws Exception {
 
@@ -24,6 +24,7 @@ import org.junit.runners.Suite.SuiteClasses;
 	AnyBeanEventTest.class,
 	HeartbeatTest.class,
 	RequesterTest.class,
+	ThrottledLocationPublisherTest.class,
 	AcquireRequestTest.class
 	// MConsumerTest.class  Takes too long! TODO Make shorter
 })
@@ -0,0 +1,120 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.scanning.api.event.EventConstants;
+import org.eclipse.scanning.api.event.EventException;
+import org.eclipse.scanning.api.event.IEventService;
+import org.eclipse.scanning.api.event.core.ISubscriber;
+import org.eclipse.scanning.api.points.Scalar;
+import org.eclipse.scanning.api.scan.PositionEvent;
+import org.eclipse.scanning.api.scan.event.ILocationListener;
+import org.eclipse.scanning.api.scan.event.Location;
+import org.eclipse.scanning.api.scan.event.Location.LocationType;
+import org.eclipse.scanning.api.scan.event.LocationEvent;
+import org.eclipse.scanning.api.scan.event.ThrottledLocationPublisher;
+import org.eclipse.scanning.connector.activemq.ActivemqConnectorService;
+import org.eclipse.scanning.event.EventServiceImpl;
+import org.eclipse.scanning.test.BrokerTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ThrottledLocationPublisherTest extends BrokerTest {
+
+	private IEventService                  eservice;
+	private ThrottledLocationPublisher     publisher;
+	private ISubscriber<ILocationListener> subscriber;
+	private List<Location>                 locations;
+
+	@Before
+	public void createServices() throws Exception {
+
+		// We wire things together without OSGi here
+		// DO NOT COPY THIS IN NON-TEST CODE!
+		setUpNonOSGIActivemqMarshaller();
+		eservice = new EventServiceImpl(new ActivemqConnectorService()); // Do not copy this get the service from OSGi!
+
+		publisher  = new ThrottledLocationPublisher(eservice.createPublisher(uri, EventConstants.POSITION_TOPIC));
+		subscriber = eservice.createSubscriber(uri, EventConstants.POSITION_TOPIC);
+
+		locations = new CopyOnWriteArrayList<>();
+		subscriber.addListener("x", new ILocationListener() {
+			@Override
+			public void locationPerformed(LocationEvent evt) {
+				locations.add(evt.getLocation());
+			}
+		});
+	}
+
+	@After
+	public void dispose() throws EventException {
+		publisher.disconnect();
+		subscriber.disconnect();
+	}
+
+	@Test
+	public void fastMovesAreConflated() throws Exception {
+
+		publisher.setPolicy("x", 10, 0);
+		for (int i = 0; i < 100; i++) {
+			broadcast(LocationType.positionChanged, i);
+			Thread.sleep(1);
+		}
+		broadcast(LocationType.positionPerformed, 100);
+
+		waitForLast(100);
+		assertTrue("Sent "+locations.size()+" locations", locations.size()<20);
+	}
+
+	@Test
+	public void smallMovesAreNotSent() throws Exception {
+
+		publisher.setPolicy("x", 0, 1);
+		broadcast(LocationType.positionPerformed, 0);
+		for (int i = 1; i < 10; i++) broadcast(LocationType.positionChanged, i*0.1);
+		broadcast(LocationType.positionChanged, 2);
+		broadcast(LocationType.positionPerformed, 2);
+
+		waitForLast(2);
+		for (Location location : locations) {
+			double value = ((Number)location.getPosition().get("x")).doubleValue();
+			assertTrue("The move to "+value+" is within the deadband", value==0 || value==2);
+		}
+	}
+
+	private void broadcast(LocationType type, double value) throws EventException {
+		publisher.broadcast(new Location(type, new PositionEvent(new Scalar<>("x", -1, value), null)));
+	}
+
+	/**
+	 * The final value must always be sent, and last.
+	 */
+	private void waitForLast(double value) throws InterruptedException {
+		long start = System.currentTimeMillis();
+		while(System.currentTimeMillis()-start<5000) {
+			if (!locations.isEmpty() && locations.get(locations.size()-1).getType()==LocationType.positionPerformed
+				&& ((Number)locations.get(locations.size()-1).getPosition().get("x")).doubleValue()==value) break;
+			Thread.sleep(10);
+		}
+		Thread.sleep(200); // Nothing more should come
+		Location last = locations.get(locations.size()-1);
+		assertEquals(LocationType.positionPerformed, last.getType());
+		assertEquals(value, ((Number)last.getPosition().get("x")).doubleValue(), 0);
+	}
+}
@@ -81,6 +81,7 @@ public class HeartbeatMonitorTest {
 	
 	@After
 	public void tearDown() throws Exception {
+		if (hbM != null) hbM.disconnect();
 		hbM = null;
 		
 		consOne.clearQueue(IEventService.SUBMISSION_QUEUE);
@@ -227,6 +228,7 @@ public class HeartbeatMonitorTest {
 			} catch (EventException ex) {
 				//expected
 			}
+			hbm.disconnect();
 		}
 		
 		
@@ -15,6 +15,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+
 import org.eclipse.scanning.api.event.queues.SizeLimitedRecorder;
 import org.junit.Before;
 import org.junit.Test;
@@ -117,5 +119,53 @@ public class SizeLimitedRecorderTest {
 		assertEquals("Oldest element is not the oldest!", serialNumber-slr.size(), slr.oldest(), 0);
 		assertEquals("Latest element is not the latest!", serialNumber-1, slr.latest(), 0);
 	}
+	
+	@Test
+	public void testReadingWhileAdding() throws Exception {
+		
+		Thread writer = new Thread(() -> {
+			for (int i = 0; i < 100000; i++) slr.add(i);
+		});
+		writer.start();
+		
+		Integer last = -1;
+		while (writer.isAlive()) {
+			Integer latest = slr.latest();
+			if (latest==null) continue;
+			assertTrue("Latest went back from "+last+" to "+latest, latest>=last);
+			last = latest;
+			assertTrue("Too many objects in the recorder", slr.getRecording().size()<=cap);
+		}
+		writer.join();
+		
+		List<Integer> recording = slr.getRecording();
+		assertEquals(cap, recording.size());
+		for (int i = 0; i < cap; i++) assertEquals(100000-cap+i, recording.get(i), 0);
+	}
+	
+	@Test
+	public void testRecordingNotOverwrittenWhileRead() throws Exception {
+		
+		Thread writer = new Thread(() -> {
+			for (int i = 0; i < 1000000; i++) slr.add(i);
+		});
+		writer.start();
+		
+		Integer lastOldest = -1;
+		while (writer.isAlive()) {
+			List<Integer> recording = slr.getRecording();
+			for (int i = 1; i < recording.size(); i++) {
+				assertEquals("The recording was overwritten while it was copied: "+recording, recording.get(i-1)+1, recording.get(i), 0);
+			}
+			Integer oldest = slr.oldest();
+			if (oldest==null) continue;
+			assertTrue("Oldest went back from "+lastOldest+" to "+oldest, oldest>=lastOldest);
+			lastOldest = oldest;
+			Integer latest = slr.latest();
+			assertTrue("Oldest "+oldest+" is newer than latest "+latest, oldest<=latest);
+		}
+		writer.join();
+		assertEquals(1000000-cap, slr.oldest(), 0);
+	}
 
 }
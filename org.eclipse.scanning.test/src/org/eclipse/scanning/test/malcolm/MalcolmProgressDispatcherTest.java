@@ -0,0 +1,104 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.malcolm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scanning.api.malcolm.event.MalcolmEvent;
+import org.eclipse.scanning.api.malcolm.message.MalcolmMessage;
+import org.eclipse.scanning.malcolm.core.MalcolmProgressDispatcher;
+import org.junit.After;
+import org.junit.Test;
+
+public class MalcolmProgressDispatcherTest {
+
+	private MalcolmProgressDispatcher dispatcher;
+
+	@After
+	public void close() {
+		if (dispatcher!=null) dispatcher.close();
+	}
+
+	@Test
+	public void progressIsCoalesced() throws Exception {
+
+		final List<Object>   values = new CopyOnWriteArrayList<>();
+		final List<String>   threads = new CopyOnWriteArrayList<>();
+		final CountDownLatch last   = new CountDownLatch(1);
+		dispatcher = new MalcolmProgressDispatcher("test", 100, e -> {
+			threads.add(Thread.currentThread().getName());
+			values.add(e.getBean().getValue());
+			if (Integer.valueOf(999).equals(e.getBean().getValue())) last.countDown();
+		}, e -> {});
+
+		for (int i = 0; i < 1000; i++) dispatcher.progress(event(i));
+
+		assertTrue("The last update must be handled", last.await(5, TimeUnit.SECONDS));
+		assertEquals(1000, dispatcher.getReceived());
+		assertTrue("Only "+values.size()+" updates should have been handled", values.size()<10);
+		assertEquals(values.size(), dispatcher.getHandled());
+		assertEquals(999, values.get(values.size()-1));
+		for (String name : threads) assertEquals("Malcolm progress test", name);
+	}
+
+	@Test
+	public void progressIsHandledBeforeState() throws Exception {
+
+		final List<Object>   values = new CopyOnWriteArrayList<>();
+		final CountDownLatch state  = new CountDownLatch(1);
+		dispatcher = new MalcolmProgressDispatcher("test", 10000, e -> values.add(e.getBean().getValue()), e -> {
+			values.add(e.getBean().getValue());
+			state.countDown();
+		});
+
+		dispatcher.progress(event(1)); // Handled straight away
+		for (int i = 0; i < 100 && dispatcher.getHandled()<1; i++) Thread.sleep(10);
+		dispatcher.progress(event(2)); // Waits for the period
+		dispatcher.state(event("ARMED"));
+
+		assertTrue(state.await(5, TimeUnit.SECONDS));
+		assertEquals(3, values.size());
+		assertEquals(1, values.get(0));
+		assertEquals(2, values.get(1));
+		assertEquals("ARMED", values.get(2));
+	}
+
+	@Test
+	public void lastProgressIsHandledOnClose() throws Exception {
+
+		final List<Object> values = new CopyOnWriteArrayList<>();
+		dispatcher = new MalcolmProgressDispatcher("test", 10000, e -> values.add(e.getBean().getValue()), e -> {});
+
+		dispatcher.progress(event(1)); // Handled straight away
+		for (int i = 0; i < 100 && dispatcher.getHandled()<1; i++) Thread.sleep(10);
+		dispatcher.progress(event(2)); // Waits for the period
+		dispatcher.close();
+		assertEquals(Arrays.asList(1, 2), values);
+
+		dispatcher.progress(event(3)); // Dropped, the dispatcher is closed
+		Thread.sleep(100);
+		assertEquals(2, values.size());
+	}
+
+	private static MalcolmEvent<MalcolmMessage> event(Object value) {
+		final MalcolmMessage msg = new MalcolmMessage();
+		msg.setValue(value);
+		return new MalcolmEvent<>(msg);
+	}
+}
@@ -0,0 +1,168 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.malcolm;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.scanning.api.malcolm.MalcolmTable;
+import org.junit.Test;
+
+public class MalcolmTableTest {
+
+	@Test
+	public void rowsAreHeldInPrimitiveColumns() throws Exception {
+
+		final MalcolmTable table = createTable(1000);
+
+		assertEquals(1000, table.getNumRows());
+		final double[] x = table.getDoubleColumn("x");
+		assertEquals(1000, x.length);
+		assertEquals(999*0.5, x[999], 0);
+		assertSame("The column should not be copied again", x, table.getDoubleColumn("x"));
+		assertEquals(1000, table.getIntColumn("rank").length);
+		assertEquals(true, table.getBooleanColumn("visible")[0]);
+		assertEquals("row10", table.getStringColumn("name")[10]);
+	}
+
+	@Test
+	public void rowsAreViews() throws Exception {
+
+		final MalcolmTable table = createTable(3);
+
+		int index = 0;
+		for (Map<String, Object> row : table) {
+			assertEquals("row"+index, row.get("name"));
+			assertEquals(index, row.get("rank"));
+			assertEquals(index*0.5, row.get("x"));
+			assertEquals(4, row.size());
+			index++;
+		}
+
+		MalcolmTable.Row row = table.getRow(1);
+		assertEquals(0.5, row.getDouble("x"), 0);
+		assertEquals(1, row.getInt("rank"));
+		assertEquals(false, row.getBoolean("visible"));
+
+		table.getColumn("rank").set(1, 42);
+		assertEquals("A row reads the table", 42, row.getInt("rank"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rowsAreReadOnly() throws Exception {
+		createTable(2).getRow(0).put("rank", 42);
+	}
+
+	@Test
+	public void columnsHoldTheRows() throws Exception {
+
+		final MalcolmTable table = createTable(3);
+		final double[] x = table.getDoubleColumn("x");
+		assertEquals("The column is the length of the table", 3, x.length);
+
+		// Reading the table must not change the columns
+		table.hashCode();
+		assertEquals(table, createTable(3));
+		assertSame(x, table.getColumnArray("x"));
+
+		table.setNumRows(5);
+		assertEquals(5, table.getDoubleColumn("x").length);
+		assertNull(table.getCellValue("name", 4));
+		table.setNumRows(1);
+		assertArrayEquals(new double[]{0}, table.getDoubleColumn("x"), 0);
+		assertArrayEquals(new String[]{"row0"}, table.getStringColumn("name"));
+	}
+
+	@Test
+	public void tableFromLists() throws Exception {
+
+		Map<String, Class<?>> types = new LinkedHashMap<>();
+		types.put("x", Double.class);
+		types.put("name", String.class);
+
+		Map<String, List<Object>> data = new LinkedHashMap<>();
+		data.put("x", Arrays.asList(0, 1.5, 2)); // Integers are converted to the type of the column
+		data.put("name", Arrays.asList("a", "b", "c"));
+
+		MalcolmTable table = new MalcolmTable(data, types);
+		assertArrayEquals(new double[]{0, 1.5, 2}, table.getDoubleColumn("x"), 0);
+		assertEquals(Arrays.asList(0d, 1.5, 2d), table.getColumn("x"));
+
+		Map<String, Object> arrays = new LinkedHashMap<>();
+		for (String heading : table.getHeadings()) arrays.put(heading, table.getColumnArray(heading));
+		assertEquals(table, MalcolmTable.fromArrays(arrays, types));
+	}
+
+	@Test
+	public void nullsInPrimitiveColumnsAreRejected() throws Exception {
+
+		final MalcolmTable table = createTable(2);
+
+		Map<String, Object> row = new HashMap<>();
+		row.put("name", null); // A String column may hold a null
+		row.put("x", null);
+		row.put("rank", 2);
+		row.put("visible", true);
+		try {
+			table.addRow(row);
+			fail("A double column cannot hold a null");
+		} catch (IllegalArgumentException expected) {
+			assertEquals("The table is not changed", 2, table.getNumRows());
+		}
+
+		row.put("x", 1.0);
+		table.addRow(row);
+		assertEquals(3, table.getNumRows());
+		assertNull(table.getCellValue("name", 2));
+
+		try {
+			table.getColumn("rank").set(0, null);
+			fail("An int column cannot hold a null");
+		} catch (IllegalArgumentException expected) {
+			assertEquals(0, table.getIntColumn("rank")[0]);
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void columnsAreAFixedSize() throws Exception {
+		createTable(2).getColumn("x").add(1.0);
+	}
+
+	private static MalcolmTable createTable(int size) {
+
+		Map<String, Class<?>> types = new LinkedHashMap<>();
+		types.put("name", String.class);
+		types.put("x", Double.class);
+		types.put("rank", Integer.class);
+		types.put("visible", Boolean.class);
+
+		MalcolmTable table = new MalcolmTable(types);
+		for (int i = 0; i < size; i++) {
+			Map<String, Object> row = new HashMap<>();
+			row.put("name", "row"+i);
+			row.put("x", i*0.5);
+			row.put("rank", i);
+			row.put("visible", i%2==0);
+			table.addRow(row);
+		}
+		return table;
+	}
+}
@@ -19,6 +19,8 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(org.junit.runners.Suite.class)
 @SuiteClasses({
+	MalcolmProgressDispatcherTest.class,
+	MalcolmTableTest.class,
 	MockAbortingMalcolmTest.class,
 	MockCommunicationMalcolmTest.class,
 	MockMultipleClientTest.class,
@@ -21,6 +21,7 @@ import java.util.Map;
 
 import org.eclipse.dawnsci.analysis.api.roi.IROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.scanning.api.event.scan.DeviceState;
 import org.eclipse.scanning.api.malcolm.IMalcolmDevice;
 import org.eclipse.scanning.api.malcolm.IMalcolmService;
 import org.eclipse.scanning.api.malcolm.MalcolmTable;
@@ -35,6 +36,8 @@ import org.eclipse.scanning.connector.epics.EpicsV4ConnectorService;
 import org.eclipse.scanning.example.malcolm.EPICSv4ExampleModel;
 import org.eclipse.scanning.example.malcolm.IEPICSv4Device;
 import org.eclipse.scanning.malcolm.core.AbstractMalcolmDevice;
+import org.eclipse.scanning.malcolm.core.MalcolmAttributeMirror;
+import org.eclipse.scanning.malcolm.core.MalcolmDevice;
 import org.eclipse.scanning.malcolm.core.MalcolmService;
 import org.eclipse.scanning.points.PointGeneratorService;
 import org.eclipse.scanning.test.epics.DeviceRunner;
@@ -369,4 +372,44 @@ public class ExampleMalcolmDeviceTest {
 		}
 	}
 
+	/**
+	 * Reads the attributes of the device when the monitor of the block has
+	 * sent them, they should come from the mirror rather than the device.
+	 * @throws Exception
+	 */
+	@Test
+	public void attributesAreReadFromTheMirror() throws Exception {
+
+		this.service = new MalcolmService(new EpicsV4ConnectorService(), null);
+		DeviceRunner runner = new DeviceRunner();
+		epicsv4Device = runner.start();
+
+		try {
+			MalcolmDevice<?> device = (MalcolmDevice<?>)service.getDevice(epicsv4Device.getRecordName());
+			device.initialize();
+
+			MalcolmAttributeMirror mirror = device.getAttributeMirror();
+			for (int i = 0; i < 100 && !mirror.isLive(); i++) Thread.sleep(50);
+			assertTrue("The monitor should have sent the block", mirror.isLive());
+
+			final long misses = mirror.getMisses();
+			final DeviceState state = device.getDeviceState();
+			assertEquals(state, device.getDeviceState());
+			assertEquals("Test Health", device.getDeviceHealth());
+			assertEquals(11, device.getAllAttributes().size());
+			assertEquals("Nothing should have been read from the device", misses, mirror.getMisses());
+			assertTrue(mirror.getHits()>=4);
+
+			// A refresh always goes to the device
+			final long hits = mirror.getHits();
+			assertEquals(state, device.getDeviceState(true));
+			assertEquals(11, device.getAllAttributes(true).size());
+			assertEquals(hits, mirror.getHits());
+
+		} finally {
+			epicsv4Device.stop();
+			service.dispose();
+		}
+	}
+
 }
@@ -31,6 +31,7 @@ import org.eclipse.scanning.api.points.models.CompoundModel;
 import org.eclipse.scanning.api.points.models.GridModel;
 import org.eclipse.scanning.api.points.models.MultiStepModel;
 import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.points.CompoundSpgIterator;
 import org.eclipse.scanning.points.PointGeneratorService;
 import org.eclipse.scanning.points.PySerializable;
 import org.junit.Before;
@@ -76,6 +77,49 @@ public class CompoundTest {
 		IPointGenerator<?> scan = service.createCompoundGenerator(pos1, pos2);
 		scan.iterator().next();
 	}
+	@Test
+	public void testPointByIndex() throws Exception {
+
+		IPointGenerator<StepModel> temp = service.createGenerator(new StepModel("Temperature", 290, 292, 1));
+
+		BoundingBox box = new BoundingBox();
+		box.setFastAxisStart(0);
+		box.setSlowAxisStart(0);
+		box.setFastAxisLength(3);
+		box.setSlowAxisLength(3);
+
+		GridModel model = new GridModel("x", "y");
+		model.setSlowAxisPoints(10);
+		model.setFastAxisPoints(10);
+		model.setSnake(true);
+		model.setBoundingBox(box);
+		IPointGenerator<GridModel> grid = service.createGenerator(model, new CircularROI(1, 1.5, 1.5));
+
+		IPointGenerator<?> scan = service.createCompoundGenerator(temp, grid);
+		List<IPosition> points = new ArrayList<>();
+		scan.iterator().forEachRemaining(points::add);
+		assertEquals(scan.size(), points.size());
+
+		CompoundSpgIterator it = (CompoundSpgIterator)scan.iterator();
+
+		// Backwards, as after a seek, and without iterating
+		for (int i = points.size()-1; i > -1; i--) {
+			IPosition point = it.getPoint(i);
+			assertEquals(points.get(i), point);
+			assertEquals(i, point.getStepIndex());
+		}
+		assertTrue(it.hasNext());
+		assertEquals(points.get(0), it.next());
+	}
+
+	@Test(expected=IndexOutOfBoundsException.class)
+	public void testPointByIndexOutOfRange() throws Exception {
+		IPointGenerator<StepModel> temp = service.createGenerator(new StepModel("Temperature", 290, 292, 1));
+		IPointGenerator<StepModel> pos  = service.createGenerator(new StepModel("Position", 1, 4, 1));
+		CompoundSpgIterator it = (CompoundSpgIterator)service.createCompoundGenerator(temp, pos).iterator();
+		it.getPoint(12);
+	}
+
 	@Test
 	public void testIteratedSize() throws Exception {
 
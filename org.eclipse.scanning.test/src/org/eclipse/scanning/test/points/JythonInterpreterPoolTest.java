@@ -0,0 +1,135 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.jython.JythonInterpreterPool;
+import org.junit.Test;
+import org.python.core.Py;
+import org.python.core.PySystemState;
+
+public class JythonInterpreterPoolTest extends AbstractGeneratorTest {
+
+	@Test
+	public void testLeaseIsReentrant() throws Exception {
+
+		assertNull(JythonInterpreterPool.getLeased());
+		PySystemState outer = JythonInterpreterPool.execute(() -> {
+			PySystemState inner = JythonInterpreterPool.execute(() -> JythonInterpreterPool.getLeased());
+			assertSame(inner, JythonInterpreterPool.getLeased());
+			return inner;
+		});
+		assertNotNull(outer);
+		assertNull(JythonInterpreterPool.getLeased());
+	}
+
+	@Test
+	public void testIteratorIsPinnedToItsInterpreter() throws Exception {
+
+		final PySystemState shared = Py.getSystemState();
+		final PySystemState pooled = JythonInterpreterPool.execute(() -> JythonInterpreterPool.getLeased());
+		assertSame(pooled, JythonInterpreterPool.call(pooled, () -> Py.getSystemState()));
+		assertSame(shared, Py.getSystemState());
+
+		Iterator<IPosition> it = createCompound(5).iterator(); // The lease is released once it is made
+		assertNull(JythonInterpreterPool.getLeased());
+		int count = 0;
+		while(it.hasNext()) {
+			it.next();
+			count++;
+			assertSame("The thread's interpreter must be given back after each call", shared, Py.getSystemState());
+		}
+		assertEquals(250, count);
+	}
+
+	@Test
+	public void testSharedInsideLease() throws Exception {
+
+		final PySystemState shared = Py.getSystemState();
+		JythonInterpreterPool.execute(() -> {
+			final PySystemState pooled = JythonInterpreterPool.getLeased();
+			assertNotNull(pooled);
+			assertSame(shared, JythonInterpreterPool.executeShared(() -> {
+				assertNull(JythonInterpreterPool.getLeased());
+				return Py.getSystemState();
+			}));
+			assertSame(pooled, JythonInterpreterPool.getLeased());
+			assertSame(pooled, Py.getSystemState());
+			return null;
+		});
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testReleaseWithoutLease() throws Exception {
+		JythonInterpreterPool.getInstance().release();
+	}
+
+	@Test
+	public void testConcurrentGenerators() throws Exception {
+
+		final JythonInterpreterPool pool = JythonInterpreterPool.getInstance();
+		final long leases = pool.getLeaseCount();
+
+		ExecutorService service = Executors.newFixedThreadPool(2*pool.getSize());
+		try {
+			List<Future<Integer>> sizes = new ArrayList<>();
+			for (int i = 0; i < 4*pool.getSize(); i++) {
+				final int points = 5+i;
+				sizes.add(service.submit(() -> createCompound(points).size()));
+			}
+			for (int i = 0; i < sizes.size(); i++) {
+				int points = 5+i;
+				assertEquals(points*points*10, sizes.get(i).get().intValue());
+			}
+		} finally {
+			service.shutdownNow();
+		}
+		assertTrue(pool.getLeaseCount()>leases);
+		assertTrue(pool.getMaximumWaitTime(TimeUnit.NANOSECONDS)>=0);
+		assertEquals(pool.getSize(), pool.getAvailableCount());
+	}
+
+	private IPointGenerator<?> createCompound(int points) throws Exception {
+
+		BoundingBox box = new BoundingBox();
+		box.setFastAxisStart(0);
+		box.setSlowAxisStart(0);
+		box.setFastAxisLength(3);
+		box.setSlowAxisLength(3);
+
+		GridModel grid = new GridModel("x", "y");
+		grid.setSlowAxisPoints(points);
+		grid.setFastAxisPoints(points);
+		grid.setBoundingBox(box);
+
+		return service.createCompoundGenerator(new CompoundModel<>(new Object[] { new StepModel("T", 290, 299, 1), grid }));
+	}
+}
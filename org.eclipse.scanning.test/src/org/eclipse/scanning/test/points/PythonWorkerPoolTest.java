@@ -0,0 +1,204 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scanning.scisoftpy.python.PythonResult;
+import org.eclipse.scanning.scisoftpy.python.PythonSubProcess;
+import org.eclipse.scanning.scisoftpy.python.PythonWorker;
+import org.eclipse.scanning.scisoftpy.python.PythonWorkerPool;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Needs a python executable on the path, the tests are skipped if there is none.
+ */
+public class PythonWorkerPoolTest {
+
+	private PythonSubProcess process;
+	private PythonWorkerPool pool;
+	private PythonWorker     worker;
+
+	@Before
+	public void checkPython() throws Exception {
+		boolean python;
+		try {
+			python = new ProcessBuilder("python", "-c", "import sys").start().waitFor()==0;
+		} catch (IOException ne) {
+			python = false;
+		}
+		Assume.assumeTrue("There is no python to test with", python);
+	}
+
+	@After
+	public void stop() {
+		if (process!=null) process.stop();
+		if (pool!=null)    pool.stop();
+		if (worker!=null)  worker.stop();
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+
+		process = new PythonSubProcess(null, null, 1, 0);
+		assertTrue(process.isPooled());
+
+		PythonResult result = process.submit("print('hello')\nresult = [v*2 for v in arrays['x']]",
+				                             Collections.singletonMap("x", new double[]{1,2,3})).get(10, TimeUnit.SECONDS);
+		assertEquals("hello\n", result.getOutput());
+		assertNull(result.getError());
+		assertArrayEquals(new double[]{2,4,6}, result.getResult(), 0);
+
+		result = process.submit("result = 1.5", null).get(10, TimeUnit.SECONDS);
+		assertArrayEquals("A single number is returned as an array", new double[]{1.5}, result.getResult(), 0);
+
+		result = process.submit("print('nothing')", null).get(10, TimeUnit.SECONDS);
+		assertNull("The result is not kept between requests", result.getResult());
+
+		result = process.submit("raise ValueError('bad value')", null).get(10, TimeUnit.SECONDS);
+		assertTrue(result.isError());
+		assertTrue(result.getError(), result.getError().contains("bad value"));
+
+		process.communicate("import math");
+		String[] lines = process.communicate("print(math.floor(2.5))");
+		assertEquals("Globals are kept between requests", "2\n", lines[0]);
+		assertNull(lines[1]);
+	}
+
+	@Test
+	public void testPipelined() throws Exception {
+
+		worker = new PythonWorker();
+		List<Future<PythonResult>> results = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			results.add(worker.submit("result = [arrays['i'][0]+1]", Collections.singletonMap("i", new double[]{i})));
+		}
+		for (int i = 0; i < 100; i++) {
+			assertArrayEquals(new double[]{i+1}, results.get(i).get(10, TimeUnit.SECONDS).getResult(), 0);
+		}
+		assertEquals(0, worker.getPendingCount());
+	}
+
+	@Test
+	public void testSharedMemory() throws Exception {
+
+		worker = new PythonWorker(null, null, 1024*1024);
+
+		final double[] large   = ramp(100000);  // 800kB, in the shared file
+		final double[] small   = ramp(10);      // In the request
+		final double[] tooMany = ramp(200000);  // Larger than the shared file, in the request
+		for (int i = 0; i < 5; i++) { // The shared file is reused once each request has finished.
+			Map<String, double[]> arrays = new HashMap<>();
+			arrays.put("large", large);
+			arrays.put("small", small);
+			arrays.put("tooMany", tooMany);
+			PythonResult result = worker.submit("result = [len(arrays['large']), sum(arrays['large']), sum(arrays['small']), sum(arrays['tooMany'])]", arrays)
+					                    .get(10, TimeUnit.SECONDS);
+			assertNull(result.getError());
+			assertArrayEquals(new double[]{large.length, sum(large), sum(small), sum(tooMany)}, result.getResult(), 1e-6);
+		}
+
+		// Requests in flight use different regions of the file
+		Future<PythonResult> first  = worker.submit("result = [sum(arrays['x'])]", Collections.singletonMap("x", ramp(50000)));
+		Future<PythonResult> second = worker.submit("result = [sum(arrays['x'])]", Collections.singletonMap("x", large));
+		assertArrayEquals(new double[]{sum(ramp(50000))}, first.get(10, TimeUnit.SECONDS).getResult(), 1e-6);
+		assertArrayEquals(new double[]{sum(large)}, second.get(10, TimeUnit.SECONDS).getResult(), 1e-6);
+	}
+
+	@Test
+	public void testWorkerRestarted() throws Exception {
+
+		pool = new PythonWorkerPool(2);
+		PythonWorker dead = pool.getWorkers().get(0);
+
+		Future<PythonResult> result = dead.submit("import os\nos._exit(1)", null);
+		try {
+			result.get(10, TimeUnit.SECONDS);
+			fail("The worker which exited must fail its request");
+		} catch (ExecutionException expected) {
+			assertTrue(expected.getCause() instanceof IOException);
+		}
+		assertFalse(dead.isAlive());
+
+		for (int i = 0; i < 4; i++) {
+			assertArrayEquals(new double[]{i}, pool.run("result = ["+i+"]", null).getResult(), 0);
+		}
+		assertEquals(2, pool.getWorkers().size());
+		for (PythonWorker worker : pool.getWorkers()) {
+			assertTrue(worker!=dead);
+			assertTrue(worker.isAlive());
+		}
+	}
+
+	@Test
+	public void testDeadWorkerIsStopped() throws Exception {
+
+		final File shm = new File("/dev/shm");
+		Assume.assumeTrue("The shared files are not in /dev/shm", shm.isDirectory());
+		final int files = countSharedFiles(shm);
+
+		pool = new PythonWorkerPool(1, null, null, 1024*1024);
+		PythonWorker dead = pool.getWorkers().get(0);
+		assertEquals(files+1, countSharedFiles(shm));
+		try {
+			dead.submit("import os\nos._exit(1)", null).get(10, TimeUnit.SECONDS);
+			fail("The worker which exited must fail its request");
+		} catch (ExecutionException expected) {
+			assertTrue(expected.getCause() instanceof IOException);
+		}
+
+		assertArrayEquals(new double[]{1}, pool.run("result = [1]", null).getResult(), 0);
+		assertEquals("The shared file of the dead worker should be deleted", files+1, countSharedFiles(shm));
+		try {
+			dead.submit("result = [1]", Collections.singletonMap("x", ramp(100000))).get(10, TimeUnit.SECONDS);
+			fail("The stopped worker must not write to its shared file");
+		} catch (ExecutionException expected) {
+			assertTrue(expected.getCause() instanceof IOException);
+		}
+	}
+
+	private static int countSharedFiles(File dir) {
+		final String[] names = dir.list((d, name) -> name.startsWith("python_worker") && name.endsWith(".buf"));
+		return names == null ? 0 : names.length;
+	}
+
+	private static double[] ramp(int size) {
+		double[] values = new double[size];
+		for (int i = 0; i < size; i++) values[i] = i*0.5;
+		return values;
+	}
+
+	private static double sum(double[] values) {
+		double sum = 0;
+		for (double v : values) sum+=v;
+		return sum;
+	}
+}
@@ -0,0 +1,231 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.EllipticalROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.LinearROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.PointROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.PolygonalROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.SectorROI;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.ScanPointIterator;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.jython.JythonObjectFactory;
+import org.eclipse.scanning.points.RegionIndex;
+import org.eclipse.scanning.points.ScanPointGeneratorFactory;
+import org.junit.Test;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+
+public class RegionIndexTest {
+
+	@Test
+	public void testSingleRegion() {
+		RegionIndex index = new RegionIndex(Arrays.asList(new CircularROI(1, 0, 0)));
+		assertEquals(1, index.size());
+		assertTrue(index.containsPoint(0, 0));
+		assertTrue(index.containsPoint(0.5, 0.5));
+		assertFalse(index.containsPoint(0.9, 0.9));
+		assertFalse(index.containsPoint(5, 5));
+	}
+
+	@Test
+	public void testNonRegionsIgnored() {
+		RegionIndex index = new RegionIndex(Arrays.asList(new RectangularROI(0, 0, 1, 1, 0), "not a region"));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	public void testScanRegionsUnwrapped() {
+		RegionIndex index = new RegionIndex(Arrays.asList(new ScanRegion<IROI>(new CircularROI(1, 0, 0), "x", "y"),
+				                                          new ScanRegion<IROI>(new RectangularROI(4, 4, 1, 1, 0), "x", "y")));
+		assertEquals(2, index.size());
+		assertTrue(index.containsPoint(0, 0));
+		assertTrue(index.containsPoint(4.5, 4.5));
+		assertFalse(index.containsPoint(2, 2));
+	}
+
+	@Test
+	public void testUnsupportedRegionsIgnored() {
+		LinearROI line = new LinearROI(new double[]{0,0}, new double[]{3,3});
+		assertNull("A line cannot be excluded by the python excluder either", RegionIndex.getRoi(line));
+		RegionIndex index = new RegionIndex(Arrays.asList(new CircularROI(1, 0, 0), line, new ScanRegion<IROI>(line, "x", "y")));
+		assertEquals(1, index.size());
+		assertFalse(index.containsPoint(2, 2));
+	}
+
+	@Test
+	public void testManyRegionsSameAsBruteForce() {
+
+		final List<IROI> rois = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			for (int j = 0; j < 20; j++) {
+				if ((i+j)%3==0) {
+					rois.add(new CircularROI(0.4, i, j));
+				} else if ((i+j)%3==1) {
+					rois.add(new RectangularROI(i, j, 0.5, 0.3, 0.2));
+				} else {
+					PolygonalROI triangle = new PolygonalROI(new double[] { i, j });
+					triangle.insertPoint(new double[] { i+0.6, j });
+					triangle.insertPoint(new double[] { i+0.3, j+0.6 });
+					rois.add(triangle);
+				}
+			}
+		}
+		RegionIndex index = new RegionIndex(rois);
+
+		final int size = 200;
+		final double[] xs = new double[size*size];
+		final double[] ys = new double[size*size];
+		for (int row = 0; row < size; row++) {
+			for (int col = 0; col < size; col++) {
+				xs[row*size+col] = -1 + col*0.11;
+				ys[row*size+col] = -1 + row*0.11;
+			}
+		}
+
+		final List<RegionIndex> singles = new ArrayList<>(rois.size());
+		for (IROI roi : rois) singles.add(new RegionIndex(Arrays.asList(roi)));
+
+		boolean[] mask = index.createMask(xs, ys);
+		for (int p = 0; p < xs.length; p++) {
+			boolean expected = false;
+			for (RegionIndex single : singles) {
+				if (single.containsPoint(xs[p], ys[p])) {
+					expected = true;
+					break;
+				}
+			}
+			assertEquals("Point "+xs[p]+", "+ys[p], expected, mask[p]);
+			assertEquals("Point "+xs[p]+", "+ys[p], expected, index.containsPoint(xs[p], ys[p]));
+		}
+	}
+
+	@Test
+	public void testCircleSameAsPython() {
+		checkSameAsPython(new CircularROI(1, 0, 0), new CircularROI(0.75, 1.5, -1));
+	}
+
+	@Test
+	public void testEllipseSameAsPython() {
+		checkSameAsPython(new EllipticalROI(2, 1, 0.5, 0.5, 0), new EllipticalROI(1, 0.5, 0, -1.5, 1.5));
+	}
+
+	@Test
+	public void testPointSameAsPython() {
+		checkSameAsPython(new PointROI(0.5, 0.5), new PointROI(-1, 0), new PointROI(0.55, 0.55));
+	}
+
+	@Test
+	public void testPolygonSameAsPython() {
+		PolygonalROI triangle = new PolygonalROI(new double[] { -2, -2 });
+		triangle.insertPoint(new double[] { 1, -2 });
+		triangle.insertPoint(new double[] { -0.5, 1 });
+		PolygonalROI square = new PolygonalROI(new double[] { 1, 1 });
+		square.insertPoint(new double[] { 2, 1 });
+		square.insertPoint(new double[] { 2, 2 });
+		square.insertPoint(new double[] { 1, 2 });
+		checkSameAsPython(triangle, square);
+	}
+
+	@Test
+	public void testRectangleSameAsPython() {
+		checkSameAsPython(new RectangularROI(-2, -2, 1, 1, 0), new RectangularROI(0, 0, 2, 1, Math.PI/6));
+	}
+
+	@Test
+	public void testSectorSameAsPython() {
+		// The second sector goes through zero, the python takes the square of the distance from the centre to compare with the radii
+		checkSameAsPython(new SectorROI(-1, -1, 0.5, 2, 0, Math.PI/2),
+				          new SectorROI(1, 1, 0.25, 1.5, 5.5, 1.0),
+				          new SectorROI(0, 2, 0, 0.5, 1, 1+2*Math.PI));
+	}
+
+	/**
+	 * Checks that the points of a grid excluded with the Java index are the points
+	 * excluded by the python ROIExcluder.
+	 */
+	private void checkSameAsPython(IROI... rois) {
+
+		final List<IPosition> java   = points(Arrays.asList(rois), true);
+		final List<IPosition> python = points(Arrays.asList(rois), false);
+		assertTrue("The regions should exclude some points", python.size() < 61*61);
+		assertTrue("The regions should contain some points", python.size() > 0);
+		assertEquals(python, java);
+	}
+
+	private static List<IPosition> points(List<IROI> rois, boolean useIndex) {
+
+		JythonObjectFactory<ScanPointIterator> lineGeneratorFactory = ScanPointGeneratorFactory.JLineGenerator1DFactory();
+		ScanPointIterator outerLine = lineGeneratorFactory.createObject("y", "mm", -3.0, 3.0, 61);
+		ScanPointIterator innerLine = lineGeneratorFactory.createObject("x", "mm", -3.0, 3.0, 61);
+
+		Object[] pyRois = rois.stream().map(RegionIndexTest::pyRoi).toArray();
+		PyList   axes   = new PyList(Arrays.asList("x", "y"));
+		JythonObjectFactory<PyObject> excluderFactory = ScanPointGeneratorFactory.JExcluderFactory();
+		PyObject excluder = useIndex ? excluderFactory.createObject(pyRois, axes, new RegionIndex(rois))
+				                     : excluderFactory.createObject(pyRois, axes);
+
+		ScanPointIterator iterator = ScanPointGeneratorFactory.JCompoundGeneratorFactory().createObject(
+				new Iterator<?>[] {outerLine, innerLine}, new PyObject[] {excluder}, new PyObject[] {});
+
+		final List<IPosition> ret = new ArrayList<>();
+		while (iterator.hasNext()) ret.add(iterator.next());
+		return ret;
+	}
+
+	private static PyObject pyRoi(IROI roi) {
+		if (roi instanceof CircularROI) {
+			return ScanPointGeneratorFactory.JCircularROIFactory().createObject(((CircularROI) roi).getCentre(), ((CircularROI) roi).getRadius());
+		} else if (roi instanceof EllipticalROI) {
+			EllipticalROI e = (EllipticalROI) roi;
+			return ScanPointGeneratorFactory.JEllipticalROIFactory().createObject(e.getPoint(), e.getSemiAxes(), e.getAngle());
+		} else if (roi instanceof PointROI) {
+			return ScanPointGeneratorFactory.JPointROIFactory().createObject(((PointROI) roi).getPoint());
+		} else if (roi instanceof PolygonalROI) {
+			PolygonalROI p = (PolygonalROI) roi;
+			double[] xPoints = new double[p.getNumberOfPoints()];
+			double[] yPoints = new double[p.getNumberOfPoints()];
+			for (int i = 0; i < xPoints.length; i++) {
+				xPoints[i] = p.getPoint(i).getPointX();
+				yPoints[i] = p.getPoint(i).getPointY();
+			}
+			return ScanPointGeneratorFactory.JPolygonalROIFactory().createObject(xPoints, yPoints);
+		} else if (roi instanceof RectangularROI) {
+			RectangularROI r = (RectangularROI) roi;
+			return ScanPointGeneratorFactory.JRectangularROIFactory().createObject(r.getPoint(), r.getLength(0), r.getLength(1), r.getAngle());
+		} else if (roi instanceof SectorROI) {
+			SectorROI s = (SectorROI) roi;
+			return ScanPointGeneratorFactory.JSectorROIFactory().createObject(s.getPoint(), s.getRadii(), s.getAngles());
+		}
+		throw new IllegalArgumentException("No python roi for "+roi);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMismatchedLengths() {
+		RegionIndex index = new RegionIndex(Arrays.asList(new CircularROI(1, 0, 0)));
+		index.createMask(new double[2], new double[3]);
+	}
+}
@@ -27,13 +27,16 @@ import org.junit.runners.Suite.SuiteClasses;
 	RandomOffsetDecoratorTest.class,
 	RandomOffsetGridTest.class,	
 	RasterTest.class, 
+	RegionIndexTest.class,
 	ScanPointGeneratorFactoryTest.class,
 	ScanRankTest.class,
 	ScanShapeTest.class,
 	SpiralTest.class,
 	StaticTest.class,
 	StepTest.class,
-	JythonGeneratorTest.class
+	JythonGeneratorTest.class,
+	JythonInterpreterPoolTest.class,
+	PythonWorkerPoolTest.class
 
 	// TODO Smoke tests?
 	//GridTestLarge.class, 
@@ -16,16 +16,21 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.scanning.api.IScannable;
+import org.eclipse.scanning.api.annotation.ui.DeviceType;
 import org.eclipse.scanning.api.device.IScannableDeviceService;
 import org.eclipse.scanning.api.event.EventConstants;
 import org.eclipse.scanning.api.event.EventException;
 import org.eclipse.scanning.api.event.IEventService;
 import org.eclipse.scanning.api.event.core.IDisconnectable;
+import org.eclipse.scanning.api.event.core.IRequester;
+import org.eclipse.scanning.api.event.scan.DeviceInformation;
+import org.eclipse.scanning.api.event.scan.DeviceRequest;
 import org.eclipse.scanning.api.scan.PositionEvent;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.event.IPositionListenable;
@@ -120,6 +125,28 @@ public class RemoteScannableServiceTest extends BrokerTest {
 		assertTrue(names2.containsAll(names1));
 	}
 
+	@Test
+	public void testBatchedScannables() throws Exception {
+		
+		IRequester<DeviceRequest> requester = eservice.createRequestor(uri, EventConstants.DEVICE_REQUEST_TOPIC, EventConstants.DEVICE_RESPONSE_TOPIC);
+		requester.setTimeout(10, TimeUnit.SECONDS);
+		try {
+			DeviceRequest req = new DeviceRequest(Arrays.asList("xNex", "yNex"), DeviceType.SCANNABLE);
+			req.setIncludeValues(true);
+			req.setPartSize(1); // Each device is sent back on its own
+			req = requester.post(req);
+			req.checkException();
+			
+			assertEquals(2, req.size());
+			assertTrue(!req.isPartial());
+			for (DeviceInformation<?> info : req.getDevices()) {
+				assertEquals(cservice.getScannable(info.getName()).getPosition(), info.getValue());
+			}
+		} finally {
+			requester.disconnect();
+		}
+	}
+
 	@Test
 	public void testGetScannable() throws Exception {
 		
@@ -158,6 +185,26 @@ public class RemoteScannableServiceTest extends BrokerTest {
 		}
 	}
 	
+	@Test
+	public void testPositionCachedFromTopic() throws Exception {
+		
+		System.setProperty("org.eclipse.scanning.event.remote.positionMaxAge", "60000");
+		try {
+			IScannable<Double> yNex1 = cservice.getScannable("yNex");
+			IScannable<Double> yNex2 = rservice.getScannable("yNex");
+			yNex1.setPosition(1d);
+			assertEquals(1d, yNex2.getPosition(), 0); // Read and listening
+			
+			yNex1.setPosition(2d);
+			// The value read is kept for a minute, it can only change if the move is sent to us.
+			long start = System.currentTimeMillis();
+			while(yNex2.getPosition()!=2d && System.currentTimeMillis()-start<5000) Thread.sleep(10);
+			assertEquals(2d, yNex2.getPosition(), 0);
+		} finally {
+			System.clearProperty("org.eclipse.scanning.event.remote.positionMaxAge");
+		}
+	}
+	
 	@Test
 	public void addFive() throws Exception {
 		checkTemperature(5);
@@ -0,0 +1,129 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.eclipse.scanning.api.device.IRunnableDeviceService;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.scan.LevelRole;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.api.scan.event.IPositioner;
+import org.eclipse.scanning.example.scannable.MockScannable;
+import org.eclipse.scanning.example.scannable.MockScannableConnector;
+import org.eclipse.scanning.sequencer.LatencyStatistics;
+import org.eclipse.scanning.sequencer.RunnableDeviceServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that a LevelRunner with adaptive timeouts does not abort
+ * on a move which is rare but always slow, like the fly-back of a raster.
+ */
+public class AdaptiveTimeoutTest {
+
+	private IRunnableDeviceService dservice;
+	private FlyBackScannable       x;
+
+	@Before
+	public void before() {
+		System.setProperty(LatencyStatistics.ADAPTIVE_PROPERTY, "true");
+		System.setProperty(LatencyStatistics.SAMPLES_PROPERTY,  "5");
+		System.setProperty(LatencyStatistics.MINIMUM_PROPERTY,  "0");
+		LatencyStatistics.clear();
+
+		MockScannableConnector connector = new MockScannableConnector(null);
+		x = new FlyBackScannable("x");
+		connector.register(x);
+		dservice = new RunnableDeviceServiceImpl(connector);
+	}
+
+	@After
+	public void after() {
+		System.clearProperty(LatencyStatistics.ADAPTIVE_PROPERTY);
+		System.clearProperty(LatencyStatistics.SAMPLES_PROPERTY);
+		System.clearProperty(LatencyStatistics.MINIMUM_PROPERTY);
+		LatencyStatistics.clear();
+	}
+
+	@Test
+	public void testFlyBackDoesNotTimeOut() throws Exception {
+
+		IPositioner pos = dservice.createPositioner();
+		for (int line = 0; line < 4; line++) {
+			for (int i = 0; i < 10; i++) pos.setPosition(position(line*10+i, i));
+		}
+
+		LatencyStatistics steps = LatencyStatistics.get(LevelRole.MOVE, x, 1);
+		assertEquals("Each line has nine steps", 36, steps.getCount());
+		assertEquals("A step is learned to take well under the fly-back", 1, steps.getTimeout(180));
+		assertEquals("The fly-backs are learned apart from the steps", 3, LatencyStatistics.get(LevelRole.MOVE, x, 9).getCount());
+	}
+
+	@Test
+	public void testTimeoutRecorded() throws Exception {
+
+		IPositioner pos = dservice.createPositioner();
+		for (int i = 0; i < 10; i++) pos.setPosition(position(i, i));
+
+		LatencyStatistics steps = LatencyStatistics.get(LevelRole.MOVE, x, 1);
+		final long timeout = steps.getTimeout(180);
+		assertEquals(1, timeout);
+
+		x.setSlow(true);
+		try {
+			pos.setPosition(position(10, 10));
+			fail("The slow step should have timed out");
+		} catch (ScanningException expected) {
+			// The step took longer than it has been learned to take.
+		}
+		assertEquals(10, steps.getCount());
+		assertTrue("The timeout was not recorded", steps.getMax()>=timeout*1000);
+		assertTrue("The next step should be given longer", steps.getTimeout(180)>timeout);
+	}
+
+	private static IPosition position(int step, int value) {
+		MapPosition ret = new MapPosition();
+		ret.put("x", value);
+		ret.putIndex("x", value);
+		ret.setStepIndex(step);
+		return ret;
+	}
+
+	/**
+	 * Moves in 10ms unless the move is more than two, like the fly-back
+	 * at the end of a line, which takes 1.5s.
+	 */
+	private static class FlyBackScannable extends MockScannable {
+
+		private volatile boolean slow;
+
+		FlyBackScannable(String name) {
+			super(name, 0d, 1, false);
+		}
+
+		@Override
+		public Number setPosition(Number value, IPosition loc) throws Exception {
+			final double move = Math.abs(value.doubleValue()-getPosition().doubleValue());
+			Thread.sleep(move>2 || slow ? 1500 : 10);
+			return super.setPosition(value, loc);
+		}
+
+		void setSlow(boolean slow) {
+			this.slow = slow;
+		}
+	}
+}
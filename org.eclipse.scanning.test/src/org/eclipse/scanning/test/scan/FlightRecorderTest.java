@@ -0,0 +1,116 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.scanning.api.recorder.EventType;
+import org.eclipse.scanning.api.recorder.FlightEvent;
+import org.eclipse.scanning.api.recorder.FlightRecorder;
+import org.junit.Test;
+
+public class FlightRecorderTest {
+
+	@Test
+	public void testEventNamesAreUnique() {
+		Set<String> names = new HashSet<>();
+		for (EventType type : EventType.values()) {
+			assertTrue(type.getEventName().startsWith("org.eclipse.scanning."));
+			assertTrue("The event name "+type.getEventName()+" is used twice", names.add(type.getEventName()));
+		}
+		assertEquals("org.eclipse.scanning.ScanPoint", EventType.POINT.getEventName());
+	}
+
+	@Test
+	public void testEventsAreSafeWhenNotRecording() {
+		// Whether or not the JVM has a flight recorder, the events must not throw
+		for (EventType type : EventType.values()) {
+			FlightEvent event = FlightRecorder.begin(type);
+			assertNotNull(event);
+			event.name("test").detail(type.getDescription()).index(10);
+			event.commit();
+			event.commit(); // Committing twice does nothing
+		}
+	}
+
+	@Test
+	public void testEventCanBeClosed() throws Exception {
+		try (FlightEvent event = FlightRecorder.begin(EventType.BROADCAST).name("test")) {
+			Thread.sleep(1);
+		}
+	}
+
+	/**
+	 * Records some events and reads them back from the recording. The test
+	 * uses jdk.jfr by reflection as the bundles are compiled for Java 8.
+	 */
+	@Test
+	public void testEventsAreRecorded() throws Exception {
+
+		assumeTrue("The JVM has no flight recorder", FlightRecorder.isAvailable());
+
+		final ClassLoader loader    = ClassLoader.getSystemClassLoader();
+		final Class<?>    recording = Class.forName("jdk.jfr.Recording", true, loader);
+		final Object      rec       = recording.getConstructor().newInstance();
+		recording.getMethod("enable",  String.class).invoke(rec, EventType.BROADCAST.getEventName());
+		recording.getMethod("disable", String.class).invoke(rec, EventType.POINT.getEventName());
+		recording.getMethod("start").invoke(rec);
+
+		final File file = File.createTempFile("scanning", ".jfr");
+		file.deleteOnExit();
+		try {
+			FlightEvent event = FlightRecorder.begin(EventType.BROADCAST);
+			assertTrue("The event should be recorded", event.isEnabled());
+			event.name("test").detail("recorded").index(42);
+			event.commit();
+
+			FlightEvent point = FlightRecorder.begin(EventType.POINT);
+			assertFalse("A type which is not recorded should make no event", point.isEnabled());
+			assertSame("A type which is not recorded should use the shared event", point, FlightRecorder.begin(EventType.POINT));
+
+			recording.getMethod("stop").invoke(rec);
+			recording.getMethod("dump", Path.class).invoke(rec, file.toPath());
+		} finally {
+			recording.getMethod("close").invoke(rec);
+		}
+
+		final Method       read   = Class.forName("jdk.jfr.consumer.RecordingFile", true, loader).getMethod("readAllEvents", Path.class);
+		final Class<?>     recorded = Class.forName("jdk.jfr.consumer.RecordedEvent", true, loader);
+		final Method       type   = recorded.getMethod("getEventType");
+		final Method       name   = Class.forName("jdk.jfr.EventType", true, loader).getMethod("getName");
+		final Method       field  = recorded.getMethod("getValue", String.class);
+
+		int count = 0;
+		for (Object rev : (List<?>)read.invoke(null, file.toPath())) {
+			final String typeName = (String)name.invoke(type.invoke(rev));
+			assertFalse("The point should not be recorded", EventType.POINT.getEventName().equals(typeName));
+			if (!EventType.BROADCAST.getEventName().equals(typeName)) continue;
+			assertEquals("test",     field.invoke(rev, "name"));
+			assertEquals("recorded", field.invoke(rev, "detail"));
+			assertEquals(42L,        field.invoke(rev, "index"));
+			count++;
+		}
+		assertEquals("The broadcast should have been recorded once", 1, count);
+	}
+}
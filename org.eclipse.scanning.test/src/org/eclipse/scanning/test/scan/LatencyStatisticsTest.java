@@ -0,0 +1,108 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.eclipse.scanning.api.scan.LevelRole;
+import org.eclipse.scanning.sequencer.LatencyStatistics;
+import org.eclipse.scanning.test.scan.mock.MockDetectorModel;
+import org.eclipse.scanning.test.scan.mock.MockWritableDetector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LatencyStatisticsTest {
+	
+	private File file;
+
+	@Before
+	public void before() throws Exception {
+		file = File.createTempFile("latency", ".properties");
+		file.delete();
+		System.setProperty(LatencyStatistics.FILE_PROPERTY, file.getAbsolutePath());
+		LatencyStatistics.clear();
+	}
+	
+	@After
+	public void after() {
+		System.clearProperty(LatencyStatistics.FILE_PROPERTY);
+		LatencyStatistics.clear();
+		file.delete();
+	}
+
+	@Test
+	public void testStaticTimeoutUntilLearned() {
+		LatencyStatistics stats = LatencyStatistics.get(LevelRole.MOVE, "x");
+		for (int i = 0; i < 5; i++) stats.add(50000000); // 50ms
+		assertEquals("Too few times to learn from", 180, stats.getTimeout(180));
+	}
+
+	@Test
+	public void testLearnedTimeout() {
+		LatencyStatistics stats = LatencyStatistics.get(LevelRole.MOVE, "x");
+		for (int i = 0; i < 100; i++) stats.add(50000000+(i%5)*1000000); // 50-54ms
+		
+		assertEquals(52, stats.getMean(), 2);
+		assertEquals(54, stats.getPercentile(99), 0.001);
+		assertEquals("A device taking 50ms should time out at the minimum", 2, stats.getTimeout(180));
+		assertEquals("The learned timeout must not be more than the static one", 1, stats.getTimeout(1));
+		
+		for (int i = 0; i < 100; i++) stats.add(1000000000); // 1s
+		long timeout = stats.getTimeout(180);
+		assertTrue("Timeout was "+timeout, timeout>=10 && timeout<=20);
+	}
+
+	@Test
+	public void testRareLongTimeKept() {
+		LatencyStatistics stats = LatencyStatistics.get(LevelRole.MOVE, "x");
+		for (int i = 0; i < 1000; i++) stats.add(i%100==99 ? 1000000000 : 10000000); // 10ms, 1s every hundred
+		assertTrue("A rare long time must not be forgotten", stats.getTimeout(180)>=10);
+	}
+
+	@Test
+	public void testLearnedPerExposure() throws Exception {
+		MockWritableDetector detector = new MockWritableDetector("detector");
+		detector.configure(new MockDetectorModel(0.1));
+		LatencyStatistics fast = LatencyStatistics.get(LevelRole.RUN, detector);
+		for (int i = 0; i < 100; i++) fast.add(100000000); // 100ms
+		assertEquals("The exposure rounded up plus the minimum", 3, fast.getTimeout(180, LatencyStatistics.getExposureTime(detector)));
+		
+		detector.configure(new MockDetectorModel(5));
+		LatencyStatistics slow = LatencyStatistics.get(LevelRole.RUN, detector);
+		assertTrue("A new exposure must not use the times of the old one", fast!=slow);
+		assertEquals(0, slow.getCount());
+		assertEquals("The static timeout is used until the exposure is learned", 180, slow.getTimeout(180, LatencyStatistics.getExposureTime(detector)));
+		assertEquals("The timeout must never be less than the exposure", 7, fast.getTimeout(180, 5));
+		assertEquals("The timeout must never be less than the exposure", 7, fast.getTimeout(1, 5));
+	}
+
+	@Test
+	public void testSavedAndRead() {
+		LatencyStatistics stats = LatencyStatistics.get(LevelRole.RUN, "detector");
+		for (int i = 0; i < 50; i++) stats.add(10000000*(i+1));
+		LatencyStatistics.save();
+		assertTrue(file.exists());
+
+		LatencyStatistics.clear();
+		LatencyStatistics read = LatencyStatistics.get(LevelRole.RUN, "detector");
+		assertEquals(50, read.getCount());
+		assertEquals(stats.getMean(), read.getMean(), 0.001);
+		assertEquals(stats.getMax(),  read.getMax(),  0.001);
+		assertEquals(stats.getPercentile(99), read.getPercentile(99), 0.001);
+		assertEquals(stats.getTimeout(180), read.getTimeout(180));
+		assertEquals(0, LatencyStatistics.get(LevelRole.MOVE, "detector").getCount());
+	}
+}
@@ -0,0 +1,100 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.scanning.sequencer.PointTrace;
+import org.eclipse.scanning.sequencer.PointTrace.Stage;
+import org.junit.Test;
+
+public class PointTraceTest {
+
+	@Test
+	public void testBuckets() {
+		assertEquals(0, PointTrace.getBucket(500));       // < 1us
+		assertEquals(1, PointTrace.getBucket(1500));      // 1us
+		assertEquals(10, PointTrace.getBucket(1000000));  // 1ms is in 512-1023us
+		assertEquals(PointTrace.BUCKETS-1, PointTrace.getBucket(Long.MAX_VALUE));
+		assertTrue(PointTrace.getBucketLimit(10) > 1d);
+	}
+
+	@Test
+	public void testRingKeepsMostRecent() {
+
+		final PointTrace trace = new PointTrace(4);
+		for (int i = 0; i < 10; i++) {
+			trace.begin();
+			trace.mark(Stage.MOVE);
+			trace.end(i);
+		}
+
+		assertEquals(10, trace.getCount());
+		final List<long[]> recent = trace.getRecent(100);
+		assertEquals(4, recent.size());
+		for (int i = 0; i < 4; i++) assertEquals(6+i, recent.get(i)[0]);
+
+		long total = 0;
+		for (long count : trace.getHistogram(Stage.MOVE)) total+=count;
+		assertEquals("The histogram covers every point, not just the recent ones", 10, total);
+	}
+
+	@Test
+	public void testRecentNotOverwrittenWhileRead() throws Exception {
+
+		final PointTrace trace = new PointTrace(8);
+		final Thread scan = new Thread(() -> {
+			for (int i = 0; i < 1000000; i++) {
+				trace.begin();
+				trace.end(i);
+			}
+		});
+		scan.start();
+
+		while (scan.isAlive()) {
+			final List<long[]> recent = trace.getRecent(8);
+			for (int i = 1; i < recent.size(); i++) {
+				assertEquals("A point was written over while it was read", recent.get(i-1)[0]+1, recent.get(i)[0]);
+			}
+		}
+		scan.join();
+		assertEquals(8, trace.getRecent(8).size());
+	}
+
+	@Test
+	public void testStageTimes() throws Exception {
+
+		final PointTrace trace = new PointTrace(16);
+		for (int i = 0; i < 5; i++) {
+			trace.begin();
+			Thread.sleep(10);
+			trace.mark(Stage.MOVE);
+			trace.mark(Stage.RUN);
+			trace.end(i);
+		}
+		trace.level(1, 2000000);
+		trace.level(1, 4000000);
+
+		assertTrue(trace.getMean(Stage.MOVE) >= 10);
+		assertTrue(trace.getMean(Stage.RUN) < trace.getMean(Stage.MOVE));
+		assertTrue(trace.getMax(Stage.MOVE) >= trace.getPercentile(Stage.MOVE, 50));
+		assertEquals(0d, trace.getMax(Stage.PUBLISH), 0d);
+
+		double[] level = trace.getLevelTimes().get(1);
+		assertEquals(2d, level[0], 0d);
+		assertEquals(3d, level[1], 0.001);
+		assertEquals(4d, level[2], 0.001);
+	}
+}
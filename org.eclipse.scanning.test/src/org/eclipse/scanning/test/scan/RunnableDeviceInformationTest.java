@@ -0,0 +1,140 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.scanning.api.device.IRunnableDeviceService;
+import org.eclipse.scanning.api.event.scan.DeviceInformation;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.example.detector.MandelbrotDetector;
+import org.eclipse.scanning.example.detector.MandelbrotModel;
+import org.eclipse.scanning.example.scannable.MockScannableConnector;
+import org.eclipse.scanning.sequencer.RunnableDeviceServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RunnableDeviceInformationTest {
+
+	private IRunnableDeviceService dservice;
+	private CountingDetector       counting;
+
+	@Before
+	public void setup() throws Exception {
+		System.setProperty("org.eclipse.scanning.sequencer.deviceInformation.timeout", "500");
+		System.setProperty("org.eclipse.scanning.sequencer.deviceInformation.maxAge", "60000");
+		dservice  = new RunnableDeviceServiceImpl(new MockScannableConnector());
+		counting  = new CountingDetector(0);
+		register(counting, "mandelbrot0");
+		for (int i = 1; i < 4; i++) register(new CountingDetector(0), "mandelbrot"+i);
+	}
+
+	@After
+	public void clear() {
+		System.clearProperty("org.eclipse.scanning.sequencer.deviceInformation.timeout");
+		System.clearProperty("org.eclipse.scanning.sequencer.deviceInformation.maxAge");
+	}
+
+	@Test
+	public void slowDeviceDoesNotHoldUpTheOthers() throws Exception {
+
+		register(new CountingDetector(5000), "slow");
+
+		Collection<DeviceInformation<?>> infos = dservice.getDeviceInformation();
+		assertEquals("The slow device has no information yet", 4, infos.size());
+
+		final List<String> names = new CopyOnWriteArrayList<>();
+		dservice.forEachDeviceInformation(info -> names.add(info.getName()));
+		assertEquals(4, names.size());
+		assertTrue(names.contains("mandelbrot0"));
+	}
+
+	@Test
+	public void informationIsUsedAgainUntilTheModelChanges() throws Exception {
+
+		dservice.getDeviceInformation();
+		dservice.getDeviceInformation();
+		assertEquals(1, counting.getReads());
+
+		counting.setModel(createModel("mandelbrot0"));
+		DeviceInformation<?> info = dservice.getDeviceInformation("mandelbrot0");
+		assertEquals(2, counting.getReads());
+
+		dservice.getDeviceInformation();
+		assertEquals(3, counting.getReads());
+		assertEquals(counting.getModel(), info.getModel());
+	}
+
+	@Test
+	public void informationGivenOutIsNotChangedByTheNextRead() throws Exception {
+
+		DeviceInformation<?> first = dservice.getDeviceInformation("mandelbrot0");
+		Object model = first.getModel();
+
+		counting.setModel(createModel("mandelbrot0"));
+		DeviceInformation<?> second = dservice.getDeviceInformation("mandelbrot0");
+		assertEquals(2, counting.getReads());
+		assertNotSame(first, second);
+		assertSame("The information given out must not change", model, first.getModel());
+		assertNotSame(first.getModel(), second.getModel());
+	}
+
+	private void register(MandelbrotDetector det, String name) throws Exception {
+		det.setModel(createModel(name));
+		det.setName(name);
+		det.setDeviceInformation(new DeviceInformation<>(name));
+		dservice.register(det);
+	}
+
+	private static MandelbrotModel createModel(String name) {
+		final MandelbrotModel model = new MandelbrotModel("x", "y");
+		model.setName(name);
+		model.setExposureTime(0.000001);
+		return model;
+	}
+
+	private static class CountingDetector extends MandelbrotDetector {
+
+		private final long          delay;
+		private final AtomicInteger reads = new AtomicInteger();
+
+		CountingDetector(long delay) throws Exception {
+			this.delay = delay;
+		}
+
+		@Override
+		public String getDeviceHealth() throws ScanningException {
+			reads.incrementAndGet();
+			if (delay>0) {
+				try {
+					Thread.sleep(delay);
+				} catch (InterruptedException e) {
+					throw new ScanningException(e);
+				}
+			}
+			return super.getDeviceHealth();
+		}
+
+		int getReads() {
+			return reads.get();
+		}
+	}
+}
@@ -25,10 +25,15 @@ import org.junit.runners.Suite.SuiteClasses;
 	ParserTest.class,
 	BenchmarkScanTest.class,
 	ScanFinishedTest.class,
+	PointTraceTest.class,
+	FlightRecorderTest.class,
+	LatencyStatisticsTest.class,
+	AdaptiveTimeoutTest.class,
 	PreprocessTest.class,
 	ScanSpeedTest.class,
 	RealisticishMockTest.class,
 	RunnableDeviceServiceConfigureTest.class,
+	RunnableDeviceInformationTest.class,
 	WatchdogTopupTest.class,
 	WatchdogShutterTest.class,
 	WatchdogCombinedTest.class
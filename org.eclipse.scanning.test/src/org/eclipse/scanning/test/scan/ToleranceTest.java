@@ -2,9 +2,11 @@ package org.eclipse.scanning.test.scan;
 
 import static org.junit.Assert.assertEquals;
 
+import org.eclipse.scanning.api.AbstractScannable;
 import org.eclipse.scanning.api.IScannable;
 import org.eclipse.scanning.api.device.IRunnableDeviceService;
 import org.eclipse.scanning.api.device.IScannableDeviceService;
+import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.MapPosition;
 import org.eclipse.scanning.api.scan.event.IPositioner;
 import org.eclipse.scanning.example.scannable.MockScannableConnector;
@@ -119,6 +121,72 @@ public class ToleranceTest {
         assertEquals(new Double(20.5d), a.getPosition());
 	}
 
+	@Test
+	public void testToleranceUsesPositionReachedInScan() throws Exception {
+		
+		IScannable<Double> a   = connector.getScannable("a");
+		IPositioner     pos    = dservice.createPositioner();
+		try {
+			pos.setPosition(point("a:0:20", 0));
+			a.setTolerance(1d);
+			a.setPosition(25d); // Not by the scan
+			
+			// The scan believes that a is still at 20
+			pos.setPosition(point("a:0:20.5", 1));
+			assertEquals(new Double(25d), a.getPosition());
+			
+			// A new scan does not
+			pos.setPosition(point("a:0:20", 0));
+			assertEquals(new Double(20d), a.getPosition());
+		} finally {
+			a.setTolerance(null);
+		}
+	}
+	
+	@Test
+	public void testDriftingScannableIsRead() throws Exception {
+		
+		IScannable<Double> a   = connector.getScannable("a");
+		IPositioner     pos    = dservice.createPositioner();
+		try {
+			((AbstractScannable<Double>)a).setDrifting(true);
+			pos.setPosition(point("a:0:20", 0));
+			a.setTolerance(1d);
+			a.setPosition(25d); // Drifted
+			
+			pos.setPosition(point("a:0:20.5", 1));
+			assertEquals(new Double(20.5d), a.getPosition());
+		} finally {
+			a.setTolerance(null);
+			((AbstractScannable<Double>)a).setDrifting(false);
+		}
+	}
+	
+	@Test
+	public void testSkipUnchanged() throws Exception {
+		
+		IScannable<Double> a   = connector.getScannable("a");
+		IPositioner     pos    = dservice.createPositioner();
+		System.setProperty("org.eclipse.scanning.sequencer.positioner.skipUnchanged", "true");
+		try {
+			pos.setPosition(point("a:0:20", 0));
+			a.setPosition(25d);
+			pos.setPosition(point("a:0:20", 1));
+			assertEquals("The move should be skipped", new Double(25d), a.getPosition());
+
+			pos.setPosition(point("a:0:21", 2));
+			assertEquals(new Double(21d), a.getPosition());
+		} finally {
+			System.clearProperty("org.eclipse.scanning.sequencer.positioner.skipUnchanged");
+		}
+	}
+	
+	private static IPosition point(String value, int stepIndex) {
+		IPosition ret = new MapPosition(value);
+		ret.setStepIndex(stepIndex);
+		return ret;
+	}
+
 	@Test
 	public void testSpringConfigurationValue() throws Exception {
 		
@@ -295,6 +295,49 @@ public class WatchdogTopupTest extends AbstractWatchdogTest {
 	}
 
 	
+	@Test
+	public void predictiveHoldsPoint() throws Exception {
+
+		// Stop topup, we want to controll it programmatically.
+		final IScannable<Number>   topups  = connector.getScannable("topup");
+		final MockTopupScannable   topup   = (MockTopupScannable)topups;
+		assertNotNull(topup);
+		topup.disconnect();
+		Thread.sleep(120); // Make sure it stops, it sets value every 100ms but it should get interrupted
+		assertTrue(topup.isDisconnected());
+		topup.setPosition(520); // Valid but too close to cooloff for a point to finish
+
+		detector.getModel().setExposureTime(0.05);
+		dog.getModel().setPredictive(true);
+		try {
+			IDeviceController controller = createTestScanner(null);
+			IRunnableEventDevice<?> scanner = (IRunnableEventDevice<?>)controller.getDevice();
+			
+			Set<DeviceState> states = new HashSet<>();
+			scanner.addRunListener(new IRunListener() {
+				public void stateChanged(RunEvent evt) throws ScanningException {
+					states.add(evt.getDeviceState());
+				}
+			});
+			
+			scanner.start(null);
+			scanner.latch(200, TimeUnit.MILLISECONDS);
+			assertEquals(DeviceState.RUNNING, scanner.getDeviceState()); // Held, not paused
+			assertTrue("Points were not held: "+positions.size(), positions.size()<=1);
+			
+			topup.setPosition(4000); // After topup and warmup, there is time for the points
+			scanner.latch();
+			
+			assertEquals(DeviceState.ARMED, scanner.getDeviceState());
+			assertEquals(25, positions.size());
+			assertTrue("States contain paused: "+states, !states.contains(DeviceState.PAUSED));
+			
+		} finally {
+			dog.getModel().setPredictive(false);
+			detector.getModel().setExposureTime(0.25);
+		}
+	}
+	
 	@Test
 	public void topupWithExternalPause() throws Exception {
 
@@ -13,6 +13,8 @@ package org.eclipse.scanning.test.scan.mock;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.eclipse.dawnsci.analysis.api.processing.IOperation;
 import org.eclipse.dawnsci.analysis.api.processing.IOperationBean;
@@ -28,6 +30,17 @@ import org.eclipse.january.dataset.IDataset;
 
 public class MockOperationService implements IOperationService {
 
+	private final Map<String, Supplier<IOperation<?,?>>> factories = new ConcurrentHashMap<>();
+
+	/**
+	 * Registers how to create an operation, used by {@link #create(String)}.
+	 * @param operationId
+	 * @param factory
+	 */
+	public void register(String operationId, Supplier<IOperation<?,?>> factory) {
+		factories.put(operationId, factory);
+	}
+
 	@Override
 	public IOperationContext createContext() {
 		return new MockOperationContextImpl();
@@ -110,8 +123,8 @@ public class MockOperationService implements IOperationService {
 
 	@Override
 	public IOperation<? extends IOperationModel, ? extends OperationData> create(String operationId) throws Exception {
-		// TODO Auto-generated method stub
-		return null;
+		final Supplier<IOperation<?,?>> factory = factories.get(operationId);
+		return factory!=null ? (IOperation<? extends IOperationModel, ? extends OperationData>)factory.get() : null;
 	}
 
 	@Override
@@ -0,0 +1,131 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan.mock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import org.eclipse.dawnsci.analysis.api.processing.OperationData;
+import org.eclipse.dawnsci.analysis.api.processing.model.ValueModel;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.Maths;
+
+/**
+ * Subtracts a value slowly and records how many frames it processes at once
+ * and how far the frames produced get ahead of it. Copies share the records,
+ * so that these are for all the copies of an operation, and each copy records
+ * if it was run by two threads at once.
+ */
+public class MockSlowOperation extends MockAbstractMathsOperation<ValueModel, OperationData> {
+
+	private final long          sleep;
+	private final IntSupplier   produced;
+	private final AtomicInteger started;
+	private final AtomicInteger running;
+	private final AtomicInteger maxRunning;
+	private final AtomicInteger maxWaiting;
+	private final AtomicInteger maxShared; // The most threads running one copy
+	private final AtomicInteger copies;
+	private final AtomicInteger runningHere = new AtomicInteger();
+
+	/**
+	 * @param sleep time in ms each frame takes
+	 * @param produced the number of frames produced so far, for instance the runs of a detector
+	 */
+	public MockSlowOperation(long sleep, IntSupplier produced) {
+		this.sleep      = sleep;
+		this.produced   = produced;
+		this.started    = new AtomicInteger();
+		this.running    = new AtomicInteger();
+		this.maxRunning = new AtomicInteger();
+		this.maxWaiting = new AtomicInteger();
+		this.maxShared  = new AtomicInteger();
+		this.copies     = new AtomicInteger();
+	}
+
+	/**
+	 * A copy which shares the records of the operation.
+	 * @param other
+	 */
+	public MockSlowOperation(MockSlowOperation other) {
+		this.sleep      = other.sleep;
+		this.produced   = other.produced;
+		this.started    = other.started;
+		this.running    = other.running;
+		this.maxRunning = other.maxRunning;
+		this.maxWaiting = other.maxWaiting;
+		this.maxShared  = other.maxShared;
+		this.copies     = other.copies;
+		copies.incrementAndGet();
+	}
+
+	@Override
+	protected IDataset operation(IDataset a, Object value) {
+		maxWaiting.accumulateAndGet(produced.getAsInt()-started.incrementAndGet(), Math::max);
+		maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+		maxShared.accumulateAndGet(runningHere.incrementAndGet(), Math::max);
+		try {
+			Thread.sleep(sleep);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			runningHere.decrementAndGet();
+			running.decrementAndGet();
+		}
+		return Maths.subtract(a, value);
+	}
+
+	/**
+	 * @return the number of frames processed
+	 */
+	public int getCount() {
+		return started.get();
+	}
+
+	/**
+	 * @return the most frames processed at the same time
+	 */
+	public int getMaxRunning() {
+		return maxRunning.get();
+	}
+
+	/**
+	 * @return the most frames produced but not yet started when a frame was started
+	 */
+	public int getMaxWaiting() {
+		return maxWaiting.get();
+	}
+
+	/**
+	 * @return the most threads which ran the same copy at once, 1 if each copy was used by one thread at a time
+	 */
+	public int getMaxShared() {
+		return maxShared.get();
+	}
+
+	/**
+	 * @return the number of copies made
+	 */
+	public int getCopies() {
+		return copies.get();
+	}
+
+	@Override
+	public String getId() {
+		return "org.eclipse.scanning.test.scan.mock.slowOperation";
+	}
+
+	@Override
+	public String getName() {
+		return "Subtract slowly";
+	}
+}
@@ -0,0 +1,164 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan.nexus;
+
+import static org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice.PROCESSING_PROGRESS_TOPIC;
+import static org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice.PROCESSING_QUEUE_NAME;
+import static org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice.PROPERTY_FRAME_COUNT;
+import static org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice.PROPERTY_LIVE;
+import static org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice.PROPERTY_PROGRESS_TOPIC;
+import static org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice.PROPERTY_SCAN_FINISHED;
+import static org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice.PROPERTY_UNIQUE_KEY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.scanning.api.device.models.ClusterProcessingModel;
+import org.eclipse.scanning.api.event.EventException;
+import org.eclipse.scanning.api.event.IEventService;
+import org.eclipse.scanning.api.event.core.IPublisher;
+import org.eclipse.scanning.api.event.status.StatusBean;
+import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.scan.ScanInformation;
+import org.eclipse.scanning.sequencer.ServiceHolder;
+import org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice;
+import org.eclipse.scanning.test.event.queues.mocks.MockEventService;
+import org.eclipse.scanning.test.event.queues.mocks.MockPublisher;
+import org.eclipse.scanning.test.event.queues.mocks.MockSubmitter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the progress which a live ClusterProcessingRunnableDevice publishes
+ * refers to the bean it submitted and follows the points written.
+ */
+public class ClusterProcessingProgressTest extends NexusTest {
+
+	private IEventService             previous;
+	private MockEventService          eservice;
+	private MockSubmitter<StatusBean> submitter;
+	private List<StatusBean>          progress;
+
+	@Before
+	public void before() {
+		previous  = ServiceHolder.getEventService();
+		progress  = new CopyOnWriteArrayList<>();
+		submitter = new MockSubmitter<>();
+		eservice  = new MockEventService();
+		eservice.setMockSubmitter(submitter);
+		eservice.setMockPublisher(new MockPublisher<StatusBean>(null, PROCESSING_PROGRESS_TOPIC) {
+			@Override
+			public void broadcast(StatusBean bean) throws EventException {
+				// The device sends the same bean each time so keep a copy.
+				StatusBean copy = new StatusBean();
+				copy.merge(bean);
+				copy.setProperties(new Properties());
+				copy.getProperties().putAll(bean.getProperties());
+				progress.add(copy);
+			}
+		});
+		ServiceHolder.setEventService(eservice);
+	}
+
+	@After
+	public void after() {
+		ServiceHolder.setEventService(previous);
+	}
+
+	@Test
+	public void testProgressFollowsTheScan() throws Exception {
+
+		ClusterProcessingRunnableDevice device = createDevice();
+		device.submitProcessingOperation(createScanInformation(6));
+
+		StatusBean submitted = submitter.getLastSubmitted(PROCESSING_QUEUE_NAME);
+		assertEquals("true", submitted.getProperty(PROPERTY_LIVE));
+		assertEquals(PROCESSING_PROGRESS_TOPIC, submitted.getProperty(PROPERTY_PROGRESS_TOPIC));
+		assertNotNull(submitted.getUniqueId());
+
+		for (int i = 0; i < 6; i++) device.writeComplete(position(i));
+		device.scanEnd();
+		device.scanFinally();
+
+		assertTrue("There should be progress for the first point and the end", progress.size()>=2);
+		for (StatusBean bean : progress) {
+			assertEquals("The progress must refer to the submitted bean", submitted.getUniqueId(), bean.getUniqueId());
+		}
+		StatusBean first = progress.get(0);
+		assertEquals("1",     first.getProperty(PROPERTY_UNIQUE_KEY));
+		assertEquals("false", first.getProperty(PROPERTY_SCAN_FINISHED));
+
+		StatusBean last = progress.get(progress.size()-1);
+		assertEquals("6",    last.getProperty(PROPERTY_UNIQUE_KEY));
+		assertEquals("6",    last.getProperty(PROPERTY_FRAME_COUNT));
+		assertEquals("true", last.getProperty(PROPERTY_SCAN_FINISHED));
+		assertEquals(100,    last.getPercentComplete(), 0.0001);
+	}
+
+	@Test
+	public void testSubmittedWhenProgressCannotBePublished() throws Exception {
+
+		ServiceHolder.setEventService(new MockEventService() {
+			@Override
+			public <U> IPublisher<U> createPublisher(URI uri, String topicName) {
+				throw new IllegalStateException("No broker for the progress");
+			}
+		});
+		((MockEventService)ServiceHolder.getEventService()).setMockSubmitter(submitter);
+
+		ClusterProcessingRunnableDevice device = createDevice();
+		device.submitProcessingOperation(createScanInformation(2));
+
+		StatusBean submitted = submitter.getLastSubmitted(PROCESSING_QUEUE_NAME);
+		assertTrue("The bean must not say it is live if there is no progress",
+				submitted.getProperties()==null || submitted.getProperty(PROPERTY_LIVE)==null);
+
+		device.writeComplete(position(0));
+		device.scanEnd();
+		device.scanFinally();
+		assertTrue(progress.isEmpty());
+	}
+
+	private ClusterProcessingRunnableDevice createDevice() {
+		ClusterProcessingModel model = new ClusterProcessingModel();
+		model.setName("sum");
+		model.setDetectorName("mandelbrot");
+		model.setProcessingFilePath("/tmp/sum.nxs");
+		model.setLive(true);
+
+		ClusterProcessingRunnableDevice device = new ClusterProcessingRunnableDevice();
+		device.setModel(model);
+		return device;
+	}
+
+	private ScanInformation createScanInformation(int size) {
+		ScanInformation info = new ScanInformation();
+		info.setFilePath(output.getAbsolutePath());
+		info.setSize(size);
+		info.setRank(1);
+		return info;
+	}
+
+	private static MapPosition position(int step) {
+		MapPosition pos = new MapPosition();
+		pos.put("x", step);
+		pos.putIndex("x", step);
+		pos.setStepIndex(step);
+		return pos;
+	}
+}
@@ -99,6 +99,24 @@ public class MandelbrotExampleTest extends NexusTest {
 		testGridScan(false, 3, 2);
 	}
 	
+	/**
+	 * The same scan with the detector and the unique keys written by the NeXus writer thread.
+	 */
+	@Test
+	public void test2DGridScanWithWriteQueue() throws Exception {
+		final String async = System.setProperty("org.eclipse.scanning.sequencer.nexus.async", "true");
+		try {
+			testGridScan(false, 3, 2);
+			testGridScan(true, 7, 5);
+		} finally {
+			if (async==null) {
+				System.clearProperty("org.eclipse.scanning.sequencer.nexus.async");
+			} else {
+				System.setProperty("org.eclipse.scanning.sequencer.nexus.async", async);
+			}
+		}
+	}
+	
 	@Test
 	public void test2DSnakeGridScan() throws Exception {
 		testGridScan(true, 3, 2);
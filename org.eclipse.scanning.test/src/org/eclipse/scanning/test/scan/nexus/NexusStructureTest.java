@@ -0,0 +1,294 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan.nexus;
+
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_HISTOGRAM;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_LEVELS;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_LEVEL_MEAN_TIME;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_MEAN_TIME;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_POINT_COUNT;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGES;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_DIAGNOSTICS;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_SOLSTICE_SCAN;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
+import org.eclipse.dawnsci.nexus.NXcollection;
+import org.eclipse.dawnsci.nexus.NXentry;
+import org.eclipse.dawnsci.nexus.NXinstrument;
+import org.eclipse.dawnsci.nexus.NXpositioner;
+import org.eclipse.dawnsci.nexus.NexusException;
+import org.eclipse.dawnsci.nexus.NexusScanInfo;
+import org.eclipse.dawnsci.nexus.builder.NexusObjectProvider;
+import org.eclipse.scanning.api.IScannable;
+import org.eclipse.scanning.api.MonitorRole;
+import org.eclipse.scanning.api.device.IRunnableDevice;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.scanning.example.scannable.MockNeXusScannable;
+import org.eclipse.scanning.sequencer.PointTrace;
+import org.eclipse.scanning.sequencer.PointTrace.Stage;
+import org.eclipse.scanning.sequencer.nexus.NexusScanFileManager;
+import org.eclipse.scanning.sequencer.nexus.NexusScanTemplate;
+import org.junit.Test;
+
+/**
+ * Checks that the nexus objects of the devices are made at the same time,
+ * that a device which takes too long to make its object stops the scan
+ * and that scans of the same shape use the same template.
+ */
+public class NexusStructureTest extends NexusTest {
+
+	private static final long DELAY = 250; // ms
+
+	/**
+	 * A per-scan monitor which is slow to read, like a live EPICS PV.
+	 */
+	private static class SlowNeXusScannable extends MockNeXusScannable {
+
+		private final long delay;
+
+		SlowNeXusScannable(String name, long delay) {
+			super(name, 1d, -1);
+			this.delay = delay;
+		}
+
+		@Override
+		public NexusObjectProvider<NXpositioner> getNexusProvider(NexusScanInfo info) throws NexusException {
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				throw new NexusException(e.getMessage());
+			}
+			return super.getNexusProvider(info);
+		}
+	}
+
+	/**
+	 * A per-scan monitor which waits for the others to be read at
+	 * the same time before it makes its nexus object.
+	 */
+	private static class ConcurrentNeXusScannable extends MockNeXusScannable {
+
+		private final CountDownLatch latch;
+		private volatile boolean     together;
+
+		ConcurrentNeXusScannable(String name, CountDownLatch latch) {
+			super(name, 1d, -1);
+			this.latch = latch;
+		}
+
+		@Override
+		public NexusObjectProvider<NXpositioner> getNexusProvider(NexusScanInfo info) throws NexusException {
+			latch.countDown();
+			try {
+				together = latch.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				throw new NexusException(e.getMessage());
+			}
+			return super.getNexusProvider(info);
+		}
+	}
+
+	@Test
+	public void testSlowPerScanMonitorsAreReadTogether() throws Exception {
+
+		final CountDownLatch latch = new CountDownLatch(8);
+		final List<IScannable<?>> monitors = new ArrayList<>();
+		for (int i = 0; i < latch.getCount(); i++) monitors.add(new ConcurrentNeXusScannable("slowMonitor"+i, latch));
+
+		IRunnableDevice<ScanModel> scanner = createStepScan(monitors);
+		for (IScannable<?> monitor : monitors) {
+			assertTrue(monitor.getName()+" was not read at the same time as the others", ((ConcurrentNeXusScannable)monitor).together);
+		}
+
+		scanner.run(null);
+
+		NXentry      entry      = getNexusRoot(scanner).getEntry();
+		NXinstrument instrument = entry.getInstrument();
+		for (IScannable<?> monitor : monitors) {
+			assertNotNull(monitor.getName()+" should be in the file", instrument.getPositioner(monitor.getName()));
+		}
+	}
+
+	@Test
+	public void testSlowDeviceTimesOut() throws Exception {
+
+		final SlowNeXusScannable slow = new SlowNeXusScannable("verySlowMonitor", 3000);
+		slow.setTimeout(1); // s
+
+		final List<IScannable<?>> monitors = new ArrayList<>();
+		monitors.add(slow);
+		monitors.add(new SlowNeXusScannable("slowMonitor", DELAY));
+
+		try {
+			createStepScan(monitors);
+			fail("The scan should not configure if a device does not make its nexus object in time");
+		} catch (ScanningException expected) {
+			assertTrue(expected.getMessage(), expected.getMessage().contains("verySlowMonitor"));
+		}
+	}
+
+	@Test
+	public void testWaitingForAThreadIsNotTimed() throws Exception {
+
+		// The third monitor waits for a thread for longer than its timeout
+		// but makes its nexus object within the timeout once it starts.
+		final List<IScannable<?>> monitors = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			SlowNeXusScannable monitor = new SlowNeXusScannable("slowMonitor"+i, 700);
+			monitor.setTimeout(1); // s
+			monitors.add(monitor);
+		}
+
+		final String threads = System.getProperty(NexusScanFileManager.THREADS_PROPERTY);
+		System.setProperty(NexusScanFileManager.THREADS_PROPERTY, "2");
+		try {
+			createStepScan(monitors);
+		} finally {
+			if (threads==null) {
+				System.clearProperty(NexusScanFileManager.THREADS_PROPERTY);
+			} else {
+				System.setProperty(NexusScanFileManager.THREADS_PROPERTY, threads);
+			}
+		}
+	}
+
+	@Test
+	public void testTemplateIsReused() throws Exception {
+
+		NexusScanTemplate.clear();
+		final List<IScannable<?>> monitors = new ArrayList<>();
+		monitors.add(new SlowNeXusScannable("slowMonitor", 0));
+
+		IRunnableDevice<ScanModel> scanner = createStepScan(monitors);
+		scanner.run(null);
+		assertEquals(0, NexusScanTemplate.getHits());
+		assertEquals(1, NexusScanTemplate.getMisses());
+
+		// Same shape, a new file
+		output.delete();
+		scanner = createStepScan(monitors);
+		scanner.run(null);
+		assertEquals(1, NexusScanTemplate.getHits());
+		assertEquals(1, NexusScanTemplate.getMisses());
+		checkPositioners(scanner, 4);
+
+		// Another shape must not use the template
+		output.delete();
+		scanner = createStepScan(monitors, 5);
+		scanner.run(null);
+		assertEquals(1, NexusScanTemplate.getHits());
+		assertEquals(2, NexusScanTemplate.getMisses());
+		checkPositioners(scanner, 6);
+	}
+
+	@Test
+	public void testTemplateIsNotReusedForAnotherRegion() throws Exception {
+
+		NexusScanTemplate.clear();
+		final IRunnableDevice<?> detector = dservice.createRunnableDevice(createMandelbrotModel());
+
+		// Both regions contain the whole grid so the scans have the same shape
+		IRunnableDevice<ScanModel> scanner = createGridScan(detector, output, new RectangularROI(-1, -1, 10, 10, 0), false, 3, 5);
+		scanner.run(null);
+		output.delete();
+		scanner = createGridScan(detector, output, new CircularROI(10, 1.5, 1.5), false, 3, 5);
+		scanner.run(null);
+		assertEquals(0, NexusScanTemplate.getHits());
+		assertEquals(2, NexusScanTemplate.getMisses());
+
+		output.delete();
+		scanner = createGridScan(detector, output, new RectangularROI(-1, -1, 10, 10, 0), false, 3, 5);
+		scanner.run(null);
+		assertEquals(1, NexusScanTemplate.getHits());
+	}
+
+	@Test
+	public void testDiagnosticsAreWritten() throws Exception {
+
+		final List<IScannable<?>> monitors = new ArrayList<>();
+		monitors.add(new SlowNeXusScannable("slowMonitor", 0));
+
+		System.setProperty("org.eclipse.scanning.sequencer.trace", "true");
+		try {
+			IRunnableDevice<ScanModel> scanner = createStepScan(monitors);
+			scanner.run(null);
+
+			NXcollection scan        = getNexusRoot(scanner).getEntry().getCollection(GROUP_NAME_SOLSTICE_SCAN);
+			NXcollection diagnostics = (NXcollection)scan.getGroupNode(GROUP_NAME_DIAGNOSTICS);
+			assertNotNull("The point timings should be in the file", diagnostics);
+
+			final int stages = Stage.values().length;
+			assertEquals(stages, diagnostics.getDataNode(FIELD_NAME_STAGES).getDataset().getSize());
+			assertEquals(4, diagnostics.getDataNode(FIELD_NAME_POINT_COUNT).getDataset().getSlice().getLong(0));
+
+			IDataset mean = diagnostics.getDataNode(FIELD_NAME_MEAN_TIME).getDataset().getSlice();
+			assertArrayEquals(new int[]{stages}, mean.getShape());
+			assertTrue("The points took no time to move", mean.getDouble(Stage.MOVE.ordinal())>0);
+
+			IDataset histogram = diagnostics.getDataNode(FIELD_NAME_HISTOGRAM).getDataset().getSlice();
+			assertArrayEquals(new int[]{stages, PointTrace.BUCKETS}, histogram.getShape());
+			long moves = 0;
+			for (int i = 0; i < PointTrace.BUCKETS; i++) moves+=histogram.getLong(Stage.MOVE.ordinal(), i);
+			assertEquals(4, moves);
+
+			// One level is moved, the levels must not be padded to a fixed size
+			IDataset levels = diagnostics.getDataNode(FIELD_NAME_LEVELS).getDataset().getSlice();
+			assertArrayEquals(new int[]{1}, levels.getShape());
+			assertArrayEquals(levels.getShape(), diagnostics.getDataNode(FIELD_NAME_LEVEL_MEAN_TIME).getDataset().getShape());
+		} finally {
+			System.clearProperty("org.eclipse.scanning.sequencer.trace");
+		}
+	}
+
+	private void checkPositioners(IRunnableDevice<ScanModel> scanner, int size) throws Exception {
+		NXinstrument instrument = getNexusRoot(scanner).getEntry().getInstrument();
+		assertNotNull(instrument.getPositioner("slowMonitor"));
+		NXpositioner positioner = instrument.getPositioner("neXusScannable1");
+		assertArrayEquals(new int[]{size}, positioner.getDataNode(NXpositioner.NX_VALUE).getDataset().getShape());
+	}
+
+	private IRunnableDevice<ScanModel> createStepScan(List<IScannable<?>> monitors) throws Exception {
+		return createStepScan(monitors, 3);
+	}
+
+	private IRunnableDevice<ScanModel> createStepScan(List<IScannable<?>> monitors, int stop) throws Exception {
+
+		final IPointGenerator<?> gen = gservice.createGenerator(new StepModel("neXusScannable1", 0, stop, 1));
+
+		for (IScannable<?> monitor : monitors) {
+			monitor.setMonitorRole(MonitorRole.PER_SCAN);
+			monitor.setActivated(true);
+		}
+
+		final ScanModel smodel = new ScanModel();
+		smodel.setPositionIterable(gen);
+		smodel.setMonitors(monitors);
+		smodel.setFilePath(output.getAbsolutePath());
+
+		return dservice.createRunnableDevice(smodel, null);
+	}
+}
@@ -0,0 +1,203 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan.nexus;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dawnsci.nexus.NXdetector;
+import org.eclipse.dawnsci.nexus.NexusNodeFactory;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.SliceND;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.sequencer.nexus.NexusWriteQueue;
+import org.eclipse.scanning.test.scan.nexus.SolsticeScanMonitorTest.MockLazySaver;
+import org.junit.Test;
+
+public class NexusWriteQueueTest {
+
+	@Test
+	public void testLineIsMerged() throws Exception {
+
+		final MockLazySaver         saver   = new MockLazySaver();
+		final ILazyWriteableDataset dataset = createDataset("keys", saver);
+
+		final NexusWriteQueue queue = new NexusWriteQueue(16, 0, null);
+		for (int i = 0; i < 5; i++) write(queue, dataset, 0, i); // Queued before the writer starts so that they are written together
+		queue.start();
+		queue.close();
+
+		assertEquals(1, saver.getNumberOfWrites());
+		assertArrayEquals(new int[]{0, 0}, saver.getLastSlice().getStart());
+		assertArrayEquals(new int[]{1, 5}, saver.getLastSlice().getStop());
+		assertEquals(4, saver.getLastWrittenData().getInt(0, 4));
+		assertEquals(5, queue.getEnqueued());
+		assertEquals(1, queue.getWritten());
+		assertEquals(4, queue.getMerged());
+	}
+
+	@Test
+	public void testNewLineIsNotMerged() throws Exception {
+
+		final MockLazySaver         saver   = new MockLazySaver();
+		final ILazyWriteableDataset dataset = createDataset("keys", saver);
+
+		final NexusWriteQueue queue = new NexusWriteQueue(16, 0, null);
+		write(queue, dataset, 0, 0);
+		write(queue, dataset, 0, 1);
+		write(queue, dataset, 1, 0);
+		write(queue, dataset, 1, 1);
+		queue.start();
+		queue.close();
+
+		assertEquals(2, saver.getNumberOfWrites());
+		assertArrayEquals(new int[]{1, 0}, saver.getLastSlice().getStart());
+		assertArrayEquals(new int[]{2, 2}, saver.getLastSlice().getStop());
+	}
+
+	@Test
+	public void testTasksAreOrderedAndOnWriter() throws Exception {
+
+		final MockLazySaver         saver   = new MockLazySaver();
+		final ILazyWriteableDataset dataset = createDataset("keys", saver);
+		final List<String>          threads = new ArrayList<>();
+
+		final NexusWriteQueue queue = new NexusWriteQueue(16, 10, () -> threads.add(Thread.currentThread().getName()));
+		queue.start();
+		write(queue, dataset, 0, 0);
+		int written = queue.call(() -> {
+			threads.add(Thread.currentThread().getName());
+			return saver.getNumberOfWrites();
+		});
+		queue.close();
+
+		assertEquals("The slice before the task must be written first", 1, written);
+		assertEquals(1, queue.getTasks());
+		assertTrue(threads.size()>=2); // The task and at least one flush
+		for (String name : threads) assertEquals("NeXus writer", name);
+	}
+
+	@Test
+	public void testBackPressure() throws Exception {
+
+		final ILazyWriteableDataset dataset = createDataset("keys", new MockLazySaver());
+		final NexusWriteQueue       queue   = new NexusWriteQueue(1, 0, null);
+		write(queue, dataset, 0, 0); // Queue full, the writer is not started.
+
+		final CountDownLatch added = new CountDownLatch(1);
+		final Thread producer = new Thread(() -> {
+			try {
+				write(queue, dataset, 0, 1);
+				added.countDown();
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		});
+		producer.start();
+
+		assertTrue("The write should block while the queue is full", !added.await(200, TimeUnit.MILLISECONDS));
+		assertEquals(1, queue.getDepth());
+
+		queue.start();
+		assertTrue("The write should go once the writer takes from the queue", added.await(5, TimeUnit.SECONDS));
+		queue.close();
+		assertEquals(2, queue.getEnqueued());
+		assertEquals(1, queue.getMaxDepth());
+	}
+
+	@Test
+	public void testDataIsCopied() throws Exception {
+
+		final MockLazySaver         saver   = new MockLazySaver();
+		final ILazyWriteableDataset dataset = createDataset("keys", saver);
+		final NexusWriteQueue       queue   = new NexusWriteQueue(16, 0, null);
+
+		final IntegerDataset data = DatasetFactory.createFromObject(IntegerDataset.class, new int[]{1}, 1, 1);
+		queue.write(dataset, data, new SliceND(dataset.getShape(), dataset.getMaxShape(), new int[]{0, 0}, new int[]{1, 1}, null));
+		data.set(2, 0, 0); // The caller reuses its data before the writer has started
+
+		queue.start();
+		queue.close();
+		assertEquals("The data written must be that when it was queued", 1, saver.getLastWrittenData().getInt(0, 0));
+	}
+
+	@Test
+	public void testDetectorSlicesAreQueued() throws Exception {
+
+		final MockLazySaver         saver   = new MockLazySaver();
+		final ILazyWriteableDataset dataset = createDataset("keys", saver);
+		final NexusWriteQueue       queue   = new NexusWriteQueue(16, 0, null);
+		final SliceND               slice   = new SliceND(dataset.getShape(), dataset.getMaxShape(), new int[]{0, 0}, new int[]{1, 1}, null);
+
+		final String caller = Thread.currentThread().getName();
+		String thread = queue.callQueued(() -> {
+			NexusWriteQueue.setSlice(dataset, DatasetFactory.createFromObject(1), slice);
+			return Thread.currentThread().getName();
+		});
+		assertEquals("The detector write is done by the caller", caller, thread);
+		assertEquals("The slice is queued, the writer has not started", 0, saver.getNumberOfWrites());
+		assertEquals(1, queue.getDepth());
+
+		queue.start();
+		queue.close();
+		assertEquals(1, saver.getNumberOfWrites());
+
+		NexusWriteQueue.setSlice(dataset, DatasetFactory.createFromObject(2), slice);
+		assertEquals("Without a queue the slice is written directly", 2, saver.getNumberOfWrites());
+	}
+
+	@Test(timeout=10000)
+	public void testInterruptedWriterDoesNotBlockCallers() throws Exception {
+
+		final NexusWriteQueue queue = new NexusWriteQueue(16, 0, null);
+		queue.start();
+		queue.call(() -> {
+			Thread.currentThread().interrupt(); // The writer stops when it next waits
+			return null;
+		});
+		try {
+			queue.call(() -> 1);
+			fail("The task cannot be done, the writer has stopped");
+		} catch (ScanningException expected) {
+			// Expected, rather than waiting for ever
+		}
+		try {
+			queue.close();
+			fail("The writer was interrupted, close should say so");
+		} catch (ScanningException expected) {
+			// Expected
+		}
+	}
+
+	private static void write(NexusWriteQueue queue, ILazyWriteableDataset dataset, int... pos) throws Exception {
+		final int[] stop = new int[pos.length];
+		for (int i = 0; i < pos.length; i++) stop[i] = pos[i]+1;
+		final SliceND slice = new SliceND(dataset.getShape(), dataset.getMaxShape(), pos, stop, null);
+		queue.write(dataset, DatasetFactory.createFromObject(pos[pos.length-1]), slice);
+	}
+
+	private static ILazyWriteableDataset createDataset(String name, MockLazySaver saver) {
+		final NXdetector            detector = NexusNodeFactory.createNXdetector();
+		final ILazyWriteableDataset dataset  = detector.initializeLazyDataset(name, 2, Integer.class);
+		dataset.setSaver(saver);
+		return dataset;
+	}
+}
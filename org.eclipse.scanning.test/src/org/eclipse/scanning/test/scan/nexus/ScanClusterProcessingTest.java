@@ -11,18 +11,30 @@
  *******************************************************************************/
 package org.eclipse.scanning.test.scan.nexus;
 
+import static org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice.PROCESSING_PROGRESS_TOPIC;
 import static org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice.PROCESSING_QUEUE_NAME;
+import static org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice.PROPERTY_SCAN_FINISHED;
+import static org.eclipse.scanning.sequencer.analysis.ClusterProcessingRunnableDevice.PROPERTY_UNIQUE_KEY;
 import static org.eclipse.scanning.test.scan.nexus.NexusAssert.assertScanNotFinished;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EventListener;
+import java.util.List;
 
 import org.eclipse.scanning.api.device.IRunnableDevice;
 import org.eclipse.scanning.api.device.IRunnableEventDevice;
 import org.eclipse.scanning.api.device.IWritableDetector;
 import org.eclipse.scanning.api.device.models.ClusterProcessingModel;
 import org.eclipse.scanning.api.event.IEventService;
+import org.eclipse.scanning.api.event.bean.BeanEvent;
+import org.eclipse.scanning.api.event.bean.IBeanListener;
 import org.eclipse.scanning.api.event.core.IConsumer;
+import org.eclipse.scanning.api.event.core.ISubscriber;
 import org.eclipse.scanning.api.event.dry.FastRunCreator;
 import org.eclipse.scanning.api.event.status.StatusBean;
 import org.eclipse.scanning.api.points.GeneratorException;
@@ -81,6 +93,36 @@ public class ScanClusterProcessingTest extends NexusTest {
 		testScan(2, 2);
 	}
 	
+	@Test
+	public void testNexusScanWithLiveClusterProcessing() throws Exception {
+		
+		final List<StatusBean> progress = Collections.synchronizedList(new ArrayList<>());
+		
+		IEventService eventService = ServiceHolder.getEventService();
+		ISubscriber<EventListener> sub = eventService.createSubscriber(URI.create(CommandConstants.getScanningBrokerUri()), PROCESSING_PROGRESS_TOPIC);
+		sub.addListener(new IBeanListener<StatusBean>() {
+			@Override
+			public void beanChangePerformed(BeanEvent<StatusBean> evt) {
+				progress.add(evt.getBean());
+			}
+		});
+		
+		try {
+			IRunnableDevice<ScanModel> scanner = createGridScan(true, 2, 3);
+			scanner.run(null);
+			
+			Thread.sleep(200);
+			assertFalse(progress.isEmpty());
+			
+			StatusBean last = progress.get(progress.size()-1);
+			assertEquals("true", last.getProperty(PROPERTY_SCAN_FINISHED));
+			assertEquals("6",    last.getProperty(PROPERTY_UNIQUE_KEY));
+			assertEquals(100,    last.getPercentComplete(), 0.0001);
+		} finally {
+			sub.disconnect();
+		}
+	}
+	
 	private void testScan(int... shape) throws Exception {
 		
 		ScanClusterProcessingChecker checker = new ScanClusterProcessingChecker(fileFactory, consumer);
@@ -101,6 +143,10 @@ public class ScanClusterProcessingTest extends NexusTest {
 	
 
 	private IRunnableDevice<ScanModel> createGridScan(int... size) throws Exception {
+		return createGridScan(false, size);
+	}
+
+	private IRunnableDevice<ScanModel> createGridScan(boolean live, int... size) throws Exception {
 		// Create scan points for a grid and make a generator
 		GridModel gmodel = new GridModel();
 		gmodel.setFastAxisName("xNex");
@@ -153,6 +199,7 @@ public class ScanClusterProcessingTest extends NexusTest {
 		pmodel.setDetectorName("mandelbrot");
 		pmodel.setProcessingFilePath("/tmp/sum.nxs");
 		pmodel.setName("sum");
+		pmodel.setLive(live);
 		
 		final IRunnableDevice<ClusterProcessingModel> processor = dservice.createRunnableDevice(pmodel);
 		smodel.setDetectors(detector, processor);
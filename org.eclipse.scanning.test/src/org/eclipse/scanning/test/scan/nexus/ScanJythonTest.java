@@ -105,10 +105,44 @@ public class ScanJythonTest extends NexusTest {
 		checkMax(scanner, 2, 2);
 	}
 
+	@Test 
+	public void testLineBatched() throws Exception {
+		
+		// Batches of 2 on lines of 3 mean a partial batch at the end of each line
+		IRunnableDevice<ScanModel> scanner = createScanner(linedetector, 1, 2, 4, 3);
+		scanner.run(null);
+	
+		checkMax(scanner, 4, 3);
+	}
+
+	@Test 
+	public void testSnakeLinesBatched() throws Exception {
+		
+		// The backwards lines are batched from the end, in batches of 3 and 2
+		IRunnableDevice<ScanModel> scanner = createScanner(linedetector, 1, 3, 3, 5);
+		scanner.run(null);
+	
+		checkMax(scanner, 3, 5);
+	}
+
+	@Test 
+	public void testImageBatched() throws Exception {
+		
+		// One batch per line
+		IRunnableDevice<ScanModel> scanner = createScanner(imagedetector, 2, 5, 2, 2);
+		scanner.run(null);
+	
+		checkMax(scanner, 2, 2);
+	}
+
 	private IRunnableDevice<ScanModel> createScanner(IRunnableDevice<?> device, int dataRank, boolean doAveraging, int... shape) throws Exception {
+		return createScanner(device, dataRank, doAveraging ? 1 : 0, shape);
+	}
+
+	private IRunnableDevice<ScanModel> createScanner(IRunnableDevice<?> device, int dataRank, int batchSize, int... shape) throws Exception {
 		
 		ScanModel smodel = createGridScanModel(device, output, true, shape);
-		if (doAveraging) {
+		if (batchSize>0) {
 			JythonModel model = new JythonModel();
 			model.setName("max");
 			model.setDataFile(output.getAbsolutePath());
@@ -118,6 +152,7 @@ public class ScanJythonTest extends NexusTest {
 			model.setModuleName("functions");
 			model.setClassName("MaxFunction");
 			model.setOutputRank(1);
+			model.setBatchSize(batchSize);
 			
 			IRunnableDevice<SlicingModel> script =  dservice.createRunnableDevice(model, null);
 			final List<IRunnableDevice<?>> detectors = new ArrayList<>(smodel.getDetectors());
@@ -0,0 +1,122 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan.nexus;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.dawnsci.analysis.api.io.IDataHolder;
+import org.eclipse.dawnsci.analysis.api.processing.model.ValueModel;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.scanning.api.device.IRunnableDevice;
+import org.eclipse.scanning.api.device.IWritableDetector;
+import org.eclipse.scanning.api.device.models.ProcessingModel;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.api.scan.event.IRunListener;
+import org.eclipse.scanning.api.scan.event.RunEvent;
+import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.example.detector.MandelbrotModel;
+import org.eclipse.scanning.sequencer.ServiceHolder;
+import org.eclipse.scanning.test.scan.mock.MockOperationService;
+import org.eclipse.scanning.test.scan.mock.MockSlowOperation;
+import org.junit.Test;
+
+/**
+ * Runs a processing device with more than one pipeline in a scan.
+ */
+public class ScanParallelProcessingTest extends NexusTest {
+
+	@Test
+	public void testParallelProcessing() throws Exception {
+
+		final int parallelism = 3;
+		final int rows = 5, columns = 6;
+
+		// A detector much faster than the processing
+		final AtomicInteger runs = new AtomicInteger();
+		MandelbrotModel model = createMandelbrotModel();
+		@SuppressWarnings("unchecked")
+		IWritableDetector<MandelbrotModel> detector = (IWritableDetector<MandelbrotModel>)dservice.createRunnableDevice(model);
+		assertNotNull(detector);
+		detector.addRunListener(new IRunListener() {
+			@Override
+			public void runPerformed(RunEvent evt) throws ScanningException{
+				runs.incrementAndGet();
+			}
+		});
+
+		final MockSlowOperation slow = new MockSlowOperation(100, runs::get);
+		slow.setModel(new ValueModel(100));
+		((MockOperationService)ServiceHolder.getOperationService()).register(slow.getId(), () -> new MockSlowOperation(slow));
+
+		final ProcessingModel pmodel = new ProcessingModel();
+		pmodel.setName("subtract");
+		pmodel.setDataFile(output.getAbsolutePath());
+		pmodel.setDetectorName(detector.getName());
+		pmodel.setTimeout(60);
+		pmodel.setOperation(slow);
+		pmodel.setParallelism(parallelism);
+		final IRunnableDevice<ProcessingModel> processor = dservice.createRunnableDevice(pmodel);
+
+		GridModel gmodel = new GridModel();
+		gmodel.setFastAxisName("xNex");
+		gmodel.setFastAxisPoints(columns);
+		gmodel.setSlowAxisName("yNex");
+		gmodel.setSlowAxisPoints(rows);
+		gmodel.setBoundingBox(new BoundingBox(0,0,3,3));
+		IPointGenerator<?> gen = gservice.createGenerator(gmodel);
+
+		final ScanModel smodel = new ScanModel();
+		smodel.setPositionIterable(gen);
+		smodel.setFilePath(output.getAbsolutePath());
+		smodel.setDetectors(detector, processor);
+
+		IRunnableDevice<ScanModel> scanner = dservice.createRunnableDevice(smodel, null);
+		scanner.run(null);
+		scanner.latch(100, TimeUnit.MILLISECONDS);
+
+		// Each pipeline has its own operation which only one thread runs at a time
+		assertEquals("One copy of the operation for each pipeline", parallelism, slow.getCopies());
+		assertEquals("A copy of the operation was run by "+slow.getMaxShared()+" threads at once", 1, slow.getMaxShared());
+
+		// Completeness and parallelism
+		assertEquals("Every frame must be processed", rows*columns, slow.getCount());
+		assertTrue("Frames were processed "+slow.getMaxRunning()+" at a time", slow.getMaxRunning()>1);
+		assertTrue("Frames were processed "+slow.getMaxRunning()+" at a time", slow.getMaxRunning()<=parallelism);
+
+		// Back-pressure, at most 2 x parallelism frames wait and the scan may be a point or two ahead of the writer.
+		assertTrue("The detector got "+slow.getMaxWaiting()+" frames ahead of the processing", slow.getMaxWaiting()<=2*parallelism+2);
+
+		// Ordering, each result is written at the position of its frame.
+		final IDataHolder holder = ServiceHolder.getLoaderService().getData(output.getAbsolutePath(), null);
+		final ILazyDataset mdata = holder.getLazyDataset("/entry/instrument/mandelbrot/data");
+		final ILazyDataset sdata = holder.getLazyDataset("/entry/instrument/subtract/data");
+		assertArrayEquals(new int[]{rows, columns, 64, 64}, sdata.getShape());
+		assertArrayEquals(mdata.getShape(), sdata.getShape());
+
+		final Dataset m = DatasetUtils.convertToDataset(mdata.getSlice());
+		final Dataset s = DatasetUtils.convertToDataset(sdata.getSlice());
+		for (int i = 0; i < m.getSize(); i++) {
+			assertEquals("Element "+i, m.getElementDoubleAbs(i)-100, s.getElementDoubleAbs(i), 1e-9);
+		}
+	}
+}
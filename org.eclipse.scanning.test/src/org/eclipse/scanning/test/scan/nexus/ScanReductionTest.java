@@ -0,0 +1,193 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    agent - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan.nexus;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dawnsci.analysis.api.io.IDataHolder;
+import org.eclipse.dawnsci.analysis.api.io.ILoaderService;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.PositionIterator;
+import org.eclipse.january.dataset.Slice;
+import org.eclipse.scanning.api.device.IRunnableDevice;
+import org.eclipse.scanning.api.device.models.ReductionModel;
+import org.eclipse.scanning.api.device.models.ReductionModel.Reduction;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.example.detector.MandelbrotModel;
+import org.eclipse.scanning.example.detector.RandomLineModel;
+import org.eclipse.scanning.sequencer.RunnableDeviceServiceImpl;
+import org.eclipse.scanning.sequencer.ServiceHolder;
+import org.eclipse.scanning.sequencer.analysis.ReductionDevice;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScanReductionTest extends NexusTest {
+
+	private IRunnableDevice<?> imagedetector, linedetector;
+
+	@Before
+	public void before() throws ScanningException {
+
+		MandelbrotModel model = createMandelbrotModel();
+		imagedetector = dservice.createRunnableDevice(model);
+		assertNotNull(imagedetector);
+
+		linedetector = dservice.createRunnableDevice(new RandomLineModel());
+		assertNotNull(linedetector);
+
+		RunnableDeviceServiceImpl impl = (RunnableDeviceServiceImpl)dservice;
+		impl._register(ReductionModel.class, ReductionDevice.class);
+	}
+
+	@Test
+	public void testLineReductions() throws Exception {
+
+		IRunnableDevice<ScanModel> scanner = createScanner(linedetector, 1, false, Reduction.values(), 3, 4);
+		scanner.run(null);
+
+		checkReductions(scanner, 3, 4);
+	}
+
+	@Test
+	public void testImageReductions() throws Exception {
+
+		IRunnableDevice<ScanModel> scanner = createScanner(imagedetector, 2, false, Reduction.values(), 2, 3);
+		scanner.run(null);
+
+		checkReductions(scanner, 2, 3);
+	}
+
+	@Test
+	public void testImageRunningVariance() throws Exception {
+
+		IRunnableDevice<ScanModel> scanner = createScanner(imagedetector, 2, true, new Reduction[]{Reduction.MAX}, 2, 2);
+		scanner.run(null);
+
+		ReductionModel model = (ReductionModel)scanner.getModel().getDetectors().get(1).getModel();
+		IDataHolder    holder = ServiceHolder.getLoaderService().getData(model.getDataFile(), new IMonitor.Stub());
+		ILazyDataset   data   = holder.getLazyDataset("/entry/instrument/"+model.getDetectorName()+"/data");
+		ILazyDataset   mean   = holder.getLazyDataset(getPath(model, ReductionDevice.FIELD_NAME_RUNNING_MEAN));
+		ILazyDataset   var    = holder.getLazyDataset(getPath(model, ReductionDevice.FIELD_NAME_RUNNING_VARIANCE));
+
+		int[] dshape = new int[]{data.getShape()[data.getRank()-2], data.getShape()[data.getRank()-1]};
+		assertArrayEquals(dshape, mean.getShape());
+		assertArrayEquals(dshape, var.getShape());
+
+		// The scan dimensions flattened, then one pixel from each frame
+		Dataset all = DatasetUtils.convertToDataset(data.getSlice()).reshape(4, dshape[0], dshape[1]);
+		Dataset pixel = all.getSlice(null, new Slice(1, 2), new Slice(1, 2)).squeeze();
+		assertEquals(((Number)pixel.mean()).doubleValue(), DatasetUtils.convertToDataset(mean.getSlice()).getDouble(1, 1), 0.00001);
+		assertEquals(getVariance(pixel), DatasetUtils.convertToDataset(var.getSlice()).getDouble(1, 1),  0.00001);
+	}
+
+	private IRunnableDevice<ScanModel> createScanner(IRunnableDevice<?> device, int dataRank, boolean runningVariance, Reduction[] reductions, int... shape) throws Exception {
+
+		ScanModel smodel = createGridScanModel(device, output, true, shape);
+
+		ReductionModel model = new ReductionModel();
+		model.setName("reduction");
+		model.setDataFile(output.getAbsolutePath());
+		model.setDetectorName(device.getName());
+		model.setTimeout(1);
+		model.setDataRank(dataRank);
+		model.setReductions(reductions);
+		model.setRunningVariance(runningVariance);
+		if (dataRank==1) {
+			model.setRoiStart(2);
+			model.setRoiShape(3);
+		} else {
+			model.setRoiStart(1, 2);
+			model.setRoiShape(3, 4);
+		}
+
+		IRunnableDevice<ReductionModel> reducer =  dservice.createRunnableDevice(model, null);
+		final List<IRunnableDevice<?>> detectors = new ArrayList<>(smodel.getDetectors());
+		detectors.add(reducer);
+		smodel.setDetectors(detectors);
+
+		return dservice.createRunnableDevice(smodel, null);
+	}
+
+	private void checkReductions(IRunnableDevice<ScanModel> scanner, int... scanShape) throws Exception {
+
+		ReductionModel model = (ReductionModel)scanner.getModel().getDetectors().get(1).getModel();
+
+		ILoaderService lservice = ServiceHolder.getLoaderService();
+		IDataHolder    holder   = lservice.getData(model.getDataFile(), new IMonitor.Stub());
+		ILazyDataset   data     = holder.getLazyDataset("/entry/instrument/"+model.getDetectorName()+"/data");
+
+		for (Reduction reduction : model.getReductions()) {
+
+			ILazyDataset reduced = holder.getLazyDataset(getPath(model, ReductionDevice.getFieldName(reduction)));
+			assertArrayEquals(scanShape, reduced.getShape());
+
+			final PositionIterator it = new PositionIterator(scanShape);
+			while(it.hasNext()) {
+				int[] pos = it.getPos();
+				Slice[] islice = new Slice[data.getRank()];   // With nulls at the end
+				Slice[] rslice = new Slice[scanShape.length];
+				for (int i = 0; i < pos.length; i++) {
+					islice[i] = rslice[i] = new Slice(pos[i], pos[i]+1);
+				}
+				Dataset frame = DatasetUtils.convertToDataset(data.getSlice(islice)).squeeze();
+				double expected = getExpected(reduction, frame, model);
+				double actual   = DatasetUtils.convertToDataset(reduced.getSlice(rslice)).getDouble();
+
+				assertEquals(reduction+" at "+pos[0]+","+pos[1], expected, actual, Math.max(0.00001, Math.abs(expected)*1e-9));
+			}
+		}
+	}
+
+	private double getExpected(Reduction reduction, Dataset frame, ReductionModel model) {
+		switch(reduction) {
+		case MEAN:     return ((Number)frame.mean()).doubleValue();
+		case SUM:      return ((Number)frame.sum()).doubleValue();
+		case MIN:      return frame.min().doubleValue();
+		case MAX:      return frame.max().doubleValue();
+		case VARIANCE: return getVariance(frame);
+		case ROI_SUM:
+			Slice[] roi = new Slice[frame.getRank()];
+			for (int i = 0; i < roi.length; i++) {
+				roi[i] = new Slice(model.getRoiStart()[i], model.getRoiStart()[i]+model.getRoiShape()[i]);
+			}
+			return ((Number)frame.getSlice(roi).sum()).doubleValue();
+		default:
+			throw new IllegalArgumentException("Unknown reduction "+reduction);
+		}
+	}
+
+	/**
+	 * Population variance, the long way.
+	 */
+	private double getVariance(Dataset values) {
+		double mean = ((Number)values.mean()).doubleValue();
+		double sum  = 0;
+		for (int i = 0; i < values.getSize(); i++) {
+			double delta = values.getElementDoubleAbs(i)-mean;
+			sum += delta*delta;
+		}
+		return sum/values.getSize();
+	}
+
+	private String getPath(ReductionModel model, String field) {
+		return "/entry/instrument/"+model.getDetectorName()+"_"+model.getName()+"/"+field;
+	}
+}
@@ -11,6 +11,9 @@
  *******************************************************************************/
 package org.eclipse.scanning.test.scan.nexus;
 
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_LEVELS;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_LEVEL_MAX_TIME;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_LEVEL_MEAN_TIME;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_DEAD_TIME;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_DEAD_TIME_PERCENT;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_DURATION;
@@ -19,6 +22,7 @@ import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_RANK;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_SHAPE;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_UNIQUE_KEYS;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_DIAGNOSTICS;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_KEYS;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -61,6 +65,7 @@ import org.eclipse.scanning.api.points.StaticPosition;
 import org.eclipse.scanning.api.scan.ScanEstimator;
 import org.eclipse.scanning.api.scan.ScanInformation;
 import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.sequencer.PointTrace;
 import org.eclipse.scanning.sequencer.nexus.SolsticeScanMonitor;
 import org.junit.Assert;
 import org.junit.Test;
@@ -282,6 +287,30 @@ public class SolsticeScanMonitorTest {
 		}
 	}
 	
+	@Test
+	public void testLevelsStartEmpty() throws Exception {
+		ScanModel scanModel = new ScanModel();
+		Iterable<IPosition> positions = Collections.nCopies(25, new StaticPosition());
+		scanModel.setScanInformation(new ScanInformation(new ScanEstimator(positions, null, 100)));
+		SolsticeScanMonitor solsticeScanMonitor = new SolsticeScanMonitor(scanModel);
+		solsticeScanMonitor.setNexusObjectProviders(new ArrayList<>());
+		solsticeScanMonitor.setPointTrace(new PointTrace(8));
+		
+		NexusScanInfo scanInfo = new NexusScanInfo();
+		scanInfo.setRank(1);
+		scanInfo.setShape(new int[] { 25 });
+		NXcollection solsticeScanCollection = solsticeScanMonitor.createNexusObject(scanInfo);
+		
+		// the levels are empty until some are recorded, rather than one fill value
+		NXcollection diagnostics = (NXcollection) solsticeScanCollection.getGroupNode(GROUP_NAME_DIAGNOSTICS);
+		assertNotNull(diagnostics);
+		for (String name : new String[] { FIELD_NAME_LEVELS, FIELD_NAME_LEVEL_MEAN_TIME, FIELD_NAME_LEVEL_MAX_TIME }) {
+			ILazyWriteableDataset dataset = (ILazyWriteableDataset) diagnostics.getDataNode(name).getDataset();
+			assertArrayEquals(name, new int[] { 0 }, dataset.getShape());
+			assertArrayEquals(name, new int[] { -1 }, dataset.getMaxShape());
+		}
+	}
+	
 	@Test
 	public void testWriteScanPoints() throws Exception {
 		// Arrange - we have to create the nexus object first 
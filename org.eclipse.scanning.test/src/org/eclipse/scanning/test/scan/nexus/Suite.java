@@ -30,10 +30,15 @@ import org.junit.runners.Suite.SuiteClasses;
 	MonitorTest.class,
 	ScanMetadataTest.class,
 	ScanOperationPipelineTest.class,
+	ScanParallelProcessingTest.class,
 	ScanAverageTest.class,
+	ScanReductionTest.class,
 	ScanJythonTest.class,
 	ScanClusterProcessingTest.class,
+	ClusterProcessingProgressTest.class,
 	SolsticeScanMonitorTest.class,
+	NexusWriteQueueTest.class,
+	NexusStructureTest.class,
 	LinearScanTest.class,
 	ScanTimeoutTest.class,
 	NexusStepScanSpeedTest.class